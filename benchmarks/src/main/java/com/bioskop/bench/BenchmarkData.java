@@ -0,0 +1,179 @@
+package com.bioskop.bench;
+
+import com.bioskop.util.FileManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * BenchmarkData - Folder data sementara untuk benchmark JMH
+ *
+ * Setiap fork JMH mendapat folder sendiri (bioskop.data.dir) berisi
+ * movies / schedule / seats / users / bookings / tickets dengan ukuran
+ * sesuai parameter benchmark. Data deterministik (seed tetap) supaya hasil
+ * antar run bisa dibandingkan. Folder data/ asli tidak pernah disentuh.
+ *
+ * Folder data dibaca FileManager sekali per JVM, jadi benchmark harus
+ * jalan dengan fork (default @Fork(1)), bukan -f 0.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+final class BenchmarkData {
+
+    static final int MOVIES = 10;
+    static final int SEATS_PER_ROW = 20;
+    private static final String[] TICKET_TYPES = {"Regular", "VIP", "Student"};
+    private static final LocalDate FIRST_SHOW = LocalDate.of(2025, 1, 6); // Senin
+
+    private final Path dir;
+    private final int schedules;
+    private final int seatsPerSchedule;
+    private final int users;
+    private final int bookings;
+
+    private BenchmarkData(Path dir, int schedules, int seatsPerSchedule, int users, int bookings) {
+        this.dir = dir;
+        this.schedules = schedules;
+        this.seatsPerSchedule = seatsPerSchedule;
+        this.users = users;
+        this.bookings = bookings;
+    }
+
+    /**
+     * Buat folder data sementara dan arahkan FileManager ke sana.
+     * Harus dipanggil sebelum class model / FileManager dipakai di JVM ini.
+     */
+    static BenchmarkData create(int schedules, int seatsPerSchedule, int users, int bookings) {
+        try {
+            Path dir = Files.createTempDirectory("bioskop-bench-");
+            System.setProperty("bioskop.data.dir", dir.toString());
+            if (!FileManager.getFilePath("x").toAbsolutePath().startsWith(dir)) {
+                throw new IllegalStateException("FileManager sudah memakai folder data lain; "
+                        + "jalankan benchmark dengan fork (jangan -f 0)");
+            }
+
+            BenchmarkData data = new BenchmarkData(dir, schedules, seatsPerSchedule, users, bookings);
+            data.write();
+            return data;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int getSchedules() {
+        return schedules;
+    }
+
+    int getSeatsPerSchedule() {
+        return seatsPerSchedule;
+    }
+
+    int getUsers() {
+        return users;
+    }
+
+    /**
+     * Seat ID pertama milik schedule (seat ID berurutan per schedule)
+     */
+    int firstSeatId(int scheduleId) {
+        return (scheduleId - 1) * seatsPerSchedule + 1;
+    }
+
+    /**
+     * Hapus folder (best effort: thread background mungkin masih menulis)
+     */
+    void delete() {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Folder temp, dibiarkan jika gagal
+        }
+    }
+
+    // ========== GENERATE ==========
+
+    private void write() throws IOException {
+        Random random = new Random(42);
+
+        try (BufferedWriter out = writer("movies.txt")) {
+            for (int m = 1; m <= MOVIES; m++) {
+                line(out, m + "|Movie " + m + "|Genre " + (m % 4) + "|" + (90 + m * 7) + "|7.5|" + (40000 + m * 5000));
+            }
+        }
+
+        try (BufferedWriter out = writer("schedule.txt")) {
+            for (int s = 1; s <= schedules; s++) {
+                LocalDate date = FIRST_SHOW.plusDays(s % 90);
+                line(out, s + "|" + (1 + s % MOVIES) + "|Studio " + (1 + s % 8) + "|" + date
+                        + "|" + (10 + s % 12) + ":00|" + seatsPerSchedule + "|" + seatsPerSchedule);
+            }
+        }
+
+        try (BufferedWriter out = writer("seats.txt")) {
+            line(out, "seatId|scheduleId|seatNumber|isBooked");
+            int seatId = 1;
+            for (int s = 1; s <= schedules; s++) {
+                for (int i = 0; i < seatsPerSchedule; i++) {
+                    line(out, seatId++ + "|" + s + "|" + seatNumber(i) + "|false");
+                }
+            }
+        }
+
+        try (BufferedWriter out = writer("users.txt")) {
+            line(out, "1|admin|admin123|Administrator|admin");
+            for (int u = 2; u <= users; u++) {
+                line(out, u + "|customer" + u + "|pass123|Customer " + u + "|customer");
+            }
+        }
+
+        try (BufferedWriter bookingOut = writer("bookings.txt");
+             BufferedWriter ticketOut = writer("tickets.txt")) {
+            int ticketId = 1;
+            for (int b = 1; b <= bookings; b++) {
+                int userId = 2 + random.nextInt(Math.max(1, users - 1));
+                int scheduleId = 1 + random.nextInt(schedules);
+                int count = 1 + random.nextInt(4);
+                long total = 0;
+                for (int t = 0; t < count; t++) {
+                    String type = TICKET_TYPES[random.nextInt(TICKET_TYPES.length)];
+                    long base = 40000 + random.nextInt(MOVIES) * 5000L;
+                    long price = "VIP".equals(type) ? base * 2 : "Student".equals(type) ? base * 3 / 4 : base;
+                    total += price;
+                    line(ticketOut, ticketId++ + "|" + b + "|" + type + "|" + seatNumber(random.nextInt(seatsPerSchedule))
+                            + "|" + base + ".00|" + price + ".00");
+                }
+                line(bookingOut, b + "|" + userId + "|" + scheduleId + "|2025-01-"
+                        + String.format("%02d", 1 + b % 28) + " 10:00:00|" + total + ".00|confirmed");
+            }
+        }
+    }
+
+    /**
+     * A1..A20, B1..B20, ... (baris dengan dua huruf setelah Z)
+     */
+    static String seatNumber(int index) {
+        int row = index / SEATS_PER_ROW;
+        String rowName = row < 26
+                ? String.valueOf((char) ('A' + row))
+                : String.valueOf((char) ('A' + row / 26 - 1)) + (char) ('A' + row % 26);
+        return rowName + (index % SEATS_PER_ROW + 1);
+    }
+
+    private BufferedWriter writer(String filename) throws IOException {
+        return Files.newBufferedWriter(dir.resolve(filename), StandardCharsets.UTF_8);
+    }
+
+    private static void line(BufferedWriter out, String line) throws IOException {
+        out.write(line);
+        out.newLine();
+    }
+}
@@ -0,0 +1,48 @@
+package com.bioskop.bench;
+
+import com.bioskop.model.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookingBenchmark - Riwayat booking satu user (booking + tickets)
+ *
+ * Jumlah user tetap 1000, jadi rata-rata booking per user naik seiring
+ * ukuran bookings.txt.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingBenchmark {
+
+    private static final int USERS = 1000;
+
+    @Param({"1000", "100000"})
+    public int bookings;
+
+    private BenchmarkData data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.create(100, 50, USERS, bookings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.delete();
+    }
+
+    @Benchmark
+    public List<Booking> getBookingHistory() {
+        return Booking.getBookingHistory(2 + ThreadLocalRandom.current().nextInt(USERS - 1));
+    }
+}
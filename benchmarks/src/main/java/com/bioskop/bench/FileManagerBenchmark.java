@@ -0,0 +1,50 @@
+package com.bioskop.bench;
+
+import com.bioskop.util.FileManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileManagerBenchmark - Baca penuh dan scan ID di bookings.txt
+ *
+ * readFile memuat semua baris ke List; getNextId scan streaming dengan
+ * RecordReader. Keduanya O(n) terhadap jumlah booking.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileManagerBenchmark {
+
+    @Param({"1000", "100000"})
+    public int bookings;
+
+    private BenchmarkData data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.create(10, 50, 100, bookings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.delete();
+    }
+
+    @Benchmark
+    public List<String> readFile() {
+        return FileManager.readFile("bookings.txt");
+    }
+
+    @Benchmark
+    public int getNextId() {
+        return FileManager.getNextId("bookings.txt");
+    }
+}
@@ -0,0 +1,61 @@
+package com.bioskop.bench;
+
+import com.bioskop.util.FileManager;
+import com.bioskop.util.IdSequence;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IdSequenceBenchmark - ID baru dari scan bookings.txt vs IdSequence
+ *
+ * getNextIdScan membaca seluruh file per ID (O(n)); IdSequence mengambil
+ * ID dari blok di memory dan hanya menyentuh file .seq sekali per blok.
+ * sequenceContended mengukur hal yang sama dengan 4 thread bersamaan.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdSequenceBenchmark {
+
+    private static final int BLOCK_SIZE = 1024;
+
+    @Param({"1000", "10000", "100000"})
+    public int bookings;
+
+    private BenchmarkData data;
+    private IdSequence sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.create(10, 50, 100, bookings);
+        sequence = new IdSequence("bookings.txt", () -> FileManager.getNextId("bookings.txt") - 1, BLOCK_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.delete();
+    }
+
+    @Benchmark
+    public int getNextIdScan() {
+        return FileManager.getNextId("bookings.txt");
+    }
+
+    @Benchmark
+    public int sequenceNext() {
+        return sequence.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int sequenceContended() {
+        return sequence.next();
+    }
+}
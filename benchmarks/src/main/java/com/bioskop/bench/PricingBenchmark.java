@@ -0,0 +1,59 @@
+package com.bioskop.bench;
+
+import com.bioskop.factory.Ticket;
+import com.bioskop.factory.TicketFactory;
+import com.bioskop.strategy.HolidayPricing;
+import com.bioskop.strategy.PricingStrategy;
+import com.bioskop.strategy.WeekdayPricing;
+import com.bioskop.strategy.WeekendPricing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PricingBenchmark - TicketFactory dan pricing strategy (tanpa I/O)
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    @Param({"Regular", "VIP", "Student"})
+    public String ticketType;
+
+    @Param({"Weekday", "Weekend", "Holiday"})
+    public String strategy;
+
+    private PricingStrategy pricing;
+    private double basePrice = 60000;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pricing = switch (strategy) {
+            case "Weekend" -> new WeekendPricing();
+            case "Holiday" -> new HolidayPricing();
+            default -> new WeekdayPricing();
+        };
+    }
+
+    @Benchmark
+    public Ticket createTicket() {
+        return TicketFactory.createTicket(ticketType, "C7", basePrice);
+    }
+
+    @Benchmark
+    public double calculatePrice() {
+        return pricing.calculatePrice(basePrice);
+    }
+
+    @Benchmark
+    public double ticketFinalPrice() {
+        return TicketFactory.createTicket(ticketType, "C7", pricing.calculatePrice(basePrice)).calculatePrice();
+    }
+}
@@ -0,0 +1,117 @@
+package com.bioskop.bench;
+
+import com.bioskop.util.FileManager;
+import com.bioskop.util.RecordReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecordReaderBenchmark - Parse seats.txt dengan String.split("\\|") vs RecordReader
+ *
+ * splitLines adalah cara lama (regex split + substring per field),
+ * readerLines memakai RecordReader di atas String per baris, dan
+ * readerBytes langsung di atas byte[] file seperti SeatStore.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordReaderBenchmark {
+
+    private static final int SEATS_PER_SCHEDULE = 200;
+
+    @Param({"100000", "1000000"})
+    public int seats;
+
+    private BenchmarkData data;
+    private List<String> lines;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.create(seats / SEATS_PER_SCHEDULE, SEATS_PER_SCHEDULE, 100, 0);
+        lines = FileManager.readFile("seats.txt");
+        try {
+            bytes = Files.readAllBytes(FileManager.getFilePath("seats.txt"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long expected = splitLines();
+        if (readerLines() != expected || readerBytes() != expected) {
+            throw new IllegalStateException("RecordReader dan split memberi hasil berbeda");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.delete();
+    }
+
+    @Benchmark
+    public long splitLines() {
+        long checksum = 0;
+        for (String line : lines) {
+            String[] parts = line.split("\\|");
+            if (parts.length < 4) continue;
+            try {
+                int seatId = Integer.parseInt(parts[0].trim());
+                int scheduleId = Integer.parseInt(parts[1].trim());
+                boolean booked = Boolean.parseBoolean(parts[3].trim());
+                checksum += seatId + scheduleId + (booked ? 1 : 0) + parts[2].length();
+            } catch (NumberFormatException e) {
+                // header
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long readerLines() {
+        RecordReader r = new RecordReader();
+        long checksum = 0;
+        for (String line : lines) {
+            if (r.reset(line).fieldCount() < 4) continue;
+            try {
+                checksum += r.getInt(0) + r.getInt(1) + (r.getBoolean(3) ? 1 : 0)
+                        + (r.fieldEnd(2) - r.fieldStart(2));
+            } catch (NumberFormatException e) {
+                // header
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long readerBytes() {
+        RecordReader r = new RecordReader();
+        long checksum = 0;
+        int lineStart = 0;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') lineEnd++;
+            int contentEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+
+            if (r.reset(bytes, lineStart, contentEnd).fieldCount() >= 4) {
+                try {
+                    checksum += r.getInt(0) + r.getInt(1) + (r.getBoolean(3) ? 1 : 0)
+                            + (r.fieldEnd(2) - r.fieldStart(2));
+                } catch (NumberFormatException e) {
+                    // header
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return checksum;
+    }
+}
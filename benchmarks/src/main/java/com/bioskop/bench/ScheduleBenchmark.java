@@ -0,0 +1,47 @@
+package com.bioskop.bench;
+
+import com.bioskop.model.Schedule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScheduleBenchmark - Lookup schedule by ID dan harga akhir (movie + strategy)
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleBenchmark {
+
+    @Param({"100", "10000"})
+    public int schedules;
+
+    private BenchmarkData data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.create(schedules, 10, 10, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.delete();
+    }
+
+    @Benchmark
+    public Schedule getScheduleById() {
+        return Schedule.getScheduleById(1 + ThreadLocalRandom.current().nextInt(schedules));
+    }
+
+    @Benchmark
+    public double calculateFinalPrice() {
+        return Schedule.getScheduleById(1 + ThreadLocalRandom.current().nextInt(schedules)).calculateFinalPrice();
+    }
+}
@@ -0,0 +1,82 @@
+package com.bioskop.bench;
+
+import com.bioskop.manager.SeatAllocator;
+import com.bioskop.manager.SeatReservationEngine;
+import com.bioskop.model.Seat;
+import com.bioskop.repository.SeatStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SeatAllocatorBenchmark - Cari N kursi terbaik: SeatAllocator vs scan List<Seat>
+ *
+ * Studio 500 kursi (25 baris x 20) dengan sebagian kursi sudah dibooking
+ * secara acak (seed tetap). listScan adalah cara lama: blok kosong pertama
+ * di daftar kursi, tanpa skor.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatAllocatorBenchmark {
+
+    private static final int SCHEDULE_ID = 1;
+    private static final int SEATS = 500;
+
+    @Param({"0.0", "0.5", "0.8", "0.95"})
+    public double occupancy;
+
+    @Param({"1", "4", "8"})
+    public int groupSize;
+
+    private BenchmarkData data;
+    private SeatAllocator allocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.create(1, SEATS, 100, 0);
+
+        Random random = new Random(42);
+        SeatReservationEngine engine = SeatReservationEngine.getInstance();
+        for (int seatId = data.firstSeatId(SCHEDULE_ID); seatId < data.firstSeatId(SCHEDULE_ID) + SEATS; seatId++) {
+            if (random.nextDouble() < occupancy) engine.tryBook(seatId);
+        }
+        allocator = SeatAllocator.getInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.delete();
+    }
+
+    @Benchmark
+    public SeatAllocator.Allocation findBest() {
+        return allocator.findBest(SCHEDULE_ID, groupSize);
+    }
+
+    @Benchmark
+    public List<Seat> listScan() {
+        List<Seat> run = new ArrayList<>();
+        char currentRow = 0;
+        for (Seat seat : SeatStore.getInstance().getSeatsBySchedule(SCHEDULE_ID)) {
+            char row = seat.getSeatNumber().charAt(0);
+            if (row != currentRow || seat.isBooked()) {
+                run.clear();
+                currentRow = row;
+                if (seat.isBooked()) continue;
+            }
+            run.add(seat);
+            if (run.size() == groupSize) return run;
+        }
+        return null;
+    }
+}
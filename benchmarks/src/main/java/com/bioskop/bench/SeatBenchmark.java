@@ -0,0 +1,62 @@
+package com.bioskop.bench;
+
+import com.bioskop.model.Seat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SeatBenchmark - Load kursi per schedule dan book / release satu kursi
+ *
+ * bookAndRelease mengukur satu siklus lengkap (CAS di reservation engine
+ * + tulis status ke seats.txt + event) lalu melepasnya lagi, jadi
+ * studio tidak pernah penuh selama measurement.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatBenchmark {
+
+    @Param({"10", "1000"})
+    public int schedules;
+
+    @Param({"50", "500"})
+    public int seatsPerSchedule;
+
+    private BenchmarkData data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.create(schedules, seatsPerSchedule, 100, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.delete();
+    }
+
+    @Benchmark
+    public List<Seat> loadSeats() {
+        return Seat.loadSeats(1 + ThreadLocalRandom.current().nextInt(schedules));
+    }
+
+    @Benchmark
+    public boolean bookAndRelease() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int scheduleId = 1 + random.nextInt(schedules);
+        int seatId = data.firstSeatId(scheduleId) + random.nextInt(seatsPerSchedule);
+
+        Seat seat = new Seat(seatId, scheduleId, BenchmarkData.seatNumber(seatId - data.firstSeatId(scheduleId)), false);
+        boolean booked = seat.bookSeat();
+        if (booked) seat.releaseSeat();
+        return booked;
+    }
+}
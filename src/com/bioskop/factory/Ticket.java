@@ -1,5 +1,7 @@
 package com.bioskop.factory;
 
+import com.bioskop.util.Money;
+
 /**
  * Ticket - Abstract Product class untuk Factory Method Pattern
  * Base class untuk semua tipe tiket (Regular, VIP, Student)
@@ -71,7 +73,7 @@ public abstract class Ticket {
      * @return formatted price (ex: Rp 50.000)
      */
     protected String formatPrice(double price) {
-        return String.format("Rp %,.0f", price);
+        return Money.formatRupiah(price);
     }
 
     /**
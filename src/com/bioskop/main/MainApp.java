@@ -7,6 +7,7 @@ import com.bioskop.model.Booking;
 import com.bioskop.model.Seat;
 import com.bioskop.util.FileManager;
 import com.bioskop.manager.BookingManager;
+import com.bioskop.manager.SeatAllocator;
 import com.bioskop.observer.BookingObserver;
 
 import java.util.List;
@@ -454,9 +455,15 @@ public class MainApp {
         displaySeatsGrid(allSeats);
 
         // ========== STEP 4: Pilih Kursi ==========
-        System.out.print("\nMasukkan nomor kursi (contoh: A1): ");
+        System.out.print("\nMasukkan nomor kursi (contoh: A1, atau BEST untuk kursi terbaik): ");
         String seatNumberInput = scanner.nextLine().trim().toUpperCase();
 
+        if (seatNumberInput.equals("BEST")) {
+            SeatAllocator.Allocation best = SeatAllocator.getInstance()
+                    .findBest(selectedSchedule.getScheduleId(), 1);
+            seatNumberInput = best != null ? best.getSeatNumbers().get(0) : "";
+        }
+
         // Find seat
         Seat selectedSeat = null;
         for (Seat seat : availableSeats) {
@@ -524,16 +531,16 @@ public class MainApp {
         }
 
         // ========== STEP 7: Process Booking dengan Observer Pattern ==========
-        try {
-            // Create user-specific observer
-            BookingObserver userObserver = new BookingObserver(
-                    "User-" + currentUser.getUserId() + "-Observer",
-                    currentUser.getUserId()
-            );
+        // Create user-specific observer
+        BookingObserver userObserver = new BookingObserver(
+                "User-" + currentUser.getUserId() + "-Observer",
+                currentUser.getUserId()
+        );
 
-            // Attach observer to seat
-            selectedSeat.addObserver(userObserver);
+        // Attach observer to seat (dilepas lagi setelah booking selesai)
+        selectedSeat.addObserver(userObserver);
 
+        try {
             // Book seat (akan trigger observer notifications)
             System.out.println("\n--- Processing Booking ---");
             boolean seatBooked = selectedSeat.bookSeat();
@@ -562,6 +569,8 @@ public class MainApp {
         } catch (Exception e) {
             System.out.println("❌ Error saat booking: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            selectedSeat.removeObserver(userObserver);
         }
     }
 
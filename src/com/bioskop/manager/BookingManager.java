@@ -3,6 +3,9 @@ package com.bioskop.manager;
 import com.bioskop.model.Booking;
 import com.bioskop.model.Seat;
 import com.bioskop.observer.BookingObserver;
+import com.bioskop.observer.SeatEventBus;
+import com.bioskop.repository.SeatStore;
+import com.bioskop.util.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +19,8 @@ import java.util.List;
  */
 public class BookingManager {
 
+    private static final Logger LOG = Logger.get(BookingManager.class);
+
     // List of active observers
     private List<BookingObserver> globalObservers;
 
@@ -23,22 +28,23 @@ public class BookingManager {
 
     public BookingManager() {
         this.globalObservers = new ArrayList<>();
-        System.out.println("✓ BookingManager initialized");
+        LOG.debug("✓ BookingManager initialized");
     }
 
     // ========== OBSERVER MANAGEMENT ==========
 
     /**
-     * Register global observer yang akan di-attach ke semua seats
+     * Register global observer yang menerima event semua seats.
+     * Cukup satu langganan di SeatEventBus, tidak di-attach per seat.
      *
      * @param observer Observer yang akan di-register
      */
     public void registerGlobalObserver(BookingObserver observer) {
-        if (!globalObservers.contains(observer)) {
+        if (SeatEventBus.getInstance().subscribe(observer) != null) {
             globalObservers.add(observer);
-            System.out.println("✓ Global observer registered: " + observer.getObserverName());
+            LOG.info("✓ Global observer registered: " + observer.getObserverName());
         } else {
-            System.out.println("⚠️ Observer already registered: " + observer.getObserverName());
+            LOG.warn("⚠️ Observer already registered: " + observer.getObserverName());
         }
     }
 
@@ -48,10 +54,11 @@ public class BookingManager {
      * @param observer Observer yang akan di-remove
      */
     public void removeGlobalObserver(BookingObserver observer) {
-        if (globalObservers.remove(observer)) {
-            System.out.println("✓ Global observer removed: " + observer.getObserverName());
+        if (SeatEventBus.getInstance().unsubscribe(observer, SeatEventBus.ALL, SeatEventBus.ALL)) {
+            globalObservers.remove(observer);
+            LOG.info("✓ Global observer removed: " + observer.getObserverName());
         } else {
-            System.out.println("⚠️ Observer not found: " + observer.getObserverName());
+            LOG.warn("⚠️ Observer not found: " + observer.getObserverName());
         }
     }
 
@@ -59,11 +66,12 @@ public class BookingManager {
      * Attach all global observers to a seat
      *
      * @param seat Seat yang akan di-attach observers
+     * @deprecated global observer sudah menerima event semua seat lewat
+     *             {@link SeatEventBus}; method ini tidak melakukan apa-apa
      */
+    @Deprecated
     public void attachObserversToSeat(Seat seat) {
-        for (BookingObserver observer : globalObservers) {
-            seat.addObserver(observer);
-        }
+        // Tidak perlu registrasi per seat lagi
     }
 
     // ========== UTILITY METHODS ==========
@@ -87,6 +95,23 @@ public class BookingManager {
         return availableSeats;
     }
 
+    /**
+     * Jumlah kursi available tanpa memuat kursi (O(1))
+     *
+     * @param scheduleId ID schedule
+     * @return jumlah kursi available
+     */
+    public int getAvailableSeatCount(int scheduleId) {
+        return SeatStore.getInstance().getAvailableCount(scheduleId);
+    }
+
+    /**
+     * Cek apakah schedule sudah penuh (O(1))
+     */
+    public boolean isSoldOut(int scheduleId) {
+        return SeatStore.getInstance().isSoldOut(scheduleId);
+    }
+
     /**
      * Display available seats untuk schedule
      *
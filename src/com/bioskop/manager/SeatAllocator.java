@@ -0,0 +1,274 @@
+package com.bioskop.manager;
+
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.repository.SeatLayout;
+import com.bioskop.repository.SeatStore;
+
+import java.util.*;
+
+/**
+ * SeatAllocator - Pencarian "N kursi terbaik" di atas bitmap occupancy per baris
+ *
+ * Untuk setiap baris, kursi kosong diambil sebagai bitmask lalu posisi awal
+ * semua blok N kursi kosong berdampingan dihitung dengan shift/AND berulang
+ * (doubling: O(log N) operasi word per baris). Setiap kandidat dinilai dari
+ * tabel kualitas kursi di {@link SeatLayout} (prefix sum, O(1) per blok).
+ *
+ * Jika tidak ada baris dengan N kursi berdampingan, grup dipecah sesedikit
+ * mungkin: blok terpanjang yang masih tersedia diambil lebih dulu, dan blok
+ * berikutnya diutamakan di baris dekat blok pertama.
+ *
+ * Pencarian hanya membaca bitmap; kursi diambil lewat {@link #holdBest}
+ * yang mencoba ulang jika kursi hasil pencarian keburu diambil orang lain.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class SeatAllocator {
+
+    private static final Histogram FIND_LATENCY = MetricsRegistry.histogram("allocator.findBest");
+
+    private static final double ROW_DISTANCE_PENALTY = 0.15; // per kursi per baris dari blok pertama
+    private static final int HOLD_ATTEMPTS = 3;
+
+    private static final SeatAllocator INSTANCE = new SeatAllocator(SeatStore.getInstance());
+
+    /**
+     * Hasil pencarian: kursi terpilih dan jumlah grup (1 = semua berdampingan)
+     */
+    public static final class Allocation {
+        private final List<Integer> seatIds;
+        private final List<String> seatNumbers;
+        private final int groups;
+        private final double score;
+
+        private Allocation(List<Integer> seatIds, List<String> seatNumbers, int groups, double score) {
+            this.seatIds = Collections.unmodifiableList(seatIds);
+            this.seatNumbers = Collections.unmodifiableList(seatNumbers);
+            this.groups = groups;
+            this.score = score;
+        }
+
+        public List<Integer> getSeatIds() { return seatIds; }
+        public List<String> getSeatNumbers() { return seatNumbers; }
+        public int getGroups() { return groups; }
+        public double getScore() { return score; }
+
+        public boolean isContiguous() {
+            return groups == 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.join(", ", seatNumbers) + (groups > 1 ? " (" + groups + " groups)" : "");
+        }
+    }
+
+    private final SeatStore seatStore;
+
+    public SeatAllocator(SeatStore seatStore) {
+        this.seatStore = seatStore;
+    }
+
+    public static SeatAllocator getInstance() {
+        return INSTANCE;
+    }
+
+    // ========== PENCARIAN ==========
+
+    /**
+     * Cari count kursi terbaik, berdampingan jika memungkinkan
+     *
+     * @param scheduleId ID schedule
+     * @param count jumlah kursi
+     * @return Allocation, atau null jika kursi kosong kurang dari count
+     */
+    public Allocation findBest(int scheduleId, int count) {
+        long start = System.nanoTime();
+        try {
+            return search(scheduleId, count);
+        } finally {
+            FIND_LATENCY.recordSince(start);
+        }
+    }
+
+    private Allocation search(int scheduleId, int count) {
+        SeatLayout layout = seatStore.getLayout(scheduleId);
+        if (layout == null || count <= 0 || seatStore.getAvailableCount(scheduleId) < count) {
+            return null;
+        }
+
+        int rows = layout.rowCount();
+        long[][] free = new long[rows][];
+        for (int r = 0; r < rows; r++) {
+            free[r] = new long[layout.wordsPerRow(r)];
+            layout.freeMask(r, free[r]);
+        }
+        long[] scratch = new long[layout.maxWordsPerRow()];
+
+        Block best = bestBlock(layout, free, count, -1, scratch);
+        if (best != null) {
+            return toAllocation(layout, Collections.singletonList(best));
+        }
+
+        // Pecah grup: blok terpanjang dulu, dekat dengan blok pertama
+        List<Block> blocks = new ArrayList<>();
+        int remaining = count;
+        int anchorRow = -1;
+        while (remaining > 0) {
+            int length = Math.min(remaining, longestRun(free, scratch));
+            if (length == 0) return null; // bitmap berubah selama pencarian
+
+            Block block = bestBlock(layout, free, length, anchorRow, scratch);
+            if (block == null) return null;
+            take(free[block.row], block.start, block.length);
+            blocks.add(block);
+            if (anchorRow < 0) anchorRow = block.row;
+            remaining -= length;
+        }
+        return toAllocation(layout, blocks);
+    }
+
+    /**
+     * Cari lalu hold kursi terbaik (all-or-nothing). Jika kursi hasil
+     * pencarian sudah diambil terminal lain, pencarian diulang.
+     *
+     * @return Hold, atau null jika tidak ada cukup kursi
+     */
+    public SeatHoldManager.Hold holdBest(int userId, int scheduleId, int count) {
+        for (int attempt = 0; attempt < HOLD_ATTEMPTS; attempt++) {
+            Allocation allocation = findBest(scheduleId, count);
+            if (allocation == null) return null;
+
+            SeatHoldManager.Hold hold = SeatHoldManager.getInstance()
+                    .hold(userId, scheduleId, allocation.getSeatIds());
+            if (hold != null) return hold;
+        }
+        return null;
+    }
+
+    // ========== BITMAP ==========
+
+    /**
+     * Kandidat satu blok kursi berdampingan
+     */
+    private static final class Block {
+        final int row;
+        final int start;
+        final int length;
+        final double score;
+
+        Block(int row, int start, int length, double score) {
+            this.row = row;
+            this.start = start;
+            this.length = length;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Blok length kursi berdampingan dengan skor tertinggi di semua baris
+     *
+     * @param anchorRow baris blok pertama (untuk grup yang dipecah), -1 jika tidak ada
+     */
+    private static Block bestBlock(SeatLayout layout, long[][] free, int length, int anchorRow, long[] runs) {
+        Block best = null;
+        for (int r = 0; r < free.length; r++) {
+            if (layout.rowLength(r) < length) continue;
+
+            int words = free[r].length;
+            System.arraycopy(free[r], 0, runs, 0, words);
+            runStarts(runs, words, length);
+
+            double penalty = anchorRow < 0 ? 0 : ROW_DISTANCE_PENALTY * length * Math.abs(r - anchorRow);
+            for (int w = 0; w < words; w++) {
+                long bits = runs[w];
+                while (bits != 0) {
+                    int start = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+
+                    double score = layout.blockQuality(r, start, length) - penalty;
+                    if (best == null || score > best.score) {
+                        best = new Block(r, start, length, score);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Ubah bitmask kursi kosong menjadi bitmask posisi awal blok length
+     * kursi kosong: bit i tetap 1 hanya jika kursi i .. i+length-1 kosong
+     */
+    static void runStarts(long[] bits, int words, int length) {
+        int covered = 1;
+        while (covered < length) {
+            int shift = Math.min(covered, length - covered);
+            andShifted(bits, words, shift);
+            covered += shift;
+        }
+    }
+
+    /**
+     * bits &= bits >>> shift, untuk bitmask beberapa word (bit i mengambil bit i + shift)
+     */
+    private static void andShifted(long[] bits, int words, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int w = 0; w < words; w++) {
+            int src = w + wordShift;
+            long shifted = src < words ? bits[src] >>> bitShift : 0;
+            if (bitShift != 0 && src + 1 < words) {
+                shifted |= bits[src + 1] << (64 - bitShift);
+            }
+            bits[w] &= shifted;
+        }
+    }
+
+    /**
+     * Panjang blok kursi kosong terpanjang di semua baris
+     */
+    private static int longestRun(long[][] free, long[] scratch) {
+        int longest = 0;
+        for (long[] row : free) {
+            int words = row.length;
+            System.arraycopy(row, 0, scratch, 0, words);
+            int length = 0;
+            while (any(scratch, words)) {
+                andShifted(scratch, words, 1);
+                length++;
+            }
+            longest = Math.max(longest, length);
+        }
+        return longest;
+    }
+
+    private static boolean any(long[] bits, int words) {
+        for (int w = 0; w < words; w++) {
+            if (bits[w] != 0) return true;
+        }
+        return false;
+    }
+
+    private static void take(long[] row, int start, int length) {
+        for (int i = start; i < start + length; i++) {
+            row[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    private static Allocation toAllocation(SeatLayout layout, List<Block> blocks) {
+        List<Integer> seatIds = new ArrayList<>();
+        List<String> seatNumbers = new ArrayList<>();
+        double score = 0;
+        for (Block block : blocks) {
+            for (int i = block.start; i < block.start + block.length; i++) {
+                seatIds.add(layout.seatId(block.row, i));
+                seatNumbers.add(layout.seatNumber(block.row, i));
+            }
+            score += layout.blockQuality(block.row, block.start, block.length);
+        }
+        return new Allocation(seatIds, seatNumbers, blocks.size(), score);
+    }
+}
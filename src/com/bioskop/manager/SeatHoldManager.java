@@ -0,0 +1,337 @@
+package com.bioskop.manager;
+
+import com.bioskop.metrics.Counter;
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.model.Seat;
+import com.bioskop.observer.SeatEventBus;
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
+import com.bioskop.util.TimingWheel;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SeatHoldManager - Hold kursi sementara selama pembayaran
+ *
+ * Kursi yang dipilih langsung diambil lewat {@link SeatReservationEngine}
+ * (jadi terminal lain tidak bisa mengambilnya) tapi dengan batas waktu:
+ * - {@link #confirm(long)}: pembayaran berhasil, hold menjadi penjualan
+ * - {@link #cancel(long)}: pembayaran batal, kursi dilepas
+ * - TTL habis: kursi dilepas otomatis oleh {@link TimingWheel}
+ *
+ * Semua hold berbagi satu timing wheel (satu thread), bukan satu timer per hold.
+ * Setiap hold juga dicatat di journal seat_holds.txt bersama PID proses
+ * pemiliknya. Hold milik proses yang sudah mati (terminal crash) dan sudah
+ * lewat TTL dilepas saat startup dan secara berkala oleh proses lain.
+ *
+ * Format journal:
+ *   HOLD|holdId|pid|scheduleId|userId|expiresAtMillis|seatId,seatId,...
+ *   END|holdId|pid|SOLD / EXPIRED / CANCELLED
+ *
+ * Kursi yang dilepas karena TTL habis atau hold orphan dipublish ke
+ * {@link SeatEventBus} (status available), sama seperti release biasa.
+ *
+ * TTL default lewat system property bioskop.hold.ttlSeconds (default 300).
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class SeatHoldManager {
+
+    private static final Logger LOG = Logger.get(SeatHoldManager.class);
+
+    private static final String JOURNAL_FILE = "seat_holds.txt";
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 1024; // ~100 detik per putaran
+    private static final long ORPHAN_SWEEP_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int COMPACT_THRESHOLD = 10_000;
+
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(Long.getLong("bioskop.hold.ttlSeconds", 300));
+
+    private static final Histogram HOLD_LATENCY = MetricsRegistry.histogram("hold.create");
+    private static final Counter HOLD_REJECTED = MetricsRegistry.counter("hold.rejected");
+    private static final Counter HOLD_CONFIRMED = MetricsRegistry.counter("hold.confirmed");
+    private static final Counter HOLD_EXPIRED = MetricsRegistry.counter("hold.expired");
+
+    private static final SeatHoldManager INSTANCE = new SeatHoldManager(
+            SeatReservationEngine.getInstance(), JOURNAL_FILE);
+
+    static {
+        MetricsRegistry.gauge("hold.active", () -> INSTANCE.getActiveHoldCount());
+    }
+
+    /**
+     * Status hold
+     */
+    public enum State { HELD, SOLD, EXPIRED, CANCELLED }
+
+    /**
+     * Satu hold: sekumpulan kursi milik satu user sampai expiresAt
+     */
+    public static final class Hold {
+        private final long holdId;
+        private final int userId;
+        private final int scheduleId;
+        private final List<Integer> seatIds;
+        private final long expiresAt;
+        private volatile State state = State.HELD;
+        private volatile TimingWheel.Timeout timeout;
+
+        private Hold(long holdId, int userId, int scheduleId, List<Integer> seatIds, long expiresAt) {
+            this.holdId = holdId;
+            this.userId = userId;
+            this.scheduleId = scheduleId;
+            this.seatIds = seatIds;
+            this.expiresAt = expiresAt;
+        }
+
+        public long getHoldId() { return holdId; }
+        public int getUserId() { return userId; }
+        public int getScheduleId() { return scheduleId; }
+        public List<Integer> getSeatIds() { return seatIds; }
+        public long getExpiresAt() { return expiresAt; }
+        public State getState() { return state; }
+
+        public Duration getRemaining() {
+            return Duration.ofMillis(Math.max(0, expiresAt - System.currentTimeMillis()));
+        }
+    }
+
+    private final SeatReservationEngine engine;
+    private final String journalFile;
+    private final long pid = ProcessHandle.current().pid();
+    private final TimingWheel wheel = new TimingWheel("bioskop-seat-holds", TICK_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+    private final AtomicLong nextHoldId = new AtomicLong(System.currentTimeMillis());
+    private final AtomicInteger journalLines = new AtomicInteger();
+
+    public SeatHoldManager(SeatReservationEngine engine, String journalFile) {
+        this.engine = engine;
+        this.journalFile = journalFile;
+        releaseOrphans();
+        scheduleOrphanSweep();
+    }
+
+    public static SeatHoldManager getInstance() {
+        return INSTANCE;
+    }
+
+    // ========== HOLD LIFECYCLE ==========
+
+    /**
+     * Hold beberapa kursi sekaligus (all-or-nothing) dengan TTL default
+     */
+    public Hold hold(int userId, int scheduleId, Collection<Integer> seatIds) {
+        return hold(userId, scheduleId, seatIds, DEFAULT_TTL);
+    }
+
+    /**
+     * Hold beberapa kursi sekaligus (all-or-nothing)
+     *
+     * @param ttl lama hold sebelum kursi dilepas otomatis
+     * @return Hold, atau null jika ada kursi yang sudah diambil
+     */
+    public Hold hold(int userId, int scheduleId, Collection<Integer> seatIds, Duration ttl) {
+        long start = System.nanoTime();
+        if (!engine.bookAll(seatIds)) {
+            HOLD_REJECTED.inc();
+            return null;
+        }
+
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        Hold hold = new Hold(nextHoldId.incrementAndGet(), userId, scheduleId,
+                Collections.unmodifiableList(new ArrayList<>(seatIds)), expiresAt);
+        holds.put(hold.holdId, hold);
+        journal(holdLine(hold));
+        hold.timeout = wheel.schedule(() -> expire(hold), ttl.toMillis(), TimeUnit.MILLISECONDS);
+        HOLD_LATENCY.recordSince(start);
+        return hold;
+    }
+
+    /**
+     * Ubah hold menjadi penjualan (dipanggil sebelum booking disimpan)
+     *
+     * @return false jika hold sudah expired / dibatalkan / tidak dikenal
+     */
+    public boolean confirm(long holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null) return false;
+
+        synchronized (hold) {
+            // TTL dicek langsung, tidak menunggu tick wheel berikutnya
+            if (hold.state != State.HELD || System.currentTimeMillis() >= hold.expiresAt) return false;
+            // END|SOLD harus ada di journal sebelum booking disimpan caller: jika proses
+            // crash sesudahnya, releaseOrphans di proses lain tidak melepas kursi yang terjual
+            if (!journal(endLine(hold, State.SOLD))) return false;
+            hold.state = State.SOLD;
+        }
+        cancelTimeout(hold);
+        holds.remove(holdId);
+        HOLD_CONFIRMED.inc();
+        return true;
+    }
+
+    /**
+     * Batalkan hold dan lepas kursinya. Juga dipakai untuk rollback
+     * penjualan yang sudah di-confirm tapi gagal disimpan.
+     *
+     * @return true jika kursi dilepas oleh pemanggilan ini
+     */
+    public boolean cancel(Hold hold) {
+        synchronized (hold) {
+            if (hold.state != State.HELD && hold.state != State.SOLD) return false;
+            hold.state = State.CANCELLED;
+        }
+        cancelTimeout(hold);
+        holds.remove(hold.holdId);
+        // Journal dulu: crash sebelum release hanya membuat kursi tertahan, bukan dilepas dua kali
+        journal(endLine(hold, State.CANCELLED));
+        engine.releaseAll(hold.seatIds);
+        return true;
+    }
+
+    public boolean cancel(long holdId) {
+        Hold hold = holds.get(holdId);
+        return hold != null && cancel(hold);
+    }
+
+    /**
+     * Dipanggil timing wheel saat TTL habis
+     */
+    private void expire(Hold hold) {
+        synchronized (hold) {
+            if (hold.state != State.HELD) return;
+            hold.state = State.EXPIRED;
+        }
+        holds.remove(hold.holdId);
+        journal(endLine(hold, State.EXPIRED));
+        releaseAndPublish(hold.seatIds);
+        HOLD_EXPIRED.inc();
+        LOG.info(() -> "⏰ Hold #" + hold.holdId + " expired, " + hold.seatIds.size() + " seat(s) released");
+    }
+
+    /**
+     * Lepas kursi lalu publish event RELEASED untuk tiap kursi yang
+     * benar-benar dilepas (observer tidak tahu kursi dilepas oleh timer)
+     */
+    private void releaseAndPublish(List<Integer> seatIds) {
+        for (int seatId : seatIds) {
+            if (!engine.release(seatId)) continue;
+            Seat seat = engine.getSeatById(seatId);
+            if (seat != null) {
+                SeatEventBus.getInstance().publish(new SeatEventBus.SeatEvent(
+                        seatId, seat.getScheduleId(), seat.getSeatNumber(), false));
+            }
+        }
+    }
+
+    private static void cancelTimeout(Hold hold) {
+        TimingWheel.Timeout timeout = hold.timeout;
+        if (timeout != null) timeout.cancel();
+    }
+
+    public Hold getHold(long holdId) {
+        return holds.get(holdId);
+    }
+
+    /**
+     * Jumlah hold aktif di proses ini
+     */
+    public int getActiveHoldCount() {
+        return holds.size();
+    }
+
+    // ========== JOURNAL ==========
+
+    private String holdLine(Hold hold) {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append("HOLD|").append(hold.holdId).append('|').append(pid)
+                .append('|').append(hold.scheduleId).append('|').append(hold.userId)
+                .append('|').append(hold.expiresAt).append('|');
+        for (int i = 0; i < hold.seatIds.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(hold.seatIds.get(i));
+        }
+        return sb.toString();
+    }
+
+    private String endLine(Hold hold, State state) {
+        return "END|" + hold.holdId + "|" + pid + "|" + state;
+    }
+
+    /**
+     * @return false jika baris gagal ditulis ke journal
+     */
+    private boolean journal(String line) {
+        if (!FileManager.appendToFile(journalFile, line)) return false;
+        if (journalLines.incrementAndGet() >= COMPACT_THRESHOLD) {
+            journalLines.set(0);
+            releaseOrphans();
+        }
+        return true;
+    }
+
+    private void scheduleOrphanSweep() {
+        wheel.schedule(() -> {
+            releaseOrphans();
+            scheduleOrphanSweep();
+        }, ORPHAN_SWEEP_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lepas kursi hold yang pemiliknya sudah mati dan TTL-nya habis, lalu
+     * tulis ulang journal hanya dengan hold yang masih terbuka
+     *
+     * @return jumlah hold yang dilepas
+     */
+    public int releaseOrphans() {
+        return FileManager.withFileLock(journalFile, () -> {
+            Map<String, String> open = new LinkedHashMap<>(); // "pid|holdId" -> baris HOLD
+            int[] lines = {0};
+            FileManager.forEachRecord(journalFile, record -> {
+                lines[0]++;
+                if (record.fieldEquals(0, "HOLD") && record.fieldCount() >= 7) {
+                    open.put(record.getString(2) + "|" + record.getString(1), record.getLine());
+                } else if (record.fieldEquals(0, "END") && record.fieldCount() >= 4) {
+                    open.remove(record.getString(2) + "|" + record.getString(1));
+                }
+                return true;
+            });
+
+            long now = System.currentTimeMillis();
+            int released = 0;
+            List<String> remaining = new ArrayList<>();
+            RecordReader record = new RecordReader();
+            for (String line : open.values()) {
+                record.reset(line);
+                long owner = record.getLong(2);
+                boolean ownerAlive = owner == pid || ProcessHandle.of(owner).map(ProcessHandle::isAlive).orElse(false);
+                if (ownerAlive || record.getLong(5) > now) {
+                    remaining.add(line);
+                    continue;
+                }
+
+                List<Integer> seatIds = new ArrayList<>();
+                for (String seatId : record.getString(6).split(",")) {
+                    if (!seatId.isEmpty()) seatIds.add(Integer.parseInt(seatId));
+                }
+                releaseAndPublish(seatIds);
+                released++;
+                LOG.info("⏰ Released orphaned hold #" + record.getString(1)
+                        + " (process " + owner + "), " + seatIds.size() + " seat(s)");
+            }
+
+            if (released > 0 || lines[0] > remaining.size() * 2 + 100) {
+                FileManager.writeLines(journalFile, remaining);
+            }
+            return released;
+        });
+    }
+}
@@ -0,0 +1,181 @@
+package com.bioskop.manager;
+
+import com.bioskop.model.Seat;
+import com.bioskop.repository.SeatBitmap;
+import com.bioskop.repository.SeatStore;
+import com.bioskop.repository.SeatStore.SeatSlot;
+
+import java.util.*;
+
+/**
+ * SeatReservationEngine - Booking kursi dengan semantik compare-and-set
+ *
+ * Setiap kursi adalah satu bit di {@link SeatBitmap} per schedule. Booking
+ * hanya berhasil jika bit berubah 0 -> 1 lewat CAS, jadi dua thread yang
+ * memilih kursi yang sama tidak mungkin sama-sama berhasil. Setelah CAS di
+ * memory berhasil, status di file juga di-CAS di bawah lock region file
+ * sehingga proses lain yang memakai folder data yang sama ikut terlindungi.
+ *
+ * Booking beberapa kursi bersifat all-or-nothing tanpa global lock: kursi
+ * dikelompokkan per word bitmap, tiap word di-CAS sekaligus, dan jika ada
+ * yang gagal semua word yang sudah di-set dikembalikan.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class SeatReservationEngine {
+
+    private static final SeatReservationEngine INSTANCE = new SeatReservationEngine(SeatStore.getInstance());
+
+    private final SeatStore seatStore;
+
+    public SeatReservationEngine(SeatStore seatStore) {
+        this.seatStore = seatStore;
+    }
+
+    public static SeatReservationEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Booking satu kursi
+     *
+     * @param seatId ID kursi
+     * @return true jika kursi sebelumnya available dan sekarang milik pemanggil
+     */
+    public boolean tryBook(int seatId) {
+        return bookAll(Collections.singletonList(seatId));
+    }
+
+    /**
+     * Release satu kursi
+     *
+     * @param seatId ID kursi
+     * @return true jika kursi sebelumnya booked dan sekarang available
+     */
+    public boolean release(int seatId) {
+        SeatSlot slot = seatStore.locate(seatId);
+        if (slot == null) return false;
+
+        if (!slot.getBitmap().get(slot.getPosition())) {
+            return false;
+        }
+
+        // File diubah dulu, bit di memory baru dilepas setelahnya. Selama itu
+        // booking lain untuk kursi ini gagal lebih awal, bukan menimpa file.
+        boolean released = seatStore.compareAndSetOnDisk(slot, true, false);
+        slot.getBitmap().set(slot.getPosition(), false);
+        return released;
+    }
+
+    /**
+     * Booking beberapa kursi sekaligus (all-or-nothing)
+     *
+     * @param seatIds ID kursi yang akan dibooking
+     * @return true jika semua kursi berhasil dibooking, false jika tidak ada yang dibooking
+     */
+    public boolean bookAll(Collection<Integer> seatIds) {
+        if (seatIds.isEmpty()) return true;
+
+        List<SeatSlot> slots = new ArrayList<>(seatIds.size());
+        for (int seatId : new TreeSet<>(seatIds)) {
+            SeatSlot slot = seatStore.locate(seatId);
+            if (slot == null) return false;
+            slots.add(slot);
+        }
+
+        // Tahap 1: CAS di memory, per word bitmap
+        List<WordClaim> claims = groupByWord(slots);
+        for (int i = 0; i < claims.size(); i++) {
+            WordClaim claim = claims.get(i);
+            if (!claim.bitmap.trySetMask(claim.wordIndex, claim.mask)) {
+                for (int j = 0; j < i; j++) {
+                    claims.get(j).rollback();
+                }
+                return false;
+            }
+        }
+
+        // Tahap 2: CAS di file, menangkap booking dari proses lain
+        for (int i = 0; i < slots.size(); i++) {
+            SeatSlot slot = slots.get(i);
+            if (!seatStore.compareAndSetOnDisk(slot, false, true)) {
+                for (int j = 0; j < i; j++) {
+                    seatStore.compareAndSetOnDisk(slots.get(j), true, false);
+                }
+                for (WordClaim claim : claims) {
+                    claim.rollback();
+                }
+                // Kursi ini sudah dibooking proses lain
+                slot.getBitmap().set(slot.getPosition(), true);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Release beberapa kursi (dipakai untuk rollback booking yang batal)
+     *
+     * @param seatIds ID kursi
+     */
+    public void releaseAll(Collection<Integer> seatIds) {
+        for (int seatId : seatIds) {
+            release(seatId);
+        }
+    }
+
+    public boolean isBooked(int seatId) {
+        SeatSlot slot = seatStore.locate(seatId);
+        return slot != null && slot.getBitmap().get(slot.getPosition());
+    }
+
+    /**
+     * Seat dari store milik engine ini (untuk nomor kursi / schedule)
+     *
+     * @return Seat, atau null jika kursi tidak ada
+     */
+    public Seat getSeatById(int seatId) {
+        return seatStore.getSeatById(seatId);
+    }
+
+    // ========== HELPERS ==========
+
+    private static List<WordClaim> groupByWord(List<SeatSlot> slots) {
+        Map<SeatBitmap, Map<Integer, WordClaim>> byBitmap = new LinkedHashMap<>();
+        List<WordClaim> claims = new ArrayList<>();
+
+        for (SeatSlot slot : slots) {
+            int wordIndex = SeatBitmap.wordIndex(slot.getPosition());
+            WordClaim claim = byBitmap
+                    .computeIfAbsent(slot.getBitmap(), b -> new HashMap<>())
+                    .computeIfAbsent(wordIndex, w -> {
+                        WordClaim c = new WordClaim(slot.getBitmap(), w);
+                        claims.add(c);
+                        return c;
+                    });
+            claim.mask |= SeatBitmap.bitMask(slot.getPosition());
+        }
+
+        return claims;
+    }
+
+    /**
+     * Sekumpulan kursi dalam satu word bitmap yang di-CAS bersamaan
+     */
+    private static final class WordClaim {
+        final SeatBitmap bitmap;
+        final int wordIndex;
+        long mask;
+
+        WordClaim(SeatBitmap bitmap, int wordIndex) {
+            this.bitmap = bitmap;
+            this.wordIndex = wordIndex;
+        }
+
+        void rollback() {
+            bitmap.clearMask(wordIndex, mask);
+        }
+    }
+}
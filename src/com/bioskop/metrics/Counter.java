@@ -0,0 +1,38 @@
+package com.bioskop.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter - Penghitung monoton, lock-free
+ *
+ * Memakai LongAdder (sel per thread), jadi increment dari banyak thread
+ * booking sekaligus tidak berebut satu cache line.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public final class Counter {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void inc() {
+        count.increment();
+    }
+
+    public void add(long delta) {
+        count.add(delta);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
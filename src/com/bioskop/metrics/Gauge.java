@@ -0,0 +1,16 @@
+package com.bioskop.metrics;
+
+/**
+ * Gauge - Nilai yang dibaca saat metrics diambil (ukuran queue, hold aktif, dll)
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface Gauge {
+
+    /**
+     * Nilai saat ini; dipanggil dari thread UI / JMX, harus murah dan thread-safe
+     */
+    double getValue();
+}
@@ -0,0 +1,182 @@
+package com.bioskop.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Histogram - Histogram latensi log-linear (gaya HdrHistogram), lock-free
+ *
+ * Setiap pangkat 2 dibagi menjadi {@value #SUB_BUCKETS} sub-bucket linear,
+ * jadi error relatif persentil maksimal ~1.6% di seluruh rentang (1 ns
+ * sampai ratusan tahun) dengan ukuran tetap ~3700 counter. Record hanya
+ * menghitung index dengan numberOfLeadingZeros lalu satu increment atomik.
+ *
+ * Nilai disimpan dalam nanodetik. Persentil diambil dari {@link Snapshot};
+ * selisih dua snapshot ({@link Snapshot#minus}) memberi latensi per interval
+ * (misal p99 5 detik terakhir saat rush).
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // ========== RECORD ==========
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(indexOf(nanos));
+        total.increment();
+        sum.add(nanos);
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Catat waktu sejak startNanos (hasil System.nanoTime())
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Jalankan operasi dan catat durasinya (juga jika melempar exception)
+     */
+    public <T> T time(Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    public void time(Runnable operation) {
+        long start = System.nanoTime();
+        try {
+            operation.run();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    // ========== BUCKET ==========
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);      // >= SUB_BUCKET_BITS
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;            // 0 .. SUB_BUCKETS-1
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Nilai tengah bucket (dipakai sebagai hasil persentil)
+     */
+    static long valueOf(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+
+    // ========== SNAPSHOT ==========
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, sum.sum(), max.get());
+    }
+
+    /**
+     * Salinan isi histogram pada satu waktu
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Max sejak awal (untuk snapshot interval: max bucket terisi)
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Nilai persentil, misal 0.99 untuk p99 (nanodetik)
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(valueOf(i), max);
+            }
+            return max;
+        }
+
+        /**
+         * Selisih dengan snapshot sebelumnya dari histogram yang sama
+         */
+        public Snapshot minus(Snapshot previous) {
+            long[] diff = new long[counts.length];
+            long diffCount = 0;
+            int highest = -1;
+            for (int i = 0; i < counts.length; i++) {
+                diff[i] = counts[i] - previous.counts[i];
+                diffCount += diff[i];
+                if (diff[i] > 0) highest = i;
+            }
+            long intervalMax = highest < 0 ? 0 : Math.min(valueOf(highest), max);
+            return new Snapshot(diff, diffCount, sum - previous.sum, intervalMax);
+        }
+    }
+}
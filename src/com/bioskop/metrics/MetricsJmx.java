@@ -0,0 +1,115 @@
+package com.bioskop.metrics;
+
+import com.bioskop.util.Logger;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MetricsJmx - Expose {@link MetricsRegistry} lewat JMX (com.bioskop:type=Metrics)
+ *
+ * DynamicMBean: daftar atribut dibangun dari isi registry saat diminta,
+ * jadi metric baru langsung terlihat di JConsole / VisualVM.
+ * - counter: nama metric (Long)
+ * - gauge: nama metric (Double)
+ * - histogram: nama.count, nama.meanMicros, nama.p50Micros, nama.p99Micros,
+ *   nama.p999Micros, nama.maxMicros
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public final class MetricsJmx implements DynamicMBean {
+
+    private static final Logger LOG = Logger.get(MetricsJmx.class);
+
+    public static final String OBJECT_NAME = "com.bioskop:type=Metrics";
+
+    private static final String[] HISTOGRAM_FIELDS = {"count", "meanMicros", "p50Micros", "p99Micros", "p999Micros", "maxMicros"};
+
+    static void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsJmx(), name);
+            }
+        } catch (JMException | RuntimeException e) {
+            LOG.warn("Metrics MBean not registered: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Counter counter = MetricsRegistry.getCounters().get(attribute);
+        if (counter != null) return counter.get();
+
+        Gauge gauge = MetricsRegistry.getGauges().get(attribute);
+        if (gauge != null) return MetricsRegistry.readGauge(gauge);
+
+        int dot = attribute.lastIndexOf('.');
+        Histogram histogram = dot < 0 ? null : MetricsRegistry.getHistograms().get(attribute.substring(0, dot));
+        if (histogram != null) {
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            switch (attribute.substring(dot + 1)) {
+                case "count": return (double) snapshot.getCount();
+                case "meanMicros": return snapshot.getMean() / 1000.0;
+                case "p50Micros": return snapshot.getValueAtQuantile(0.50) / 1000.0;
+                case "p99Micros": return snapshot.getValueAtQuantile(0.99) / 1000.0;
+                case "p999Micros": return snapshot.getValueAtQuantile(0.999) / 1000.0;
+                case "maxMicros": return snapshot.getMax() / 1000.0;
+                default: break;
+            }
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException e) {
+                // atribut yang tidak dikenal dilewati
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException {
+        throw new MBeanException(new UnsupportedOperationException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (String name : MetricsRegistry.getCounters().keySet()) {
+            attributes.add(new MBeanAttributeInfo(name, "java.lang.Long", "Counter", true, false, false));
+        }
+        for (String name : MetricsRegistry.getGauges().keySet()) {
+            attributes.add(new MBeanAttributeInfo(name, "java.lang.Double", "Gauge", true, false, false));
+        }
+        for (Map.Entry<String, Histogram> entry : MetricsRegistry.getHistograms().entrySet()) {
+            for (String field : HISTOGRAM_FIELDS) {
+                attributes.add(new MBeanAttributeInfo(entry.getKey() + "." + field, "java.lang.Double",
+                        "Latency histogram", true, false, false));
+            }
+        }
+        return new MBeanInfo(getClass().getName(), "Bioskop booking metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+}
@@ -0,0 +1,95 @@
+package com.bioskop.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * MetricsRegistry - Tempat semua counter, gauge dan histogram aplikasi
+ *
+ * Metric dibuat sekali (biasanya di field static final) lalu dipakai
+ * langsung di hot path tanpa lookup:
+ * <pre>
+ *   private static final Histogram SAVE_LATENCY = MetricsRegistry.histogram("booking.save");
+ *   ...
+ *   long start = System.nanoTime();
+ *   ...
+ *   SAVE_LATENCY.recordSince(start);
+ * </pre>
+ *
+ * Nama memakai titik sebagai pemisah (area.operasi[.detail]). Registry
+ * di-expose lewat JMX sebagai com.bioskop:type=Metrics ({@link MetricsJmx})
+ * dan ditampilkan di tab Performance AdminDashboard.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public final class MetricsRegistry {
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentSkipListMap<>();
+    private static final Map<String, Gauge> GAUGES = new ConcurrentSkipListMap<>();
+    private static final long START_NANOS = System.nanoTime();
+
+    static {
+        gauge("jvm.heap.usedMb", () -> {
+            Runtime runtime = Runtime.getRuntime();
+            return (runtime.totalMemory() - runtime.freeMemory()) / (1024.0 * 1024.0);
+        });
+        gauge("jvm.threads", () -> ManagementFactory.getThreadMXBean().getThreadCount());
+        MetricsJmx.register();
+    }
+
+    private MetricsRegistry() {
+    }
+
+    // ========== REGISTRASI ==========
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+    }
+
+    /**
+     * Daftarkan gauge; gauge dengan nama sama diganti
+     */
+    public static void gauge(String name, Gauge gauge) {
+        GAUGES.put(name, gauge);
+    }
+
+    // ========== QUERY ==========
+
+    public static Map<String, Counter> getCounters() {
+        return Collections.unmodifiableMap(COUNTERS);
+    }
+
+    public static Map<String, Histogram> getHistograms() {
+        return Collections.unmodifiableMap(HISTOGRAMS);
+    }
+
+    public static Map<String, Gauge> getGauges() {
+        return Collections.unmodifiableMap(GAUGES);
+    }
+
+    /**
+     * Nilai gauge, atau NaN jika gauge gagal dibaca
+     */
+    public static double readGauge(Gauge gauge) {
+        try {
+            return gauge.getValue();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Detik sejak registry dibuat (untuk rata-rata throughput)
+     */
+    public static double getUptimeSeconds() {
+        return (System.nanoTime() - START_NANOS) / 1e9;
+    }
+}
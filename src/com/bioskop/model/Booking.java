@@ -1,7 +1,15 @@
 package com.bioskop.model;
 
 import com.bioskop.factory.*;
-import com.bioskop.util.FileManager;
+import com.bioskop.metrics.Counter;
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.storage.LogStructuredStore;
+import com.bioskop.storage.RecordLog;
+import com.bioskop.util.IdSequence;
+import com.bioskop.util.Logger;
+import com.bioskop.util.Money;
+import com.bioskop.util.RecordReader;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -15,6 +23,11 @@ import java.util.*;
  */
 public class Booking {
 
+    private static final Logger LOG = Logger.get(Booking.class);
+    private static final Histogram SAVE_LATENCY = MetricsRegistry.histogram("booking.save");
+    private static final Counter SAVE_FAILURES = MetricsRegistry.counter("booking.save.failed");
+    private static final Counter TICKETS_SOLD = MetricsRegistry.counter("booking.tickets");
+
     private int bookingId;
     private int userId;
     private int scheduleId;
@@ -26,6 +39,24 @@ public class Booking {
     private static final String BOOKINGS_FILE = "bookings.txt";
     private static final String TICKETS_FILE = "tickets.txt";
 
+    private static final String LOG_FILE = "booking_wal.log";
+
+    // Tabel di log store (index = nomor tabel di record log)
+    private static final int BOOKINGS = 0;
+    private static final int TICKETS = 1;
+
+    // bookings.txt dan tickets.txt menjadi snapshot, perubahan baru masuk ke log
+    private static final LogStructuredStore STORE = new LogStructuredStore(LOG_FILE,
+            new LogStructuredStore.Table(BOOKINGS_FILE, Booking::bookingKey, Booking::normalizeBookingLine)
+                    .indexedBy(line -> intColumn(line, 1)),   // userId
+            new LogStructuredStore.Table(TICKETS_FILE, Booking::ticketKey, Booking::normalizeTicketLine)
+                    .indexedBy(line -> intColumn(line, 1)));  // bookingId
+
+    private static final IdSequence BOOKING_IDS =
+            IdSequence.forName(BOOKINGS_FILE, () -> STORE.nextId(BOOKINGS) - 1);
+    private static final IdSequence TICKET_IDS =
+            IdSequence.forName(TICKETS_FILE, () -> STORE.nextId(TICKETS) - 1);
+
     /**
      * Constructor
      */
@@ -43,7 +74,7 @@ public class Booking {
      * Constructor untuk create booking baru (auto-generate ID dan date)
      */
     public Booking(int userId, int scheduleId) {
-        this.bookingId = FileManager.getNextId(BOOKINGS_FILE);
+        this.bookingId = BOOKING_IDS.next();
         this.userId = userId;
         this.scheduleId = scheduleId;
         this.bookingDate = getCurrentDateTime();
@@ -102,10 +133,9 @@ public class Booking {
             // Update total price
             calculateTotal();
 
-            System.out.println("✓ Ticket added: " + ticket.getTicketType() +
-                    " - Seat " + seatNumber);
+            LOG.debug(() -> "✓ Ticket added: " + ticket.getTicketType() + " - Seat " + seatNumber);
         } catch (IllegalArgumentException e) {
-            System.err.println("Error adding ticket: " + e.getMessage());
+            LOG.error("Error adding ticket: " + e.getMessage());
         }
     }
 
@@ -122,7 +152,7 @@ public class Booking {
 
         if (removed) {
             calculateTotal();
-            System.out.println("✓ Ticket removed: Seat " + seatNumber);
+            LOG.debug(() -> "✓ Ticket removed: Seat " + seatNumber);
         }
 
         return removed;
@@ -180,29 +210,140 @@ public class Booking {
      * @return true jika berhasil save
      */
     public boolean saveBooking() {
+        long start = System.nanoTime();
         try {
-            // Save booking info
-            String bookingLine = String.format("%d|%d|%d|%s|%.2f|%s",
-                    bookingId, userId, scheduleId, bookingDate, totalPrice, status);
-            FileManager.appendFile(BOOKINGS_FILE, bookingLine);
-
-            // Save tickets
+            // Booking + semua tickets disusun dulu, lalu masuk log sebagai satu batch
+            // (ditulis utuh atau tidak sama sekali, satu fsync)
+            int ticketId = tickets.isEmpty() ? 0 : TICKET_IDS.nextBlock(tickets.size());
+            List<RecordLog.Entry> records = new ArrayList<>(1 + tickets.size());
+            records.add(new RecordLog.Entry(BOOKINGS, toLine()));
             for (Ticket ticket : tickets) {
-                String ticketLine = String.format("%d|%d|%s|%s|%.2f|%.2f",
-                        FileManager.getNextId(TICKETS_FILE),
-                        bookingId,
-                        ticket.getTicketType(),
-                        ticket.getSeatNumber(),
-                        ticket.getBasePrice(),
-                        ticket.calculatePrice());
-                FileManager.appendFile(TICKETS_FILE, ticketLine);
+                records.add(new RecordLog.Entry(TICKETS, ticketLine(ticketId++, bookingId,
+                        ticket.getTicketType(), ticket.getSeatNumber(),
+                        Money.toMinor(ticket.getBasePrice()), Money.toMinor(ticket.calculatePrice()))));
             }
 
-            System.out.println("✓ Booking saved successfully! ID: " + bookingId);
+            if (!STORE.commit(STORE.append(records))) {
+                SAVE_FAILURES.inc();
+                LOG.error("Error saving booking: log write failed");
+                return false;
+            }
+
+            TICKETS_SOLD.add(tickets.size());
+            LOG.info(() -> "✓ Booking saved successfully! ID: " + bookingId);
             return true;
         } catch (Exception e) {
-            System.err.println("Error saving booking: " + e.getMessage());
+            SAVE_FAILURES.inc();
+            LOG.error("Error saving booking: " + e.getMessage(), e);
             return false;
+        } finally {
+            SAVE_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Parse satu baris bookings.txt (tanpa tickets)
+     *
+     * @param line baris dari file
+     * @return Booking object, atau null jika baris invalid
+     */
+    public static Booking fromLine(String line) {
+        if (line.trim().isEmpty()) return null;
+
+        RecordReader r = RecordReader.forThread().reset(line);
+        if (r.fieldCount() < 6) return null;
+
+        try {
+            int bookingId = r.getInt(0);
+            int userId = r.getInt(1);
+            int scheduleId = r.getInt(2);
+            double totalPrice = Money.toDouble(r.getMinorUnits(4));
+
+            Booking booking = new Booking(bookingId, userId, scheduleId, r.getString(3));
+            booking.totalPrice = totalPrice;
+            booking.status = r.getString(5);
+            return booking;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Format booking menjadi baris bookings.txt
+     *
+     * @return baris file
+     */
+    public String toLine() {
+        StringBuilder line = new StringBuilder(64)
+                .append(bookingId).append('|')
+                .append(userId).append('|')
+                .append(scheduleId).append('|')
+                .append(bookingDate).append('|');
+        return Money.appendTo(line, Money.toMinor(totalPrice))
+                .append('|').append(status).toString();
+    }
+
+    /**
+     * Format satu baris tickets.txt (harga dalam sen, titik desimal)
+     */
+    private static String ticketLine(int ticketId, int bookingId, String type, String seatNumber,
+                                     long basePriceMinor, long finalPriceMinor) {
+        StringBuilder line = new StringBuilder(64)
+                .append(ticketId).append('|')
+                .append(bookingId).append('|')
+                .append(type).append('|')
+                .append(seatNumber).append('|');
+        Money.appendTo(line, basePriceMinor).append('|');
+        return Money.appendTo(line, finalPriceMinor).toString();
+    }
+
+    /**
+     * Migrasi baris bookings.txt lama (harga dengan koma desimal) ke format terbaru
+     */
+    private static String normalizeBookingLine(String line) {
+        Booking booking = fromLine(line);
+        return booking != null ? booking.toLine() : line;
+    }
+
+    /**
+     * Migrasi baris tickets.txt lama (harga dengan koma desimal) ke format terbaru
+     */
+    private static String normalizeTicketLine(String line) {
+        RecordReader r = RecordReader.forThread().reset(line);
+        if (r.fieldCount() != 6) return line;
+        try {
+            return ticketLine(r.getInt(0), r.getInt(1), r.getString(2), r.getString(3),
+                    r.getMinorUnits(4), r.getMinorUnits(5));
+        } catch (NumberFormatException e) {
+            return line;
+        }
+    }
+
+    /**
+     * ID booking dari baris bookings.txt, -1 jika baris bukan record valid
+     */
+    private static int bookingKey(String line) {
+        Booking booking = fromLine(line);
+        return booking != null ? booking.bookingId : -1;
+    }
+
+    /**
+     * ID ticket dari baris tickets.txt, -1 jika baris bukan record valid
+     */
+    private static int ticketKey(String line) {
+        return intColumn(line, 0);
+    }
+
+    /**
+     * Kolom angka ke-n dari baris, -1 jika tidak ada / bukan angka
+     */
+    private static int intColumn(String line, int column) {
+        RecordReader r = RecordReader.forThread().reset(line);
+        if (r.fieldCount() <= column) return -1;
+        try {
+            return r.getInt(column);
+        } catch (NumberFormatException e) {
+            return -1;
         }
     }
 
@@ -214,64 +355,62 @@ public class Booking {
      */
     public static List<Booking> getBookingHistory(int userId) {
         List<Booking> userBookings = new ArrayList<>();
-        List<String> lines = FileManager.readFile(BOOKINGS_FILE);
 
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
+        // Index userId -> bookingId: booking user lain tidak disentuh
+        for (String line : STORE.findBy(BOOKINGS, userId)) {
+            Booking booking = fromLine(line);
+            if (booking != null) {
+                userBookings.add(booking);
+            }
+        }
 
-            String[] parts = line.split("\\|");
-            if (parts.length < 6) continue;
+        // Load tickets untuk semua booking sekaligus
+        attachTickets(userBookings);
 
-            try {
-                int bookingId = Integer.parseInt(parts[0]);
-                int bookingUserId = Integer.parseInt(parts[1]);
-
-                if (bookingUserId == userId) {
-                    int scheduleId = Integer.parseInt(parts[2]);
-                    String bookingDate = parts[3];
+        return userBookings;
+    }
 
-                    Booking booking = new Booking(bookingId, bookingUserId,
-                            scheduleId, bookingDate);
-                    booking.totalPrice = Double.parseDouble(parts[4]);
-                    booking.status = parts[5];
+    /**
+     * Load tickets untuk banyak booking dengan satu lookup batch
+     * ke index bookingId -> tickets (hash join)
+     *
+     * @param bookings booking yang tickets-nya akan diisi
+     */
+    private static void attachTickets(List<Booking> bookings) {
+        if (bookings.isEmpty()) return;
 
-                    // Load tickets untuk booking ini
-                    booking.loadTickets();
+        List<Integer> bookingIds = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            bookingIds.add(booking.bookingId);
+        }
 
-                    userBookings.add(booking);
-                }
-            } catch (NumberFormatException e) {
-                continue;
+        Map<Integer, List<String>> ticketsByBooking = STORE.findAllBy(TICKETS, bookingIds);
+        for (Booking booking : bookings) {
+            List<String> lines = ticketsByBooking.get(booking.bookingId);
+            if (lines != null) {
+                booking.loadTickets(lines);
             }
         }
-
-        return userBookings;
     }
 
     /**
-     * Load tickets untuk booking ini dari file
+     * Load tickets untuk booking ini dari baris tickets milik booking ini
      */
-    private void loadTickets() {
-        List<String> lines = FileManager.readFile(TICKETS_FILE);
+    private void loadTickets(List<String> lines) {
+        RecordReader r = RecordReader.forThread();
 
         for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
-
-            String[] parts = line.split("\\|");
-            if (parts.length < 6) continue;
+            r.reset(line);
+            if (r.fieldCount() < 6) continue;
 
             try {
-                int ticketBookingId = Integer.parseInt(parts[1]);
-
-                if (ticketBookingId == this.bookingId) {
-                    String type = parts[2];
-                    String seatNumber = parts[3];
-                    double basePrice = Double.parseDouble(parts[4]);
+                double basePrice = Money.toDouble(r.getMinorUnits(4));
+                String type = r.getString(2);
+                String seatNumber = r.getString(3);
 
-                    // Recreate ticket menggunakan Factory
-                    Ticket ticket = TicketFactory.createTicket(type, seatNumber, basePrice);
-                    this.tickets.add(ticket);
-                }
+                // Recreate ticket menggunakan Factory
+                Ticket ticket = TicketFactory.createTicket(type, seatNumber, basePrice);
+                this.tickets.add(ticket);
             } catch (IllegalArgumentException e) {
                 // Catches both NumberFormatException and TicketFactory exceptions
                 continue;
@@ -286,31 +425,16 @@ public class Booking {
      */
     public static List<Booking> getAllBookings() {
         List<Booking> allBookings = new ArrayList<>();
-        List<String> lines = FileManager.readFile(BOOKINGS_FILE);
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
-
-            String[] parts = line.split("\\|");
-            if (parts.length < 6) continue;
-
-            try {
-                int bookingId = Integer.parseInt(parts[0]);
-                int userId = Integer.parseInt(parts[1]);
-                int scheduleId = Integer.parseInt(parts[2]);
-                String bookingDate = parts[3];
-
-                Booking booking = new Booking(bookingId, userId, scheduleId, bookingDate);
-                booking.totalPrice = Double.parseDouble(parts[4]);
-                booking.status = parts[5];
-                booking.loadTickets();
 
+        for (String line : STORE.findAll(BOOKINGS)) {
+            Booking booking = fromLine(line);
+            if (booking != null) {
                 allBookings.add(booking);
-            } catch (NumberFormatException e) {
-                continue;
             }
         }
 
+        attachTickets(allBookings);
+
         return allBookings;
     }
 
@@ -330,38 +454,10 @@ public class Booking {
      * @return true jika berhasil update
      */
     private boolean updateBookingStatus() {
-        List<String> lines = FileManager.readFile(BOOKINGS_FILE);
-        List<String> updatedLines = new ArrayList<>();
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) {
-                updatedLines.add(line);
-                continue;
-            }
-
-            String[] parts = line.split("\\|");
-            if (parts.length < 6) {
-                updatedLines.add(line);
-                continue;
-            }
-
-            try {
-                int lineBookingId = Integer.parseInt(parts[0]);
-
-                if (lineBookingId == this.bookingId) {
-                    String newLine = String.format("%d|%d|%d|%s|%.2f|%s",
-                            bookingId, userId, scheduleId, bookingDate, totalPrice, status);
-                    updatedLines.add(newLine);
-                } else {
-                    updatedLines.add(line);
-                }
-            } catch (NumberFormatException e) {
-                updatedLines.add(line);
-            }
-        }
+        if (STORE.findById(BOOKINGS, bookingId) == null) return false;
 
-        FileManager.writeFile(BOOKINGS_FILE, updatedLines);
-        return true;
+        // Versi terbaru record ditambahkan ke log, menimpa versi lama saat replay
+        return STORE.put(BOOKINGS, toLine());
     }
 
     /**
@@ -382,7 +478,7 @@ public class Booking {
      * @return formatted price
      */
     private String formatPrice(double price) {
-        return String.format("Rp %,.0f", price);
+        return Money.formatRupiah(price);
     }
 
     /**
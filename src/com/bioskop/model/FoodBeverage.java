@@ -1,5 +1,9 @@
 package com.bioskop.model;
 
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
+
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
@@ -13,13 +17,15 @@ import java.util.stream.Collectors;
  *
  */
 public class FoodBeverage {
+
+    private static final Logger LOG = Logger.get(FoodBeverage.class);
+
     private int fnbId;
     private String name;
     private double price;
     private int quantity; // default available quantity (optional)
 
     private static final String FILE = "../data/foodbeverages.txt";
-    private static final String SEP = "\\|";
     private static final String JOIN = "|";
 
     public FoodBeverage(int fnbId, String name, double price, int quantity) {
@@ -50,36 +56,33 @@ public class FoodBeverage {
     // ---- File operations ----
     public static List<FoodBeverage> loadFromFile() {
         List<FoodBeverage> list = new ArrayList<>();
-        Path path = Paths.get(FILE);
-        if (!Files.exists(path)) return list;
-        try {
-            List<String> lines = Files.readAllLines(path);
-            for (String line : lines) {
-                if (line.trim().isEmpty()) continue;
-                String[] p = line.split(SEP, -1);
-                // support both 3 and 4 fields for backward compatibility
-                if (p.length < 3) continue;
-                int id = Integer.parseInt(p[0]);
-                String name = p[1];
-                double price = Double.parseDouble(p[2]);
-                int qty = 0;
-                if (p.length >= 4 && !p[3].isEmpty()) qty = Integer.parseInt(p[3]);
-                list.add(new FoodBeverage(id, name, price, qty));
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        FileManager.forEachRecord(Paths.get(FILE), r -> {
+            FoodBeverage fnb = parse(r);
+            if (fnb != null) list.add(fnb);
+            return true;
+        });
         return list;
     }
 
+    // support both 3 and 4 fields for backward compatibility
+    private static FoodBeverage parse(RecordReader r) {
+        if (r.isBlank() || r.fieldCount() < 3) return null;
+        int id = r.getInt(0);
+        String name = r.getString(1);
+        double price = r.getDouble(2);
+        int qty = 0;
+        if (r.fieldCount() >= 4 && !r.isEmpty(3)) qty = r.getInt(3);
+        return new FoodBeverage(id, name, price, qty);
+    }
+
     public static List<FoodBeverage> getAllFnB() {
         return loadFromFile();
     }
 
     public static FoodBeverage getFnBById(int id) {
-        return loadFromFile().stream()
-                .filter(f -> f.getFnbId() == id)
-                .findFirst().orElse(null);
+        // berhenti di baris pertama dengan id yang cocok
+        return FileManager.findFirst(Paths.get(FILE), r ->
+                !r.isBlank() && r.fieldCount() >= 3 && r.getInt(0) == id ? parse(r) : null);
     }
 
     public static boolean addFnB(FoodBeverage fnb) {
@@ -129,7 +132,7 @@ public class FoodBeverage {
             Files.write(Paths.get(FILE), lines, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
             return true;
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("Error writing file " + FILE + ": " + e.getMessage(), e);
             return false;
         }
     }
@@ -1,7 +1,7 @@
 package com.bioskop.model;
 
-import com.bioskop.util.FileManager;
-import java.util.ArrayList;
+import com.bioskop.repository.FileRepository;
+import com.bioskop.util.RecordReader;
 import java.util.List;
 
 /**
@@ -42,27 +42,37 @@ public class Movie {
 
     // ================= FILE OPERATIONS ================= //
 
+    private static final FileRepository<Movie> REPOSITORY = new FileRepository<>(
+            "movies.txt", Movie::fromLine, Movie::toLine, Movie::getMovieId);
+
+    /**
+     * Parse satu baris movies.txt
+     *
+     * @return Movie, atau null jika baris bukan data film
+     */
+    public static Movie fromLine(String line) {
+        if (line.trim().isEmpty() || line.startsWith("/*")) return null;
+
+        RecordReader r = RecordReader.forThread().reset(line);
+        if (r.fieldCount() < 6) return null;
+
+        return new Movie(
+                r.getInt(0),
+                r.getString(1),
+                r.getString(2),
+                r.getInt(3),
+                r.getDouble(4),
+                r.getDouble(5)  // <-- basePrice
+        );
+    }
+
+    public String toLine() {
+        return movieId + "|" + title + "|" + genre + "|" +
+                durationMinutes + "|" + rating + "|" + basePrice;
+    }
+
     public static List<Movie> loadFromFile() {
-        List<Movie> movies = new ArrayList<>();
-        List<String> lines = FileManager.readFile("movies.txt");
-
-        for (String line : lines) {
-            if (line.trim().isEmpty() || line.startsWith("/*")) continue;
-
-            String[] p = line.split("\\|");
-            if (p.length < 6) continue;
-
-            movies.add(new Movie(
-                    Integer.parseInt(p[0]),
-                    p[1],
-                    p[2],
-                    Integer.parseInt(p[3]),
-                    Double.parseDouble(p[4]),
-                    Double.parseDouble(p[5])  // <-- basePrice
-            ));
-        }
-
-        return movies;
+        return REPOSITORY.findAll();
     }
 
     public static List<Movie> getAllMovies() {
@@ -70,36 +80,18 @@ public class Movie {
     }
 
     public static Movie getMovieById(int id) {
-        for (Movie m : loadFromFile()) {
-            if (m.getMovieId() == id) return m;
-        }
-        return null;
+        return REPOSITORY.findById(id);
     }
 
     public static void addMovie(Movie movie) {
-        String line = movie.movieId + "|" + movie.title + "|" + movie.genre + "|" +
-                movie.durationMinutes + "|" + movie.rating + "|" + movie.basePrice;
-
-        FileManager.appendFile("movies.txt", line);
+        REPOSITORY.insert(movie);
     }
 
     public static void updateMovie(Movie movie) {
-        List<String> lines = FileManager.readFile("movies.txt");
-
-        for (int i = 0; i < lines.size(); i++) {
-            String[] p = lines.get(i).split("\\|");
-
-            if (p.length > 0 && p[0].equals(String.valueOf(movie.movieId))) {
-                lines.set(i,
-                        movie.movieId + "|" + movie.title + "|" + movie.genre + "|" +
-                                movie.durationMinutes + "|" + movie.rating + "|" + movie.basePrice);
-            }
-        }
-
-        FileManager.writeFile("movies.txt", lines);
+        REPOSITORY.update(movie);
     }
 
     public static void deleteMovie(int id) {
-        FileManager.deleteLineContaining("movies.txt", id + "|");
+        REPOSITORY.delete(id);
     }
 }
@@ -1,7 +1,12 @@
 package com.bioskop.model;
 
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.repository.FileRepository;
+import com.bioskop.repository.SeatStore;
 import com.bioskop.strategy.*;
-import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -10,6 +15,9 @@ import java.util.*;
 
 public class Schedule {
 
+    private static final Logger LOG = Logger.get(Schedule.class);
+    private static final Histogram PRICING_LATENCY = MetricsRegistry.histogram("pricing.calculate");
+
     private int scheduleId;
     private int movieId;
     private String studioName;
@@ -27,6 +35,9 @@ public class Schedule {
     // List hari libur hard code
     private static final Set<String> HOLIDAYS = Set.of("2025-01-01", "2025-12-25", "2025-05-01");
 
+    private static final FileRepository<Schedule> REPOSITORY = new FileRepository<>(
+            FILE, Schedule::fromLine, Schedule::toLine, Schedule::getScheduleId);
+
     public Schedule(int scheduleId, int movieId, String studioName,
                     LocalDate showDate, LocalTime showTime,
                     int totalSeats, int availableSeats) {
@@ -62,28 +73,37 @@ public class Schedule {
         return pricingStrategy.calculatePrice(basePrice);
     }
 
-    // Load semua schedule dari file (tanpa logic hard-coded)
+    /**
+     * Parse satu baris schedule.txt
+     *
+     * @return Schedule dengan pricing strategy sudah ditentukan, atau null jika baris kosong
+     */
+    public static Schedule fromLine(String line) {
+        if (line.isBlank()) return null;
+
+        RecordReader r = RecordReader.forThread().reset(line);
+        int sid = r.getInt(0);
+        int mid = r.getInt(1);
+        String studio = r.getString(2);
+        LocalDate date = r.getDate(3);
+        LocalTime time = r.getTime(4);
+        int total = r.getInt(5);
+        int available = r.getInt(6);
+
+        Schedule s = new Schedule(sid, mid, studio, date, time, total, available);
+        s.determinePricingStrategy();
+        return s;
+    }
+
+    public String toLine() {
+        return scheduleId + "|" + movieId + "|" + studioName + "|" +
+                showDate.format(DATE_FMT) + "|" + showTime.format(TIME_FMT) + "|" +
+                totalSeats + "|" + availableSeats;
+    }
+
+    // Load semua schedule dari repository (file dibaca ulang hanya jika berubah)
     public static List<Schedule> loadFromFile() {
-        List<String> lines = FileManager.readFile(FILE);
-        List<Schedule> list = new ArrayList<>();
-
-        for (String line : lines) {
-            if (line.isBlank()) continue;
-
-            String[] p = line.split("\\|");
-            int sid = Integer.parseInt(p[0]);
-            int mid = Integer.parseInt(p[1]);
-            String studio = p[2];
-            LocalDate date = LocalDate.parse(p[3], DATE_FMT);
-            LocalTime time = LocalTime.parse(p[4], TIME_FMT);
-            int total = Integer.parseInt(p[5]);
-            int available = Integer.parseInt(p[6]);
-
-            Schedule s = new Schedule(sid, mid, studio, date, time, total, available);
-            s.determinePricingStrategy();
-            list.add(s);
-        }
-        return list;
+        return REPOSITORY.findAll();
     }
 
     public static List<Schedule> getAllSchedules() {
@@ -92,9 +112,7 @@ public class Schedule {
 
 
     public static Schedule getScheduleById(int id) {
-        return loadFromFile().stream()
-                .filter(s -> s.scheduleId == id)
-                .findFirst().orElse(null);
+        return REPOSITORY.findById(id);
     }
 
     public int getScheduleId() {
@@ -105,6 +123,27 @@ public class Schedule {
         return movieId;
     }
 
+    /**
+     * Kapasitas schedule; dari data kursi jika sudah ada, selain itu dari schedule.txt
+     */
+    public int getTotalSeats() {
+        SeatStore store = SeatStore.getInstance();
+        return store.hasSeats(scheduleId) ? store.getTotalCount(scheduleId) : totalSeats;
+    }
+
+    /**
+     * Sisa kursi (O(1), dari counter SeatStore); schedule yang belum punya
+     * data kursi memakai nilai di schedule.txt
+     */
+    public int getAvailableSeats() {
+        SeatStore store = SeatStore.getInstance();
+        return store.hasSeats(scheduleId) ? store.getAvailableCount(scheduleId) : availableSeats;
+    }
+
+    public boolean isSoldOut() {
+        return getAvailableSeats() == 0;
+    }
+
     public String getInfo() {
         Movie movie = Movie.getMovieById(this.movieId);
         String movieName = (movie != null) ? movie.getTitle() : "Unknown Movie";
@@ -113,19 +152,25 @@ public class Schedule {
                 " | " + movieName +
                 " | Studio " + studioName +
                 " | " + showDate + " " + showTime +
+                " | " + (isSoldOut() ? "SOLD OUT" : "Seats left: " + getAvailableSeats()) +
                 " | Strategy: " + pricingStrategy.getStrategyName();
     }
 
     public double calculateFinalPrice() {
-        com.bioskop.model.Movie movie = com.bioskop.model.Movie.getMovieById(this.movieId);
-
-        if (movie == null) {
-            System.err.println("ERROR: Movie ID " + movieId + " not found!");
-            return 0;
+        long start = System.nanoTime();
+        try {
+            com.bioskop.model.Movie movie = com.bioskop.model.Movie.getMovieById(this.movieId);
+
+            if (movie == null) {
+                LOG.error("ERROR: Movie ID " + movieId + " not found!");
+                return 0;
+            }
+
+            double basePrice = movie.getBasePrice();  // ambil HARGA film dari movies.txt
+            return calculatePrice(basePrice);         // dihitung pakai Strategy Pattern
+        } finally {
+            PRICING_LATENCY.recordSince(start);
         }
-
-        double basePrice = movie.getBasePrice();  // ambil HARGA film dari movies.txt
-        return calculatePrice(basePrice);         // dihitung pakai Strategy Pattern
     }
 
 
@@ -1,9 +1,17 @@
 package com.bioskop.model;
 
+import com.bioskop.manager.SeatHoldManager;
+import com.bioskop.manager.SeatReservationEngine;
+import com.bioskop.metrics.Counter;
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.observer.SeatEventBus;
 import com.bioskop.observer.SeatObserver;
-import com.bioskop.util.FileManager;
+import com.bioskop.repository.SeatStore;
+import com.bioskop.util.Logger;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,13 +21,22 @@ import java.util.List;
  * Design Pattern: Observer Pattern
  * Role: Subject (Observable)
  *
- * Seat akan notify semua registered observers ketika status booking berubah
+ * Seat akan notify semua registered observers ketika status booking berubah.
+ * Event dikirim lewat {@link SeatEventBus} (asynchronous); Seat sendiri tidak
+ * menyimpan daftar observer.
  *
  * @author Fiandra
  * @version 1.0
  */
 public class Seat {
 
+    private static final Logger LOG = Logger.get(Seat.class);
+
+    // Latensi booking (compare-and-set + tulis ke disk) dan jumlah bentrok
+    private static final Histogram BOOK_LATENCY = MetricsRegistry.histogram("seat.book");
+    private static final Histogram BOOK_ALL_LATENCY = MetricsRegistry.histogram("seat.bookAll");
+    private static final Counter BOOK_CONFLICTS = MetricsRegistry.counter("seat.book.conflict");
+
     // ========== ATTRIBUTES ==========
 
     private int seatId;
@@ -27,9 +44,6 @@ public class Seat {
     private String seatNumber;  // Format: A1, A2, B1, dst
     private boolean isBooked;
 
-    // Observer Pattern: Collection of observers
-    private List<SeatObserver> observers;
-
     // ========== CONSTRUCTOR ==========
 
     /**
@@ -45,7 +59,6 @@ public class Seat {
         this.scheduleId = scheduleId;
         this.seatNumber = seatNumber;
         this.isBooked = isBooked;
-        this.observers = new ArrayList<>();
     }
 
     // ========== OBSERVER PATTERN METHODS ==========
@@ -57,11 +70,10 @@ public class Seat {
      * @param observer Observer yang akan di-register
      */
     public void addObserver(SeatObserver observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
-            System.out.println("✓ Observer registered: " + observer.getObserverName());
+        if (SeatEventBus.getInstance().subscribeSeat(observer, scheduleId, seatId) != null) {
+            LOG.debug(() -> "✓ Observer registered: " + observer.getObserverName());
         } else {
-            System.out.println("⚠️ Observer already registered: " + observer.getObserverName());
+            LOG.warn(() -> "⚠️ Observer already registered: " + observer.getObserverName());
         }
     }
 
@@ -71,10 +83,10 @@ public class Seat {
      * @param observer Observer yang akan di-remove
      */
     public void removeObserver(SeatObserver observer) {
-        if (observers.remove(observer)) {
-            System.out.println("✓ Observer removed: " + observer.getObserverName());
+        if (SeatEventBus.getInstance().unsubscribe(observer, scheduleId, seatId)) {
+            LOG.debug(() -> "✓ Observer removed: " + observer.getObserverName());
         } else {
-            System.out.println("⚠️ Observer not found: " + observer.getObserverName());
+            LOG.warn(() -> "⚠️ Observer not found: " + observer.getObserverName());
         }
     }
 
@@ -82,27 +94,12 @@ public class Seat {
      * Notify semua registered observers tentang perubahan status
      * Private method - hanya dipanggil internal saat status berubah
      *
-     * Ini adalah CORE dari Observer Pattern:
-     * - Subject (Seat) notify semua Observers
-     * - Observers akan menerima update() call
+     * Event dipublish ke SeatEventBus; observer (per kursi, per schedule,
+     * atau global) menerimanya di thread dispatcher sesuai urutan publish.
      */
     private void notifyObservers() {
-        if (observers.isEmpty()) {
-            System.out.println("ℹ️ No observers registered for seat " + seatNumber);
-            return;
-        }
-
-        System.out.println("🔔 Notifying " + observers.size() + " observer(s)...");
-
-        for (SeatObserver observer : observers) {
-            try {
-                // Call update() method pada setiap observer
-                observer.update(seatNumber, isBooked, scheduleId);
-            } catch (Exception e) {
-                System.out.println("❌ Error notifying observer: " + observer.getObserverName());
-                e.printStackTrace();
-            }
-        }
+        SeatEventBus.getInstance().publish(
+                new SeatEventBus.SeatEvent(seatId, scheduleId, seatNumber, isBooked));
     }
 
     // ========== BUSINESS METHODS ==========
@@ -114,16 +111,24 @@ public class Seat {
      */
     public boolean bookSeat() {
         if (isBooked) {
-            System.out.println("✗ Seat " + seatNumber + " is already booked!");
+            LOG.debug(() -> "✗ Seat " + seatNumber + " is already booked!");
+            return false;
+        }
+
+        // Compare-and-set: gagal jika kursi sudah diambil thread / terminal lain
+        long start = System.nanoTime();
+        boolean booked = SeatReservationEngine.getInstance().tryBook(seatId);
+        BOOK_LATENCY.recordSince(start);
+        if (!booked) {
+            BOOK_CONFLICTS.inc();
+            this.isBooked = SeatReservationEngine.getInstance().isBooked(seatId);
+            LOG.debug(() -> "✗ Seat " + seatNumber + " is already booked!");
             return false;
         }
 
         // Change status
         this.isBooked = true;
-        System.out.println("✓ Seat " + seatNumber + " booked successfully!");
-
-        // Update file
-        updateSeatInFile();
+        LOG.debug(() -> "✓ Seat " + seatNumber + " booked successfully!");
 
         // ⭐ OBSERVER PATTERN: Notify observers
         notifyObservers();
@@ -138,16 +143,20 @@ public class Seat {
      */
     public boolean releaseSeat() {
         if (!isBooked) {
-            System.out.println("✗ Seat " + seatNumber + " is not booked!");
+            LOG.debug(() -> "✗ Seat " + seatNumber + " is not booked!");
             return false;
         }
 
-        // Change status
+        // Change status (memory + file lewat reservation engine)
+        boolean released = SeatReservationEngine.getInstance().release(seatId);
         this.isBooked = false;
-        System.out.println("✓ Seat " + seatNumber + " released!");
 
-        // Update file
-        updateSeatInFile();
+        if (!released) {
+            LOG.debug(() -> "✗ Seat " + seatNumber + " is not booked!");
+            return false;
+        }
+
+        LOG.debug(() -> "✓ Seat " + seatNumber + " released!");
 
         // ⭐ OBSERVER PATTERN: Notify observers
         notifyObservers();
@@ -156,60 +165,101 @@ public class Seat {
     }
 
     /**
-     * Get seat information as string
+     * Book beberapa seat sekaligus (all-or-nothing) dan notify observers
+     * tiap seat. Jika satu seat saja sudah dibooking pihak lain, tidak ada
+     * seat yang dibooking.
      *
-     * @return String representation of seat
+     * @param seats seat yang akan dibooking
+     * @return true jika semua seat berhasil dibooking
      */
-    public String getSeatInfo() {
-        String status = isBooked ? "BOOKED ❌" : "AVAILABLE ✓";
-        return String.format("Seat %s [Schedule: %d] - %s",
-                seatNumber, scheduleId, status);
-    }
+    public static boolean bookSeats(Collection<Seat> seats) {
+        List<Integer> seatIds = new ArrayList<>();
+        for (Seat seat : seats) {
+            if (seat.isBooked) return false;
+            seatIds.add(seat.seatId);
+        }
 
-    // ========== FILE OPERATIONS ==========
+        long start = System.nanoTime();
+        boolean booked = SeatReservationEngine.getInstance().bookAll(seatIds);
+        BOOK_ALL_LATENCY.recordSince(start);
+        if (!booked) {
+            BOOK_CONFLICTS.inc();
+            for (Seat seat : seats) {
+                seat.isBooked = SeatReservationEngine.getInstance().isBooked(seat.seatId);
+            }
+            return false;
+        }
+
+        for (Seat seat : seats) {
+            seat.isBooked = true;
+            LOG.debug(() -> "✓ Seat " + seat.seatNumber + " booked successfully!");
+            seat.notifyObservers();
+        }
+        return true;
+    }
 
     /**
-     * Update seat status di file seats.txt
-     * Synchronize memory state dengan file storage
+     * Hold beberapa seat sekaligus (all-or-nothing) selama pembayaran.
+     * Seat dilepas otomatis jika hold tidak di-confirm sebelum TTL habis.
+     *
+     * @param seats seat yang akan di-hold (satu schedule)
+     * @param userId user pemilik hold
+     * @return Hold, atau null jika ada seat yang sudah diambil
      */
-    private void updateSeatInFile() {
-        try {
-            List<String> lines = FileManager.readFile("seats.txt");
-            List<String> updatedLines = new ArrayList<>();
-
-            for (String line : lines) {
-                // Skip jika header
-                if (line.startsWith("seatId|")) {
-                    updatedLines.add(line);
-                    continue;
-                }
-
-                // Parse line
-                String[] parts = line.split("\\|");
-                if (parts.length >= 4) {
-                    int id = Integer.parseInt(parts[0]);
-
-                    if (id == this.seatId) {
-                        // Update this seat
-                        String newLine = String.format("%d|%d|%s|%s",
-                                seatId, scheduleId, seatNumber, isBooked);
-                        updatedLines.add(newLine);
-                    } else {
-                        // Keep other seats unchanged
-                        updatedLines.add(line);
-                    }
-                }
+    public static SeatHoldManager.Hold holdSeats(Collection<Seat> seats, int userId) {
+        List<Integer> seatIds = new ArrayList<>();
+        int scheduleId = 0;
+        for (Seat seat : seats) {
+            if (seat.isBooked) return null;
+            seatIds.add(seat.seatId);
+            scheduleId = seat.scheduleId;
+        }
+
+        SeatHoldManager.Hold hold = SeatHoldManager.getInstance().hold(userId, scheduleId, seatIds);
+        if (hold == null) {
+            for (Seat seat : seats) {
+                seat.isBooked = SeatReservationEngine.getInstance().isBooked(seat.seatId);
             }
+            return null;
+        }
 
-            // Write back to file
-            FileManager.writeFile("seats.txt", updatedLines);
+        for (Seat seat : seats) {
+            seat.isBooked = true;
+            LOG.debug(() -> "✓ Seat " + seat.seatNumber + " held until payment");
+            seat.notifyObservers();
+        }
+        return hold;
+    }
 
-        } catch (Exception e) {
-            System.out.println("❌ Error updating seat in file: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Batalkan hold dan notify observers tiap seat yang dilepas
+     *
+     * @return true jika seat dilepas (false jika hold sudah expired / dibatalkan)
+     */
+    public static boolean releaseHold(SeatHoldManager.Hold hold, Collection<Seat> seats) {
+        if (!SeatHoldManager.getInstance().cancel(hold)) return false;
+
+        for (Seat seat : seats) {
+            seat.isBooked = false;
+            LOG.debug(() -> "✓ Seat " + seat.seatNumber + " released!");
+            seat.notifyObservers();
         }
+        return true;
     }
 
+    /**
+     * Get seat information as string
+     *
+     * @return String representation of seat
+     */
+    public String getSeatInfo() {
+        String status = isBooked ? "BOOKED ❌" : "AVAILABLE ✓";
+        return String.format("Seat %s [Schedule: %d] - %s",
+                seatNumber, scheduleId, status);
+    }
+
+    // ========== FILE OPERATIONS ==========
+
     /**
      * Load all seats dari file untuk schedule tertentu
      *
@@ -217,37 +267,8 @@ public class Seat {
      * @return List of Seat objects
      */
     public static List<Seat> loadSeats(int scheduleId) {
-        List<Seat> seats = new ArrayList<>();
-
-        try {
-            List<String> lines = FileManager.readFile("seats.txt");
-
-            // Skip header (line 0)
-            for (int i = 1; i < lines.size(); i++) {
-                String line = lines.get(i);
-                String[] parts = line.split("\\|");
-
-                if (parts.length >= 4) {
-                    int seatId = Integer.parseInt(parts[0]);
-                    int seatScheduleId = Integer.parseInt(parts[1]);
-                    String seatNumber = parts[2];
-                    boolean isBooked = Boolean.parseBoolean(parts[3]);
-
-                    // Filter by scheduleId
-                    if (seatScheduleId == scheduleId) {
-                        Seat seat = new Seat(seatId, seatScheduleId, seatNumber, isBooked);
-                        seats.add(seat);
-                    }
-                }
-            }
-
-            System.out.println("✓ Loaded " + seats.size() + " seats for Schedule " + scheduleId);
-
-        } catch (Exception e) {
-            System.out.println("❌ Error loading seats: " + e.getMessage());
-            e.printStackTrace();
-        }
-
+        List<Seat> seats = SeatStore.getInstance().getSeatsBySchedule(scheduleId);
+        LOG.debug(() -> "✓ Loaded " + seats.size() + " seats for Schedule " + scheduleId);
         return seats;
     }
 
@@ -258,16 +279,7 @@ public class Seat {
      * @return Jumlah kursi available
      */
     public static int getAvailableSeatsCount(int scheduleId) {
-        List<Seat> seats = loadSeats(scheduleId);
-        int count = 0;
-
-        for (Seat seat : seats) {
-            if (!seat.isBooked) {
-                count++;
-            }
-        }
-
-        return count;
+        return SeatStore.getInstance().getAvailableCount(scheduleId);
     }
 
     /**
@@ -277,86 +289,12 @@ public class Seat {
      * @return Seat object atau null jika tidak ditemukan
      */
     public static Seat getSeatById(int seatId) {
-        try {
-            List<String> lines = FileManager.readFile("seats.txt");
-
-            for (int i = 1; i < lines.size(); i++) {
-                String line = lines.get(i);
-                String[] parts = line.split("\\|");
-
-                if (parts.length >= 4) {
-                    int id = Integer.parseInt(parts[0]);
-
-                    if (id == seatId) {
-                        int scheduleId = Integer.parseInt(parts[1]);
-                        String seatNumber = parts[2];
-                        boolean isBooked = Boolean.parseBoolean(parts[3]);
-
-                        return new Seat(id, scheduleId, seatNumber, isBooked);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("❌ Error getting seat: " + e.getMessage());
-        }
-
-        return null;
+        return SeatStore.getInstance().getSeatById(seatId);
     }
 
     public static List<Seat> getSeatsBySchedule(int scheduleId) {
-        List<Seat> seats = new ArrayList<>();
-
-        try {
-            List<String> lines = com.bioskop.util.FileManager.readFile("seats.txt");
-
-            System.out.println("DEBUG Seat: Reading seats.txt");
-            System.out.println("DEBUG Seat: Total lines in file: " + lines.size());
-            System.out.println("DEBUG Seat: Looking for scheduleId: " + scheduleId);
-
-            // Skip header line if exists
-            boolean isFirstLine = true;
-
-            for (String line : lines) {
-                line = line.trim();
-
-                // Skip empty lines
-                if (line.isEmpty()) continue;
-
-                // Skip header line
-                if (isFirstLine && line.startsWith("seatId")) {
-                    isFirstLine = false;
-                    continue;
-                }
-
-                String[] parts = line.split("\\|");
-
-                if (parts.length >= 4) {
-                    try {
-                        int seatId = Integer.parseInt(parts[0].trim());
-                        int sId = Integer.parseInt(parts[1].trim());
-                        String seatNumber = parts[2].trim();
-                        boolean isBooked = Boolean.parseBoolean(parts[3].trim());
-
-                        // Only add seats for this schedule
-                        if (sId == scheduleId) {
-                            Seat seat = new Seat(seatId, sId, seatNumber, isBooked);
-                            seats.add(seat);
-                            System.out.println("DEBUG Seat: Added " + seatNumber + " (booked: " + isBooked + ")");
-                        }
-                    } catch (NumberFormatException e) {
-                        System.err.println("DEBUG Seat: Error parsing line: " + line);
-                        e.printStackTrace();
-                    }
-                }
-            }
-
-            System.out.println("DEBUG Seat: Total seats loaded for schedule " + scheduleId + ": " + seats.size());
-
-        } catch (Exception e) {
-            System.err.println("DEBUG Seat: Error loading seats: " + e.getMessage());
-            e.printStackTrace();
-        }
-
+        List<Seat> seats = SeatStore.getInstance().getSeatsBySchedule(scheduleId);
+        LOG.debug(() -> "Total seats loaded for schedule " + scheduleId + ": " + seats.size());
         return seats;
     }
 
@@ -381,6 +319,6 @@ public class Seat {
     }
 
     public int getObserverCount() {
-        return observers.size();
+        return SeatEventBus.getInstance().getSeatSubscriberCount(scheduleId, seatId);
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.bioskop.model;
 
-import com.bioskop.util.FileManager;
+import com.bioskop.repository.FileRepository;
+import com.bioskop.util.IdSequence;
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
 import java.util.*;
 
 /**
@@ -12,6 +15,8 @@ import java.util.*;
  */
 public class User {
 
+    private static final Logger LOG = Logger.get(User.class);
+
     private int userId;
     private String username;
     private String password;
@@ -20,6 +25,12 @@ public class User {
 
     private static final String USERS_FILE = "users.txt";
 
+    private static final FileRepository<User> REPOSITORY = new FileRepository<>(
+            USERS_FILE, User::fromLine, User::toLine, User::getUserId);
+
+    private static final IdSequence USER_IDS =
+            IdSequence.forName(USERS_FILE, () -> REPOSITORY.nextId() - 1);
+
     /**
      * Constructor
      */
@@ -89,16 +100,9 @@ public class User {
      * @return User object jika berhasil, null jika gagal
      */
     public static User login(String username, String password) {
-        List<User> users = loadFromFile();
-
-        for (User user : users) {
-            if (user.getUsername().equals(username) &&
-                    user.getPassword().equals(password)) {
-                return user;
-            }
-        }
-
-        return null; // Login gagal
+        return REPOSITORY.findFirst(user ->
+                user.getUsername().equals(username) &&
+                        user.getPassword().equals(password)); // null = login gagal
     }
 
     /**
@@ -114,24 +118,24 @@ public class User {
         if (username == null || username.trim().isEmpty() ||
                 password == null || password.trim().isEmpty() ||
                 name == null || name.trim().isEmpty()) {
-            System.out.println("Error: Semua field harus diisi!");
+            LOG.warn("Error: Semua field harus diisi!");
             return false;
         }
 
         // Cek apakah username sudah ada
         if (isUsernameExists(username)) {
-            System.out.println("Error: Username sudah digunakan!");
+            LOG.warn("Error: Username sudah digunakan!");
             return false;
         }
 
         // Validasi panjang password
         if (password.length() < 6) {
-            System.out.println("Error: Password minimal 6 karakter!");
+            LOG.warn("Error: Password minimal 6 karakter!");
             return false;
         }
 
         // Generate user ID
-        int newUserId = FileManager.getNextId(USERS_FILE);
+        int newUserId = USER_IDS.next();
 
         // Buat user baru (default role: customer)
         User newUser = new User(newUserId, username, password, name, "customer");
@@ -139,7 +143,7 @@ public class User {
         // Save ke file
         newUser.saveToFile();
 
-        System.out.println("Registrasi berhasil! Silakan login.");
+        LOG.info("Registrasi berhasil! Silakan login.");
         return true;
     }
 
@@ -150,58 +154,55 @@ public class User {
      * @return true jika username sudah ada
      */
     private static boolean isUsernameExists(String username) {
-        List<User> users = loadFromFile();
-
-        for (User user : users) {
-            if (user.getUsername().equalsIgnoreCase(username)) {
-                return true;
-            }
-        }
-
-        return false;
+        return REPOSITORY.findFirst(user -> user.getUsername().equalsIgnoreCase(username)) != null;
     }
 
     /**
-     * Load semua user dari file
+     * Parse satu baris users.txt
      *
-     * @return List of User objects
+     * @param line baris dari file
+     * @return User object, atau null jika header / baris invalid
      */
-    private static List<User> loadFromFile() {
-        List<User> users = new ArrayList<>();
-        List<String> lines = FileManager.readFile(USERS_FILE);
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
+    public static User fromLine(String line) {
+        if (line.trim().isEmpty()) return null;
 
-            String[] parts = line.split("\\|");
+        RecordReader r = RecordReader.forThread().reset(line);
 
-            // Skip header atau baris invalid
-            if (parts.length < 5) continue;
+        // Skip header atau baris invalid
+        if (r.fieldCount() < 5) return null;
 
-            try {
-                int userId = Integer.parseInt(parts[0]);
-                String username = parts[1];
-                String password = parts[2];
-                String name = parts[3];
-                String role = parts[4];
-
-                users.add(new User(userId, username, password, name, role));
-            } catch (NumberFormatException e) {
-                // Skip baris header atau invalid
-                continue;
-            }
+        try {
+            int userId = r.getInt(0);
+            return new User(userId, r.getString(1), r.getString(2), r.getString(3), r.getString(4));
+        } catch (NumberFormatException e) {
+            return null;
         }
+    }
 
-        return users;
+    /**
+     * Format user menjadi baris users.txt
+     *
+     * @return baris file
+     */
+    public String toLine() {
+        return String.format("%d|%s|%s|%s|%s",
+                userId, username, password, name, role);
+    }
+
+    /**
+     * Load semua user dari repository
+     *
+     * @return List of User objects
+     */
+    private static List<User> loadFromFile() {
+        return REPOSITORY.findAll();
     }
 
     /**
      * Save user ini ke file
      */
     public void saveToFile() {
-        String line = String.format("%d|%s|%s|%s|%s",
-                userId, username, password, name, role);
-        FileManager.appendFile(USERS_FILE, line);
+        REPOSITORY.insert(this);
     }
 
     /**
@@ -220,15 +221,7 @@ public class User {
      * @return User object atau null jika tidak ditemukan
      */
     public static User getUserById(int userId) {
-        List<User> users = loadFromFile();
-
-        for (User user : users) {
-            if (user.getUserId() == userId) {
-                return user;
-            }
-        }
-
-        return null;
+        return REPOSITORY.findById(userId);
     }
 
     /**
@@ -237,39 +230,7 @@ public class User {
      * @return true jika berhasil update
      */
     public boolean updateUser() {
-        List<String> lines = FileManager.readFile(USERS_FILE);
-        List<String> updatedLines = new ArrayList<>();
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) {
-                updatedLines.add(line);
-                continue;
-            }
-
-            String[] parts = line.split("\\|");
-
-            if (parts.length < 5) {
-                updatedLines.add(line);
-                continue;
-            }
-
-            try {
-                int lineUserId = Integer.parseInt(parts[0]);
-
-                if (lineUserId == this.userId) {
-                    // Update baris ini
-                    String newLine = String.format("%d|%s|%s|%s|%s",
-                            userId, username, password, name, role);
-                    updatedLines.add(newLine);
-                } else {
-                    updatedLines.add(line);
-                }
-            } catch (NumberFormatException e) {
-                updatedLines.add(line);
-            }
-        }
-
-        FileManager.writeFile(USERS_FILE, updatedLines);
+        REPOSITORY.update(this);
         return true;
     }
 
@@ -280,42 +241,7 @@ public class User {
      * @return true jika berhasil delete
      */
     public static boolean deleteUser(int userId) {
-        List<String> lines = FileManager.readFile(USERS_FILE);
-        List<String> updatedLines = new ArrayList<>();
-        boolean deleted = false;
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) {
-                updatedLines.add(line);
-                continue;
-            }
-
-            String[] parts = line.split("\\|");
-
-            if (parts.length < 5) {
-                updatedLines.add(line);
-                continue;
-            }
-
-            try {
-                int lineUserId = Integer.parseInt(parts[0]);
-
-                if (lineUserId == userId) {
-                    deleted = true;
-                    // Skip baris ini (tidak ditambahkan ke updatedLines)
-                } else {
-                    updatedLines.add(line);
-                }
-            } catch (NumberFormatException e) {
-                updatedLines.add(line);
-            }
-        }
-
-        if (deleted) {
-            FileManager.writeFile(USERS_FILE, updatedLines);
-        }
-
-        return deleted;
+        return REPOSITORY.delete(userId);
     }
 
     /**
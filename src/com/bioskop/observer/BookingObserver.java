@@ -1,6 +1,12 @@
 package com.bioskop.observer;
 
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.storage.AsyncLogAppender;
+import com.bioskop.storage.SegmentedLog;
 import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -16,6 +22,8 @@ import java.time.format.DateTimeFormatter;
  */
 public class BookingObserver implements SeatObserver {
 
+    private static final Logger LOGGER = Logger.get(BookingObserver.class);
+
     // ========== ATTRIBUTES ==========
 
     private String observerName;
@@ -23,6 +31,21 @@ public class BookingObserver implements SeatObserver {
     private boolean enableLogging;
 
     private static final String LOG_FILE = "booking_logs.txt";
+    private static final String LOG_HEADER = "timestamp|observerName|userId|seatNumber|action|scheduleId";
+
+    // Segment aktif dirotasi per 1 MB / 1 hari; maksimal 30 segment terkompresi
+    private static final SegmentedLog LOG = new SegmentedLog(LOG_FILE, LOG_HEADER,
+            1024 * 1024, Duration.ofDays(1), 30);
+
+    // Ditulis di background oleh satu flusher, bukan di thread booking
+    private static final AsyncLogAppender APPENDER = AsyncLogAppender.create(LOG);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    static {
+        MetricsRegistry.gauge("bookinglog.pending", () -> APPENDER.getStats().pending);
+        MetricsRegistry.gauge("bookinglog.dropped", () -> APPENDER.getStats().dropped);
+        MetricsRegistry.gauge("bookinglog.maxFsyncMs", () -> APPENDER.getStats().maxFsyncMs);
+    }
 
     // ========== CONSTRUCTOR ==========
 
@@ -51,13 +74,8 @@ public class BookingObserver implements SeatObserver {
 
     @Override
     public void update(String seatNumber, boolean isBooked, int scheduleId) {
-        String action = isBooked ? "BOOKED" : "RELEASED";
-        String logMessage = String.format(
-                "[%s] Seat %s %s for Schedule %d",
-                observerName, seatNumber, action, scheduleId
-        );
-
-        System.out.println("🔔 " + logMessage);
+        LOGGER.debug(() -> String.format("🔔 [%s] Seat %s %s for Schedule %d",
+                observerName, seatNumber, isBooked ? "BOOKED" : "RELEASED", scheduleId));
 
         if (enableLogging) {
             logToFile(seatNumber, isBooked, scheduleId);
@@ -75,27 +93,22 @@ public class BookingObserver implements SeatObserver {
 
     private void initializeLogFile() {
         if (!FileManager.fileExists(LOG_FILE)) {
-            String header = "timestamp|observerName|userId|seatNumber|action|scheduleId";
-            FileManager.appendFile(LOG_FILE, header);
-            System.out.println("✓ Booking log file initialized");
+            FileManager.appendFile(LOG_FILE, LOG_HEADER);
+            LOGGER.info("✓ Booking log file initialized");
         }
     }
 
     private void logToFile(String seatNumber, boolean isBooked, int scheduleId) {
-        try {
-            LocalDateTime now = LocalDateTime.now();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            String timestamp = now.format(formatter);
-
-            String action = isBooked ? "BOOKED" : "RELEASED";
-
-            String logEntry = String.format("%s|%s|%d|%s|%s|%d",
-                    timestamp, observerName, userId, seatNumber, action, scheduleId);
-
-            FileManager.appendFile(LOG_FILE, logEntry);
-
-        } catch (Exception e) {
-            System.out.println("❌ Error logging to file: " + e.getMessage());
+        StringBuilder logEntry = new StringBuilder(64);
+        TIMESTAMP_FORMAT.formatTo(LocalDateTime.now(), logEntry);
+        logEntry.append('|').append(observerName)
+                .append('|').append(userId)
+                .append('|').append(seatNumber)
+                .append('|').append(isBooked ? "BOOKED" : "RELEASED")
+                .append('|').append(scheduleId);
+
+        if (!APPENDER.append(logEntry.toString())) {
+            LOGGER.warn("❌ Booking log buffer full, entry dropped");
         }
     }
 
@@ -107,12 +120,12 @@ public class BookingObserver implements SeatObserver {
 
     public void enableLogging() {
         this.enableLogging = true;
-        System.out.println("✓ Logging enabled for " + observerName);
+        LOGGER.info("✓ Logging enabled for " + observerName);
     }
 
     public void disableLogging() {
         this.enableLogging = false;
-        System.out.println("✓ Logging disabled for " + observerName);
+        LOGGER.info("✓ Logging disabled for " + observerName);
     }
 
     public boolean isLoggingEnabled() {
@@ -129,51 +142,107 @@ public class BookingObserver implements SeatObserver {
 
     // ========== STATIC METHODS ==========
 
+    /**
+     * Log segmented tanpa flush, untuk reader yang mengikuti file sendiri (viewer / tail).
+     * Baris yang masih di buffer appender baru terlihat setelah ditulis flusher.
+     */
+    public static SegmentedLog getLogForTail() {
+        return LOG;
+    }
+
+    /**
+     * Log segmented di belakang observer (segment aktif + segment terkompresi)
+     */
+    public static SegmentedLog getLog() {
+        flushLogs();
+        return LOG;
+    }
+
+    /**
+     * Tunggu sampai event kursi yang sudah dipublish diterima observer dan
+     * semua log yang sudah masuk buffer tertulis ke file
+     */
+    public static boolean flushLogs() {
+        SeatEventBus.getInstance().flush();
+        return APPENDER.flush();
+    }
+
+    /**
+     * Statistik writer log async (jumlah drop, latensi flush / fsync)
+     */
+    public static AsyncLogAppender.Stats getLogStats() {
+        return APPENDER.getStats();
+    }
+
+    /**
+     * Semua log dari segment lama sampai aktif, diawali header
+     */
     public static java.util.List<String> getAllLogs() {
-        return FileManager.readFile(LOG_FILE);
+        flushLogs();
+        java.util.List<String> logs = LOG.query(segment -> true, log -> true);
+        logs.add(0, LOG_HEADER);
+        return logs;
     }
 
+    /**
+     * Log untuk satu schedule; hanya segment yang berisi schedule tersebut yang dibuka
+     */
     public static java.util.List<String> getLogsBySchedule(int scheduleId) {
-        java.util.List<String> allLogs = getAllLogs();
-        java.util.List<String> filteredLogs = new java.util.ArrayList<>();
-
-        for (String log : allLogs) {
-            if (log.contains("|" + scheduleId)) {
-                filteredLogs.add(log);
-            }
-        }
+        flushLogs();
+        return LOG.findBySchedule(scheduleId);
+    }
 
-        return filteredLogs;
+    /**
+     * Log untuk satu user; hanya segment yang berisi user tersebut yang dibuka
+     */
+    public static java.util.List<String> getLogsByUser(int userId) {
+        flushLogs();
+        return LOG.findByUser(userId);
     }
 
     public static void clearLogs() {
-        java.util.List<String> header = java.util.Arrays.asList(
-                "timestamp|observerName|userId|seatNumber|action|scheduleId"
-        );
-        FileManager.writeFile(LOG_FILE, header);
-        System.out.println("✓ All logs cleared");
+        flushLogs();
+        LOG.clear();
+        LOGGER.info("✓ All logs cleared");
     }
 
-    public static void printLogs() {
-        java.util.List<String> logs = getAllLogs();
+    /**
+     * Format satu baris log yang sudah di-tokenize ke StringBuilder
+     * "[timestamp] Observer: .. | User: .. | Seat: .. | Action: .. | Schedule: .."
+     */
+    public static StringBuilder formatLogLine(RecordReader log, StringBuilder out) {
+        out.append('[');
+        log.appendTo(0, out).append("] Observer: ");
+        log.appendTo(1, out).append(" | User: ");
+        log.appendTo(2, out).append(" | Seat: ");
+        log.appendTo(3, out).append(" | Action: ");
+        log.appendTo(4, out).append(" | Schedule: ");
+        return log.appendTo(5, out);
+    }
 
+    public static void printLogs() {
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║         BOOKING LOGS                   ║");
         System.out.println("╚════════════════════════════════════════╝\n");
 
-        if (logs.isEmpty() || logs.size() == 1) {
+        // Streaming: log tidak dimuat seluruhnya ke memory
+        flushLogs();
+        int[] logCount = {0};
+        StringBuilder sb = new StringBuilder();
+        LOG.forEach(segment -> true, reader -> {
+            logCount[0]++;
+            if (reader.fieldCount() >= 6) {
+                sb.setLength(0);
+                System.out.println(formatLogLine(reader, sb));
+            }
+            return true;
+        });
+
+        if (logCount[0] == 0) {
             System.out.println("No logs available.");
             return;
         }
 
-        for (int i = 1; i < logs.size(); i++) {
-            String[] parts = logs.get(i).split("\\|");
-            if (parts.length >= 6) {
-                System.out.printf("[%s] Observer: %s | User: %s | Seat: %s | Action: %s | Schedule: %s\n",
-                        parts[0], parts[1], parts[2], parts[3], parts[4], parts[5]);
-            }
-        }
-
-        System.out.println("\n✓ Total logs: " + (logs.size() - 1));
+        System.out.println("\n✓ Total logs: " + logCount[0]);
     }
 }
\ No newline at end of file
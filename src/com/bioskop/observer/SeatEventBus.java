@@ -0,0 +1,406 @@
+package com.bioskop.observer;
+
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.util.Logger;
+import com.bioskop.util.MpscRing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SeatEventBus - Bus event perubahan status kursi untuk semua {@link SeatObserver}
+ *
+ * Menggantikan daftar observer per Seat. Observer berlangganan satu kali:
+ * - {@link #subscribe(SeatObserver)}: semua schedule
+ * - {@link #subscribe(SeatObserver, int)}: satu schedule (topic)
+ * - {@link #subscribeSeat(SeatObserver, int, int)}: satu kursi
+ *
+ * Publish lock-free: daftar subscriber dibaca dari array copy-on-write
+ * (volatile) dan event dimasukkan ke queue bounded milik tiap subscriber
+ * ({@link MpscRing}). Observer dipanggil di thread dispatcher
+ * ("bioskop-seat-events-N"), bukan di thread yang booking.
+ *
+ * Urutan: queue satu subscriber hanya dikosongkan oleh satu thread pada satu
+ * waktu, jadi event satu kursi diterima sesuai urutan publish. Jika queue
+ * penuh, publisher menunggu (back-pressure) sampai batas waktu, lalu event
+ * dibuang dan dihitung sebagai dropped.
+ *
+ * Konfigurasi lewat system property:
+ * - bioskop.events.threads    (default min(4, jumlah CPU))
+ * - bioskop.events.capacity   (default 1024 event per subscriber)
+ * - bioskop.events.blockMillis (default 200)
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public final class SeatEventBus {
+
+    private static final Logger LOG = Logger.get(SeatEventBus.class);
+
+    /** scheduleId / seatId untuk langganan tanpa filter */
+    public static final int ALL = -1;
+
+    private static final int MAX_DRAIN = 256;
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final Subscription[] EMPTY = new Subscription[0];
+
+    private static final SeatEventBus INSTANCE = new SeatEventBus(
+            Integer.getInteger("bioskop.events.threads", Math.min(4, Runtime.getRuntime().availableProcessors())),
+            Integer.getInteger("bioskop.events.capacity", 1024),
+            Long.getLong("bioskop.events.blockMillis", 200));
+
+    static {
+        MetricsRegistry.gauge("events.published", () -> INSTANCE.getPublishedCount());
+        MetricsRegistry.gauge("events.dropped", () -> INSTANCE.getDroppedCount());
+    }
+
+    /**
+     * Satu perubahan status kursi (immutable)
+     */
+    public static final class SeatEvent {
+        private final int seatId;
+        private final int scheduleId;
+        private final String seatNumber;
+        private final boolean booked;
+        private final long timestamp;
+
+        public SeatEvent(int seatId, int scheduleId, String seatNumber, boolean booked) {
+            this.seatId = seatId;
+            this.scheduleId = scheduleId;
+            this.seatNumber = seatNumber;
+            this.booked = booked;
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        public int getSeatId() { return seatId; }
+        public int getScheduleId() { return scheduleId; }
+        public String getSeatNumber() { return seatNumber; }
+        public boolean isBooked() { return booked; }
+        public long getTimestamp() { return timestamp; }
+    }
+
+    /**
+     * Langganan satu observer, dengan queue sendiri
+     */
+    public static final class Subscription {
+        private final SeatObserver observer;
+        private final int scheduleId;
+        private final int seatId;
+        private final MpscRing<SeatEvent> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile long delivered;   // posisi queue yang sudah selesai dikirim ke observer
+        private volatile boolean active = true;
+
+        private Subscription(SeatObserver observer, int scheduleId, int seatId, int capacity) {
+            this.observer = observer;
+            this.scheduleId = scheduleId;
+            this.seatId = seatId;
+            this.queue = new MpscRing<>(capacity);
+        }
+
+        public SeatObserver getObserver() { return observer; }
+        public int getScheduleId() { return scheduleId; }
+        public int getSeatId() { return seatId; }
+        public long getDelivered() { return delivered; }
+        public long getDropped() { return dropped.get(); }
+        public long getFailed() { return failed.get(); }
+        public int getPending() { return queue.size(); }
+        public boolean isActive() { return active; }
+
+        private boolean matches(SeatObserver observer, int scheduleId, int seatId) {
+            return this.observer == observer && this.scheduleId == scheduleId && this.seatId == seatId;
+        }
+    }
+
+    /**
+     * Subscriber satu schedule: semua kursi, dan per kursi
+     */
+    private static final class Topic {
+        volatile Subscription[] all = EMPTY;
+        final Map<Integer, Subscription[]> bySeat = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Thread dispatcher; dipakai untuk mendeteksi publish / flush dari dalam observer
+     */
+    private static final class DispatchThread extends Thread {
+        DispatchThread(Runnable task, String name) {
+            super(task, name);
+            setDaemon(true);
+        }
+    }
+
+    private final int capacity;
+    private final long blockNanos;
+    private final ExecutorService dispatcher;
+    private final Map<Integer, Topic> topics = new ConcurrentHashMap<>();
+    private volatile Subscription[] global = EMPTY;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public SeatEventBus(int threads, int capacity, long blockMillis) {
+        this.capacity = capacity;
+        this.blockNanos = TimeUnit.MILLISECONDS.toNanos(blockMillis);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, threads),
+                task -> new DispatchThread(task, "bioskop-seat-events-" + threadNumber.incrementAndGet()));
+    }
+
+    public static SeatEventBus getInstance() {
+        return INSTANCE;
+    }
+
+    // ========== SUBSCRIBE ==========
+
+    /**
+     * Langganan event semua schedule
+     *
+     * @return Subscription, atau null jika observer sudah berlangganan
+     */
+    public Subscription subscribe(SeatObserver observer) {
+        return subscribe(observer, ALL, ALL);
+    }
+
+    /**
+     * Langganan event satu schedule
+     */
+    public Subscription subscribe(SeatObserver observer, int scheduleId) {
+        return subscribe(observer, scheduleId, ALL);
+    }
+
+    /**
+     * Langganan event satu kursi
+     */
+    public Subscription subscribeSeat(SeatObserver observer, int scheduleId, int seatId) {
+        return subscribe(observer, scheduleId, seatId);
+    }
+
+    private synchronized Subscription subscribe(SeatObserver observer, int scheduleId, int seatId) {
+        if (find(observer, scheduleId, seatId) != null) return null;
+
+        Subscription subscription = new Subscription(observer, scheduleId, seatId, capacity);
+        if (scheduleId == ALL) {
+            global = append(global, subscription);
+        } else {
+            Topic topic = topics.computeIfAbsent(scheduleId, id -> new Topic());
+            if (seatId == ALL) {
+                topic.all = append(topic.all, subscription);
+            } else {
+                topic.bySeat.put(seatId, append(topic.bySeat.getOrDefault(seatId, EMPTY), subscription));
+            }
+        }
+        return subscription;
+    }
+
+    /**
+     * Berhenti berlangganan (event yang sudah ada di queue tetap dikirim)
+     *
+     * @return false jika observer tidak berlangganan dengan filter ini
+     */
+    public synchronized boolean unsubscribe(SeatObserver observer, int scheduleId, int seatId) {
+        Subscription subscription = find(observer, scheduleId, seatId);
+        if (subscription == null) return false;
+
+        subscription.active = false;
+        if (scheduleId == ALL) {
+            global = remove(global, subscription);
+            return true;
+        }
+        Topic topic = topics.get(scheduleId);
+        if (seatId == ALL) {
+            topic.all = remove(topic.all, subscription);
+        } else {
+            Subscription[] remaining = remove(topic.bySeat.get(seatId), subscription);
+            if (remaining.length == 0) {
+                topic.bySeat.remove(seatId);
+            } else {
+                topic.bySeat.put(seatId, remaining);
+            }
+        }
+        return true;
+    }
+
+    public boolean unsubscribe(Subscription subscription) {
+        return unsubscribe(subscription.observer, subscription.scheduleId, subscription.seatId);
+    }
+
+    private Subscription find(SeatObserver observer, int scheduleId, int seatId) {
+        Subscription[] candidates;
+        if (scheduleId == ALL) {
+            candidates = global;
+        } else {
+            Topic topic = topics.get(scheduleId);
+            if (topic == null) return null;
+            candidates = seatId == ALL ? topic.all : topic.bySeat.getOrDefault(seatId, EMPTY);
+        }
+        for (Subscription subscription : candidates) {
+            if (subscription.matches(observer, scheduleId, seatId)) return subscription;
+        }
+        return null;
+    }
+
+    private static Subscription[] append(Subscription[] array, Subscription subscription) {
+        Subscription[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = subscription;
+        return copy;
+    }
+
+    private static Subscription[] remove(Subscription[] array, Subscription subscription) {
+        List<Subscription> copy = new ArrayList<>(Arrays.asList(array));
+        copy.remove(subscription);
+        return copy.toArray(EMPTY);
+    }
+
+    // ========== PUBLISH ==========
+
+    /**
+     * Kirim event ke semua subscriber yang cocok; observer dipanggil di
+     * thread dispatcher
+     */
+    public void publish(SeatEvent event) {
+        published.incrementAndGet();
+        offerAll(global, event);
+
+        Topic topic = topics.get(event.scheduleId);
+        if (topic != null) {
+            offerAll(topic.all, event);
+            Subscription[] seat = topic.bySeat.get(event.seatId);
+            if (seat != null) offerAll(seat, event);
+        }
+    }
+
+    private void offerAll(Subscription[] subscriptions, SeatEvent event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.active) offer(subscription, event);
+        }
+    }
+
+    private void offer(Subscription subscription, SeatEvent event) {
+        if (!subscription.queue.offer(event)) {
+            // Back-pressure: tunggu observer yang lambat, tapi jangan pernah
+            // menunggu dari thread dispatcher sendiri (bisa deadlock)
+            boolean mayBlock = !(Thread.currentThread() instanceof DispatchThread);
+            long deadline = System.nanoTime() + blockNanos;
+            do {
+                schedule(subscription);
+                if (!mayBlock || System.nanoTime() > deadline) {
+                    drop(subscription);
+                    return;
+                }
+                LockSupport.parkNanos(50_000);
+            } while (!subscription.queue.offer(event));
+        }
+        schedule(subscription);
+    }
+
+    private void drop(Subscription subscription) {
+        dropped.incrementAndGet();
+        if (subscription.dropped.getAndIncrement() == 0) {
+            LOG.warn("⚠ Seat event queue full for " + subscription.observer.getObserverName()
+                    + ", dropping events");
+        }
+    }
+
+    // ========== DISPATCH ==========
+
+    private void schedule(Subscription subscription) {
+        if (subscription.scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscription));
+        }
+    }
+
+    /**
+     * Kirim event di queue satu subscriber; hanya satu drain aktif per subscriber
+     */
+    private void drain(Subscription subscription) {
+        MpscRing<SeatEvent> queue = subscription.queue;
+        SeatEvent event;
+        int count = 0;
+        while (count < MAX_DRAIN && (event = queue.poll()) != null) {
+            try {
+                subscription.observer.update(event.seatNumber, event.booked, event.scheduleId);
+            } catch (RuntimeException e) {
+                subscription.failed.incrementAndGet();
+                LOG.error("❌ Error notifying observer: " + subscription.observer.getObserverName()
+                        + " - " + e.getMessage(), e);
+            }
+            subscription.delivered = queue.consumerPosition();
+            count++;
+        }
+
+        subscription.scheduled.set(false);
+        if (!queue.isEmpty()) schedule(subscription); // batch penuh / event masuk saat drain selesai
+    }
+
+    /**
+     * Tunggu sampai semua event yang sudah dipublish sebelum pemanggilan ini
+     * diterima observer. Dari dalam observer langsung return (tidak menunggu diri sendiri).
+     *
+     * @return false jika timeout
+     */
+    public boolean flush() {
+        if (Thread.currentThread() instanceof DispatchThread) return false;
+
+        List<Subscription> subscriptions = getSubscriptions();
+        long[] targets = new long[subscriptions.size()];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = subscriptions.get(i).queue.producerPosition();
+        }
+
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        for (int i = 0; i < targets.length; i++) {
+            Subscription subscription = subscriptions.get(i);
+            while (subscription.delivered < targets[i]) {
+                if (System.nanoTime() > deadline) return false;
+                schedule(subscription);
+                LockSupport.parkNanos(50_000);
+            }
+        }
+        return true;
+    }
+
+    // ========== STATISTIK ==========
+
+    /**
+     * Semua langganan aktif (global, per schedule, per kursi)
+     */
+    public List<Subscription> getSubscriptions() {
+        List<Subscription> all = new ArrayList<>(Arrays.asList(global));
+        for (Topic topic : topics.values()) {
+            all.addAll(Arrays.asList(topic.all));
+            for (Subscription[] seat : topic.bySeat.values()) {
+                all.addAll(Arrays.asList(seat));
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Jumlah observer yang berlangganan khusus satu kursi
+     */
+    public int getSeatSubscriberCount(int scheduleId, int seatId) {
+        Topic topic = topics.get(scheduleId);
+        return topic == null ? 0 : topic.bySeat.getOrDefault(seatId, EMPTY).length;
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
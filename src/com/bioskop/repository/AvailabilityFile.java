@@ -0,0 +1,99 @@
+package com.bioskop.repository;
+
+import com.bioskop.util.FileManager;
+import com.bioskop.util.RecordReader;
+
+import java.util.*;
+
+/**
+ * AvailabilityFile - Kolom totalSeats / availableSeats di schedule.txt
+ * sebagai salinan persisten counter ketersediaan kursi
+ *
+ * Sumber kebenaran tetap status kursi di {@link SeatFile}; file ini hanya
+ * materialisasi supaya listing schedule bisa membaca "sisa kursi" tanpa
+ * memuat semua kursi. {@link SeatStore} memverifikasi dan memperbaikinya
+ * setiap kali index kursi dibangun ulang.
+ *
+ * Hanya availableSeats yang ditulis; totalSeats adalah kapasitas yang diisi
+ * admin dan tidak pernah diubah dari sini.
+ *
+ * Format baris: scheduleId|movieId|studio|date|time|totalSeats|availableSeats
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class AvailabilityFile {
+
+    private static final int SCHEDULE_ID = 0;
+    private static final int TOTAL_SEATS = 5;
+    private static final int AVAILABLE_SEATS = 6;
+
+    private final String filename;
+
+    public AvailabilityFile(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * Baca counter yang tersimpan
+     *
+     * @return scheduleId -> {totalSeats, availableSeats}
+     */
+    public Map<Integer, int[]> load() {
+        Map<Integer, int[]> counts = new HashMap<>();
+        FileManager.forEachRecord(filename, record -> {
+            try {
+                if (record.fieldCount() > AVAILABLE_SEATS) {
+                    counts.putIfAbsent(record.getInt(SCHEDULE_ID), new int[]{
+                            record.getInt(TOTAL_SEATS), record.getInt(AVAILABLE_SEATS)});
+                }
+            } catch (RuntimeException e) {
+                // Header / baris rusak dilewati
+            }
+            return true;
+        });
+        return counts;
+    }
+
+    /**
+     * Tulis kolom availableSeats yang berubah; kolom dan baris lain dibiarkan
+     * apa adanya. File hanya ditulis ulang jika ada nilai yang berbeda.
+     *
+     * @param available scheduleId -> availableSeats
+     * @return jumlah schedule yang diupdate
+     */
+    public int save(Map<Integer, Integer> available) {
+        if (available.isEmpty()) return 0;
+
+        int[] changed = {0};
+        FileManager.updateFile(filename, lines -> {
+            RecordReader record = new RecordReader();
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                record.reset(line);
+                if (record.fieldCount() <= AVAILABLE_SEATS) continue;
+
+                Integer count;
+                try {
+                    count = available.get(record.getInt(SCHEDULE_ID));
+                    if (count == null || record.getInt(AVAILABLE_SEATS) == count) continue;
+                } catch (RuntimeException e) {
+                    continue;
+                }
+
+                StringBuilder sb = new StringBuilder(line.length() + 4);
+                sb.append(line, 0, record.fieldStart(AVAILABLE_SEATS))
+                        .append(count.intValue())
+                        .append(line, record.fieldEnd(AVAILABLE_SEATS), line.length());
+                lines.set(i, sb.toString());
+                changed[0]++;
+            }
+            return changed[0] > 0 ? lines : null;
+        });
+        return changed[0];
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+}
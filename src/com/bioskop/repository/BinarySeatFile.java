@@ -0,0 +1,459 @@
+package com.bioskop.repository;
+
+import com.bioskop.model.Seat;
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BinarySeatFile - seats.bin, record kursi biner lebar tetap yang di-map ke memory
+ *
+ * Layout file (big endian):
+ * <pre>
+ *   header 32 byte : magic "BSEA" | format (2) | recordSize (2) | count (4)
+ *                    | layoutGen (4) | stateWrites (8) | reserved (8)
+ *   record 32 byte : seatId (4) | scheduleId (4) | row (2) | col (2) | state (1)
+ *                    | pad (3) | version (4) | seatNumber ASCII (12)
+ * </pre>
+ *
+ * Record diurutkan per scheduleId, jadi seat map satu schedule adalah satu
+ * region berurutan di file. Booking / cancel hanya menulis 1 byte state
+ * (plus version record dan counter stateWrites di header) langsung di
+ * MappedByteBuffer, di bawah lock file FileManager.
+ *
+ * layoutGen naik setiap kali posisi record berubah (append / rewrite), sehingga
+ * offset lama dari proses lain ditolak dan index mereka di-reload.
+ * Mengganti file lewat {@link #importFromText} sebaiknya saat aplikasi tidak jalan.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class BinarySeatFile implements SeatFile {
+
+    private static final Logger LOG = Logger.get(BinarySeatFile.class);
+
+    private static final int MAGIC = 0x42534541; // "BSEA"
+    private static final short FORMAT_VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 32;
+    private static final int LABEL_SIZE = 12;
+
+    // Offset field header
+    private static final int H_COUNT = 8;
+    private static final int H_LAYOUT_GEN = 12;
+    private static final int H_STATE_WRITES = 16;
+
+    // Offset field record
+    private static final int R_SEAT_ID = 0;
+    private static final int R_SCHEDULE_ID = 4;
+    private static final int R_ROW = 8;
+    private static final int R_COL = 10;
+    private static final int R_STATE = 12;
+    private static final int R_VERSION = 16;
+    private static final int R_LABEL = 20;
+
+    private static final byte BOOKED = 1;
+    private static final byte AVAILABLE = 0;
+
+    private final String filename;
+
+    private volatile MappedByteBuffer map;
+    private volatile int loadedLayoutGen = -1;
+    private volatile long seenStateWrites = -1;
+    private volatile boolean stale;
+
+    // Penulisan dari proses ini, supaya tidak dianggap perubahan dari luar
+    private final AtomicInteger activeWrites = new AtomicInteger();
+    private final AtomicLong writeSeq = new AtomicLong();
+
+    public BinarySeatFile(String filename) {
+        this.filename = filename;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    // ========== LOAD ==========
+
+    /**
+     * Map ulang file dan kirim setiap record ke sink; record area dibaca
+     * dengan satu bulk get
+     */
+    @Override
+    public synchronized void load(Sink sink) {
+        stale = false;
+        MappedByteBuffer mapped = FileManager.withFileLock(filename, this::mapUnderLock);
+        map = mapped;
+        if (mapped == null) {
+            loadedLayoutGen = -1;
+            seenStateWrites = -1;
+            return;
+        }
+
+        int count = mapped.getInt(H_COUNT);
+        loadedLayoutGen = mapped.getInt(H_LAYOUT_GEN);
+        seenStateWrites = mapped.getLong(H_STATE_WRITES);
+
+        byte[] records = new byte[count * RECORD_SIZE];
+        mapped.get(HEADER_SIZE, records);
+        ByteBuffer buffer = ByteBuffer.wrap(records);
+
+        for (int i = 0; i < count; i++) {
+            int base = i * RECORD_SIZE;
+            sink.seat(buffer.getInt(base + R_SEAT_ID),
+                    buffer.getInt(base + R_SCHEDULE_ID),
+                    readLabel(records, base + R_LABEL),
+                    records[base + R_STATE] == BOOKED,
+                    HEADER_SIZE + (long) base + R_STATE);
+        }
+    }
+
+    private MappedByteBuffer mapUnderLock() {
+        Path path = FileManager.getFilePath(filename);
+        try {
+            FileManager.ensureDataFolderExists();
+            if (!Files.exists(path) || Files.size(path) < HEADER_SIZE) {
+                writeFileAtomically(path, Collections.emptyList(), 0);
+            }
+
+            // Mapping tetap valid setelah channel ditutup
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                if (mapped.getInt(0) != MAGIC || mapped.getShort(6) != RECORD_SIZE) {
+                    LOG.error("Error reading " + filename + ": not a seat file");
+                    return null;
+                }
+                int count = mapped.getInt(H_COUNT);
+                if (HEADER_SIZE + (long) count * RECORD_SIZE > mapped.capacity()) {
+                    LOG.error("Error reading " + filename + ": truncated file");
+                    return null;
+                }
+                return mapped;
+            }
+        } catch (IOException e) {
+            LOG.error("Error mapping file " + filename + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ========== WRITE ==========
+
+    @Override
+    public boolean writeState(long stateOffset, Boolean expected, boolean update) {
+        MappedByteBuffer mapped = map;
+        int layoutGen = loadedLayoutGen;
+        if (mapped == null) return false;
+
+        int state = (int) stateOffset;
+        int record = state - R_STATE;
+
+        return FileManager.withFileLock(filename, () -> {
+            activeWrites.incrementAndGet();
+            try {
+                if (mapped.getInt(H_LAYOUT_GEN) != layoutGen) {
+                    // Record sudah dipindah (append / rewrite), offset basi
+                    stale = true;
+                    return false;
+                }
+                if (expected != null && (mapped.get(state) == BOOKED) != expected) {
+                    return false;
+                }
+
+                mapped.put(state, update ? BOOKED : AVAILABLE);
+                mapped.putInt(record + R_VERSION, mapped.getInt(record + R_VERSION) + 1);
+                long writes = mapped.getLong(H_STATE_WRITES) + 1;
+                mapped.putLong(H_STATE_WRITES, writes);
+                if (writes - 1 == seenStateWrites) {
+                    seenStateWrites = writes;
+                }
+                return true;
+            } finally {
+                writeSeq.incrementAndGet();
+                activeWrites.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Tambahkan kursi. Jika schedule kursi baru belum ada di file, record
+     * cukup ditulis di akhir; jika sudah ada, file ditulis ulang supaya
+     * region per schedule tetap berurutan.
+     */
+    @Override
+    public void append(List<Seat> seats) {
+        if (seats.isEmpty()) return;
+
+        FileManager.withFileLock(filename, () -> {
+            Path path = FileManager.getFilePath(filename);
+            List<byte[]> existing = readRecords(path);
+            List<byte[]> added = new ArrayList<>(seats.size());
+            for (Seat seat : seats) {
+                added.add(encode(seat.getSeatId(), seat.getScheduleId(), seat.getSeatNumber(), seat.isBooked()));
+            }
+
+            int layoutGen = readLayoutGen(path) + 1;
+            List<byte[]> all = new ArrayList<>(existing);
+            all.addAll(added);
+
+            try {
+                if (isGrouped(all)) {
+                    appendRecords(path, existing.size(), added, layoutGen);
+                } else {
+                    rewriteInPlace(path, sortBySchedule(all), layoutGen);
+                }
+            } catch (IOException e) {
+                LOG.error("Error appending to file " + filename + ": " + e.getMessage());
+            }
+            return null;
+        });
+    }
+
+    private void appendRecords(Path path, int count, List<byte[]> added, int layoutGen) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer records = ByteBuffer.allocate(added.size() * RECORD_SIZE);
+            for (byte[] record : added) records.put(record);
+            records.flip();
+            channel.write(records, HEADER_SIZE + (long) count * RECORD_SIZE);
+
+            ByteBuffer header = ByteBuffer.allocate(8);
+            header.putInt(count + added.size()).putInt(layoutGen).flip();
+            channel.write(header, H_COUNT);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Tulis ulang semua record di file yang sama (bukan rename), supaya
+     * mapping di proses lain tetap menunjuk ke file ini dan melihat layoutGen baru
+     */
+    private void rewriteInPlace(Path path, List<byte[]> records, int layoutGen) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer content = ByteBuffer.allocate(records.size() * RECORD_SIZE);
+            for (byte[] record : records) content.put(record);
+            content.flip();
+            channel.write(content, HEADER_SIZE);
+
+            ByteBuffer header = ByteBuffer.allocate(8);
+            header.putInt(records.size()).putInt(layoutGen).flip();
+            channel.write(header, H_COUNT);
+            channel.force(true);
+        }
+    }
+
+    // ========== CHANGE DETECTION ==========
+
+    /**
+     * Cek perubahan lewat header yang di-map: layoutGen (posisi record) dan
+     * stateWrites (jumlah update status dari semua proses). Tanpa syscall.
+     */
+    @Override
+    public boolean isChanged() {
+        if (stale) return true;
+        MappedByteBuffer mapped = map;
+        if (mapped == null) return Files.exists(FileManager.getFilePath(filename));
+
+        long seqBefore = writeSeq.get();
+        if (activeWrites.get() > 0) return false;
+
+        boolean changed = mapped.getInt(H_LAYOUT_GEN) != loadedLayoutGen
+                || mapped.getLong(H_STATE_WRITES) != seenStateWrites;
+
+        return changed && writeSeq.get() == seqBefore && activeWrites.get() == 0;
+    }
+
+    // ========== IMPORT / EXPORT ==========
+
+    /**
+     * Konversi seats.txt ke file biner. Urutan kursi dalam satu schedule
+     * dipertahankan; seatId duplikat setelah yang pertama diabaikan.
+     *
+     * @param textFile nama file teks sumber (misal "seats.txt")
+     * @param binaryFile nama file biner tujuan (misal "seats.bin")
+     * @return jumlah kursi yang diimport
+     */
+    public static int importFromText(String textFile, String binaryFile) {
+        List<byte[]> records = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        new TextSeatFile(textFile).load((seatId, scheduleId, seatNumber, booked, offset) -> {
+            if (seen.add(seatId)) {
+                records.add(encode(seatId, scheduleId, seatNumber, booked));
+            }
+        });
+
+        Path path = FileManager.getFilePath(binaryFile);
+        return FileManager.withFileLock(binaryFile, () -> {
+            try {
+                writeFileAtomically(path, sortBySchedule(records), readLayoutGen(path) + 1);
+                return records.size();
+            } catch (IOException e) {
+                LOG.error("Error writing file " + binaryFile + ": " + e.getMessage());
+                return -1;
+            }
+        });
+    }
+
+    /**
+     * Konversi file biner kembali ke format teks (dengan header kolom)
+     *
+     * @param binaryFile nama file biner sumber
+     * @param textFile nama file teks tujuan
+     * @return jumlah kursi yang diexport
+     */
+    public static int exportToText(String binaryFile, String textFile) {
+        List<String> lines = new ArrayList<>();
+        lines.add("seatId|scheduleId|seatNumber|isBooked");
+        new BinarySeatFile(binaryFile).load((seatId, scheduleId, seatNumber, booked, offset) ->
+                lines.add(TextSeatFile.formatLine(seatId, scheduleId, seatNumber, booked)));
+
+        return FileManager.writeLines(textFile, lines) ? lines.size() - 1 : -1;
+    }
+
+    /**
+     * java com.bioskop.repository.BinarySeatFile import|export [seats.txt] [seats.bin]
+     */
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "";
+        String textFile = args.length > 1 ? args[1] : "seats.txt";
+        String binaryFile = args.length > 2 ? args[2] : "seats.bin";
+
+        if (mode.equals("import")) {
+            System.out.println("✓ Imported " + importFromText(textFile, binaryFile) + " seats into " + binaryFile);
+        } else if (mode.equals("export")) {
+            System.out.println("✓ Exported " + exportToText(binaryFile, textFile) + " seats into " + textFile);
+        } else {
+            System.out.println("Usage: BinarySeatFile import|export [textFile] [binaryFile]");
+        }
+    }
+
+    // ========== RECORD CODEC ==========
+
+    static byte[] encode(int seatId, int scheduleId, String seatNumber, boolean booked) {
+        byte[] label = seatNumber.getBytes(StandardCharsets.US_ASCII);
+        if (label.length > LABEL_SIZE) {
+            throw new IllegalArgumentException("Seat number too long: " + seatNumber);
+        }
+
+        char row = 0;
+        int col = 0;
+        if (!seatNumber.isEmpty() && Character.isLetter(seatNumber.charAt(0))) {
+            row = seatNumber.charAt(0);
+            try {
+                col = Integer.parseInt(seatNumber.substring(1));
+            } catch (NumberFormatException e) {
+                col = 0;
+            }
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putInt(R_SEAT_ID, seatId)
+                .putInt(R_SCHEDULE_ID, scheduleId)
+                .putChar(R_ROW, row)
+                .putShort(R_COL, (short) Math.max(0, Math.min(col, Short.MAX_VALUE)))
+                .put(R_STATE, booked ? BOOKED : AVAILABLE)
+                .put(R_LABEL, label);
+        return record.array();
+    }
+
+    private static String readLabel(byte[] records, int start) {
+        int end = start;
+        while (end < start + LABEL_SIZE && records[end] != 0) end++;
+        return new String(records, start, end - start, StandardCharsets.US_ASCII);
+    }
+
+    private static int scheduleOf(byte[] record) {
+        return ByteBuffer.wrap(record).getInt(R_SCHEDULE_ID);
+    }
+
+    /**
+     * Cek apakah setiap schedule muncul sebagai satu region berurutan
+     */
+    private static boolean isGrouped(List<byte[]> records) {
+        Set<Integer> closed = new HashSet<>();
+        Integer current = null;
+        for (byte[] record : records) {
+            int scheduleId = scheduleOf(record);
+            if (current != null && current == scheduleId) continue;
+            if (current != null) closed.add(current);
+            if (closed.contains(scheduleId)) return false;
+            current = scheduleId;
+        }
+        return true;
+    }
+
+    /**
+     * Urutkan per scheduleId (stabil, urutan dalam schedule tetap)
+     */
+    private static List<byte[]> sortBySchedule(List<byte[]> records) {
+        List<byte[]> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparingInt(BinarySeatFile::scheduleOf));
+        return sorted;
+    }
+
+    private static List<byte[]> readRecords(Path path) {
+        List<byte[]> records = new ArrayList<>();
+        try {
+            if (!Files.exists(path) || Files.size(path) < HEADER_SIZE) return records;
+            byte[] data = Files.readAllBytes(path);
+            int count = ByteBuffer.wrap(data).getInt(H_COUNT);
+            for (int i = 0; i < count; i++) {
+                int start = HEADER_SIZE + i * RECORD_SIZE;
+                records.add(Arrays.copyOfRange(data, start, start + RECORD_SIZE));
+            }
+        } catch (IOException e) {
+            LOG.error("Error reading file " + path + ": " + e.getMessage());
+        }
+        return records;
+    }
+
+    private static int readLayoutGen(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            channel.read(buffer, H_LAYOUT_GEN);
+            return buffer.position() == 4 ? buffer.getInt(0) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Tulis file lengkap ke temporary, fsync, lalu rename atomik.
+     * Harus dipanggil di bawah lock file.
+     */
+    private static void writeFileAtomically(Path path, List<byte[]> records, int layoutGen) throws IOException {
+        ByteBuffer content = ByteBuffer.allocate(HEADER_SIZE + records.size() * RECORD_SIZE);
+        content.putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putShort((short) RECORD_SIZE)
+                .putInt(records.size())
+                .putInt(layoutGen)
+                .putLong(0)
+                .putLong(0);
+        for (byte[] record : records) content.put(record);
+        content.flip();
+
+        Path temp = path.resolveSibling("." + path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (content.hasRemaining()) channel.write(content);
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
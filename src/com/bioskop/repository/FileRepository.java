@@ -0,0 +1,305 @@
+package com.bioskop.repository;
+
+import com.bioskop.metrics.Counter;
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.util.FileManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * FileRepository - Cache in-memory untuk satu file TXT di folder data
+ *
+ * File dibaca sekali lalu setiap baris di-parse menjadi object bertipe T
+ * dan diindex berdasarkan ID. Perubahan (insert/update/delete) langsung
+ * ditulis ke file (write-through). Cache otomatis di-reload jika
+ * modified time atau ukuran file berubah, sehingga edit dari luar
+ * aplikasi tetap terbaca.
+ *
+ * Baris yang tidak bisa di-parse (header, komentar, data legacy) tetap
+ * dipertahankan apa adanya saat file ditulis ulang.
+ *
+ * Setiap perubahan dijalankan di bawah lock file FileManager dan cache
+ * dicek ulang di dalam lock, jadi perubahan dari proses lain tidak tertimpa.
+ *
+ * @param <T> tipe model yang disimpan
+ */
+public class FileRepository<T> {
+
+    private final String filename;
+    private final Function<String, T> parser;
+    private final Function<T, String> formatter;
+    private final ToIntFunction<T> idExtractor;
+
+    // Baris mentah file dan record hasil parse pada index yang sama (null = bukan record)
+    private final List<String> lines = new ArrayList<>();
+    private final List<T> recordAt = new ArrayList<>();
+    private final Map<Integer, T> byId = new HashMap<>();
+    private List<T> records = Collections.emptyList();
+
+    private boolean loaded = false;
+    private long lastModified = -1;
+    private long lastSize = -1;
+
+    // Per file, misal repository.movies.hit / .miss / .reload
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Histogram reloadLatency;
+
+    /**
+     * Constructor
+     *
+     * @param filename nama file di folder data
+     * @param parser fungsi parse baris menjadi object, return null jika baris bukan record
+     * @param formatter fungsi format object menjadi baris file
+     * @param idExtractor fungsi untuk mengambil ID object
+     */
+    public FileRepository(String filename, Function<String, T> parser,
+                          Function<T, String> formatter, ToIntFunction<T> idExtractor) {
+        this.filename = filename;
+        this.parser = parser;
+        this.formatter = formatter;
+        this.idExtractor = idExtractor;
+
+        String metric = "repository." + filename.replaceFirst("\\.txt$", "");
+        this.cacheHits = MetricsRegistry.counter(metric + ".hit");
+        this.cacheMisses = MetricsRegistry.counter(metric + ".miss");
+        this.reloadLatency = MetricsRegistry.histogram(metric + ".reload");
+    }
+
+    // ========== QUERY ==========
+
+    /**
+     * Get semua record sesuai urutan di file
+     *
+     * @return List baru berisi semua record
+     */
+    public synchronized List<T> findAll() {
+        refreshIfStale();
+        return new ArrayList<>(records);
+    }
+
+    /**
+     * Get record berdasarkan ID (O(1))
+     *
+     * @param id ID record
+     * @return record, atau null jika tidak ditemukan
+     */
+    public synchronized T findById(int id) {
+        refreshIfStale();
+        return byId.get(id);
+    }
+
+    /**
+     * Get record pertama yang memenuhi kondisi
+     *
+     * @param condition kondisi yang dicek
+     * @return record pertama yang cocok, atau null
+     */
+    public synchronized T findFirst(Predicate<T> condition) {
+        refreshIfStale();
+        for (T record : records) {
+            if (condition.test(record)) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get ID terbesar + 1 dari record yang ada
+     *
+     * @return ID berikutnya
+     */
+    public synchronized int nextId() {
+        refreshIfStale();
+        int maxId = 0;
+        for (Integer id : byId.keySet()) {
+            if (id > maxId) maxId = id;
+        }
+        return maxId + 1;
+    }
+
+    // ========== WRITE-THROUGH ==========
+
+    /**
+     * Tambah record baru di akhir file
+     *
+     * @param record record yang ditambahkan
+     */
+    public synchronized void insert(T record) {
+        FileManager.withFileLock(filename, () -> {
+            refreshIfStale();
+            String line = formatter.apply(record);
+            FileManager.appendFile(filename, line);
+
+            lines.add(line);
+            recordAt.add(record);
+            byId.putIfAbsent(idExtractor.applyAsInt(record), record);
+            rebuildRecordList();
+            updateStamp();
+            return null;
+        });
+    }
+
+    /**
+     * Update semua baris dengan ID yang sama dengan record
+     *
+     * @param record record dengan data terbaru
+     * @return true jika ada baris yang diupdate
+     */
+    public synchronized boolean update(T record) {
+        return FileManager.withFileLock(filename, () -> updateUnderLock(record));
+    }
+
+    private boolean updateUnderLock(T record) {
+        refreshIfStale();
+        int id = idExtractor.applyAsInt(record);
+        boolean found = false;
+
+        for (int i = 0; i < lines.size(); i++) {
+            T existing = recordAt.get(i);
+            if (existing != null && idExtractor.applyAsInt(existing) == id) {
+                lines.set(i, formatter.apply(record));
+                recordAt.set(i, record);
+                found = true;
+            }
+        }
+
+        if (found) {
+            byId.put(id, record);
+            rebuildRecordList();
+            FileManager.writeFile(filename, lines);
+            updateStamp();
+        }
+
+        return found;
+    }
+
+    /**
+     * Hapus semua baris dengan ID tertentu
+     *
+     * @param id ID record yang dihapus
+     * @return true jika ada baris yang dihapus
+     */
+    public synchronized boolean delete(int id) {
+        return FileManager.withFileLock(filename, () -> deleteUnderLock(id));
+    }
+
+    private boolean deleteUnderLock(int id) {
+        refreshIfStale();
+        boolean removed = false;
+
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            T existing = recordAt.get(i);
+            if (existing != null && idExtractor.applyAsInt(existing) == id) {
+                lines.remove(i);
+                recordAt.remove(i);
+                removed = true;
+            }
+        }
+
+        if (removed) {
+            byId.remove(id);
+            rebuildRecordList();
+            FileManager.writeFile(filename, lines);
+            updateStamp();
+        }
+
+        return removed;
+    }
+
+    /**
+     * Paksa reload dari file pada akses berikutnya
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    // ========== CACHE MANAGEMENT ==========
+
+    /**
+     * Reload cache jika file berubah sejak terakhir dibaca/ditulis
+     */
+    private void refreshIfStale() {
+        if (loaded && !isFileChanged()) {
+            cacheHits.inc();
+            return;
+        }
+        cacheMisses.inc();
+        long start = System.nanoTime();
+        reload();
+        reloadLatency.recordSince(start);
+    }
+
+    private void reload() {
+        lines.clear();
+        recordAt.clear();
+        byId.clear();
+
+        FileManager.forEachRecord(filename, row -> {
+            String line = row.getLine();
+            T record = parseSafely(line);
+            lines.add(line);
+            recordAt.add(record);
+            if (record != null) {
+                byId.putIfAbsent(idExtractor.applyAsInt(record), record);
+            }
+            return true;
+        });
+
+        rebuildRecordList();
+        updateStamp();
+        loaded = true;
+    }
+
+    private T parseSafely(String line) {
+        if (line.trim().isEmpty()) return null;
+        try {
+            return parser.apply(line);
+        } catch (RuntimeException e) {
+            // Baris invalid tetap disimpan sebagai baris mentah
+            return null;
+        }
+    }
+
+    private void rebuildRecordList() {
+        List<T> list = new ArrayList<>(recordAt.size());
+        for (T record : recordAt) {
+            if (record != null) list.add(record);
+        }
+        records = list;
+    }
+
+    private boolean isFileChanged() {
+        long[] stamp = readStamp();
+        return stamp[0] != lastModified || stamp[1] != lastSize;
+    }
+
+    private void updateStamp() {
+        long[] stamp = readStamp();
+        lastModified = stamp[0];
+        lastSize = stamp[1];
+    }
+
+    private long[] readStamp() {
+        Path path = FileManager.getFilePath(filename);
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            return new long[]{attrs.lastModifiedTime().toMillis(), attrs.size()};
+        } catch (IOException e) {
+            return new long[]{-1, -1};
+        }
+    }
+}
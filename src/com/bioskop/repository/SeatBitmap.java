@@ -0,0 +1,145 @@
+package com.bioskop.repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * SeatBitmap - Bitmap occupancy kursi untuk satu schedule (1 bit per kursi)
+ *
+ * Disimpan di AtomicLongArray sehingga status kursi bisa diubah dengan
+ * compare-and-set tanpa lock. Beberapa kursi dalam satu word (64 kursi)
+ * bisa di-set sekaligus secara atomik lewat {@link #trySetMask(int, long)}.
+ *
+ * Jumlah bit yang terisi dijaga sebagai counter: setiap CAS yang berhasil
+ * menambah / mengurangi counter sebanyak bit yang benar-benar berubah,
+ * sehingga {@link #bookedCount()} O(1) dan tidak pernah bergeser dari isi bitmap.
+ */
+public final class SeatBitmap {
+
+    private final AtomicLongArray words;
+    private final AtomicInteger booked = new AtomicInteger();
+    private final int size;
+
+    public SeatBitmap(int size) {
+        this.size = size;
+        this.words = new AtomicLongArray(Math.max(1, (size + 63) >>> 6));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public static int wordIndex(int position) {
+        return position >>> 6;
+    }
+
+    public static long bitMask(int position) {
+        return 1L << position;
+    }
+
+    public boolean get(int position) {
+        return (words.get(wordIndex(position)) & bitMask(position)) != 0;
+    }
+
+    /**
+     * Ambil maksimal 64 bit mulai dari posisi from (bit 0 hasil = posisi from)
+     */
+    public long getBits(int from, int count) {
+        int index = wordIndex(from);
+        int offset = from & 63;
+        long bits = words.get(index) >>> offset;
+        if (offset != 0 && offset + count > 64 && index + 1 < words.length()) {
+            bits |= words.get(index + 1) << (64 - offset);
+        }
+        return count >= 64 ? bits : bits & ((1L << count) - 1);
+    }
+
+    /**
+     * Set status satu kursi tanpa syarat (dipakai saat load dari file)
+     */
+    public void set(int position, boolean booked) {
+        if (booked) {
+            setMask(wordIndex(position), bitMask(position));
+        } else {
+            clearMask(wordIndex(position), bitMask(position));
+        }
+    }
+
+    /**
+     * Ubah status satu kursi hanya jika status sekarang sama dengan expected
+     *
+     * @return true jika berhasil diubah
+     */
+    public boolean compareAndSet(int position, boolean expected, boolean update) {
+        int index = wordIndex(position);
+        long mask = bitMask(position);
+
+        while (true) {
+            long current = words.get(index);
+            if (((current & mask) != 0) != expected) {
+                return false;
+            }
+            long next = update ? (current | mask) : (current & ~mask);
+            if (current == next) {
+                return true;
+            }
+            if (words.compareAndSet(index, current, next)) {
+                booked.addAndGet(update ? 1 : -1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Set semua bit pada mask secara atomik, hanya jika semuanya masih 0
+     *
+     * @return true jika semua bit berhasil di-set, false jika ada yang sudah terisi
+     */
+    public boolean trySetMask(int wordIndex, long mask) {
+        while (true) {
+            long current = words.get(wordIndex);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(wordIndex, current, current | mask)) {
+                booked.addAndGet(Long.bitCount(mask));
+                return true;
+            }
+        }
+    }
+
+    public void setMask(int wordIndex, long mask) {
+        long current;
+        do {
+            current = words.get(wordIndex);
+        } while (!words.compareAndSet(wordIndex, current, current | mask));
+        booked.addAndGet(Long.bitCount(mask & ~current));
+    }
+
+    public void clearMask(int wordIndex, long mask) {
+        long current;
+        do {
+            current = words.get(wordIndex);
+        } while (!words.compareAndSet(wordIndex, current, current & ~mask));
+        booked.addAndGet(-Long.bitCount(mask & current));
+    }
+
+    /**
+     * Jumlah kursi yang sudah dibooking, dari counter (O(1))
+     */
+    public int bookedCount() {
+        return booked.get();
+    }
+
+    /**
+     * Jumlah kursi yang sudah dibooking, dihitung ulang dari semua word
+     * (untuk verifikasi counter)
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bioskop.repository;
+
+import com.bioskop.model.Seat;
+
+import java.util.List;
+
+/**
+ * SeatFile - Format penyimpanan kursi di bawah {@link SeatStore}
+ *
+ * SeatStore memegang index dan bitmap di memory; implementasi SeatFile
+ * hanya tahu cara membaca semua kursi dan menulis status satu kursi di
+ * posisinya (in-place). Implementasi:
+ * - {@link TextSeatFile}: seats.txt (format teks lama)
+ * - {@link BinarySeatFile}: seats.bin (record biner lebar tetap, memory-mapped)
+ */
+public interface SeatFile {
+
+    /**
+     * Penerima hasil scan file, dipanggil sekali per kursi sesuai urutan file
+     */
+    @FunctionalInterface
+    interface Sink {
+        /**
+         * @param stateOffset posisi status kursi di file, dipakai lagi untuk {@link #writeState}
+         */
+        void seat(int seatId, int scheduleId, String seatNumber, boolean booked, long stateOffset);
+    }
+
+    /**
+     * Baca semua kursi dari file
+     */
+    void load(Sink sink);
+
+    /**
+     * Tulis status satu kursi di posisinya, di bawah lock file FileManager
+     *
+     * @param stateOffset posisi dari {@link Sink#seat}
+     * @param expected status yang diharapkan di file (null = tanpa syarat)
+     * @param update status baru
+     * @return true jika status tersimpan; false jika status di file tidak sama dengan expected
+     */
+    boolean writeState(long stateOffset, Boolean expected, boolean update);
+
+    /**
+     * Tambahkan kursi baru di akhir file
+     */
+    void append(List<Seat> seats);
+
+    /**
+     * Cek apakah file diubah dari luar sejak load terakhir
+     */
+    boolean isChanged();
+
+    String getFilename();
+}
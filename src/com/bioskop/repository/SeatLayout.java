@@ -0,0 +1,193 @@
+package com.bioskop.repository;
+
+import java.util.*;
+
+/**
+ * SeatLayout - Susunan kursi satu schedule per baris, di atas {@link SeatBitmap}
+ *
+ * Nomor kursi dipecah menjadi label baris (huruf) dan nomor kolom, misal
+ * "C12" -> baris C, kolom 12. Baris diurutkan dari yang paling dekat layar
+ * (A) dan kursi dalam baris diurutkan berdasarkan kolom.
+ *
+ * Occupancy satu baris bisa diambil sebagai bitmask (bit i = kursi ke-i
+ * dalam baris kosong), jadi pencarian kursi berdampingan cukup dengan
+ * operasi shift/AND per word.
+ *
+ * Tabel kualitas kursi dihitung sekali per layout (bukan per query):
+ * - jarak ke layar: baris ideal sekitar 2/3 ke belakang
+ * - posisi tengah: makin jauh dari tengah baris makin rendah
+ * - lorong: kursi di ujung baris sedikit dikurangi
+ * Prefix sum per baris membuat skor satu blok kursi O(1).
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public final class SeatLayout {
+
+    private static final double IDEAL_ROW = 0.65;
+    private static final double ROW_WEIGHT = 0.5;
+    private static final double CENTRE_WEIGHT = 0.5;
+    private static final double AISLE_PENALTY = 0.1;
+
+    private final SeatBitmap bitmap;
+    private final String[] rowLabels;
+    private final int[][] positions;   // [row][index dalam baris] -> posisi di bitmap
+    private final int[] runStart;      // posisi awal jika satu baris berurutan di bitmap, -1 jika tidak
+    private final int[][] seatIds;
+    private final String[][] seatNumbers;
+    private final double[][] quality;
+    private final double[][] prefix;   // prefix[row][i] = jumlah quality kursi 0..i-1
+
+    SeatLayout(SeatBitmap bitmap, int[] seatIdByPosition, String[] seatNumberByPosition) {
+        this.bitmap = bitmap;
+
+        // Kelompokkan per label baris, urut kolom
+        TreeMap<String, List<int[]>> rows = new TreeMap<>(
+                Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        for (int position = 0; position < seatNumberByPosition.length; position++) {
+            String number = seatNumberByPosition[position];
+            int split = 0;
+            while (split < number.length() && !Character.isDigit(number.charAt(split))) split++;
+            int column;
+            try {
+                column = Integer.parseInt(number.substring(split));
+            } catch (NumberFormatException e) {
+                column = Integer.MAX_VALUE; // nomor tidak standar: taruh di ujung baris
+            }
+            rows.computeIfAbsent(number.substring(0, split), k -> new ArrayList<>())
+                    .add(new int[]{column, position});
+        }
+
+        int rowCount = rows.size();
+        rowLabels = rows.keySet().toArray(new String[0]);
+        positions = new int[rowCount][];
+        runStart = new int[rowCount];
+        seatIds = new int[rowCount][];
+        seatNumbers = new String[rowCount][];
+        quality = new double[rowCount][];
+        prefix = new double[rowCount][];
+
+        int r = 0;
+        for (List<int[]> row : rows.values()) {
+            row.sort(Comparator.comparingInt(seat -> seat[0]));
+            int n = row.size();
+            positions[r] = new int[n];
+            seatIds[r] = new int[n];
+            seatNumbers[r] = new String[n];
+            quality[r] = new double[n];
+            prefix[r] = new double[n + 1];
+
+            double rowScore = rowCount == 1 ? 1 : 1 - Math.abs((double) r / (rowCount - 1) - IDEAL_ROW);
+            double centre = (n - 1) / 2.0;
+            for (int i = 0; i < n; i++) {
+                int position = row.get(i)[1];
+                positions[r][i] = position;
+                seatIds[r][i] = seatIdByPosition[position];
+                seatNumbers[r][i] = seatNumberByPosition[position];
+
+                double centreScore = n == 1 ? 1 : 1 - Math.abs(i - centre) / (centre + 1);
+                double score = ROW_WEIGHT * rowScore + CENTRE_WEIGHT * centreScore;
+                if (i == 0 || i == n - 1) score -= AISLE_PENALTY;
+                quality[r][i] = score;
+                prefix[r][i + 1] = prefix[r][i] + score;
+            }
+
+            runStart[r] = positions[r][0];
+            for (int i = 1; i < n; i++) {
+                if (positions[r][i] != runStart[r] + i) {
+                    runStart[r] = -1;
+                    break;
+                }
+            }
+            r++;
+        }
+    }
+
+    // ========== STRUKTUR ==========
+
+    public int rowCount() {
+        return rowLabels.length;
+    }
+
+    public String rowLabel(int row) {
+        return rowLabels[row];
+    }
+
+    public int rowLength(int row) {
+        return positions[row].length;
+    }
+
+    public int seatId(int row, int index) {
+        return seatIds[row][index];
+    }
+
+    public String seatNumber(int row, int index) {
+        return seatNumbers[row][index];
+    }
+
+    // ========== KUALITAS ==========
+
+    public double quality(int row, int index) {
+        return quality[row][index];
+    }
+
+    /**
+     * Total kualitas kursi [start, start + count) dalam satu baris (O(1))
+     */
+    public double blockQuality(int row, int start, int count) {
+        return prefix[row][start + count] - prefix[row][start];
+    }
+
+    // ========== OCCUPANCY ==========
+
+    public boolean isFree(int row, int index) {
+        return !bitmap.get(positions[row][index]);
+    }
+
+    /**
+     * Bitmask kursi kosong dalam satu baris
+     *
+     * @param row index baris
+     * @param out array tujuan, minimal {@link #wordsPerRow(int)} word
+     * @return jumlah word yang terisi
+     */
+    public int freeMask(int row, long[] out) {
+        int[] rowPositions = positions[row];
+        int n = rowPositions.length;
+        int words = wordsPerRow(row);
+
+        if (runStart[row] >= 0) {
+            // Baris berurutan di bitmap (kasus umum): salin per word
+            for (int w = 0; w < words; w++) {
+                int count = Math.min(64, n - (w << 6));
+                long booked = bitmap.getBits(runStart[row] + (w << 6), count);
+                long valid = count == 64 ? -1L : (1L << count) - 1;
+                out[w] = ~booked & valid;
+            }
+            return words;
+        }
+
+        Arrays.fill(out, 0, words, 0L);
+        for (int i = 0; i < n; i++) {
+            if (!bitmap.get(rowPositions[i])) {
+                out[i >>> 6] |= 1L << i;
+            }
+        }
+        return words;
+    }
+
+    public int wordsPerRow(int row) {
+        return Math.max(1, (positions[row].length + 63) >>> 6);
+    }
+
+    /**
+     * Jumlah word terbesar di antara semua baris (ukuran buffer untuk {@link #freeMask})
+     */
+    public int maxWordsPerRow() {
+        int max = 1;
+        for (int r = 0; r < rowCount(); r++) {
+            max = Math.max(max, wordsPerRow(r));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,494 @@
+package com.bioskop.repository;
+
+import com.bioskop.metrics.Counter;
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.model.Seat;
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SeatStore - Index in-memory untuk file kursi, dikelompokkan per schedule
+ *
+ * Setiap schedule punya {@link SeatBitmap} occupancy (1 bit per kursi) dan
+ * array seatId / seatNumber. Index seatId -> (scheduleId, posisi) membuat
+ * lookup dan update satu kursi O(1) berapapun jumlah schedule di file.
+ *
+ * Format file ditangani {@link SeatFile}: seats.txt ({@link TextSeatFile},
+ * default) atau seats.bin ({@link BinarySeatFile}, dengan
+ * -Dbioskop.seatStore=binary). Keduanya menulis status kursi in-place.
+ *
+ * Index di-publish sebagai snapshot immutable, jadi pembaca tidak perlu lock.
+ *
+ * Sisa kursi per schedule dibaca dari counter di bitmap (O(1)). Counter
+ * disalin ke kolom availableSeats schedule.txt ({@link AvailabilityFile})
+ * secara write-behind, dan diverifikasi ulang terhadap status kursi setiap
+ * kali index dibangun (startup / file berubah dari proses lain).
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class SeatStore {
+
+    private static final Logger LOG = Logger.get(SeatStore.class);
+
+    private static final String SEATS_FILE = "seats.txt";
+    private static final String BINARY_SEATS_FILE = "seats.bin";
+    private static final String SCHEDULE_FILE = "schedule.txt";
+    private static final long AVAILABILITY_SYNC_DELAY_MS = 500;
+
+    // Snapshot in-memory dipakai (hit) atau dibangun ulang karena file berubah (miss)
+    private static final Counter SNAPSHOT_HITS = MetricsRegistry.counter("seatstore.snapshot.hit");
+    private static final Counter SNAPSHOT_MISSES = MetricsRegistry.counter("seatstore.snapshot.miss");
+    private static final Histogram RELOAD_LATENCY = MetricsRegistry.histogram("seatstore.reload");
+
+    /**
+     * System property pemilih format: "text" (default) atau "binary"
+     */
+    public static final String FORMAT_PROPERTY = "bioskop.seatStore";
+
+    private static final SeatStore INSTANCE = new SeatStore(createDefaultFile(), new AvailabilityFile(SCHEDULE_FILE));
+
+    /**
+     * Lokasi satu kursi di dalam index: schedule, posisi dan bitmap-nya
+     */
+    public static final class SeatSlot {
+        private final ScheduleSeats seats;
+        private final int position;
+
+        private SeatSlot(ScheduleSeats seats, int position) {
+            this.seats = seats;
+            this.position = position;
+        }
+
+        public int getSeatId() { return seats.seatIds[position]; }
+        public int getScheduleId() { return seats.scheduleId; }
+        public int getPosition() { return position; }
+        public SeatBitmap getBitmap() { return seats.booked; }
+        public Seat toSeat() { return seats.toSeat(position); }
+    }
+
+    /**
+     * Kursi untuk satu schedule: array paralel + bitmap occupancy
+     */
+    private static final class ScheduleSeats {
+        final int scheduleId;
+        final int[] seatIds;
+        final String[] seatNumbers;
+        final long[] stateOffsets;
+        final SeatBitmap booked;
+        private volatile SeatLayout layout;
+
+        ScheduleSeats(int scheduleId, int[] seatIds, String[] seatNumbers,
+                      long[] stateOffsets, boolean[] states) {
+            this.scheduleId = scheduleId;
+            this.seatIds = seatIds;
+            this.seatNumbers = seatNumbers;
+            this.stateOffsets = stateOffsets;
+            this.booked = new SeatBitmap(seatIds.length);
+            for (int i = 0; i < states.length; i++) {
+                booked.set(i, states[i]);
+            }
+        }
+
+        int size() {
+            return seatIds.length;
+        }
+
+        int available() {
+            return seatIds.length - booked.bookedCount();
+        }
+
+        SeatLayout layout() {
+            SeatLayout l = layout;
+            if (l == null) {
+                l = new SeatLayout(booked, seatIds, seatNumbers);
+                layout = l; // race aman: layout immutable, paling buruk dibangun dua kali
+            }
+            return l;
+        }
+
+        Seat toSeat(int position) {
+            return new Seat(seatIds[position], scheduleId, seatNumbers[position], booked.get(position));
+        }
+    }
+
+    /**
+     * Builder sementara saat scan file, satu per schedule
+     */
+    private static final class ScheduleBuilder {
+        final int scheduleId;
+        final List<Integer> seatIds = new ArrayList<>();
+        final List<String> seatNumbers = new ArrayList<>();
+        final List<Long> offsets = new ArrayList<>();
+        final List<Boolean> states = new ArrayList<>();
+
+        ScheduleBuilder(int scheduleId) {
+            this.scheduleId = scheduleId;
+        }
+
+        ScheduleSeats build() {
+            int n = seatIds.size();
+            int[] ids = new int[n];
+            long[] offs = new long[n];
+            boolean[] st = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = seatIds.get(i);
+                offs[i] = offsets.get(i);
+                st[i] = states.get(i);
+            }
+            return new ScheduleSeats(scheduleId, ids, seatNumbers.toArray(new String[0]), offs, st);
+        }
+    }
+
+    /**
+     * Snapshot immutable dari index; diganti utuh setiap reload
+     */
+    private static final class Snapshot {
+        final Map<Integer, ScheduleSeats> bySchedule;
+        final Map<Integer, Long> seatIndex; // seatId -> scheduleId << 32 | posisi
+
+        Snapshot(Map<Integer, ScheduleSeats> bySchedule, Map<Integer, Long> seatIndex) {
+            this.bySchedule = bySchedule;
+            this.seatIndex = seatIndex;
+        }
+
+        SeatSlot locate(int seatId) {
+            Long location = seatIndex.get(seatId);
+            if (location == null) return null;
+            return new SeatSlot(bySchedule.get((int) (location >>> 32)), (int) (long) location);
+        }
+    }
+
+    private final SeatFile file;
+    private final AvailabilityFile availabilityFile;
+
+    private volatile Snapshot snapshot;
+
+    // Schedule yang counter-nya berubah sejak terakhir disimpan
+    private final Set<Integer> dirtySchedules = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean syncScheduled = new AtomicBoolean();
+    private ScheduledExecutorService syncExecutor;
+
+    /**
+     * Store di atas file teks (format seats.txt)
+     */
+    public SeatStore(String filename) {
+        this(new TextSeatFile(filename));
+    }
+
+    /**
+     * Store tanpa salinan counter persisten (misal untuk test)
+     */
+    public SeatStore(SeatFile file) {
+        this(file, null);
+    }
+
+    /**
+     * @param file file kursi
+     * @param availabilityFile tempat counter ketersediaan disalin, boleh null
+     */
+    public SeatStore(SeatFile file, AvailabilityFile availabilityFile) {
+        this.file = file;
+        this.availabilityFile = availabilityFile;
+    }
+
+    public static SeatStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Pilih format file dari {@link #FORMAT_PROPERTY}. Untuk format biner,
+     * seats.bin diimport dari seats.txt jika belum ada.
+     */
+    private static SeatFile createDefaultFile() {
+        if (!"binary".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY, "text"))) {
+            return new TextSeatFile(SEATS_FILE);
+        }
+        if (!FileManager.fileExists(BINARY_SEATS_FILE)) {
+            int imported = BinarySeatFile.importFromText(SEATS_FILE, BINARY_SEATS_FILE);
+            LOG.info("✓ Imported " + imported + " seats into " + BINARY_SEATS_FILE);
+        }
+        return new BinarySeatFile(BINARY_SEATS_FILE);
+    }
+
+    // ========== QUERY ==========
+
+    /**
+     * Get semua kursi untuk satu schedule, urut sesuai file
+     *
+     * @param scheduleId ID schedule
+     * @return List Seat baru (kosong jika schedule tidak punya kursi)
+     */
+    public List<Seat> getSeatsBySchedule(int scheduleId) {
+        ScheduleSeats seats = current().bySchedule.get(scheduleId);
+        if (seats == null) return new ArrayList<>();
+
+        List<Seat> result = new ArrayList<>(seats.size());
+        for (int i = 0; i < seats.size(); i++) {
+            result.add(seats.toSeat(i));
+        }
+        return result;
+    }
+
+    /**
+     * Get kursi berdasarkan ID (O(1))
+     *
+     * @param seatId ID kursi
+     * @return Seat baru, atau null jika tidak ditemukan
+     */
+    public Seat getSeatById(int seatId) {
+        SeatSlot slot = current().locate(seatId);
+        return slot == null ? null : slot.toSeat();
+    }
+
+    /**
+     * Cari lokasi kursi di index untuk operasi compare-and-set
+     *
+     * @param seatId ID kursi
+     * @return SeatSlot, atau null jika kursi tidak ada di file
+     */
+    public SeatSlot locate(int seatId) {
+        return current().locate(seatId);
+    }
+
+    /**
+     * Jumlah kursi yang belum dibooking untuk satu schedule (O(1))
+     *
+     * @param scheduleId ID schedule
+     * @return jumlah kursi available
+     */
+    public int getAvailableCount(int scheduleId) {
+        ScheduleSeats seats = current().bySchedule.get(scheduleId);
+        return seats == null ? 0 : seats.available();
+    }
+
+    /**
+     * Jumlah semua kursi untuk satu schedule (O(1))
+     *
+     * @param scheduleId ID schedule
+     * @return jumlah kursi, 0 jika schedule belum punya kursi
+     */
+    public int getTotalCount(int scheduleId) {
+        ScheduleSeats seats = current().bySchedule.get(scheduleId);
+        return seats == null ? 0 : seats.size();
+    }
+
+    /**
+     * Layout per baris + tabel kualitas untuk pencarian kursi terbaik.
+     * Dibangun sekali per index dan berbagi bitmap occupancy yang sama.
+     *
+     * @param scheduleId ID schedule
+     * @return SeatLayout, atau null jika schedule belum punya kursi
+     */
+    public SeatLayout getLayout(int scheduleId) {
+        ScheduleSeats seats = current().bySchedule.get(scheduleId);
+        return seats == null ? null : seats.layout();
+    }
+
+    /**
+     * Cek apakah schedule punya data kursi di file
+     */
+    public boolean hasSeats(int scheduleId) {
+        return current().bySchedule.containsKey(scheduleId);
+    }
+
+    /**
+     * Cek apakah semua kursi schedule sudah dibooking (O(1))
+     *
+     * @return true jika schedule punya kursi dan tidak ada yang tersisa
+     */
+    public boolean isSoldOut(int scheduleId) {
+        ScheduleSeats seats = current().bySchedule.get(scheduleId);
+        return seats != null && seats.available() == 0;
+    }
+
+    // ========== UPDATE ==========
+
+    /**
+     * Update status booking satu kursi di memory dan di file tanpa syarat
+     *
+     * @param seatId ID kursi
+     * @param isBooked status baru
+     * @return true jika kursi ditemukan dan status tersimpan
+     */
+    public boolean updateSeat(int seatId, boolean isBooked) {
+        SeatSlot slot = locate(seatId);
+        if (slot == null) return false;
+
+        slot.getBitmap().set(slot.getPosition(), isBooked);
+        boolean written = writeState(slot, null, isBooked);
+        markDirty(slot.getScheduleId());
+        return written;
+    }
+
+    /**
+     * Compare-and-set status kursi di file, di bawah lock file FileManager
+     * supaya aman terhadap proses lain yang memakai file yang sama
+     *
+     * @param slot lokasi kursi
+     * @param expected status yang diharapkan sekarang di file
+     * @param update status baru
+     * @return true jika status di file sama dengan expected dan berhasil diubah
+     */
+    public boolean compareAndSetOnDisk(SeatSlot slot, boolean expected, boolean update) {
+        boolean written = writeState(slot, expected, update);
+        if (written) markDirty(slot.getScheduleId());
+        return written;
+    }
+
+    /**
+     * Tambahkan kursi baru ke file (misal layout default yang digenerate UI)
+     *
+     * @param seats kursi yang ditambahkan
+     */
+    public synchronized void addSeats(List<Seat> seats) {
+        file.append(seats);
+        reload();
+    }
+
+    /**
+     * Paksa reload dari file pada akses berikutnya
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    // ========== AVAILABILITY ==========
+
+    /**
+     * Tulis counter schedule yang berubah ke {@link AvailabilityFile} sekarang
+     *
+     * @return jumlah schedule yang diupdate di file
+     */
+    public int flushAvailability() {
+        if (availabilityFile == null || dirtySchedules.isEmpty()) return 0;
+
+        Snapshot s = current();
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (Iterator<Integer> it = dirtySchedules.iterator(); it.hasNext(); ) {
+            int scheduleId = it.next();
+            it.remove();
+            ScheduleSeats seats = s.bySchedule.get(scheduleId);
+            if (seats != null) {
+                counts.put(scheduleId, seats.available());
+            }
+        }
+        return availabilityFile.save(counts);
+    }
+
+    /**
+     * Tandai counter berubah; banyak booking dalam waktu dekat digabung
+     * menjadi satu penulisan schedule.txt
+     */
+    private void markDirty(int scheduleId) {
+        if (availabilityFile == null) return;
+        dirtySchedules.add(scheduleId);
+        if (syncScheduled.compareAndSet(false, true)) {
+            syncExecutor().schedule(() -> {
+                syncScheduled.set(false);
+                try {
+                    flushAvailability();
+                } catch (RuntimeException e) {
+                    LOG.error("Error saving seat availability: " + e.getMessage());
+                }
+            }, AVAILABILITY_SYNC_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized ScheduledExecutorService syncExecutor() {
+        if (syncExecutor == null) {
+            syncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "bioskop-availability-sync");
+                t.setDaemon(true);
+                return t;
+            });
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flushAvailability, "bioskop-availability-shutdown"));
+        }
+        return syncExecutor;
+    }
+
+    /**
+     * Bandingkan availableSeats tersimpan dengan status kursi yang baru dimuat
+     * dan perbaiki yang tidak cocok (misal aplikasi berhenti sebelum
+     * write-behind). totalSeats (kapasitas dari admin) hanya diperingatkan
+     * jika berbeda dengan jumlah kursi di seats.txt, tidak pernah ditimpa.
+     */
+    private void verifyAvailability(Map<Integer, ScheduleSeats> bySchedule) {
+        if (availabilityFile == null) return;
+
+        Map<Integer, int[]> stored = availabilityFile.load();
+        Map<Integer, Integer> repaired = new HashMap<>();
+        for (ScheduleSeats seats : bySchedule.values()) {
+            int[] saved = stored.get(seats.scheduleId);
+            if (saved == null) continue;
+            if (saved[0] != seats.size()) {
+                LOG.warn("⚠ Schedule " + seats.scheduleId + " capacity " + saved[0]
+                        + " but " + seats.size() + " seat(s) in seats file");
+            }
+            if (saved[1] != seats.available()) {
+                LOG.warn("⚠ Schedule " + seats.scheduleId + " availableSeats "
+                        + saved[1] + " -> " + seats.available() + " (rebuilt from seats)");
+                repaired.put(seats.scheduleId, seats.available());
+            }
+        }
+        availabilityFile.save(repaired);
+    }
+
+    // ========== FILE OPERATIONS ==========
+
+    private boolean writeState(SeatSlot slot, Boolean expected, boolean update) {
+        return file.writeState(slot.seats.stateOffsets[slot.position], expected, update);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && !file.isChanged()) {
+            SNAPSHOT_HITS.inc();
+            return s;
+        }
+        synchronized (this) {
+            if (snapshot == null || file.isChanged()) {
+                SNAPSHOT_MISSES.inc();
+                reload();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Bangun ulang index dari file; seatId duplikat setelah yang pertama diabaikan
+     */
+    private synchronized void reload() {
+        long start = System.nanoTime();
+        Map<Integer, ScheduleBuilder> builders = new LinkedHashMap<>();
+        Map<Integer, Long> seatIndex = new HashMap<>();
+
+        file.load((seatId, scheduleId, seatNumber, booked, stateOffset) -> {
+            if (seatIndex.containsKey(seatId)) return;
+            ScheduleBuilder builder = builders.computeIfAbsent(scheduleId, ScheduleBuilder::new);
+            int position = builder.seatIds.size();
+            builder.seatIds.add(seatId);
+            builder.seatNumbers.add(seatNumber);
+            builder.offsets.add(stateOffset);
+            builder.states.add(booked);
+            seatIndex.put(seatId, ((long) scheduleId << 32) | position);
+        });
+
+        Map<Integer, ScheduleSeats> bySchedule = new HashMap<>();
+        for (ScheduleBuilder builder : builders.values()) {
+            bySchedule.put(builder.scheduleId, builder.build());
+        }
+
+        snapshot = new Snapshot(bySchedule, seatIndex);
+        verifyAvailability(bySchedule);
+        RELOAD_LATENCY.recordSince(start);
+    }
+}
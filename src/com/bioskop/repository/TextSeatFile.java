@@ -0,0 +1,244 @@
+package com.bioskop.repository;
+
+import com.bioskop.model.Seat;
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TextSeatFile - seats.txt dalam format teks "seatId|scheduleId|seatNumber|isBooked"
+ *
+ * Kolom isBooked disimpan dengan lebar tetap ("true " / "false") sehingga
+ * update status cukup menulis 5 byte di offset kolom tersebut (in-place).
+ * File lama dengan lebar variabel dinormalisasi sekali saat pertama di-load.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class TextSeatFile implements SeatFile {
+
+    private static final Logger LOG = Logger.get(TextSeatFile.class);
+
+    static final String HEADER_PREFIX = "seatId";
+    private static final int STATE_WIDTH = 5;
+    private static final byte[] BOOKED_FIELD = "true ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] AVAILABLE_FIELD = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private final String filename;
+
+    private volatile long lastModified = -1;
+    private volatile long lastSize = -1;
+    private volatile boolean stale;
+
+    // Penulisan in-place dari proses ini, supaya tidak dianggap perubahan dari luar
+    private final AtomicInteger activeWrites = new AtomicInteger();
+    private final AtomicLong writeSeq = new AtomicLong();
+
+    public TextSeatFile(String filename) {
+        this.filename = filename;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    // ========== LOAD ==========
+
+    /**
+     * Scan file dan kirim byte offset kolom isBooked tiap kursi ke sink.
+     * Jika ada kolom dengan lebar berbeda, file dinormalisasi dulu.
+     */
+    @Override
+    public void load(Sink sink) {
+        stale = false;
+        byte[] data = readBytes();
+
+        if (scan(data, null, null)) {
+            // Jarang terjadi (file legacy): baru sekarang baris dibuat ulang sebagai String
+            List<String> normalized = new ArrayList<>();
+            scan(data, null, normalized);
+            FileManager.writeLines(filename, normalized);
+            data = readBytes();
+        }
+
+        scan(data, sink, null);
+        updateStamp();
+    }
+
+    /**
+     * @param sink jika tidak null, menerima setiap kursi
+     * @param normalized jika tidak null, diisi semua baris dalam format lebar tetap
+     * @return true jika ada kolom isBooked yang lebarnya tidak tetap
+     */
+    private static boolean scan(byte[] data, Sink sink, List<String> normalized) {
+        boolean needsNormalize = false;
+        int lineStart = 0;
+        RecordReader reader = new RecordReader();
+
+        while (lineStart < data.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < data.length && data[lineEnd] != '\n') lineEnd++;
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && data[contentEnd - 1] == '\r') contentEnd--;
+
+            if (scanLine(reader.reset(data, lineStart, contentEnd), sink, normalized)) {
+                needsNormalize = true;
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        return needsNormalize;
+    }
+
+    /**
+     * Baca satu baris kursi (baris selain kursi diabaikan)
+     *
+     * @return true jika kolom isBooked baris ini belum lebar tetap
+     */
+    private static boolean scanLine(RecordReader r, Sink sink, List<String> normalized) {
+        boolean seatLine = r.fieldCount() >= 4 && !r.fieldStartsWith(0, HEADER_PREFIX);
+        int seatId = 0;
+        int scheduleId = 0;
+        boolean isBooked = false;
+
+        if (seatLine) {
+            try {
+                seatId = r.getInt(0);
+                scheduleId = r.getInt(1);
+                isBooked = r.getBoolean(3);
+            } catch (NumberFormatException e) {
+                seatLine = false;
+            }
+        }
+
+        if (!seatLine) {
+            if (normalized != null) normalized.add(r.getLine());
+            return false;
+        }
+
+        int stateStart = r.fieldStart(3);
+        int stateEnd = r.fieldEnd(3);
+
+        if (sink != null) {
+            sink.seat(seatId, scheduleId, r.getString(2).trim(), isBooked, stateStart);
+        }
+
+        if (normalized != null) {
+            int lineStart = r.fieldStart(0);
+            int lineEnd = r.fieldEnd(r.fieldCount() - 1);
+            normalized.add(r.substring(lineStart, stateStart) + (isBooked ? "true " : "false")
+                    + r.substring(stateEnd, lineEnd));
+        }
+        return stateEnd - stateStart != STATE_WIDTH;
+    }
+
+    private byte[] readBytes() {
+        FileManager.ensureDataFolderExists();
+        Path path = FileManager.getFilePath(filename);
+        try {
+            return Files.exists(path) ? Files.readAllBytes(path) : new byte[0];
+        } catch (IOException e) {
+            LOG.error("Error reading file " + filename + ": " + e.getMessage());
+            return new byte[0];
+        }
+    }
+
+    // ========== WRITE ==========
+
+    @Override
+    public boolean writeState(long offset, Boolean expected, boolean update) {
+        byte[] field = update ? BOOKED_FIELD : AVAILABLE_FIELD;
+
+        // Lock file yang sama dengan FileManager: eksklusif terhadap thread lain,
+        // proses lain, dan penulisan ulang seluruh file (rename atomik)
+        return FileManager.withFileLock(filename, () -> {
+            activeWrites.incrementAndGet();
+            try (RandomAccessFile file = new RandomAccessFile(FileManager.getFilePath(filename).toFile(), "rw")) {
+                if (expected != null) {
+                    byte[] current = new byte[STATE_WIDTH];
+                    file.seek(offset);
+                    file.readFully(current);
+                    String state = new String(current, StandardCharsets.US_ASCII).trim();
+                    if (!state.equals("true") && !state.equals("false")) {
+                        // Layout file berubah dari luar, index sudah basi
+                        stale = true;
+                        return false;
+                    }
+                    if (Boolean.parseBoolean(state) != expected) {
+                        return false;
+                    }
+                }
+
+                file.seek(offset);
+                file.write(field);
+                return true;
+            } catch (IOException e) {
+                LOG.error("Error updating seat in " + filename + ": " + e.getMessage());
+                return false;
+            } finally {
+                updateStamp();
+                writeSeq.incrementAndGet();
+                activeWrites.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void append(List<Seat> seats) {
+        for (Seat seat : seats) {
+            FileManager.appendFile(filename, formatLine(seat.getSeatId(), seat.getScheduleId(),
+                    seat.getSeatNumber(), seat.isBooked()));
+        }
+    }
+
+    static String formatLine(int seatId, int scheduleId, String seatNumber, boolean isBooked) {
+        return seatId + "|" + scheduleId + "|" + seatNumber + "|" + (isBooked ? "true " : "false");
+    }
+
+    // ========== CHANGE DETECTION ==========
+
+    /**
+     * Cek apakah file diubah dari luar. Selama ada penulisan in-place dari
+     * proses ini yang sedang berjalan, cek dilewati supaya tidak reload sia-sia.
+     */
+    @Override
+    public boolean isChanged() {
+        if (stale) return true;
+
+        long seqBefore = writeSeq.get();
+        if (activeWrites.get() > 0) return false;
+
+        long[] stamp = readStamp();
+        boolean changed = stamp[0] != lastModified || stamp[1] != lastSize;
+
+        return changed && writeSeq.get() == seqBefore && activeWrites.get() == 0;
+    }
+
+    private void updateStamp() {
+        long[] stamp = readStamp();
+        lastModified = stamp[0];
+        lastSize = stamp[1];
+    }
+
+    private long[] readStamp() {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(
+                    FileManager.getFilePath(filename), BasicFileAttributes.class);
+            return new long[]{attrs.lastModifiedTime().toMillis(), attrs.size()};
+        } catch (IOException e) {
+            return new long[]{-1, -1};
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.bioskop.storage;
+
+import com.bioskop.util.Logger;
+import com.bioskop.util.MpscRing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncLogAppender - Penulis log asynchronous di depan {@link SegmentedLog}
+ *
+ * Thread booking hanya memasukkan baris ke ring buffer bounded ({@link MpscRing},
+ * lock-free, banyak producer / satu consumer). Satu thread flusher ("bioskop-log-flusher")
+ * mengambil semua baris yang ada dan menulisnya sebagai satu batch (satu
+ * write + satu fsync opsional). Latensi booking tidak lagi bergantung pada I/O log.
+ *
+ * Jika buffer penuh, perilaku ditentukan {@link OverflowPolicy}. Statistik
+ * (jumlah masuk / drop, latensi flush dan fsync) bisa diambil lewat {@link #getStats()}.
+ *
+ * Konfigurasi default lewat system property:
+ * - bioskop.log.capacity  (default 8192, dibulatkan ke pangkat 2)
+ * - bioskop.log.overflow  (BLOCK | DROP | SAMPLE, default BLOCK)
+ * - bioskop.log.fsync     (default true)
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class AsyncLogAppender {
+
+    private static final Logger LOG = Logger.get(AsyncLogAppender.class);
+
+    /**
+     * Perilaku saat buffer penuh
+     */
+    public enum OverflowPolicy {
+        /** Producer menunggu sampai ada slot (tidak ada log hilang) */
+        BLOCK,
+        /** Baris baru dibuang dan dihitung sebagai dropped */
+        DROP,
+        /** Saat buffer di atas 75%, hanya 1 dari {@link #SAMPLE_RATE} baris yang diterima */
+        SAMPLE
+    }
+
+    public static final int SAMPLE_RATE = 10;
+    private static final int MAX_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final SegmentedLog log;
+    private final OverflowPolicy policy;
+    private final boolean fsync;
+
+    private final MpscRing<String> ring;
+    private final int capacity;
+    private volatile long written;                      // semua posisi < written sudah ditulis
+
+    private final Thread flusher;
+    private volatile boolean flusherParked;
+    private volatile boolean running = true;
+
+    // Statistik
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LatencyStats flushLatency = new LatencyStats();
+    private final LatencyStats fsyncLatency = new LatencyStats();
+    private volatile long batches;
+    private volatile long maxBatch;
+
+    /**
+     * Appender dengan konfigurasi dari system property
+     */
+    public static AsyncLogAppender create(SegmentedLog log) {
+        int capacity = Integer.getInteger("bioskop.log.capacity", 8192);
+        OverflowPolicy policy = OverflowPolicy.valueOf(
+                System.getProperty("bioskop.log.overflow", OverflowPolicy.BLOCK.name()).toUpperCase());
+        boolean fsync = Boolean.parseBoolean(System.getProperty("bioskop.log.fsync", "true"));
+        return new AsyncLogAppender(log, capacity, policy, fsync);
+    }
+
+    public AsyncLogAppender(SegmentedLog log, int capacity, OverflowPolicy policy, boolean fsync) {
+        this.log = log;
+        this.policy = policy;
+        this.fsync = fsync;
+        this.ring = new MpscRing<>(capacity);
+        this.capacity = ring.capacity();
+
+        flusher = new Thread(this::runFlusher, "bioskop-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "bioskop-log-shutdown"));
+    }
+
+    // ========== PRODUCER ==========
+
+    /**
+     * Masukkan satu baris log; tidak pernah melakukan I/O di thread pemanggil
+     *
+     * @return false jika baris dibuang karena buffer penuh (DROP / SAMPLE)
+     */
+    public boolean append(String line) {
+        if (policy == OverflowPolicy.SAMPLE && size() > capacity - capacity / 4
+                && sampleCounter.incrementAndGet() % SAMPLE_RATE != 0) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        while (!ring.offer(line)) {
+            if (policy != OverflowPolicy.BLOCK || !running) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            wakeFlusher();
+            LockSupport.parkNanos(50_000);
+        }
+
+        enqueued.incrementAndGet();
+        if (flusherParked) wakeFlusher();
+        return true;
+    }
+
+    /**
+     * Jumlah baris yang sedang menunggu ditulis (perkiraan)
+     */
+    public int size() {
+        return ring.size();
+    }
+
+    // ========== FLUSHER ==========
+
+    private void runFlusher() {
+        List<String> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !ring.isEmpty()) {
+            drain(batch);
+            if (batch.isEmpty()) {
+                if (!ring.isEmpty()) {
+                    Thread.onSpinWait(); // slot sudah diklaim producer, belum dipublish
+                    continue;
+                }
+                flusherParked = true;
+                if (ring.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                flusherParked = false;
+                continue;
+            }
+            write(batch);
+        }
+    }
+
+    /**
+     * Ambil baris yang sudah dipublish, maksimal MAX_BATCH
+     */
+    private void drain(List<String> batch) {
+        batch.clear();
+        String line;
+        while (batch.size() < MAX_BATCH && (line = ring.poll()) != null) {
+            batch.add(line);
+        }
+    }
+
+    private void write(List<String> batch) {
+        long start = System.nanoTime();
+        try {
+            long syncNanos = log.appendAll(batch, fsync);
+            if (fsync) fsyncLatency.record(syncNanos);
+        } catch (RuntimeException e) {
+            LOG.error("Error flushing booking log: " + e.getMessage());
+        }
+        flushLatency.record(System.nanoTime() - start);
+        batches++;
+        if (batch.size() > maxBatch) maxBatch = batch.size();
+        written = ring.consumerPosition();
+    }
+
+    private void wakeFlusher() {
+        LockSupport.unpark(flusher);
+    }
+
+    /**
+     * Tunggu sampai semua baris yang sudah masuk sebelum pemanggilan ini tertulis
+     *
+     * @return false jika timeout
+     */
+    public boolean flush() {
+        long target = ring.producerPosition();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (written < target) {
+            if (!flusher.isAlive() || System.nanoTime() > deadline) return false;
+            wakeFlusher();
+            LockSupport.parkNanos(100_000);
+        }
+        return true;
+    }
+
+    /**
+     * Hentikan flusher setelah buffer kosong (dipanggil juga oleh shutdown hook)
+     */
+    public void close() {
+        if (!running) return;
+        running = false;
+        wakeFlusher();
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(FLUSH_TIMEOUT_NANOS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== STATISTIK ==========
+
+    public Stats getStats() {
+        return new Stats(this);
+    }
+
+    /**
+     * Latensi sederhana: count / total / max, aman untuk satu writer
+     */
+    static final class LatencyStats {
+        private volatile long count;
+        private volatile long totalNanos;
+        private volatile long maxNanos;
+
+        void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) maxNanos = nanos;
+        }
+    }
+
+    /**
+     * Snapshot statistik appender
+     */
+    public static final class Stats {
+        public final long enqueued;
+        public final long dropped;
+        public final int pending;
+        public final long batches;
+        public final long maxBatch;
+        public final double avgFlushMs;
+        public final double maxFlushMs;
+        public final double avgFsyncMs;
+        public final double maxFsyncMs;
+
+        private Stats(AsyncLogAppender appender) {
+            enqueued = appender.enqueued.get();
+            dropped = appender.dropped.get();
+            pending = appender.size();
+            batches = appender.batches;
+            maxBatch = appender.maxBatch;
+            avgFlushMs = average(appender.flushLatency);
+            maxFlushMs = appender.flushLatency.maxNanos / 1e6;
+            avgFsyncMs = average(appender.fsyncLatency);
+            maxFsyncMs = appender.fsyncLatency.maxNanos / 1e6;
+        }
+
+        private static double average(LatencyStats stats) {
+            long count = stats.count;
+            return count == 0 ? 0 : stats.totalNanos / 1e6 / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("enqueued=%d dropped=%d pending=%d batches=%d maxBatch=%d "
+                            + "flush avg/max=%.2f/%.2f ms fsync avg/max=%.2f/%.2f ms",
+                    enqueued, dropped, pending, batches, maxBatch,
+                    avgFlushMs, maxFlushMs, avgFsyncMs, maxFsyncMs);
+        }
+    }
+}
@@ -0,0 +1,673 @@
+package com.bioskop.storage;
+
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * LogStructuredStore - Storage engine log-structured untuk beberapa tabel TXT
+ *
+ * Setiap tabel adalah file snapshot TXT biasa (misal bookings.txt) yang
+ * diindex di memory berdasarkan ID (kolom pertama). Perubahan tidak lagi
+ * menulis ulang file snapshot, tapi ditambahkan sebagai record PUT ke satu
+ * {@link RecordLog} bersama (append-only, checksum per record).
+ *
+ * - Batch: semua record satu caller (misal booking + tickets) di-append
+ *   sebagai satu {@link Batch}; batch ditulis utuh atau tidak sama sekali.
+ *   Jika write gagal, batch dibuang dan log dipotong kembali, jadi batch
+ *   yang gagal tidak ikut ter-commit oleh caller berikutnya.
+ * - Group commit: beberapa thread yang commit bersamaan ditulis dalam satu
+ *   write + fsync oleh thread yang pertama mendapat giliran.
+ * - Compaction: setelah sejumlah record (minimal compactThreshold, dan
+ *   minimal separuh isi tabel), compaction dijadwalkan di thread
+ *   background (tidak di jalur commit). Isi memory disalin, ditulis ke
+ *   snapshot sementara tanpa memegang lock, lalu di bawah lock snapshot
+ *   di-rename dan log diganti dengan record yang masuk sejak salinan dibuat.
+ * - Recovery: saat start, snapshot di-load lalu tail log di-replay. Record
+ *   yang terpotong karena crash dibuang. PUT bersifat idempotent sehingga
+ *   replay setelah crash di tengah compaction tetap menghasilkan state sama.
+ * - Record yang ditulis proses lain pada log yang sama ikut di-replay
+ *   sebelum commit dan sebelum query.
+ *
+ * Urutan lock: flushLock -> lock file log -> monitor object ini. Jangan
+ * memanggil method yang mengambil lock file sambil memegang monitor.
+ */
+public class LogStructuredStore {
+
+    private static final Logger LOG = Logger.get(LogStructuredStore.class);
+
+    private static final int DEFAULT_COMPACT_THRESHOLD = 1000;
+    private static final String COMPACT_SUFFIX = ".compact";
+
+    // Satu thread compaction untuk semua store; writer tidak pernah menunggu compaction
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Definisi satu tabel: file snapshot dan cara mengambil ID dari baris,
+     * plus index sekunder opsional (misal bookingId -> tickets)
+     */
+    public static final class Table {
+        private final String snapshotFile;
+        private final ToIntFunction<String> keyExtractor;
+        private final UnaryOperator<String> normalizer;
+        private ToIntFunction<String> secondaryKeyExtractor;
+
+        // Integer = ID record, RawLine = baris snapshot yang bukan record valid
+        private final LinkedHashMap<Object, String> lines = new LinkedHashMap<>();
+        // Index sekunder: nilai kolom -> ID record (urut insert)
+        private final Map<Integer, Set<Integer>> secondary = new HashMap<>();
+        private int maxId = 0;
+        private long snapshotModified = -1;
+        private long snapshotSize = -1;
+
+        /**
+         * @param snapshotFile nama file snapshot di folder data
+         * @param keyExtractor ambil ID dari baris, return -1 jika baris bukan record valid
+         */
+        public Table(String snapshotFile, ToIntFunction<String> keyExtractor) {
+            this(snapshotFile, keyExtractor, UnaryOperator.identity());
+        }
+
+        /**
+         * @param normalizer ubah baris snapshot format lama ke format terbaru (migrasi).
+         *                   Jika ada baris yang berubah, file snapshot langsung ditulis ulang.
+         */
+        public Table(String snapshotFile, ToIntFunction<String> keyExtractor, UnaryOperator<String> normalizer) {
+            this.snapshotFile = snapshotFile;
+            this.keyExtractor = keyExtractor;
+            this.normalizer = normalizer;
+        }
+
+        /**
+         * Tambah index sekunder, dipakai oleh {@link #findBy(int, int)}
+         *
+         * @param secondaryKeyExtractor ambil nilai kolom dari baris, -1 jika tidak ada
+         * @return this
+         */
+        public Table indexedBy(ToIntFunction<String> secondaryKeyExtractor) {
+            this.secondaryKeyExtractor = secondaryKeyExtractor;
+            return this;
+        }
+
+        private void clear() {
+            lines.clear();
+            secondary.clear();
+            maxId = 0;
+        }
+
+        private void put(String line) {
+            int id = keyExtractor.applyAsInt(line);
+            if (id < 0) {
+                lines.put(new RawLine(), line);
+                return;
+            }
+            String previous = lines.put(id, line);
+            if (id > maxId) maxId = id;
+
+            if (secondaryKeyExtractor != null) {
+                if (previous != null) {
+                    Set<Integer> ids = secondary.get(secondaryKeyExtractor.applyAsInt(previous));
+                    if (ids != null) ids.remove(id);
+                }
+                int value = secondaryKeyExtractor.applyAsInt(line);
+                if (value >= 0) {
+                    secondary.computeIfAbsent(value, v -> new LinkedHashSet<>()).add(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Kunci unik untuk baris snapshot yang tidak bisa di-parse
+     */
+    private static final class RawLine {
+    }
+
+    /**
+     * Record satu caller yang di-append bersama, lihat {@link #append(List)}
+     */
+    public static final class Batch {
+        private static final int PENDING = 0;
+        private static final int DURABLE = 1;
+        private static final int FAILED = 2;
+
+        private final List<RecordLog.Entry> entries;
+        private final byte[] frames;
+        private volatile int state = PENDING;
+
+        private Batch(List<RecordLog.Entry> entries, byte[] frames) {
+            this.entries = entries;
+            this.frames = frames;
+        }
+
+        public boolean isDurable() {
+            return state == DURABLE;
+        }
+    }
+
+    private final RecordLog log;
+    private final Table[] tables;
+    private final int compactThreshold;
+
+    // State in-memory (guarded by this)
+    private volatile boolean loaded = false;
+    private long generation = -1;
+    private long appliedOffset = RecordLog.HEADER_SIZE;
+    private int recordsSinceSnapshot = 0;
+
+    // Batch yang sudah di-append tapi belum ditulis (guarded by this)
+    private final List<Batch> pending = new ArrayList<>();
+
+    // Group commit
+    private final Object flushLock = new Object();
+
+    // Compaction (satu per store)
+    private final Object compactLock = new Object();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    public LogStructuredStore(String logFile, Table... tables) {
+        this(logFile, DEFAULT_COMPACT_THRESHOLD, tables);
+    }
+
+    public LogStructuredStore(String logFile, int compactThreshold, Table... tables) {
+        this.log = new RecordLog(logFile);
+        this.tables = tables;
+        this.compactThreshold = compactThreshold;
+    }
+
+    // ========== QUERY ==========
+
+    /**
+     * Get semua record di satu tabel, urut sesuai waktu insert pertama
+     *
+     * @param table index tabel
+     * @return List baris record
+     */
+    public List<String> findAll(int table) {
+        refresh();
+        synchronized (this) {
+            List<String> result = new ArrayList<>(tables[table].lines.size());
+            for (Map.Entry<Object, String> entry : tables[table].lines.entrySet()) {
+                if (entry.getKey() instanceof Integer) result.add(entry.getValue());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Get satu record berdasarkan ID (O(1))
+     *
+     * @return baris record, atau null jika tidak ada
+     */
+    public String findById(int table, int id) {
+        refresh();
+        synchronized (this) {
+            return tables[table].lines.get(id);
+        }
+    }
+
+    /**
+     * Get record dengan nilai index sekunder tertentu (O(hasil), tanpa scan tabel)
+     *
+     * @param table index tabel (harus punya {@link Table#indexedBy})
+     * @param value nilai kolom yang diindex
+     * @return List baris record, urut sesuai waktu insert
+     */
+    public List<String> findBy(int table, int value) {
+        return findAllBy(table, Collections.singleton(value)).getOrDefault(value, Collections.emptyList());
+    }
+
+    /**
+     * Batch lookup index sekunder: satu refresh + satu lock untuk semua nilai
+     *
+     * @param table index tabel (harus punya {@link Table#indexedBy})
+     * @param values nilai kolom yang dicari
+     * @return Map nilai -> baris record (nilai tanpa record tidak ada di map)
+     */
+    public Map<Integer, List<String>> findAllBy(int table, Collection<Integer> values) {
+        Table t = tables[table];
+        if (t.secondaryKeyExtractor == null) {
+            throw new IllegalStateException("Table " + t.snapshotFile + " tidak punya index sekunder");
+        }
+
+        refresh();
+        synchronized (this) {
+            Map<Integer, List<String>> result = new HashMap<>();
+            for (Integer value : values) {
+                Set<Integer> ids = t.secondary.get(value);
+                if (ids == null || ids.isEmpty()) continue;
+
+                List<String> rows = new ArrayList<>(ids.size());
+                for (Integer id : ids) rows.add(t.lines.get(id));
+                result.put(value, rows);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * ID terbesar + 1 di tabel, termasuk record yang belum di-commit
+     */
+    public int nextId(int table) {
+        ensureLoaded();
+        synchronized (this) {
+            return tables[table].maxId + 1;
+        }
+    }
+
+    // ========== WRITE ==========
+
+    /**
+     * Tambahkan record PUT ke buffer log sebagai satu batch. Belum durable
+     * sampai {@link #commit(Batch)}; batch tidak pernah ditulis sebagian.
+     *
+     * @param records pasangan tabel + baris (insert baru atau versi terbaru record dengan ID sama)
+     * @return batch untuk commit
+     */
+    public Batch append(List<RecordLog.Entry> records) {
+        ensureLoaded();
+        List<RecordLog.Entry> entries = new ArrayList<>(records);
+        Batch batch = new Batch(entries, encodeAll(entries));
+        synchronized (this) {
+            for (RecordLog.Entry entry : entries) {
+                int id = tables[entry.table].keyExtractor.applyAsInt(entry.payload);
+                if (id > tables[entry.table].maxId) tables[entry.table].maxId = id;
+            }
+            pending.add(batch);
+        }
+        return batch;
+    }
+
+    /**
+     * Pastikan batch sudah ditulis dan di-fsync. Thread yang datang saat
+     * flush berjalan cukup menunggu; batch mereka ikut ditulis pada flush
+     * berikutnya (group commit).
+     *
+     * @return true jika durable; false jika write gagal (batch dibuang)
+     */
+    public boolean commit(Batch batch) {
+        if (batch.state == Batch.PENDING) {
+            synchronized (flushLock) {
+                if (batch.state == Batch.PENDING) {
+                    FileManager.withFileLock(log.getFilename(), this::flushLocked);
+                }
+                synchronized (this) {
+                    // Flush gagal sebelum batch diambil: jangan sampai ditulis caller lain
+                    if (batch.state == Batch.PENDING && pending.remove(batch)) batch.state = Batch.FAILED;
+                }
+            }
+        }
+
+        if (batch.state == Batch.DURABLE && needsCompaction()) {
+            scheduleCompaction();
+        }
+        return batch.state == Batch.DURABLE;
+    }
+
+    /**
+     * Append + commit satu record
+     */
+    public boolean put(int table, String line) {
+        return commit(append(Collections.singletonList(new RecordLog.Entry(table, line))));
+    }
+
+    /**
+     * Tulis isi memory ke file snapshot lalu ganti log dengan record yang
+     * masuk selama snapshot ditulis. Lock log hanya dipegang saat menyalin
+     * state dan saat mengganti file, bukan selama snapshot ditulis.
+     */
+    public void compact() {
+        synchronized (compactLock) {
+            // 1. Salin state (lock singkat)
+            long[] cut = new long[2];
+            List<List<String>> copies = FileManager.withFileLock(log.getFilename(), () -> {
+                synchronized (this) {
+                    ensureLoaded();
+                    try {
+                        catchUpLocked();
+                    } catch (IOException e) {
+                        LOG.error("Error reading " + log.getFilename() + ": " + e.getMessage());
+                        return null;
+                    }
+                    cut[0] = generation;
+                    cut[1] = appliedOffset;
+                    List<List<String>> result = new ArrayList<>(tables.length);
+                    for (Table table : tables) result.add(new ArrayList<>(table.lines.values()));
+                    return result;
+                }
+            });
+            if (copies == null) return;
+
+            // 2. Tulis snapshot sementara tanpa lock log (bagian yang lama)
+            try {
+                for (int i = 0; i < tables.length; i++) {
+                    writeCompactFile(compactFile(tables[i]), copies.get(i));
+                }
+            } catch (IOException e) {
+                LOG.error("Error compacting " + log.getFilename() + ": " + e.getMessage());
+                return;
+            }
+
+            // 3. Pasang snapshot + ganti log (lock singkat)
+            FileManager.withFileLock(log.getFilename(), () -> {
+                try {
+                    installCompaction(cut[0], cut[1]);
+                } catch (IOException | UncheckedIOException e) {
+                    LOG.error("Error compacting " + log.getFilename() + ": " + e.getMessage());
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Paksa load ulang snapshot + replay log pada akses berikutnya
+     */
+    public void invalidate() {
+        loaded = false;
+    }
+
+    // ========== INTERNAL ==========
+
+    private boolean flushLocked() {
+        List<Batch> batches;
+        long start;
+        synchronized (this) {
+            ensureLoaded();
+            try {
+                catchUpLocked();
+            } catch (IOException e) {
+                LOG.error("Error reading " + log.getFilename() + ": " + e.getMessage());
+                return false;
+            }
+            if (pending.isEmpty()) return true;
+
+            batches = new ArrayList<>(pending);
+            pending.clear();
+            start = appliedOffset;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Batch batch : batches) out.write(batch.frames, 0, batch.frames.length);
+
+        try {
+            long end = log.append(out.toByteArray());
+            synchronized (this) {
+                int count = 0;
+                for (Batch batch : batches) {
+                    for (RecordLog.Entry entry : batch.entries) tables[entry.table].put(entry.payload);
+                    count += batch.entries.size();
+                    batch.state = Batch.DURABLE;
+                }
+                appliedOffset = end;
+                recordsSinceSnapshot += count;
+            }
+            return true;
+        } catch (IOException e) {
+            LOG.error("Error writing " + log.getFilename() + ": " + e.getMessage());
+            // Buang frame yang mungkin sudah tertulis sebagian: batch gagal tidak boleh di-replay
+            try {
+                log.truncate(start);
+            } catch (IOException truncateError) {
+                LOG.error("Error truncating " + log.getFilename() + ": " + truncateError.getMessage());
+            }
+            for (Batch batch : batches) batch.state = Batch.FAILED;
+            return false;
+        }
+    }
+
+    private static byte[] encodeAll(List<RecordLog.Entry> entries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (RecordLog.Entry entry : entries) {
+            byte[] frame = RecordLog.encode(entry.table, entry.payload);
+            out.write(frame, 0, frame.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Compaction menulis ulang seluruh snapshot, jadi jaraknya ikut ukuran
+     * tabel: log boleh tumbuh sampai separuh jumlah record (minimal
+     * compactThreshold). Tanpa ini tabel besar di-compact terus-menerus dan
+     * fsync snapshot menghabiskan I/O disk.
+     */
+    private synchronized boolean needsCompaction() {
+        if (recordsSinceSnapshot < compactThreshold) return false;
+        long records = 0;
+        for (Table table : tables) records += table.lines.size();
+        return recordsSinceSnapshot >= records / 2;
+    }
+
+    private void scheduleCompaction() {
+        if (!compactionScheduled.compareAndSet(false, true)) return;
+        COMPACTOR.execute(() -> {
+            try {
+                compact();
+            } finally {
+                compactionScheduled.set(false);
+            }
+        });
+    }
+
+    /**
+     * Snapshot sementara per proses, supaya compaction dua proses tidak saling menimpa
+     */
+    private static String compactFile(Table table) {
+        return "." + table.snapshotFile + "." + ProcessHandle.current().pid() + COMPACT_SUFFIX;
+    }
+
+    /**
+     * Tulis snapshot sementara + fsync. File ini hanya milik proses ini,
+     * jadi tidak perlu lock FileManager.
+     */
+    private static void writeCompactFile(String filename, List<String> lines) throws IOException {
+        try (FileChannel channel = FileChannel.open(FileManager.getFilePath(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     Channels.newOutputStream(channel), StandardCharsets.UTF_8))) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            }
+            writer.flush();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Langkah akhir compaction (dipanggil sambil memegang lock log). Jika log
+     * sudah di-compact pihak lain sejak state disalin, snapshot sementara
+     * dibuang. Urutan aman terhadap crash: snapshot di-rename dulu (log lama
+     * masih lengkap, PUT idempotent), baru log diganti secara atomik.
+     */
+    private void installCompaction(long cutGeneration, long cutOffset) throws IOException {
+        synchronized (this) {
+            catchUpLocked();
+            if (generation != cutGeneration) {
+                for (Table table : tables) Files.deleteIfExists(FileManager.getFilePath(compactFile(table)));
+                return;
+            }
+
+            for (Table table : tables) {
+                FileManager.withFileLock(table.snapshotFile, () -> {
+                    try {
+                        Files.move(FileManager.getFilePath(compactFile(table)),
+                                FileManager.getFilePath(table.snapshotFile),
+                                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+                updateSnapshotStamp(table);
+            }
+
+            // Record sejak salinan dibuat tetap di log generation baru
+            RecordLog.ReadResult tail = log.read(cutOffset);
+            List<RecordLog.Entry> entries = tail == null ? Collections.emptyList() : tail.entries;
+            generation++;
+            appliedOffset = log.rewrite(generation, encodeAll(entries));
+            recordsSinceSnapshot = entries.size();
+        }
+    }
+
+    /**
+     * Replay record baru dari proses lain (dipanggil sambil memegang lock log).
+     * Byte rusak di akhir log pasti sisa crash, jadi dipotong.
+     */
+    private void catchUpLocked() throws IOException {
+        RecordLog.ReadResult result = log.read(appliedOffset);
+        if (result == null || result.generation != generation || snapshotChanged()) {
+            reload();
+            return;
+        }
+
+        applyEntries(result.entries);
+        appliedOffset = result.endOffset;
+        if (result.tornTail) {
+            log.truncate(result.endOffset);
+        }
+    }
+
+    /**
+     * Replay record baru sebelum query. Lock file hanya diambil jika
+     * ukuran log atau snapshot berubah sejak terakhir dibaca.
+     */
+    private void refresh() {
+        ensureLoaded();
+        synchronized (this) {
+            if (log.size() == appliedOffset && !snapshotChanged()) return;
+        }
+
+        FileManager.withFileLock(log.getFilename(), () -> {
+            synchronized (this) {
+                try {
+                    catchUpLocked();
+                } catch (IOException e) {
+                    LOG.error("Error reading " + log.getFilename() + ": " + e.getMessage());
+                }
+            }
+            return null;
+        });
+    }
+
+    private void applyEntries(List<RecordLog.Entry> entries) {
+        for (RecordLog.Entry entry : entries) {
+            if (entry.table < tables.length) {
+                tables[entry.table].put(entry.payload);
+            }
+        }
+        recordsSinceSnapshot += entries.size();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        FileManager.withFileLock(log.getFilename(), () -> {
+            synchronized (this) {
+                if (!loaded) reload();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Recovery: load semua snapshot lalu replay seluruh log
+     */
+    private void reload() {
+        try {
+            log.createIfMissing();
+
+            for (Table table : tables) {
+                table.clear();
+                boolean[] migrated = {false};
+                FileManager.forEachRecord(table.snapshotFile, record -> {
+                    if (record.isBlank()) return true;
+                    String line = record.getLine();
+                    String normalized = table.normalizer.apply(line);
+                    if (!normalized.equals(line)) migrated[0] = true;
+                    table.put(normalized);
+                    return true;
+                });
+                if (migrated[0]) {
+                    FileManager.writeLines(table.snapshotFile, new ArrayList<>(table.lines.values()));
+                }
+                updateSnapshotStamp(table);
+            }
+
+            RecordLog.ReadResult result = log.read(RecordLog.HEADER_SIZE);
+            if (result == null) {
+                // Header rusak: mulai log baru, snapshot tetap sumber kebenaran
+                log.reset(Math.max(generation, 0) + 1);
+                result = log.read(RecordLog.HEADER_SIZE);
+            }
+
+            recordsSinceSnapshot = 0;
+            applyEntries(result.entries);
+            generation = result.generation;
+            appliedOffset = result.endOffset;
+
+            if (result.tornTail) {
+                log.truncate(result.endOffset);
+            }
+
+            // Record pending tetap berlaku di atas state baru
+            for (Batch batch : pending) {
+                for (RecordLog.Entry entry : batch.entries) {
+                    int id = tables[entry.table].keyExtractor.applyAsInt(entry.payload);
+                    if (id > tables[entry.table].maxId) tables[entry.table].maxId = id;
+                }
+            }
+
+            loaded = true;
+        } catch (IOException e) {
+            LOG.error("Error recovering " + log.getFilename() + ": " + e.getMessage());
+        }
+    }
+
+    private boolean snapshotChanged() {
+        for (Table table : tables) {
+            long[] stamp = readStamp(table.snapshotFile);
+            if (stamp[0] != table.snapshotModified || stamp[1] != table.snapshotSize) return true;
+        }
+        return false;
+    }
+
+    private void updateSnapshotStamp(Table table) {
+        long[] stamp = readStamp(table.snapshotFile);
+        table.snapshotModified = stamp[0];
+        table.snapshotSize = stamp[1];
+    }
+
+    private static long[] readStamp(String filename) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(
+                    FileManager.getFilePath(filename), BasicFileAttributes.class);
+            return new long[]{attrs.lastModifiedTime().toMillis(), attrs.size()};
+        } catch (IOException e) {
+            return new long[]{-1, -1};
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.bioskop.storage;
+
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * LogTailReader - Index byte offset untuk file log append-only (misal booking_logs.txt)
+ *
+ * File tidak pernah dimuat utuh ke memory. Index hanya menyimpan byte offset
+ * awal setiap {@link #PAGE_LINES} baris (sparse), sehingga satu page baris
+ * dibaca dengan satu read berurutan dari offset checkpoint-nya.
+ *
+ * {@link #refresh()} hanya membaca byte baru sejak refresh terakhir (seperti
+ * tail -f). Baris terakhir yang belum diakhiri newline belum dihitung sampai
+ * lengkap. Jika file mengecil (misal log di-clear), index dibangun ulang.
+ *
+ * Thread-safe; semua method melakukan I/O, jadi panggil dari thread background.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class LogTailReader {
+
+    private static final Logger LOG = Logger.get(LogTailReader.class);
+
+    public static final int PAGE_LINES = 64;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+
+    // checkpoints[k] = byte offset baris ke (k * PAGE_LINES)
+    private long[] checkpoints = new long[16];
+    private int lineCount;
+    private long indexedEnd;
+    private long generation;
+
+    public LogTailReader(Path path) {
+        this.path = path;
+    }
+
+    // ========== INDEX ==========
+
+    /**
+     * Index baris baru yang ditambahkan sejak refresh terakhir
+     *
+     * @return jumlah baris baru; -1 jika file dipotong dan index dibangun ulang dari awal
+     */
+    public synchronized int refresh() {
+        long size = fileSize();
+        boolean truncated = size < indexedEnd;
+        if (truncated) {
+            lineCount = 0;
+            indexedEnd = 0;
+            generation++;
+        }
+        if (size == indexedEnd) return truncated ? -1 : 0;
+
+        int before = lineCount;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            long position = indexedEnd;
+            long lineStart = indexedEnd;
+
+            while (position < size) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) break;
+
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        addLine(lineStart);
+                        lineStart = position + i + 1;
+                    }
+                }
+                position += read;
+            }
+            indexedEnd = lineStart;
+        } catch (IOException e) {
+            LOG.error("Error indexing log " + path + ": " + e.getMessage());
+        }
+
+        return truncated ? -1 : lineCount - before;
+    }
+
+    /**
+     * Buang index; refresh berikutnya membaca file dari awal. Dipakai jika file
+     * diganti (misal dirotasi) tetapi ukurannya belum tentu mengecil.
+     */
+    public synchronized void reset() {
+        lineCount = 0;
+        indexedEnd = 0;
+        generation++;
+    }
+
+    private void addLine(long offset) {
+        if (lineCount % PAGE_LINES == 0) {
+            int page = lineCount / PAGE_LINES;
+            if (page == checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, page * 2);
+            }
+            checkpoints[page] = offset;
+        }
+        lineCount++;
+    }
+
+    /**
+     * Jumlah baris lengkap yang sudah di-index
+     */
+    public synchronized int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Naik setiap kali index dibangun ulang karena file dipotong
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // ========== READ ==========
+
+    /**
+     * Baca satu page baris (PAGE_LINES baris, kecuali page terakhir)
+     *
+     * @param page nomor page (baris page * PAGE_LINES ...)
+     * @return baris tanpa line separator
+     */
+    public List<String> readPage(int page) {
+        long start;
+        long end;
+        int lines;
+        synchronized (this) {
+            int first = page * PAGE_LINES;
+            if (page < 0 || first >= lineCount) return new ArrayList<>();
+            lines = Math.min(PAGE_LINES, lineCount - first);
+            start = checkpoints[page];
+            end = first + lines < lineCount ? checkpoints[page + 1] : indexedEnd;
+        }
+
+        List<String> result = new ArrayList<>(lines);
+        byte[] data = readRange(start, end);
+        int lineStart = 0;
+        for (int i = 0; i < data.length && result.size() < lines; i++) {
+            if (data[i] == '\n') {
+                int contentEnd = i > lineStart && data[i - 1] == '\r' ? i - 1 : i;
+                result.add(new String(data, lineStart, contentEnd - lineStart, StandardCharsets.UTF_8));
+                lineStart = i + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scan baris [fromLine, toLine) secara streaming dan laporkan index baris
+     * yang cocok. Memory konstan: tiap baris hanya di-tokenize di buffer.
+     *
+     * @param fromLine baris awal (inklusif)
+     * @param toLine baris akhir (eksklusif), biasanya {@link #lineCount()}
+     * @param filter kondisi baris; RecordReader dipakai ulang, jangan disimpan
+     * @param matches menerima index baris yang cocok, urut naik
+     * @param cancelled dicek tiap blok yang dibaca supaya scan panjang bisa dihentikan
+     */
+    public void scan(int fromLine, int toLine, Predicate<RecordReader> filter,
+                     IntConsumer matches, BooleanSupplier cancelled) {
+        int firstLine = Math.max(fromLine, 0);
+        int lastLine;
+        int line;
+        long start;
+        long end;
+        synchronized (this) {
+            lastLine = Math.min(toLine, lineCount);
+            if (firstLine >= lastLine) return;
+            // Baca mulai dari checkpoint page; baris sebelum firstLine dilewati
+            int page = firstLine / PAGE_LINES;
+            line = page * PAGE_LINES;
+            start = checkpoints[page];
+            end = indexedEnd;
+        }
+
+        RecordReader reader = new RecordReader();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int filled = 0;
+            long position = start;
+
+            while (line < lastLine && position < end) {
+                if (cancelled.getAsBoolean()) return;
+
+                int read = channel.read(ByteBuffer.wrap(buffer, filled,
+                        (int) Math.min(buffer.length - filled, end - position)), position);
+                if (read <= 0) break;
+                position += read;
+                filled += read;
+
+                int lineStart = 0;
+                for (int i = 0; i < filled && line < lastLine; i++) {
+                    if (buffer[i] != '\n') continue;
+                    int contentEnd = i > lineStart && buffer[i - 1] == '\r' ? i - 1 : i;
+                    if (line >= firstLine && filter.test(reader.reset(buffer, lineStart, contentEnd))) {
+                        matches.accept(line);
+                    }
+                    line++;
+                    lineStart = i + 1;
+                }
+
+                // Sisa baris yang belum lengkap digeser ke awal buffer
+                filled -= lineStart;
+                System.arraycopy(buffer, lineStart, buffer, 0, filled);
+                if (filled == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Error scanning log " + path + ": " + e.getMessage());
+        }
+    }
+
+    private byte[] readRange(long start, long end) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) break;
+            }
+        } catch (IOException e) {
+            LOG.error("Error reading log " + path + ": " + e.getMessage());
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private long fileSize() {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.bioskop.storage;
+
+import com.bioskop.util.FileManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * RecordLog - File log append-only dengan checksum per record
+ *
+ * Layout file:
+ * <pre>
+ *   header : magic (int) | generation (long)
+ *   record : length (int) | crc32 (int) | table (byte) | payload UTF-8 (length byte)
+ * </pre>
+ * Generation naik setiap kali log dikosongkan setelah compaction, sehingga
+ * pembaca dari proses lain tahu offset yang mereka pegang sudah tidak berlaku.
+ *
+ * Class ini tidak melakukan locking; pemanggil (LogStructuredStore) yang
+ * memegang lock file lewat FileManager.
+ */
+public class RecordLog {
+
+    private static final int MAGIC = 0x424B4C47; // "BKLG"
+    public static final int HEADER_SIZE = 12;
+    private static final int FRAME_HEADER_SIZE = 9;
+    private static final int MAX_PAYLOAD = 1 << 20;
+
+    /**
+     * Satu record di log
+     */
+    public static final class Entry {
+        public final int table;
+        public final String payload;
+
+        public Entry(int table, String payload) {
+            this.table = table;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Hasil pembacaan log dari suatu offset
+     */
+    public static final class ReadResult {
+        public final long generation;
+        public final List<Entry> entries;
+        public final long endOffset;     // offset setelah record valid terakhir
+        public final boolean tornTail;   // ada byte sisa yang bukan record valid
+
+        ReadResult(long generation, List<Entry> entries, long endOffset, boolean tornTail) {
+            this.generation = generation;
+            this.entries = entries;
+            this.endOffset = endOffset;
+            this.tornTail = tornTail;
+        }
+    }
+
+    private final String filename;
+    private final Path path;
+
+    public RecordLog(String filename) {
+        this.filename = filename;
+        this.path = FileManager.getFilePath(filename);
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Encode satu record menjadi frame siap tulis
+     */
+    public static byte[] encode(int table, String payload) {
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(table);
+        crc.update(data);
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + data.length);
+        frame.putInt(data.length);
+        frame.putInt((int) crc.getValue());
+        frame.put((byte) table);
+        frame.put(data);
+        return frame.array();
+    }
+
+    /**
+     * Buat file log baru (header saja) jika belum ada
+     */
+    public void createIfMissing() throws IOException {
+        if (Files.exists(path) && Files.size(path) >= HEADER_SIZE) return;
+        FileManager.ensureDataFolderExists();
+        reset(1);
+    }
+
+    /**
+     * Kosongkan log dan tulis header dengan generation baru
+     */
+    public void reset(long generation) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putLong(generation).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Ganti seluruh log secara atomik (file sementara + rename) dengan
+     * generation baru yang berisi frame tertentu. Dipakai compaction untuk
+     * menyimpan record yang masuk selama snapshot ditulis.
+     *
+     * @return offset akhir file baru
+     */
+    public long rewrite(long generation, byte[] frames) throws IOException {
+        Path temp = path.resolveSibling("." + filename + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + frames.length);
+            buffer.putInt(MAGIC).putLong(generation).put(frames).flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return HEADER_SIZE + frames.length;
+    }
+
+    /**
+     * Baca semua record valid mulai dari offset tertentu. Berhenti pada
+     * record pertama yang terpotong atau checksum-nya salah.
+     *
+     * @param fromOffset offset awal (minimal HEADER_SIZE)
+     * @return ReadResult, atau null jika file belum ada / header rusak
+     */
+    public ReadResult read(long fromOffset) throws IOException {
+        if (!Files.exists(path)) return null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) return null;
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) return null;
+            long generation = header.getLong();
+
+            long start = Math.max(fromOffset, HEADER_SIZE);
+            List<Entry> entries = new ArrayList<>();
+            if (start >= size) {
+                return new ReadResult(generation, entries, start, start > size);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) (size - start));
+            while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+                // baca sampai penuh
+            }
+            buffer.flip();
+
+            long offset = start;
+            while (buffer.remaining() >= FRAME_HEADER_SIZE) {
+                int frameStart = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                int table = buffer.get() & 0xFF;
+
+                if (length < 0 || length > MAX_PAYLOAD || buffer.remaining() < length) {
+                    buffer.position(frameStart);
+                    break;
+                }
+
+                byte[] data = new byte[length];
+                buffer.get(data);
+
+                CRC32 crc = new CRC32();
+                crc.update(table);
+                crc.update(data);
+                if ((int) crc.getValue() != checksum) {
+                    buffer.position(frameStart);
+                    break;
+                }
+
+                entries.add(new Entry(table, new String(data, StandardCharsets.UTF_8)));
+                offset = start + buffer.position();
+            }
+
+            return new ReadResult(generation, entries, offset, offset < size);
+        }
+    }
+
+    /**
+     * Tulis batch frame di akhir file lalu fsync (satu kali untuk seluruh batch)
+     *
+     * @return offset akhir file setelah ditulis
+     */
+    public long append(byte[] batch) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            long position = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(batch);
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+            return position;
+        }
+    }
+
+    /**
+     * Potong byte sisa di akhir log (record yang tertulis setengah saat crash)
+     */
+    public void truncate(long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+            channel.force(true);
+        }
+    }
+
+    public long size() {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
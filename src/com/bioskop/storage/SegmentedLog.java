@@ -0,0 +1,516 @@
+package com.bioskop.storage;
+
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * SegmentedLog - Log aktivitas booking yang dirotasi menjadi segment terkompresi
+ *
+ * Format baris: timestamp|observerName|userId|seatNumber|action|scheduleId
+ *
+ * Penulisan selalu ke segment aktif (misal booking_logs.txt). Jika segment
+ * aktif melebihi ukuran maksimum atau umur baris pertamanya melebihi umur
+ * maksimum (dihitung dari waktu segment aktif dibuat, bukan timestamp di
+ * dalam baris), isinya dipindah ke "booking_logs/segment-000001.log.gz" dan
+ * segment aktif dikosongkan (hanya header).
+ *
+ * Setiap segment lama punya entry di manifest "booking_logs.idx"
+ * (plus satu baris "active|waktu" untuk umur segment aktif):
+ * rentang waktu, jumlah baris, dan daftar scheduleId / userId yang ada di
+ * dalamnya. Query per schedule / user / waktu hanya membuka segment yang
+ * relevan. Jumlah segment dibatasi; segment tertua dihapus (retensi).
+ *
+ * Semua operasi berjalan di bawah lock file segment aktif (FileManager),
+ * jadi aman untuk beberapa thread dan proses.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class SegmentedLog {
+
+    private static final Logger LOG = Logger.get(SegmentedLog.class);
+
+    // Kolom baris log
+    public static final int TIMESTAMP = 0;
+    public static final int USER_ID = 2;
+    public static final int SCHEDULE_ID = 5;
+    private static final int FIELDS = 6;
+
+    private static final String MANIFEST_HEADER = "seq|file|firstTimestamp|lastTimestamp|lines|scheduleIds|userIds";
+    private static final String ACTIVE_ENTRY = "active";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log.gz";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Entry manifest untuk satu segment terkompresi
+     */
+    public static final class Segment {
+        private final long seq;
+        private final String file;
+        private final LocalDateTime first;
+        private final LocalDateTime last;
+        private final int lines;
+        private final int[] scheduleIds; // terurut, untuk binary search
+        private final int[] userIds;
+
+        Segment(long seq, String file, LocalDateTime first, LocalDateTime last,
+                int lines, int[] scheduleIds, int[] userIds) {
+            this.seq = seq;
+            this.file = file;
+            this.first = first;
+            this.last = last;
+            this.lines = lines;
+            this.scheduleIds = scheduleIds;
+            this.userIds = userIds;
+        }
+
+        public long getSeq() { return seq; }
+        public String getFile() { return file; }
+        public LocalDateTime getFirst() { return first; }
+        public LocalDateTime getLast() { return last; }
+        public int getLines() { return lines; }
+
+        public boolean containsSchedule(int scheduleId) {
+            return Arrays.binarySearch(scheduleIds, scheduleId) >= 0;
+        }
+
+        public boolean containsUser(int userId) {
+            return Arrays.binarySearch(userIds, userId) >= 0;
+        }
+
+        public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return first != null && !last.isBefore(from) && !first.isAfter(to);
+        }
+    }
+
+    /**
+     * Statistik satu segment selama dibangun (saat rotasi)
+     */
+    private static final class SegmentStats {
+        LocalDateTime first;
+        LocalDateTime last;
+        int lines;
+        final Set<Integer> scheduleIds = new TreeSet<>();
+        final Set<Integer> userIds = new TreeSet<>();
+
+        void add(RecordReader record) {
+            lines++;
+            if (record.fieldCount() < FIELDS) return;
+            try {
+                LocalDateTime time = record.getDateTime(TIMESTAMP);
+                if (first == null || time.isBefore(first)) first = time;
+                if (last == null || time.isAfter(last)) last = time;
+            } catch (NumberFormatException e) {
+                // timestamp invalid: baris tetap disimpan, hanya tidak masuk rentang waktu
+            }
+            try {
+                userIds.add(record.getInt(USER_ID));
+                scheduleIds.add(record.getInt(SCHEDULE_ID));
+            } catch (NumberFormatException e) {
+                // kolom id invalid
+            }
+        }
+    }
+
+    private final String activeFile;
+    private final String header;
+    private final String manifestFile;
+    private final String segmentDir;
+    private final long maxSegmentBytes;
+    private final Duration maxSegmentAge;
+    private final int maxSegments;
+
+    // Cache waktu segment aktif dibuat (valid selama file tidak mengecil)
+    private LocalDateTime activeStart;
+    private long activeSizeSeen = -1;
+
+    /**
+     * @param activeFile segment aktif di folder data (misal "booking_logs.txt")
+     * @param header baris header segment aktif
+     * @param maxSegmentBytes ukuran segment aktif sebelum dirotasi
+     * @param maxSegmentAge umur segment aktif sebelum dirotasi
+     * @param maxSegments jumlah segment terkompresi yang disimpan
+     */
+    public SegmentedLog(String activeFile, String header, long maxSegmentBytes,
+                        Duration maxSegmentAge, int maxSegments) {
+        String base = activeFile.endsWith(".txt") ? activeFile.substring(0, activeFile.length() - 4) : activeFile;
+        this.activeFile = activeFile;
+        this.header = header;
+        this.manifestFile = base + ".idx";
+        this.segmentDir = base;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxSegmentAge = maxSegmentAge;
+        this.maxSegments = maxSegments;
+    }
+
+    // ========== APPEND ==========
+
+    /**
+     * Tambahkan satu baris ke segment aktif (rotasi jika perlu)
+     */
+    public void append(String line) {
+        appendAll(Collections.singletonList(line));
+    }
+
+    /**
+     * Tambahkan beberapa baris dengan satu write, lalu rotasi jika perlu
+     */
+    public void appendAll(List<String> lines) {
+        appendAll(lines, false);
+    }
+
+    /**
+     * Tambahkan beberapa baris dengan satu write, opsional fsync, lalu rotasi jika perlu
+     *
+     * @param sync true untuk fsync segment aktif setelah write
+     * @return waktu fsync dalam nanodetik (0 jika tidak sync)
+     */
+    public long appendAll(List<String> lines, boolean sync) {
+        if (lines.isEmpty()) return 0;
+
+        StringBuilder batch = new StringBuilder(lines.size() * 64);
+        for (String line : lines) {
+            batch.append(line).append(System.lineSeparator());
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+
+        return FileManager.withFileLock(activeFile, () -> {
+            Path path = FileManager.getFilePath(activeFile);
+            long syncNanos = 0;
+            try {
+                FileManager.ensureDataFolderExists();
+                if (!Files.exists(path)) {
+                    Files.write(path, (header + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+                }
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    while (bytes.hasRemaining()) channel.write(bytes);
+                    if (sync) {
+                        long start = System.nanoTime();
+                        channel.force(false);
+                        syncNanos = System.nanoTime() - start;
+                    }
+                }
+                if (needsRotation(path)) {
+                    rotateUnderLock();
+                }
+            } catch (IOException e) {
+                LOG.error("Error appending to log " + activeFile + ": " + e.getMessage());
+            }
+            return syncNanos;
+        });
+    }
+
+    private boolean needsRotation(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size >= maxSegmentBytes) return true;
+
+        if (activeStart == null || size < activeSizeSeen) {
+            activeStart = readActiveSince();
+            if (activeStart == null) {
+                // Manifest lama / baru: mulai hitung umur dari sekarang
+                activeStart = now();
+                writeManifest(readManifest(), activeStart);
+            }
+        }
+        activeSizeSeen = size;
+        return activeStart.plus(maxSegmentAge).isBefore(LocalDateTime.now());
+    }
+
+    // ========== ROTATION ==========
+
+    /**
+     * Paksa rotasi segment aktif sekarang
+     */
+    public void rotate() {
+        FileManager.withFileLock(activeFile, () -> {
+            try {
+                rotateUnderLock();
+            } catch (IOException e) {
+                LOG.error("Error rotating log " + activeFile + ": " + e.getMessage());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Kompres segment aktif ke file segment baru, catat di manifest,
+     * terapkan retensi, lalu kosongkan segment aktif
+     */
+    private void rotateUnderLock() throws IOException {
+        Path active = FileManager.getFilePath(activeFile);
+        if (!Files.exists(active)) return;
+
+        List<Segment> segments = readManifest();
+        long seq = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).seq + 1;
+        String name = String.format("%s%06d%s", SEGMENT_PREFIX, seq, SEGMENT_SUFFIX);
+        Path dir = FileManager.getFilePath(segmentDir);
+        Path target = dir.resolve(name);
+        Path temp = dir.resolve("." + name + ".tmp");
+        Files.createDirectories(dir);
+
+        SegmentStats stats = new SegmentStats();
+        byte[] newline = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            IOException[] failure = new IOException[1];
+            FileManager.forEachRecord(active, record -> {
+                if (record.isBlank() || record.lineStartsWith(header)) return true;
+                stats.add(record);
+                try {
+                    out.write(record.getLine().getBytes(StandardCharsets.UTF_8));
+                    out.write(newline);
+                    return true;
+                } catch (IOException e) {
+                    failure[0] = e;
+                    return false;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+        }
+
+        if (stats.lines == 0) {
+            Files.deleteIfExists(temp);
+            return;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        segments.add(new Segment(seq, name, stats.first, stats.last, stats.lines,
+                toArray(stats.scheduleIds), toArray(stats.userIds)));
+        while (segments.size() > maxSegments) {
+            Segment oldest = segments.remove(0);
+            Files.deleteIfExists(dir.resolve(oldest.file));
+        }
+        activeStart = now();
+        writeManifest(segments, activeStart);
+
+        FileManager.writeLines(activeFile, Collections.singletonList(header));
+        activeSizeSeen = -1;
+        LOG.info("✓ Booking log rotated: " + segmentDir + "/" + name + " (" + stats.lines + " lines)");
+    }
+
+    // ========== QUERY ==========
+
+    /**
+     * Stream baris log dari segment yang lolos segmentFilter (lama ke baru),
+     * lalu dari segment aktif. Header tidak dikirim ke visitor.
+     *
+     * @param segmentFilter segment terkompresi yang perlu dibuka
+     * @param visitor dipanggil per baris, return false untuk berhenti
+     */
+    public void forEach(Predicate<Segment> segmentFilter, FileManager.RecordVisitor visitor) {
+        FileManager.withFileLock(activeFile, () -> {
+            boolean[] stopped = {false};
+            FileManager.RecordVisitor body = record -> {
+                if (record.isBlank() || record.lineStartsWith(header)) return true;
+                if (!visitor.visit(record)) {
+                    stopped[0] = true;
+                    return false;
+                }
+                return true;
+            };
+
+            Path dir = FileManager.getFilePath(segmentDir);
+            for (Segment segment : readManifest()) {
+                if (!segmentFilter.test(segment)) continue;
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(dir.resolve(segment.file)))) {
+                    FileManager.forEachRecord(in, body);
+                } catch (IOException e) {
+                    LOG.error("Error reading log segment " + segment.file + ": " + e.getMessage());
+                }
+                if (stopped[0]) return null;
+            }
+
+            FileManager.forEachRecord(activeFile, body);
+            return null;
+        });
+    }
+
+    /**
+     * Baris log yang cocok, hanya dari segment yang mungkin berisi kecocokan
+     */
+    public List<String> query(Predicate<Segment> segmentFilter, Predicate<RecordReader> lineFilter) {
+        List<String> result = new ArrayList<>();
+        forEach(segmentFilter, record -> {
+            if (lineFilter.test(record)) result.add(record.getLine());
+            return true;
+        });
+        return result;
+    }
+
+    public List<String> findBySchedule(int scheduleId) {
+        return query(segment -> segment.containsSchedule(scheduleId), record -> fieldIs(record, SCHEDULE_ID, scheduleId));
+    }
+
+    public List<String> findByUser(int userId) {
+        return query(segment -> segment.containsUser(userId), record -> fieldIs(record, USER_ID, userId));
+    }
+
+    public List<String> findBetween(LocalDateTime from, LocalDateTime to) {
+        return query(segment -> segment.overlaps(from, to), record -> {
+            if (record.fieldCount() < FIELDS) return false;
+            try {
+                LocalDateTime time = record.getDateTime(TIMESTAMP);
+                return !time.isBefore(from) && !time.isAfter(to);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        });
+    }
+
+    private static boolean fieldIs(RecordReader record, int field, int value) {
+        if (record.fieldCount() < FIELDS) return false;
+        try {
+            return record.getInt(field) == value;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Daftar segment terkompresi (lama ke baru)
+     */
+    public List<Segment> getSegments() {
+        return FileManager.withFileLock(activeFile, this::readManifest);
+    }
+
+    /**
+     * Buka isi satu segment terkompresi (baris tanpa header), caller yang menutup stream
+     */
+    public InputStream openSegment(Segment segment) throws IOException {
+        return new GZIPInputStream(Files.newInputStream(FileManager.getFilePath(segmentDir).resolve(segment.file)));
+    }
+
+    /**
+     * Path segment aktif (untuk reader streaming / tail)
+     */
+    public Path getActivePath() {
+        return FileManager.getFilePath(activeFile);
+    }
+
+    /**
+     * Jalankan action di bawah lock segment aktif: selama action berjalan
+     * tidak ada append, rotasi, atau clear
+     */
+    public <T> T withLock(Supplier<T> action) {
+        return FileManager.withFileLock(activeFile, action);
+    }
+
+    /**
+     * Hapus semua segment dan kosongkan segment aktif
+     */
+    public void clear() {
+        FileManager.withFileLock(activeFile, () -> {
+            Path dir = FileManager.getFilePath(segmentDir);
+            for (Segment segment : readManifest()) {
+                try {
+                    Files.deleteIfExists(dir.resolve(segment.file));
+                } catch (IOException e) {
+                    LOG.error("Error deleting log segment " + segment.file + ": " + e.getMessage());
+                }
+            }
+            activeStart = now();
+            writeManifest(new ArrayList<>(), activeStart);
+            FileManager.writeLines(activeFile, Collections.singletonList(header));
+            activeSizeSeen = -1;
+            return null;
+        });
+    }
+
+    // ========== MANIFEST ==========
+
+    private List<Segment> readManifest() {
+        List<Segment> segments = new ArrayList<>();
+        FileManager.forEachRecord(manifestFile, record -> {
+            if (record.fieldCount() < 7) return true;
+            try {
+                segments.add(new Segment(record.getLong(0), record.getString(1).trim(),
+                        record.isEmpty(2) ? null : record.getDateTime(2),
+                        record.isEmpty(3) ? null : record.getDateTime(3),
+                        record.getInt(4), parseIds(record.getString(5)), parseIds(record.getString(6))));
+            } catch (NumberFormatException e) {
+                // header atau baris invalid
+            }
+            return true;
+        });
+        return segments;
+    }
+
+    private LocalDateTime readActiveSince() {
+        return FileManager.findFirst(manifestFile, record -> {
+            if (record.fieldCount() != 2 || !record.fieldEquals(0, ACTIVE_ENTRY)) return null;
+            try {
+                return record.getDateTime(1);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        });
+    }
+
+    private void writeManifest(List<Segment> segments, LocalDateTime activeSince) {
+        List<String> lines = new ArrayList<>(segments.size() + 2);
+        lines.add(MANIFEST_HEADER);
+        lines.add(ACTIVE_ENTRY + "|" + format(activeSince));
+        StringBuilder sb = new StringBuilder();
+        for (Segment segment : segments) {
+            sb.setLength(0);
+            sb.append(segment.seq).append('|').append(segment.file).append('|');
+            if (segment.first != null) sb.append(format(segment.first));
+            sb.append('|');
+            if (segment.last != null) sb.append(format(segment.last));
+            sb.append('|').append(segment.lines).append('|');
+            joinIds(sb, segment.scheduleIds).append('|');
+            joinIds(sb, segment.userIds);
+            lines.add(sb.toString());
+        }
+        FileManager.writeLines(manifestFile, lines);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().withNano(0);
+    }
+
+    private static String format(LocalDateTime time) {
+        return TIMESTAMP_FORMAT.format(time);
+    }
+
+    private static int[] toArray(Set<Integer> ids) {
+        int[] result = new int[ids.size()];
+        int i = 0;
+        for (int id : ids) result[i++] = id;
+        return result;
+    }
+
+    private static int[] parseIds(String text) {
+        if (text.trim().isEmpty()) return new int[0];
+        String[] parts = text.split(",");
+        int[] ids = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            ids[i] = Integer.parseInt(parts[i].trim());
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static StringBuilder joinIds(StringBuilder sb, int[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(ids[i]);
+        }
+        return sb;
+    }
+}
@@ -0,0 +1,254 @@
+package com.bioskop.storage;
+
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * SegmentedLogReader - Index baris untuk seluruh {@link SegmentedLog}:
+ * segment terkompresi (urut manifest) lalu segment aktif
+ *
+ * Nomor baris global dimulai dari baris pertama segment tertua, lalu segment
+ * berikutnya, terakhir segment aktif (tanpa header). Jumlah baris segment lama
+ * diambil dari manifest, jadi file .gz baru dibuka saat page atau scan
+ * menyentuhnya. Segment aktif di-index dengan {@link LogTailReader}.
+ *
+ * Rotasi tidak menggeser nomor baris: isi segment aktif lama menjadi segment
+ * terbaru di posisi yang sama. Hanya clear dan retensi (segment tertua dihapus)
+ * yang menggeser nomor baris; {@link #refresh()} melaporkannya sebagai -1.
+ *
+ * Thread-safe; semua method melakukan I/O, jadi panggil dari thread background.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class SegmentedLogReader {
+
+    private static final Logger LOG = Logger.get(SegmentedLogReader.class);
+
+    public static final int PAGE_LINES = LogTailReader.PAGE_LINES;
+    private static final int ACTIVE_HEADER_LINES = 1;
+    private static final int CACHED_SEGMENTS = 2;
+    private static final int CANCEL_CHECK_LINES = 1024;
+
+    private final SegmentedLog log;
+    private final LogTailReader active;
+
+    private List<SegmentedLog.Segment> segments = new ArrayList<>();
+    // starts[i] = nomor baris global pertama segment i; starts[segments.size()] = total baris segment lama
+    private int[] starts = new int[1];
+
+    // Segment yang baru dibaca untuk paging (key: seq), supaya scroll tidak men-decompress ulang
+    private final Map<Long, List<String>> decoded = new LinkedHashMap<Long, List<String>>(4, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<String>> eldest) {
+            return size() > CACHED_SEGMENTS;
+        }
+    };
+
+    public SegmentedLogReader(SegmentedLog log) {
+        this.log = log;
+        this.active = new LogTailReader(log.getActivePath());
+    }
+
+    // ========== INDEX ==========
+
+    /**
+     * Baca manifest dan index baris baru segment aktif sejak refresh terakhir
+     *
+     * @return jumlah baris baru (termasuk baris yang ikut dirotasi); -1 jika log
+     *         di-clear atau segment tertua dihapus sehingga nomor baris bergeser
+     */
+    public synchronized int refresh() {
+        int before = lineCount();
+
+        // Manifest dan segment aktif dibaca di bawah lock log supaya rotasi tidak terlihat setengah jalan
+        boolean replaced = log.withLock(() -> {
+            List<SegmentedLog.Segment> current = log.getSegments();
+            boolean kept = startsWith(current, segments);
+            boolean rotated = kept && current.size() > segments.size();
+            if (!kept || rotated) {
+                // File aktif sudah diganti; ukurannya belum tentu lebih kecil dari yang sudah di-index
+                active.reset();
+            }
+            boolean truncated = active.refresh() < 0;
+
+            segments = current;
+            starts = new int[current.size() + 1];
+            for (int i = 0; i < current.size(); i++) {
+                starts[i + 1] = starts[i] + current.get(i).getLines();
+            }
+            return !kept || (truncated && !rotated);
+        });
+
+        if (replaced) {
+            decoded.clear(); // seq dimulai dari 1 lagi setelah clear
+            return -1;
+        }
+        return lineCount() - before;
+    }
+
+    private static boolean startsWith(List<SegmentedLog.Segment> current, List<SegmentedLog.Segment> previous) {
+        if (current.size() < previous.size()) return false;
+        for (int i = 0; i < previous.size(); i++) {
+            if (current.get(i).getSeq() != previous.get(i).getSeq()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Jumlah baris log (segment lama + segment aktif, tanpa header) yang sudah di-index
+     */
+    public synchronized int lineCount() {
+        return archivedLines() + Math.max(0, active.lineCount() - ACTIVE_HEADER_LINES);
+    }
+
+    /**
+     * Jumlah segment terkompresi menurut manifest terakhir
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    private int archivedLines() {
+        return starts[starts.length - 1];
+    }
+
+    // ========== READ ==========
+
+    /**
+     * Baca satu page baris global (PAGE_LINES baris, kecuali page terakhir)
+     *
+     * @param page nomor page (baris page * PAGE_LINES ...)
+     * @return baris tanpa line separator
+     */
+    public List<String> readPage(int page) {
+        List<SegmentedLog.Segment> snapshot;
+        int[] bounds;
+        int total;
+        synchronized (this) {
+            snapshot = segments;
+            bounds = starts;
+            total = lineCount();
+        }
+        int first = page * PAGE_LINES;
+        if (page < 0 || first >= total) return new ArrayList<>();
+        int last = Math.min(first + PAGE_LINES, total);
+        int archived = bounds[bounds.length - 1];
+
+        List<String> result = new ArrayList<>(last - first);
+        int line = first;
+        while (line < last && line < archived) {
+            int index = segmentOf(bounds, line);
+            List<String> lines = segmentLines(snapshot.get(index));
+            int end = Math.min(last, bounds[index + 1]);
+            for (; line < end; line++) {
+                int offset = line - bounds[index];
+                result.add(offset < lines.size() ? lines.get(offset) : "");
+            }
+        }
+
+        while (line < last) {
+            int activeLine = line - archived + ACTIVE_HEADER_LINES;
+            int activePage = activeLine / PAGE_LINES;
+            List<String> lines = active.readPage(activePage);
+            int offset = activeLine - activePage * PAGE_LINES;
+            if (offset >= lines.size()) break; // segment aktif berubah sejak refresh
+            for (; offset < lines.size() && line < last; offset++, line++) {
+                result.add(lines.get(offset));
+            }
+        }
+        return result;
+    }
+
+    private static int segmentOf(int[] bounds, int line) {
+        int index = Arrays.binarySearch(bounds, 0, bounds.length - 1, line);
+        if (index < 0) return -index - 2;
+        // Segment kosong punya start yang sama dengan segment berikutnya
+        while (index + 1 < bounds.length - 1 && bounds[index + 1] == line) index++;
+        return index;
+    }
+
+    private List<String> segmentLines(SegmentedLog.Segment segment) {
+        synchronized (this) {
+            List<String> cached = decoded.get(segment.getSeq());
+            if (cached != null) return cached;
+        }
+
+        List<String> lines = new ArrayList<>(segment.getLines());
+        try (InputStream in = log.openSegment(segment)) {
+            FileManager.forEachRecord(in, record -> lines.add(record.getLine()));
+        } catch (IOException e) {
+            // Segment dihapus retensi sejak refresh: refresh berikutnya membangun ulang index
+            LOG.error("Error reading log segment " + segment.getFile() + ": " + e.getMessage());
+            return lines;
+        }
+
+        synchronized (this) {
+            decoded.put(segment.getSeq(), lines);
+        }
+        return lines;
+    }
+
+    /**
+     * Scan baris global [fromLine, toLine) secara streaming dan laporkan nomor
+     * baris yang cocok. Segment terkompresi di-decompress sambil jalan, tidak
+     * dimuat utuh ke memory.
+     *
+     * @param fromLine baris awal (inklusif)
+     * @param toLine baris akhir (eksklusif), biasanya {@link #lineCount()}
+     * @param filter kondisi baris; RecordReader dipakai ulang, jangan disimpan
+     * @param matches menerima nomor baris yang cocok, urut naik
+     * @param cancelled dicek berkala supaya scan panjang bisa dihentikan
+     */
+    public void scan(int fromLine, int toLine, Predicate<RecordReader> filter,
+                     IntConsumer matches, BooleanSupplier cancelled) {
+        List<SegmentedLog.Segment> snapshot;
+        int[] bounds;
+        int lastLine;
+        synchronized (this) {
+            snapshot = segments;
+            bounds = starts;
+            lastLine = Math.min(toLine, lineCount());
+        }
+        int firstLine = Math.max(fromLine, 0);
+        if (firstLine >= lastLine) return;
+        int archived = bounds[bounds.length - 1];
+
+        for (int i = 0; i < snapshot.size() && bounds[i] < lastLine; i++) {
+            if (bounds[i + 1] <= firstLine) continue;
+            if (cancelled.getAsBoolean()) return;
+
+            SegmentedLog.Segment segment = snapshot.get(i);
+            int[] line = {bounds[i]};
+            int end = Math.min(lastLine, bounds[i + 1]);
+            try (InputStream in = log.openSegment(segment)) {
+                FileManager.forEachRecord(in, record -> {
+                    int current = line[0]++;
+                    if (current >= end) return false;
+                    if (current >= firstLine && filter.test(record)) matches.accept(current);
+                    return current % CANCEL_CHECK_LINES != 0 || !cancelled.getAsBoolean();
+                });
+            } catch (IOException e) {
+                LOG.error("Error scanning log segment " + segment.getFile() + ": " + e.getMessage());
+            }
+        }
+
+        if (lastLine > archived && !cancelled.getAsBoolean()) {
+            active.scan(Math.max(firstLine - archived, 0) + ACTIVE_HEADER_LINES,
+                    lastLine - archived + ACTIVE_HEADER_LINES, filter,
+                    line -> matches.accept(line - ACTIVE_HEADER_LINES + archived), cancelled);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.bioskop.test;
+
+import com.bioskop.util.FileManager;
+import com.bioskop.util.IdSequence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Test untuk IdSequence
+ * ID unik di bawah banyak thread dan tidak dipakai ulang setelah restart
+ *
+ * Perbandingan kecepatan dengan getNextId ada di benchmark JMH (IdSequenceBenchmark).
+ * Memakai sequence terpisah (.test_ids.seq) supaya data asli tidak berubah.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class IdSequenceTest {
+
+    private static final String SEQUENCE = "test_ids";
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 20_000;
+
+    private static int failures = 0;
+
+    private static void check(boolean condition, String message) {
+        if (condition) {
+            System.out.println("  ✓ " + message);
+        } else {
+            System.out.println("  ❌ " + message);
+            failures++;
+        }
+    }
+
+    // TEST 1: Banyak thread mengambil ID bersamaan, tidak boleh ada duplikat
+    public static int test1_ConcurrentUniqueness() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 1: Concurrent Allocation        ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        IdSequence sequence = new IdSequence(SEQUENCE, () -> 0, 1024);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    int first = sequence.nextBlock(1 + i % 3);
+                    for (int k = 0; k <= i % 3; k++) ids.add(first + k);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+
+        int expected = 0;
+        for (int i = 0; i < IDS_PER_THREAD; i++) expected += 1 + i % 3;
+        expected *= THREADS;
+
+        check(ids.size() == expected, THREADS + " threads, " + expected + " ids, duplicates: " + (expected - ids.size()));
+        return ids.stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    // TEST 2: Instance baru (restart) lanjut dari high-water mark
+    public static void test2_RestartContinues(int maxIssued) {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 2: Restart Continues            ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        IdSequence restarted = new IdSequence(SEQUENCE, () -> 0, 1024);
+        int next = restarted.next();
+        check(next > maxIssued, "First id after restart " + next + " > last issued " + maxIssued);
+    }
+
+    // MAIN TEST RUNNER
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║   ID SEQUENCE TEST                    ║");
+        System.out.println("╚════════════════════════════════════════╝");
+
+        FileManager.ensureDataFolderExists();
+
+        try {
+            test2_RestartContinues(test1_ConcurrentUniqueness());
+        } catch (Exception e) {
+            System.out.println("\n❌ Test Failed:");
+            e.printStackTrace();
+            failures++;
+        } finally {
+            try {
+                Files.deleteIfExists(FileManager.getFilePath("." + SEQUENCE + ".seq"));
+                Files.deleteIfExists(FileManager.getFilePath(".." + SEQUENCE + ".seq.lock"));
+            } catch (IOException e) {
+                System.out.println("⚠ Cleanup failed: " + e.getMessage());
+            }
+        }
+
+        if (failures == 0) {
+            System.out.println("\n✅ All ID Sequence Tests Passed!");
+        } else {
+            System.out.println("\n❌ " + failures + " check(s) failed!");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.bioskop.test;
+
+import com.bioskop.storage.LogStructuredStore;
+import com.bioskop.storage.RecordLog;
+import com.bioskop.util.FileManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Test untuk LogStructuredStore (storage bookings.txt / tickets.txt)
+ * Checksum, recovery tail yang terpotong, batch yang gagal, dan compaction
+ *
+ * Setiap "restart" adalah instance store baru yang membaca file dari disk.
+ * Memakai file terpisah (lss_test.txt / lss_test.log) supaya data asli tidak berubah.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class LogStructuredStoreTest {
+
+    private static final String SNAPSHOT_FILE = "lss_test.txt";
+    private static final String LOG_FILE = "lss_test.log";
+    private static final int TABLE = 0;
+
+    private static int failures = 0;
+
+    private static LogStructuredStore openStore(int compactThreshold) {
+        return new LogStructuredStore(LOG_FILE, compactThreshold,
+                new LogStructuredStore.Table(SNAPSHOT_FILE, LogStructuredStoreTest::key));
+    }
+
+    private static int key(String line) {
+        int end = line.indexOf('|');
+        try {
+            return Integer.parseInt(end < 0 ? line : line.substring(0, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void reset() throws IOException {
+        cleanup();
+        FileManager.writeFile(SNAPSHOT_FILE, List.of("id|value"));
+    }
+
+    private static Path logPath() {
+        return FileManager.getFilePath(LOG_FILE);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (condition) {
+            System.out.println("  ✓ " + message);
+        } else {
+            System.out.println("  ❌ " + message);
+            failures++;
+        }
+    }
+
+    // TEST 1: Batch ditulis utuh dan terbaca setelah restart
+    public static void test1_BatchCommitAndRecovery() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 1: Batch Commit & Recovery      ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        reset();
+        LogStructuredStore store = openStore(1000);
+        LogStructuredStore.Batch batch = store.append(List.of(
+                new RecordLog.Entry(TABLE, "1|booking"),
+                new RecordLog.Entry(TABLE, "2|ticket-a"),
+                new RecordLog.Entry(TABLE, "3|ticket-b")));
+        check(store.commit(batch) && batch.isDurable(), "Batch of 3 records committed");
+
+        // Banyak thread commit bersamaan (group commit)
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            int base = 100 + t * 3;
+            futures.add(pool.submit(() -> store.commit(store.append(List.of(
+                    new RecordLog.Entry(TABLE, base + "|b"),
+                    new RecordLog.Entry(TABLE, (base + 1) + "|t"),
+                    new RecordLog.Entry(TABLE, (base + 2) + "|t"))))));
+        }
+        int committed = 0;
+        for (Future<Boolean> f : futures) if (f.get()) committed++;
+        pool.shutdown();
+        check(committed == 16, "16 concurrent batches committed: " + committed);
+
+        LogStructuredStore restarted = openStore(1000);
+        check(restarted.findAll(TABLE).size() == 3 + 48,
+                "After restart: " + restarted.findAll(TABLE).size() + " records (should be 51)");
+        check("ticket-b".equals(value(restarted.findById(TABLE, 3))), "Record 3 readable after restart");
+    }
+
+    // TEST 2: Record dengan checksum salah dibuang beserta sisa log
+    public static void test2_ChecksumMismatch() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 2: Checksum Mismatch            ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        reset();
+        LogStructuredStore store = openStore(1000);
+        store.put(TABLE, "1|one");
+        long validEnd = Files.size(logPath());
+        store.put(TABLE, "2|two");
+
+        // Balik satu byte payload record terakhir
+        byte[] bytes = Files.readAllBytes(logPath());
+        bytes[bytes.length - 1] ^= 0x5A;
+        Files.write(logPath(), bytes);
+
+        LogStructuredStore restarted = openStore(1000);
+        check("one".equals(value(restarted.findById(TABLE, 1))), "Record before corruption kept");
+        check(restarted.findById(TABLE, 2) == null, "Corrupted record dropped");
+        check(Files.size(logPath()) == validEnd, "Log truncated to last valid record");
+
+        check(restarted.put(TABLE, "3|three"), "Append after recovery");
+        LogStructuredStore again = openStore(1000);
+        check(again.findById(TABLE, 3) != null && again.findById(TABLE, 2) == null,
+                "New record readable, corrupted one stays gone");
+    }
+
+    // TEST 3: Frame yang tertulis setengah (crash) dipotong saat recovery
+    public static void test3_TornTail() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 3: Torn Tail Recovery           ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        reset();
+        LogStructuredStore store = openStore(1000);
+        store.put(TABLE, "1|one");
+        store.put(TABLE, "2|two");
+        long validEnd = Files.size(logPath());
+
+        byte[] frame = RecordLog.encode(TABLE, "9|torn-record");
+        Files.write(logPath(), Arrays.copyOf(frame, frame.length / 2), StandardOpenOption.APPEND);
+
+        LogStructuredStore restarted = openStore(1000);
+        check(restarted.findAll(TABLE).size() == 2, "2 complete records recovered");
+        check(restarted.findById(TABLE, 9) == null, "Half-written record ignored");
+        check(Files.size(logPath()) == validEnd, "Torn bytes truncated");
+        check(restarted.put(TABLE, "10|ten") && openStore(1000).findById(TABLE, 10) != null,
+                "Append after recovery readable");
+    }
+
+    // TEST 4: Batch yang gagal ditulis tidak ikut ter-commit oleh caller berikutnya
+    public static void test4_FailedBatchDiscarded() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 4: Failed Batch Discarded       ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        reset();
+        LogStructuredStore store = openStore(1000);
+        store.put(TABLE, "1|one");
+
+        // Log diganti direktori: write berikutnya pasti gagal
+        byte[] saved = Files.readAllBytes(logPath());
+        Files.delete(logPath());
+        Files.createDirectory(logPath());
+
+        LogStructuredStore.Batch failed = store.append(List.of(
+                new RecordLog.Entry(TABLE, "5|booking"),
+                new RecordLog.Entry(TABLE, "6|ticket")));
+        check(!store.commit(failed), "Commit fails while log is unwritable");
+
+        Files.delete(logPath());
+        Files.write(logPath(), saved);
+
+        check(store.put(TABLE, "7|next"), "Next commit succeeds");
+        check(!store.commit(failed), "Failed batch stays failed");
+
+        LogStructuredStore restarted = openStore(1000);
+        check(restarted.findById(TABLE, 5) == null && restarted.findById(TABLE, 6) == null,
+                "Failed batch not on disk");
+        check(restarted.findById(TABLE, 7) != null, "Later batch on disk");
+    }
+
+    // TEST 5: Compaction memindahkan isi log ke snapshot
+    public static void test5_Compaction() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 5: Compaction                   ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        reset();
+        LogStructuredStore store = openStore(10);
+        for (int i = 1; i <= 25; i++) store.put(TABLE, i + "|v" + i);
+        store.put(TABLE, "5|v5-updated");
+        byte[] fullLog = Files.readAllBytes(logPath());
+
+        // Tunggu compaction background (jika ada) lalu compact sampai log kosong
+        store.compact();
+        check(Files.size(logPath()) == RecordLog.HEADER_SIZE, "Log empty after compaction");
+        check(FileManager.readFile(SNAPSHOT_FILE).size() == 26, "Snapshot has header + 25 records");
+        check(noCompactTempFiles(), "No temporary snapshot left behind");
+
+        store.put(TABLE, "26|v26");
+        LogStructuredStore restarted = openStore(10);
+        check(restarted.findAll(TABLE).size() == 26, "Snapshot + log after restart: "
+                + restarted.findAll(TABLE).size() + " records (should be 26)");
+        check("v5-updated".equals(value(restarted.findById(TABLE, 5))), "Latest version of record 5 kept");
+
+        // Crash setelah snapshot diganti, sebelum log diganti: log lama di-replay di atas snapshot baru
+        Files.write(logPath(), fullLog);
+        LogStructuredStore recovered = openStore(10);
+        check(recovered.findAll(TABLE).size() == 25
+                        && "v5-updated".equals(value(recovered.findById(TABLE, 5))),
+                "New snapshot + old log gives the same state");
+    }
+
+    private static String value(String line) {
+        return line == null ? null : line.substring(line.indexOf('|') + 1);
+    }
+
+    private static boolean noCompactTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(FileManager.getFilePath(SNAPSHOT_FILE).getParent())) {
+            return files.noneMatch(path -> path.getFileName().toString().endsWith(".compact"));
+        }
+    }
+
+    private static void cleanup() throws IOException {
+        Path log = logPath();
+        if (Files.isDirectory(log)) Files.delete(log);
+        for (String name : new String[]{LOG_FILE, SNAPSHOT_FILE, "." + LOG_FILE + ".lock",
+                "." + SNAPSHOT_FILE + ".lock"}) {
+            Files.deleteIfExists(FileManager.getFilePath(name));
+        }
+    }
+
+    // MAIN TEST RUNNER
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║   LOG STRUCTURED STORE TEST           ║");
+        System.out.println("╚════════════════════════════════════════╝");
+
+        FileManager.ensureDataFolderExists();
+
+        try {
+            test1_BatchCommitAndRecovery();
+            test2_ChecksumMismatch();
+            test3_TornTail();
+            test4_FailedBatchDiscarded();
+            test5_Compaction();
+        } catch (Exception e) {
+            System.out.println("\n❌ Test Failed:");
+            e.printStackTrace();
+            failures++;
+        } finally {
+            try {
+                cleanup();
+            } catch (IOException e) {
+                System.out.println("⚠ Cleanup failed: " + e.getMessage());
+            }
+        }
+
+        if (failures == 0) {
+            System.out.println("\n✅ All Log Store Tests Passed!");
+        } else {
+            System.out.println("\n❌ " + failures + " check(s) failed!");
+            System.exit(1);
+        }
+    }
+}
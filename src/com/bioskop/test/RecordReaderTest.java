@@ -0,0 +1,107 @@
+package com.bioskop.test;
+
+import com.bioskop.util.RecordReader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Test untuk RecordReader
+ * Hasil parse harus sama dengan String.split / Double.parseDouble
+ *
+ * Perbandingan kecepatan ada di benchmark JMH (RecordReaderBenchmark).
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class RecordReaderTest {
+
+    private static int failures = 0;
+
+    private static void check(boolean condition, String message) {
+        if (condition) {
+            System.out.println("  ✓ " + message);
+        } else {
+            System.out.println("  ❌ " + message);
+            failures++;
+        }
+    }
+
+    // TEST 1: Field sama dengan split("\\|"), baik dari String maupun byte[]
+    public static void test1_FieldsMatchSplit() {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 1: Fields Match split           ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            char row = (char) ('A' + (i / 20) % 10);
+            lines.add(i + "|" + (1 + i / 200) + "|" + row + (i % 20 + 1) + "|" + (i % 3 == 0 ? "true " : "false"));
+        }
+
+        RecordReader r = new RecordReader();
+        int mismatches = 0;
+        for (String line : lines) {
+            String[] parts = line.split("\\|");
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            for (RecordReader reader : new RecordReader[]{r.reset(line), new RecordReader().reset(bytes, 0, bytes.length)}) {
+                if (reader.fieldCount() != parts.length
+                        || reader.getInt(0) != Integer.parseInt(parts[0].trim())
+                        || reader.getInt(1) != Integer.parseInt(parts[1].trim())
+                        || !reader.getString(2).equals(parts[2])
+                        || reader.getBoolean(3) != Boolean.parseBoolean(parts[3].trim())) {
+                    mismatches++;
+                }
+            }
+        }
+        check(mismatches == 0, lines.size() + " lines parsed identically (String and byte[]), mismatches: " + mismatches);
+    }
+
+    // TEST 2: getDouble harus sama persis dengan Double.parseDouble
+    public static void test2_DoubleParity() {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 2: getDouble Parity             ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        RecordReader r = new RecordReader();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String[] fixed = {"0", "8.4", "120000.00", "-1.5", "5.", "1e3", "0.1", "9007199254740993", "123456789.123456789"};
+        List<String> samples = new ArrayList<>(List.of(fixed));
+        for (int i = 0; i < 200_000; i++) {
+            samples.add(String.format(Locale.ROOT, "%." + random.nextInt(6) + "f",
+                    random.nextDouble() * Math.pow(10, random.nextInt(12))));
+        }
+
+        int mismatches = 0;
+        for (String sample : samples) {
+            if (r.reset(sample).getDouble(0) != Double.parseDouble(sample)) mismatches++;
+        }
+        check(mismatches == 0, samples.size() + " values identical to Double.parseDouble, mismatches: " + mismatches);
+    }
+
+    // MAIN TEST RUNNER
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║   RECORD READER TEST                  ║");
+        System.out.println("╚════════════════════════════════════════╝");
+
+        try {
+            test1_FieldsMatchSplit();
+            test2_DoubleParity();
+        } catch (Exception e) {
+            System.out.println("\n❌ Test Failed:");
+            e.printStackTrace();
+            failures++;
+        }
+
+        if (failures == 0) {
+            System.out.println("\n✅ All Record Reader Tests Passed!");
+        } else {
+            System.out.println("\n❌ " + failures + " check(s) failed!");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.bioskop.test;
+
+import com.bioskop.manager.SeatAllocator;
+import com.bioskop.manager.SeatAllocator.Allocation;
+import com.bioskop.repository.SeatStore;
+import com.bioskop.util.FileManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test untuk SeatAllocator pada studio 1000 kursi (25 baris x 40 kursi)
+ * Hasil harus kursi kosong, berdampingan jika bisa, dan dipecah sesedikit mungkin
+ *
+ * Perbandingan kecepatan ada di benchmark JMH (SeatAllocatorBenchmark).
+ * Memakai file terpisah (allocator_seats.txt) supaya seats.txt tidak berubah.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class SeatAllocatorTest {
+
+    private static final String SEATS_FILE = "allocator_seats.txt";
+    private static final int SCHEDULE_ID = 1;
+    private static final int ROWS = 25;
+    private static final int SEATS_PER_ROW = 40;
+    private static final double[] OCCUPANCY = {0.0, 0.5, 0.8, 0.95};
+    private static final int[] GROUP_SIZES = {1, 2, 4, 8};
+
+    private static int failures = 0;
+
+    /**
+     * Tulis studio dengan sebagian kursi sudah terisi (acak, seed tetap)
+     */
+    private static SeatStore createHall(double occupancy, long seed) {
+        Random random = new Random(seed);
+        List<String> lines = new ArrayList<>();
+        lines.add("seatId|scheduleId|seatNumber|isBooked");
+        int seatId = 1;
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 1; col <= SEATS_PER_ROW; col++) {
+                boolean booked = random.nextDouble() < occupancy;
+                lines.add(seatId++ + "|" + SCHEDULE_ID + "|" + (char) ('A' + row) + col + "|" + booked);
+            }
+        }
+        FileManager.writeFile(SEATS_FILE, lines);
+        return new SeatStore(SEATS_FILE);
+    }
+
+    /**
+     * Studio dengan pola terisi tetap: setiap kursi ke-3 terisi (blok kosong maksimal 2)
+     */
+    private static SeatStore createFragmentedHall() {
+        List<String> lines = new ArrayList<>();
+        lines.add("seatId|scheduleId|seatNumber|isBooked");
+        int seatId = 1;
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 1; col <= SEATS_PER_ROW; col++) {
+                lines.add(seatId++ + "|" + SCHEDULE_ID + "|" + (char) ('A' + row) + col + "|" + (col % 3 == 0));
+            }
+        }
+        FileManager.writeFile(SEATS_FILE, lines);
+        return new SeatStore(SEATS_FILE);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (condition) {
+            System.out.println("  ✓ " + message);
+        } else {
+            System.out.println("  ❌ " + message);
+            failures++;
+        }
+    }
+
+    /**
+     * Semua kursi hasil harus kosong dan (jika satu grup) berdampingan di satu baris
+     */
+    private static boolean isValid(SeatStore store, Allocation allocation, int count) {
+        if (allocation.getSeatIds().size() != count) return false;
+        for (int seatId : allocation.getSeatIds()) {
+            if (store.getSeatById(seatId).isBooked()) return false;
+        }
+        if (!allocation.isContiguous()) return true;
+
+        List<Integer> ids = allocation.getSeatIds();
+        for (int i = 1; i < ids.size(); i++) {
+            if (ids.get(i) != ids.get(i - 1) + 1) return false;
+        }
+        String first = allocation.getSeatNumbers().get(0);
+        String last = allocation.getSeatNumbers().get(count - 1);
+        return first.charAt(0) == last.charAt(0);
+    }
+
+    // TEST 1: Hasil valid pada berbagai tingkat keterisian
+    public static void test1_ValidAllocations() {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 1: Valid Allocations            ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        for (double occupancy : OCCUPANCY) {
+            SeatStore store = createHall(occupancy, 42);
+            SeatAllocator allocator = new SeatAllocator(store);
+
+            for (int count : GROUP_SIZES) {
+                Allocation allocation = allocator.findBest(SCHEDULE_ID, count);
+                int available = store.getAvailableCount(SCHEDULE_ID);
+                if (allocation == null) {
+                    check(available < count, String.format("%3.0f%% full | N=%d | no seats (%d available)",
+                            occupancy * 100, count, available));
+                    continue;
+                }
+                check(isValid(store, allocation, count), String.format("%3.0f%% full | N=%d | %s",
+                        occupancy * 100, count, allocation));
+            }
+        }
+    }
+
+    // TEST 2: Grup besar di studio yang terfragmentasi harus dipecah sesedikit mungkin
+    public static void test2_MinimalSplits() {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 2: Minimal Splits               ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        SeatStore store = createFragmentedHall();
+        SeatAllocator allocator = new SeatAllocator(store);
+
+        for (int count : new int[]{2, 3, 6, 9}) {
+            Allocation allocation = allocator.findBest(SCHEDULE_ID, count);
+            int minimalGroups = (count + 1) / 2; // blok kosong maksimal 2 kursi
+            check(allocation != null && isValid(store, allocation, count)
+                            && allocation.getGroups() == minimalGroups,
+                    "N=" + count + " -> " + allocation + " (expected " + minimalGroups + " groups)");
+        }
+    }
+
+    // MAIN TEST RUNNER
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║   SEAT ALLOCATOR TEST                 ║");
+        System.out.println("╚════════════════════════════════════════╝");
+
+        FileManager.ensureDataFolderExists();
+
+        try {
+            test1_ValidAllocations();
+            test2_MinimalSplits();
+        } catch (Exception e) {
+            System.out.println("\n❌ Test Failed:");
+            e.printStackTrace();
+            failures++;
+        } finally {
+            try {
+                Files.deleteIfExists(FileManager.getFilePath(SEATS_FILE));
+                Files.deleteIfExists(FileManager.getFilePath("." + SEATS_FILE + ".lock"));
+            } catch (IOException e) {
+                System.out.println("⚠ Cleanup failed: " + e.getMessage());
+            }
+        }
+
+        if (failures == 0) {
+            System.out.println("\n✅ All Seat Allocator Tests Passed!");
+        } else {
+            System.out.println("\n❌ " + failures + " check(s) failed!");
+            System.exit(1);
+        }
+    }
+}
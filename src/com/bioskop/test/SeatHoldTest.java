@@ -0,0 +1,248 @@
+package com.bioskop.test;
+
+import com.bioskop.manager.SeatHoldManager;
+import com.bioskop.manager.SeatReservationEngine;
+import com.bioskop.observer.SeatEventBus;
+import com.bioskop.observer.SeatObserver;
+import com.bioskop.repository.SeatStore;
+import com.bioskop.util.FileManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test untuk SeatHoldManager
+ * TTL habis, confirm setelah TTL, cancel setelah confirm, hold orphan,
+ * dan hold yang sudah terjual tidak dilepas sebagai orphan
+ *
+ * Memakai file terpisah (hold_seats.txt / hold_journal.txt) dan schedule
+ * yang tidak ada di data asli supaya seats.txt dan seat_holds.txt tidak berubah.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class SeatHoldTest {
+
+    private static final String SEATS_FILE = "hold_seats.txt";
+    private static final String JOURNAL_FILE = "hold_journal.txt";
+    private static final int SCHEDULE_ID = 990_001;
+    private static final int FIRST_SEAT_ID = 990_001;
+    private static final int SEAT_COUNT = 20;
+    private static final int USER_ID = 2;
+
+    private static int failures = 0;
+
+    /**
+     * Observer yang mencatat event kursi yang dilepas
+     */
+    private static class ReleaseRecorder implements SeatObserver {
+        private final List<String> released = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void update(String seatNumber, boolean isBooked, int scheduleId) {
+            if (!isBooked) released.add(seatNumber);
+        }
+
+        @Override
+        public String getObserverName() {
+            return "HoldTestRecorder";
+        }
+    }
+
+    private static SeatReservationEngine engine;
+    private static SeatHoldManager manager;
+    private static final ReleaseRecorder recorder = new ReleaseRecorder();
+
+    private static void setup() {
+        List<String> lines = new ArrayList<>();
+        lines.add("seatId|scheduleId|seatNumber|isBooked");
+        for (int i = 0; i < SEAT_COUNT; i++) {
+            lines.add((FIRST_SEAT_ID + i) + "|" + SCHEDULE_ID + "|A" + (i + 1) + "|false");
+        }
+        FileManager.writeFile(SEATS_FILE, lines);
+        FileManager.writeFile(JOURNAL_FILE, new ArrayList<>());
+
+        engine = new SeatReservationEngine(new SeatStore(SEATS_FILE));
+        manager = new SeatHoldManager(engine, JOURNAL_FILE);
+        SeatEventBus.getInstance().subscribe(recorder, SCHEDULE_ID);
+    }
+
+    private static List<Integer> seats(int... offsets) {
+        List<Integer> seatIds = new ArrayList<>();
+        for (int offset : offsets) seatIds.add(FIRST_SEAT_ID + offset);
+        return seatIds;
+    }
+
+    private static boolean allFree(List<Integer> seatIds) {
+        for (int seatId : seatIds) {
+            if (engine.isBooked(seatId)) return false;
+        }
+        return true;
+    }
+
+    private static boolean waitForState(SeatHoldManager.Hold hold, SeatHoldManager.State state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (hold.getState() != state && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return hold.getState() == state;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (condition) {
+            System.out.println("  ✓ " + message);
+        } else {
+            System.out.println("  ❌ " + message);
+            failures++;
+        }
+    }
+
+    // TEST 1: TTL habis, kursi dilepas dan observer menerima event RELEASED
+    public static void test1_HoldExpires() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 1: Hold Expires                 ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        recorder.released.clear();
+        List<Integer> seatIds = seats(0, 1, 2);
+        SeatHoldManager.Hold hold = manager.hold(USER_ID, SCHEDULE_ID, seatIds, Duration.ofMillis(200));
+        check(hold != null && !allFree(seatIds), "3 seats held");
+
+        check(waitForState(hold, SeatHoldManager.State.EXPIRED), "Hold expired by timing wheel");
+        check(allFree(seatIds), "Seats released after TTL");
+        check(!manager.confirm(hold.getHoldId()), "Confirm after expiry fails");
+
+        SeatEventBus.getInstance().flush();
+        check(recorder.released.containsAll(List.of("A1", "A2", "A3")),
+                "RELEASED event for every seat: " + recorder.released);
+    }
+
+    // TEST 2: Confirm setelah TTL gagal walaupun timing wheel belum jalan
+    public static void test2_ConfirmAfterTtlFails() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 2: Confirm After TTL            ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        List<Integer> seatIds = seats(3, 4);
+        SeatHoldManager.Hold hold = manager.hold(USER_ID, SCHEDULE_ID, seatIds, Duration.ofMillis(50));
+        check(hold != null, "2 seats held with 50 ms TTL");
+
+        Thread.sleep(60);
+        check(!manager.confirm(hold.getHoldId()), "Confirm after TTL rejected");
+        check(waitForState(hold, SeatHoldManager.State.EXPIRED), "Hold ends as EXPIRED, not SOLD");
+        check(allFree(seatIds), "Seats released");
+    }
+
+    // TEST 3: Cancel setelah confirm (booking gagal disimpan) melepas kursi
+    public static void test3_CancelAfterConfirm() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 3: Cancel After Confirm         ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        List<Integer> seatIds = seats(5, 6);
+        SeatHoldManager.Hold hold = manager.hold(USER_ID, SCHEDULE_ID, seatIds, Duration.ofSeconds(30));
+        check(hold != null && manager.confirm(hold.getHoldId()), "Hold confirmed");
+        check(!allFree(seatIds) && hold.getState() == SeatHoldManager.State.SOLD, "Seats stay taken after confirm");
+
+        check(manager.cancel(hold), "Cancel after confirm");
+        check(allFree(seatIds) && hold.getState() == SeatHoldManager.State.CANCELLED, "Seats released");
+        check(!manager.cancel(hold), "Second cancel is a no-op");
+        check(manager.getActiveHoldCount() == 0, "No active holds left");
+    }
+
+    // TEST 4: Hold milik proses yang sudah mati dilepas saat startup
+    public static void test4_OrphanReleased() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 4: Orphaned Hold Released       ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        recorder.released.clear();
+        List<Integer> seatIds = seats(7, 8);
+        check(engine.bookAll(seatIds), "Seats taken by crashed process");
+
+        long deadPid = Integer.MAX_VALUE;
+        long expired = System.currentTimeMillis() - 1000;
+        FileManager.appendFile(JOURNAL_FILE, "HOLD|1|" + deadPid + "|" + SCHEDULE_ID + "|" + USER_ID
+                + "|" + expired + "|" + seatIds.get(0) + "," + seatIds.get(1));
+
+        check(manager.releaseOrphans() == 1, "1 orphaned hold released");
+        check(allFree(seatIds), "Seats available again");
+
+        SeatEventBus.getInstance().flush();
+        check(recorder.released.containsAll(List.of("A8", "A9")),
+                "RELEASED event for orphaned seats: " + recorder.released);
+    }
+
+    // TEST 5: Hold yang sudah SOLD tidak dianggap orphan walaupun prosesnya mati
+    public static void test5_SoldHoldNotOrphaned() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 5: Sold Hold Not Orphaned       ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        List<Integer> seatIds = seats(9, 10);
+        SeatHoldManager.Hold hold = manager.hold(USER_ID, SCHEDULE_ID, seatIds, Duration.ofSeconds(30));
+        check(hold != null && manager.confirm(hold.getHoldId()), "Hold confirmed");
+        String sold = "END|" + hold.getHoldId() + "|" + ProcessHandle.current().pid() + "|SOLD";
+        check(FileManager.readFile(JOURNAL_FILE).contains(sold), "SOLD journaled before confirm returns");
+
+        // Proses mati setelah confirm, sebelum booking selesai disimpan
+        List<Integer> crashedSeats = seats(11, 12);
+        check(engine.bookAll(crashedSeats), "Seats sold by crashed process");
+        long deadPid = Integer.MAX_VALUE;
+        long expired = System.currentTimeMillis() - 1000;
+        FileManager.appendFile(JOURNAL_FILE, "HOLD|2|" + deadPid + "|" + SCHEDULE_ID + "|" + USER_ID
+                + "|" + expired + "|" + crashedSeats.get(0) + "," + crashedSeats.get(1));
+        FileManager.appendFile(JOURNAL_FILE, "END|2|" + deadPid + "|SOLD");
+
+        check(manager.releaseOrphans() == 0, "No orphaned hold released");
+        check(engine.isBooked(crashedSeats.get(0)) && engine.isBooked(crashedSeats.get(1)),
+                "Sold seats stay taken");
+        check(!allFree(seatIds), "Confirmed seats stay taken");
+    }
+
+    private static void cleanup() throws IOException {
+        for (String name : new String[]{SEATS_FILE, JOURNAL_FILE, "." + SEATS_FILE + ".lock",
+                "." + JOURNAL_FILE + ".lock"}) {
+            Files.deleteIfExists(FileManager.getFilePath(name));
+        }
+    }
+
+    // MAIN TEST RUNNER
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║   SEAT HOLD TEST                      ║");
+        System.out.println("╚════════════════════════════════════════╝");
+
+        FileManager.ensureDataFolderExists();
+
+        try {
+            setup();
+            test1_HoldExpires();
+            test2_ConfirmAfterTtlFails();
+            test3_CancelAfterConfirm();
+            test4_OrphanReleased();
+            test5_SoldHoldNotOrphaned();
+        } catch (Exception e) {
+            System.out.println("\n❌ Test Failed:");
+            e.printStackTrace();
+            failures++;
+        } finally {
+            try {
+                cleanup();
+            } catch (IOException e) {
+                System.out.println("⚠ Cleanup failed: " + e.getMessage());
+            }
+        }
+
+        if (failures == 0) {
+            System.out.println("\n✅ All Seat Hold Tests Passed!");
+        } else {
+            System.out.println("\n❌ " + failures + " check(s) failed!");
+            System.exit(1);
+        }
+    }
+}
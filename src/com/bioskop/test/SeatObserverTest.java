@@ -2,6 +2,7 @@ package com.bioskop.test;
 
 import com.bioskop.model.Seat;
 import com.bioskop.observer.BookingObserver;
+import com.bioskop.observer.SeatEventBus;
 import com.bioskop.observer.SeatObserver;
 import java.util.List;
 
@@ -228,6 +229,8 @@ public class SeatObserverTest {
         System.out.println("\n--- Cycle 4: Release ---");
         seat.releaseSeat();
 
+        // Event dikirim asynchronous lewat SeatEventBus
+        SeatEventBus.getInstance().flush();
         System.out.println("\n✓ Observer received " + observer.getUpdateCount() + " updates");
 
         if (observer.getUpdateCount() == 4) {
@@ -0,0 +1,210 @@
+package com.bioskop.test;
+
+import com.bioskop.manager.SeatReservationEngine;
+import com.bioskop.model.Seat;
+import com.bioskop.repository.SeatStore;
+import com.bioskop.util.FileManager;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Stress test untuk SeatReservationEngine
+ * Banyak thread berebut kursi yang sama, tidak boleh ada double booking
+ *
+ * Memakai file terpisah (stress_seats.txt) supaya seats.txt tidak berubah.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class SeatReservationStressTest {
+
+    private static final String STRESS_FILE = "stress_seats.txt";
+    private static final int SCHEDULE_ID = 1;
+    private static final int SEAT_COUNT = 200;
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 200;
+
+    private static int failures = 0;
+
+    private static SeatStore createStore() {
+        List<String> lines = new ArrayList<>();
+        lines.add("seatId|scheduleId|seatNumber|isBooked");
+        for (int i = 0; i < SEAT_COUNT; i++) {
+            char row = (char) ('A' + i / 20);
+            lines.add((i + 1) + "|" + SCHEDULE_ID + "|" + row + (i % 20 + 1) + "|false");
+        }
+        FileManager.writeFile(STRESS_FILE, lines);
+        return new SeatStore(STRESS_FILE);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (condition) {
+            System.out.println("  ✓ " + message);
+        } else {
+            System.out.println("  ❌ " + message);
+            failures++;
+        }
+    }
+
+    // TEST 1: Semua thread berebut satu kursi
+    public static void test1_SingleSeatRace() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 1: Single Seat Race             ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        SeatStore store = createStore();
+        SeatReservationEngine engine = new SeatReservationEngine(store);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                if (engine.tryBook(1)) winners.incrementAndGet();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+
+        check(winners.get() == 1, THREADS + " threads, winners = " + winners.get() + " (should be 1)");
+        check(new SeatStore(STRESS_FILE).getSeatById(1).isBooked(), "Seat 1 booked on disk");
+    }
+
+    // TEST 2: Booking multi-kursi acak, tiap kursi hanya boleh terjual sekali
+    public static void test2_MultiSeatNoDoubleBooking() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 2: Multi-Seat All-or-Nothing    ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        SeatStore store = createStore();
+        SeatReservationEngine engine = new SeatReservationEngine(store);
+        AtomicIntegerArray soldCount = new AtomicIntegerArray(SEAT_COUNT + 1);
+        AtomicInteger successfulBookings = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long startTime = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    int groupSize = 1 + random.nextInt(4);
+                    int first = 1 + random.nextInt(SEAT_COUNT - groupSize + 1);
+                    List<Integer> group = new ArrayList<>();
+                    for (int k = 0; k < groupSize; k++) group.add(first + k);
+
+                    if (engine.bookAll(group)) {
+                        successfulBookings.incrementAndGet();
+                        for (int seatId : group) soldCount.incrementAndGet(seatId);
+                    } else {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000;
+
+        int doubleBooked = 0;
+        int sold = 0;
+        for (int seatId = 1; seatId <= SEAT_COUNT; seatId++) {
+            if (soldCount.get(seatId) > 1) doubleBooked++;
+            if (soldCount.get(seatId) == 1) sold++;
+        }
+
+        System.out.println("  Attempts: " + (THREADS * ATTEMPTS_PER_THREAD)
+                + " | Success: " + successfulBookings.get()
+                + " | Conflicts: " + conflicts.get()
+                + " | " + elapsedMs + " ms");
+
+        check(doubleBooked == 0, "Double-booked seats = " + doubleBooked + " (should be 0)");
+
+        int bookedOnDisk = 0;
+        boolean diskMatches = true;
+        for (Seat seat : new SeatStore(STRESS_FILE).getSeatsBySchedule(SCHEDULE_ID)) {
+            if (seat.isBooked()) bookedOnDisk++;
+            if (seat.isBooked() != (soldCount.get(seat.getSeatId()) == 1)) diskMatches = false;
+        }
+        check(bookedOnDisk == sold, "Booked on disk = " + bookedOnDisk + ", sold = " + sold);
+        check(diskMatches, "Disk state matches every successful booking");
+        check(store.getAvailableCount(SCHEDULE_ID) == SEAT_COUNT - sold,
+                "Availability counter = " + store.getAvailableCount(SCHEDULE_ID) + " (should be " + (SEAT_COUNT - sold) + ")");
+    }
+
+    // TEST 3: Booking dan release bergantian di kursi yang sama
+    public static void test3_BookReleaseChurn() throws Exception {
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  TEST 3: Book / Release Churn         ║");
+        System.out.println("╚════════════════════════════════════════╝\n");
+
+        SeatStore store = createStore();
+        SeatReservationEngine engine = new SeatReservationEngine(store);
+        AtomicInteger holders = new AtomicInteger();
+        AtomicInteger maxHolders = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (engine.tryBook(7)) {
+                        int now = holders.incrementAndGet();
+                        maxHolders.accumulateAndGet(now, Math::max);
+                        holders.decrementAndGet();
+                        engine.release(7);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+
+        check(maxHolders.get() == 1, "Max concurrent holders of seat 7 = " + maxHolders.get() + " (should be 1)");
+        check(!engine.isBooked(7), "Seat 7 available after churn");
+    }
+
+    // MAIN TEST RUNNER
+    public static void main(String[] args) {
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║   SEAT RESERVATION STRESS TEST        ║");
+        System.out.println("╚════════════════════════════════════════╝");
+
+        FileManager.ensureDataFolderExists();
+
+        try {
+            test1_SingleSeatRace();
+            test2_MultiSeatNoDoubleBooking();
+            test3_BookReleaseChurn();
+        } catch (Exception e) {
+            System.out.println("\n❌ Test Failed:");
+            e.printStackTrace();
+            failures++;
+        } finally {
+            new File(FileManager.getFilePath(STRESS_FILE).toString()).delete();
+        }
+
+        if (failures == 0) {
+            System.out.println("\n✅ All Stress Tests Passed! Zero double-bookings.");
+        } else {
+            System.out.println("\n❌ " + failures + " check(s) failed!");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,898 @@
+package com.bioskop.tools;
+
+import com.bioskop.factory.TicketFactory;
+import com.bioskop.strategy.PricingStrategy;
+import com.bioskop.strategy.WeekdayPricing;
+import com.bioskop.strategy.WeekendPricing;
+import com.bioskop.util.Money;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * DatasetGenerator - Generator dataset sintetis untuk uji skala folder data
+ *
+ * Menulis movies.txt, schedule.txt, seats.txt, users.txt, bookings.txt,
+ * tickets.txt dan booking_logs.txt yang saling konsisten:
+ * - setiap ticket menunjuk kursi yang isBooked=true di seats.txt
+ * - availableSeats di schedule.txt = kursi yang belum dibooking
+ * - total booking = jumlah harga ticket (pricing strategy + tipe ticket)
+ * - booking_logs.txt berisi BOOKED per ticket (plus BOOKED/RELEASED untuk
+ *   hold yang ditinggalkan), urut waktu
+ *
+ * Distribusi dibuat miring seperti bioskop sungguhan: popularitas film
+ * mengikuti Zipf, weekend dan jam malam lebih ramai, kursi tengah-belakang
+ * terjual lebih dulu, sebagian kecil customer melakukan sebagian besar booking.
+ *
+ * Schedule dibagi menjadi chunk yang ditulis paralel ke file part (buffered),
+ * lalu part disambung dengan FileChannel.transferTo; log di-merge per waktu.
+ * Random per schedule diturunkan dari seed, jadi hasil sama untuk seed sama
+ * berapa pun jumlah thread.
+ *
+ * Contoh:
+ * <pre>
+ *   java -cp app.jar com.bioskop.tools.DatasetGenerator --out data-large \
+ *        --schedules 10000 --seats 200 --bookings 1000000 --users 200000
+ *   java -Dbioskop.data.dir=data-large -jar app.jar
+ * </pre>
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class DatasetGenerator {
+
+    private static final String LOG_HEADER = "timestamp|observerName|userId|seatNumber|action|scheduleId";
+    private static final String SEATS_HEADER = "seatId|scheduleId|seatNumber|isBooked";
+    private static final String[] OUTPUT_FILES = {"movies.txt", "schedule.txt", "seats.txt", "users.txt",
+            "bookings.txt", "tickets.txt", "booking_logs.txt"};
+    // File turunan dari data lama yang tidak lagi cocok dengan dataset baru
+    private static final String[] DERIVED_FILES = {"booking_wal.log", "booking_logs.idx", "seat_holds.txt"};
+
+    // Chunk cukup besar supaya merge log hanya dari sedikit part, cukup kecil untuk memori
+    private static final int MIN_CHUNK_SCHEDULES = 64;
+    private static final int MAX_CHUNK_SCHEDULES = 1024;
+    private static final int TIMESTAMP_LENGTH = "yyyy-MM-dd HH:mm:ss".length();
+    private static final int HOLD_TTL_SECONDS = 300;
+
+    // Ukuran grup per booking: 1..4 kursi
+    private static final double[] GROUP_SIZE_WEIGHTS = {0.55, 0.35, 0.05, 0.05};
+    private static final String[] TICKET_TYPES = {"Regular", "VIP", "Student"};
+    private static final double[] TICKET_TYPE_WEIGHTS = {0.60, 0.15, 0.25};
+
+    // Jam tayang dan faktor permintaan per slot
+    private static final String[] SLOTS = {"10:00", "13:00", "16:00", "19:00", "21:30"};
+    private static final int[] SLOT_MINUTES = {600, 780, 960, 1140, 1290};
+    private static final double[] SLOT_DEMAND = {0.5, 0.7, 0.9, 1.4, 1.2};
+
+    private static final String[] GENRES = {"Action", "Drama", "Comedy", "Sci-Fi", "Animation", "Horror", "Romance", "Thriller"};
+    private static final String[] TITLE_WORDS = {"Midnight", "Galaxy", "Shadow", "Garuda", "Ocean", "Legend",
+            "Silent", "Iron", "Jakarta", "Crimson", "Last", "Hidden", "Storm", "Golden", "Lost", "Wild"};
+
+    // ========== KONFIGURASI ==========
+
+    /**
+     * Parameter generator (semua bisa diubah lewat argumen --nama nilai)
+     */
+    static final class Config {
+        Path out = Paths.get("data-synthetic");
+        int movies = 200;
+        int schedules = 10_000;
+        int seats = 200;              // kursi per schedule
+        int seatsPerRow = 20;
+        int users = 100_000;
+        int bookings = 1_000_000;     // target, hasil akhir mendekati
+        double abandonRate = 0.05;    // hold yang ditinggalkan per booking
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        int days = 90;
+        int studios = 12;
+        long seed = 42;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean force;
+
+        static Config parse(String[] args) {
+            Config config = new Config();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("--force")) {
+                    config.force = true;
+                    continue;
+                }
+                if (!arg.startsWith("--")) throw new IllegalArgumentException("Argumen tidak dikenal: " + arg);
+
+                String key = arg.substring(2);
+                String value;
+                int eq = key.indexOf('=');
+                if (eq >= 0) {
+                    value = key.substring(eq + 1);
+                    key = key.substring(0, eq);
+                } else if (i + 1 < args.length) {
+                    value = args[++i];
+                } else {
+                    throw new IllegalArgumentException("Nilai untuk --" + key + " tidak ada");
+                }
+
+                switch (key) {
+                    case "out" -> config.out = Paths.get(value);
+                    case "movies" -> config.movies = positive(key, value);
+                    case "schedules" -> config.schedules = positive(key, value);
+                    case "seats" -> config.seats = positive(key, value);
+                    case "seats-per-row" -> config.seatsPerRow = positive(key, value);
+                    case "users" -> config.users = Math.max(2, positive(key, value));
+                    case "bookings" -> config.bookings = Integer.parseInt(value);
+                    case "abandon-rate" -> config.abandonRate = Double.parseDouble(value);
+                    case "start" -> config.start = LocalDate.parse(value);
+                    case "days" -> config.days = positive(key, value);
+                    case "studios" -> config.studios = positive(key, value);
+                    case "seed" -> config.seed = Long.parseLong(value);
+                    case "threads" -> config.threads = positive(key, value);
+                    default -> throw new IllegalArgumentException("Opsi tidak dikenal: --" + key);
+                }
+            }
+            if ((config.seats + config.seatsPerRow - 1) / config.seatsPerRow > 26 * 27) {
+                throw new IllegalArgumentException("Terlalu banyak baris kursi; naikkan --seats-per-row");
+            }
+            return config;
+        }
+
+        private static int positive(String key, String value) {
+            int parsed = Integer.parseInt(value);
+            if (parsed <= 0) throw new IllegalArgumentException("--" + key + " harus > 0");
+            return parsed;
+        }
+    }
+
+    /**
+     * Atribut satu film
+     */
+    private static final class MovieSpec {
+        final int movieId;
+        final double popularity;
+        final long priceMinor;
+
+        MovieSpec(int movieId, double popularity, long priceMinor) {
+            this.movieId = movieId;
+            this.popularity = popularity;
+            this.priceMinor = priceMinor;
+        }
+    }
+
+    /**
+     * Atribut satu schedule plus pembagian kursi terjualnya ke booking
+     */
+    private static final class ScheduleSpec {
+        int movieId;
+        LocalDate date;
+        int slot;
+        int studio;
+        double demand;
+        int booked;                 // kursi terjual
+        byte[] groups;              // ukuran tiap booking (urut booking ID)
+        byte[] abandoned;           // ukuran tiap hold yang ditinggalkan
+        long firstBookingId;
+        long firstTicketId;
+        PricingStrategy pricing;
+
+        LocalDateTime showTime() {
+            return date.atStartOfDay().plusMinutes(SLOT_MINUTES[slot]);
+        }
+    }
+
+    private final Config config;
+    private final MovieSpec[] movies;
+    private final ScheduleSpec[] schedules;
+    private final int[] seatRank;       // seat index -> urutan terjual
+    private final int[] seatOrder;      // urutan terjual -> seat index
+    private final Path partsDir;
+    private final int chunkSize;
+    private long bookingCount;
+    private long ticketCount;
+
+    DatasetGenerator(Config config) {
+        this.config = config;
+        this.movies = new MovieSpec[config.movies];
+        this.schedules = new ScheduleSpec[config.schedules];
+        this.seatOrder = seatOrder(config.seats, config.seatsPerRow);
+        this.seatRank = new int[config.seats];
+        for (int rank = 0; rank < seatOrder.length; rank++) {
+            seatRank[seatOrder[rank]] = rank;
+        }
+        this.partsDir = config.out.resolve(".parts");
+        this.chunkSize = Math.max(MIN_CHUNK_SCHEDULES,
+                Math.min(MAX_CHUNK_SCHEDULES, config.schedules / (config.threads * 4) + 1));
+    }
+
+    // ========== MAIN ==========
+
+    public static void main(String[] args) {
+        if (args.length > 0 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            printUsage();
+            return;
+        }
+
+        Config config;
+        try {
+            config = Config.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        try {
+            new DatasetGenerator(config).run();
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("❌ Gagal menulis dataset: " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalStateException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: DatasetGenerator [--out dir] [--movies n] [--schedules n] [--seats n]");
+        System.out.println("                        [--seats-per-row n] [--users n] [--bookings n]");
+        System.out.println("                        [--abandon-rate r] [--start yyyy-MM-dd] [--days n]");
+        System.out.println("                        [--studios n] [--seed n] [--threads n] [--force]");
+    }
+
+    void run() throws IOException {
+        prepareOutput();
+        long start = System.nanoTime();
+
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║  SYNTHETIC DATASET GENERATOR          ║");
+        System.out.println("╚════════════════════════════════════════╝");
+        System.out.printf("  Output: %s | threads: %d | seed: %d%n%n", config.out, config.threads, config.seed);
+
+        planMovies();
+        planSchedules();
+        writeMovies();
+        writeSchedules();
+
+        ExecutorService pool = Executors.newFixedThreadPool(config.threads, runnable -> {
+            Thread thread = new Thread(runnable, "dataset-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Files.createDirectories(partsDir);
+            Future<?> users = pool.submit(() -> {
+                writeUsers();
+                return null;
+            });
+
+            List<Future<?>> chunks = new ArrayList<>();
+            int chunkCount = (config.schedules + chunkSize - 1) / chunkSize;
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                int index = chunk;
+                chunks.add(pool.submit(() -> {
+                    writeChunk(index);
+                    return null;
+                }));
+            }
+            await(users);
+            for (Future<?> chunk : chunks) await(chunk);
+            long generated = System.nanoTime();
+
+            concatParts("seats.txt", SEATS_HEADER, "seats", chunkCount);
+            concatParts("bookings.txt", null, "bookings", chunkCount);
+            concatParts("tickets.txt", null, "tickets", chunkCount);
+            long logLines = mergeLogs(chunkCount);
+
+            long end = System.nanoTime();
+            printSummary(logLines, (end - start) / 1e9);
+            System.out.printf("  (generate %.2f s, merge %.2f s)%n", (generated - start) / 1e9, (end - generated) / 1e9);
+        } finally {
+            pool.shutdownNow();
+            deleteRecursively(partsDir);
+        }
+    }
+
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Generator dihentikan");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Jangan menimpa dataset yang ada kecuali --force; dengan --force file
+     * turunan (WAL, index, bitmap) ikut dihapus karena tidak cocok lagi
+     */
+    private void prepareOutput() throws IOException {
+        Files.createDirectories(config.out);
+        for (String file : OUTPUT_FILES) {
+            if (Files.exists(config.out.resolve(file)) && !config.force) {
+                throw new IllegalStateException(config.out.resolve(file)
+                        + " sudah ada; pakai --force untuk menimpa atau --out folder lain");
+            }
+        }
+        if (!config.force) return;
+
+        for (String file : DERIVED_FILES) {
+            Files.deleteIfExists(config.out.resolve(file));
+        }
+        deleteRecursively(config.out.resolve("booking_logs"));
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(config.out, "{*.bin,.*.seq,.*.lock,.*.tmp}")) {
+            for (Path path : stale) Files.deleteIfExists(path);
+        }
+    }
+
+    // ========== PLAN (sekuensial, murah) ==========
+
+    private void planMovies() {
+        SplittableRandom random = new SplittableRandom(config.seed);
+        for (int m = 0; m < movies.length; m++) {
+            // Zipf s=1: film #1 paling laris
+            double popularity = 1.0 / (m + 1);
+            long price = 35_000 + 5_000L * random.nextInt(9);
+            movies[m] = new MovieSpec(m + 1, popularity, Money.toMinor(price));
+        }
+    }
+
+    private void planSchedules() {
+        double[] movieWeights = new double[movies.length];
+        for (int m = 0; m < movies.length; m++) {
+            // Film laris juga mendapat lebih banyak jam tayang
+            movieWeights[m] = Math.sqrt(movies[m].popularity);
+        }
+        double[] movieCdf = cumulative(movieWeights);
+
+        for (int s = 0; s < schedules.length; s++) {
+            SplittableRandom random = random(s, 1);
+            ScheduleSpec spec = new ScheduleSpec();
+            MovieSpec movie = movies[sample(movieCdf, random)];
+            spec.movieId = movie.movieId;
+            spec.date = sampleDate(random);
+            spec.slot = random.nextInt(SLOTS.length);
+            spec.studio = 1 + random.nextInt(config.studios);
+            spec.pricing = isWeekend(spec.date) ? new WeekendPricing() : new WeekdayPricing();
+            spec.demand = movie.popularity * dayDemand(spec.date) * SLOT_DEMAND[spec.slot]
+                    * (0.7 + 0.6 * random.nextDouble());
+            schedules[s] = spec;
+        }
+
+        // Skala permintaan supaya jumlah kursi terjual mendekati target ticket
+        double meanGroup = 0;
+        for (int i = 0; i < GROUP_SIZE_WEIGHTS.length; i++) meanGroup += (i + 1) * GROUP_SIZE_WEIGHTS[i];
+        double maxOccupancy = 0.98;
+        long capacity = (long) config.seats * schedules.length;
+        double targetTickets = Math.min(config.bookings * meanGroup, capacity * maxOccupancy * 0.95);
+        if (targetTickets < config.bookings * meanGroup) {
+            System.out.println("⚠ Kapasitas kursi tidak cukup untuk " + config.bookings
+                    + " booking; jumlah booking dikurangi");
+        }
+
+        double low = 0, high = 1;
+        while (soldSeats(high, maxOccupancy) < targetTickets && high < 1e12) high *= 2;
+        for (int i = 0; i < 60; i++) {
+            double mid = (low + high) / 2;
+            if (soldSeats(mid, maxOccupancy) < targetTickets) low = mid;
+            else high = mid;
+        }
+
+        double[] groupCdf = cumulative(GROUP_SIZE_WEIGHTS);
+        long nextBookingId = 1;
+        long nextTicketId = 1;
+        for (int s = 0; s < schedules.length; s++) {
+            ScheduleSpec spec = schedules[s];
+            SplittableRandom random = random(s, 2);
+            spec.booked = (int) Math.round(Math.min(maxOccupancy, high * spec.demand) * config.seats);
+            spec.groups = splitIntoGroups(spec.booked, groupCdf, random);
+
+            int free = config.seats - spec.booked;
+            int abandonedSeats = Math.min(free, (int) Math.round(spec.booked * config.abandonRate));
+            spec.abandoned = splitIntoGroups(abandonedSeats, groupCdf, random);
+
+            spec.firstBookingId = nextBookingId;
+            spec.firstTicketId = nextTicketId;
+            nextBookingId += spec.groups.length;
+            nextTicketId += spec.booked;
+        }
+        bookingCount = nextBookingId - 1;
+        ticketCount = nextTicketId - 1;
+    }
+
+    private double soldSeats(double scale, double maxOccupancy) {
+        double sold = 0;
+        for (ScheduleSpec spec : schedules) {
+            sold += Math.min(maxOccupancy, scale * spec.demand) * config.seats;
+        }
+        return sold;
+    }
+
+    private static byte[] splitIntoGroups(int seats, double[] groupCdf, SplittableRandom random) {
+        byte[] groups = new byte[seats];
+        int count = 0;
+        int remaining = seats;
+        while (remaining > 0) {
+            int size = Math.min(remaining, 1 + sample(groupCdf, random));
+            groups[count++] = (byte) size;
+            remaining -= size;
+        }
+        return Arrays.copyOf(groups, count);
+    }
+
+    private LocalDate sampleDate(SplittableRandom random) {
+        // Weekend mendapat ~1.5x jam tayang
+        while (true) {
+            LocalDate date = config.start.plusDays(random.nextInt(config.days));
+            if (isWeekend(date) || random.nextDouble() < 0.67) return date;
+        }
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+
+    private static double dayDemand(LocalDate date) {
+        return switch (date.getDayOfWeek()) {
+            case SATURDAY, SUNDAY -> 1.8;
+            case FRIDAY -> 1.3;
+            default -> 1.0;
+        };
+    }
+
+    /**
+     * Urutan kursi terjual: baris sekitar 60% ke belakang dulu, lalu menjauh;
+     * dalam satu baris kiri ke kanan supaya satu grup duduk berdampingan
+     */
+    private static int[] seatOrder(int seats, int seatsPerRow) {
+        int rows = (seats + seatsPerRow - 1) / seatsPerRow;
+        double preferred = (rows - 1) * 0.6;
+        Integer[] rowOrder = new Integer[rows];
+        for (int r = 0; r < rows; r++) rowOrder[r] = r;
+        Arrays.sort(rowOrder, Comparator.comparingDouble(r -> Math.abs(r - preferred)));
+
+        int[] order = new int[seats];
+        int n = 0;
+        for (int row : rowOrder) {
+            for (int i = row * seatsPerRow; i < Math.min(seats, (row + 1) * seatsPerRow); i++) {
+                order[n++] = i;
+            }
+        }
+        return order;
+    }
+
+    // ========== WRITE ==========
+
+    private void writeMovies() throws IOException {
+        SplittableRandom random = new SplittableRandom(config.seed ^ 0x5DEECE66DL);
+        try (RecordWriter out = writer(config.out.resolve("movies.txt"))) {
+            StringBuilder line = new StringBuilder(96);
+            for (MovieSpec movie : movies) {
+                line.setLength(0);
+                line.append(movie.movieId).append('|')
+                        .append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]).append(' ')
+                        .append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]).append(' ')
+                        .append(movie.movieId).append('|')
+                        .append(GENRES[random.nextInt(GENRES.length)]).append('|')
+                        .append(85 + random.nextInt(96)).append('|')
+                        .append((55 + random.nextInt(36)) / 10.0).append('|');
+                // Harga di movies.txt tanpa desimal (misal 60000)
+                line.append(movie.priceMinor / Money.MINOR_PER_UNIT).append('\n');
+                out.append(line);
+            }
+        }
+    }
+
+    private void writeSchedules() throws IOException {
+        try (RecordWriter out = writer(config.out.resolve("schedule.txt"))) {
+            StringBuilder line = new StringBuilder(64);
+            for (int s = 0; s < schedules.length; s++) {
+                ScheduleSpec spec = schedules[s];
+                line.setLength(0);
+                line.append(s + 1).append('|').append(spec.movieId)
+                        .append("|Studio ").append(spec.studio).append('|')
+                        .append(spec.date).append('|').append(SLOTS[spec.slot]).append('|')
+                        .append(config.seats).append('|').append(config.seats - spec.booked).append('\n');
+                out.append(line);
+            }
+        }
+    }
+
+    private void writeUsers() throws IOException {
+        try (RecordWriter out = writer(config.out.resolve("users.txt"))) {
+            out.append("1|admin|admin123|Administrator|admin\n");
+            StringBuilder line = new StringBuilder(64);
+            for (int u = 2; u <= config.users; u++) {
+                line.setLength(0);
+                line.append(u).append("|customer").append(u).append("|pass123|Customer ")
+                        .append(u).append("|customer\n");
+                out.append(line);
+            }
+        }
+    }
+
+    /**
+     * Tulis seats / bookings / tickets / log untuk satu chunk schedule ke file part
+     */
+    private void writeChunk(int chunk) throws IOException {
+        int from = chunk * chunkSize;
+        int to = Math.min(schedules.length, from + chunkSize);
+        double[] typeCdf = cumulative(TICKET_TYPE_WEIGHTS);
+        List<LogEntry> logs = new ArrayList<>();
+
+        try (RecordWriter seatsOut = writer(part("seats", chunk));
+             RecordWriter bookingsOut = writer(part("bookings", chunk));
+             RecordWriter ticketsOut = writer(part("tickets", chunk))) {
+            StringBuilder line = new StringBuilder(128);
+            String[] seatNumbers = new String[config.seats];
+            for (int i = 0; i < seatNumbers.length; i++) seatNumbers[i] = seatNumber(i);
+
+            for (int s = from; s < to; s++) {
+                ScheduleSpec spec = schedules[s];
+                int scheduleId = s + 1;
+                long firstSeatId = (long) s * config.seats + 1;
+                SplittableRandom random = random(s, 3);
+
+                for (int i = 0; i < config.seats; i++) {
+                    line.setLength(0);
+                    line.append(firstSeatId + i).append('|').append(scheduleId).append('|')
+                            .append(seatNumbers[i]).append('|').append(seatRank[i] < spec.booked).append('\n');
+                    seatsOut.append(line);
+                }
+
+                long show = spec.showTime().toEpochSecond(ZoneOffset.UTC);
+                long stratPrice = Money.toMinor(spec.pricing.calculatePrice(
+                        Money.toDouble(movies[spec.movieId - 1].priceMinor)));
+                long[] typePrices = new long[TICKET_TYPES.length];
+                for (int t = 0; t < typePrices.length; t++) {
+                    typePrices[t] = Money.toMinor(Money.toDouble(stratPrice) * TicketFactory.getTypeMultiplier(TICKET_TYPES[t]));
+                }
+                int rank = 0;
+                long ticketId = spec.firstTicketId;
+
+                for (int g = 0; g < spec.groups.length; g++) {
+                    long bookingId = spec.firstBookingId + g;
+                    int userId = sampleUser(random);
+                    long time = show - leadSeconds(random);
+                    int typeIndex = sample(typeCdf, random);
+                    String type = TICKET_TYPES[typeIndex];
+                    long finalPrice = typePrices[typeIndex];
+                    long total = 0;
+
+                    for (int k = 0; k < spec.groups[g]; k++) {
+                        String seat = seatNumbers[seatOrder[rank++]];
+                        line.setLength(0);
+                        line.append(ticketId++).append('|').append(bookingId).append('|').append(type)
+                                .append('|').append(seat).append('|');
+                        Money.appendTo(line, stratPrice).append('|');
+                        Money.appendTo(line, finalPrice).append('\n');
+                        ticketsOut.append(line);
+                        total += finalPrice;
+                        logs.add(new LogEntry(time, logLine(time, userId, seat, "BOOKED", scheduleId)));
+                    }
+
+                    line.setLength(0);
+                    line.append(bookingId).append('|').append(userId).append('|').append(scheduleId).append('|');
+                    appendTimestamp(line, time).append('|');
+                    Money.appendTo(line, total).append("|confirmed\n");
+                    bookingsOut.append(line);
+                }
+
+                // Hold yang ditinggalkan: kursi dilepas lagi setelah TTL, tetap kosong di seats.txt
+                for (byte size : spec.abandoned) {
+                    int userId = sampleUser(random);
+                    long time = show - leadSeconds(random);
+                    for (int k = 0; k < size; k++) {
+                        String seat = seatNumbers[seatOrder[rank++]];
+                        logs.add(new LogEntry(time, logLine(time, userId, seat, "BOOKED", scheduleId)));
+                        logs.add(new LogEntry(time + HOLD_TTL_SECONDS,
+                                logLine(time + HOLD_TTL_SECONDS, userId, seat, "RELEASED", scheduleId)));
+                    }
+                }
+            }
+        }
+
+        // Sort stabil: urutan kejadian per user di detik yang sama tetap
+        logs.sort(Comparator.comparingLong(entry -> entry.time));
+        try (RecordWriter logOut = writer(part("logs", chunk))) {
+            for (LogEntry entry : logs) logOut.append(entry.line);
+        }
+    }
+
+    private static final class LogEntry {
+        final long time;
+        final String line;
+
+        LogEntry(long time, String line) {
+            this.time = time;
+            this.line = line;
+        }
+    }
+
+    private static String logLine(long time, int userId, String seat, String action, int scheduleId) {
+        StringBuilder line = new StringBuilder(80);
+        appendTimestamp(line, time).append("|User-").append(userId).append("-Observer|")
+                .append(userId).append('|').append(seat).append('|').append(action).append('|')
+                .append(scheduleId).append('\n');
+        return line.toString();
+    }
+
+    /**
+     * 20% customer (pelanggan tetap) melakukan ~70% booking
+     */
+    private int sampleUser(SplittableRandom random) {
+        int customers = config.users - 1;
+        int regulars = Math.max(1, customers / 5);
+        return 2 + (random.nextDouble() < 0.6 ? random.nextInt(regulars) : random.nextInt(customers));
+    }
+
+    /**
+     * Jarak pembelian sebelum jam tayang: kebanyakan di hari H, ekor sampai 14 hari
+     */
+    private static long leadSeconds(SplittableRandom random) {
+        double days = Math.min(14, -Math.log(1 - random.nextDouble()) * 1.5);
+        return 1800 + (long) (days * 86_400);
+    }
+
+    // ========== MERGE ==========
+
+    private Path part(String name, int chunk) {
+        return partsDir.resolve(name + "-" + chunk + ".part");
+    }
+
+    private void concatParts(String filename, String header, String name, int chunkCount) throws IOException {
+        Path target = config.out.resolve(filename);
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (header != null) {
+                out.write(java.nio.ByteBuffer.wrap((header + "\n").getBytes(StandardCharsets.UTF_8)));
+            }
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                try (FileChannel in = FileChannel.open(part(name, chunk), StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = in.size();
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * K-way merge part log (masing-masing sudah urut waktu) menjadi booking_logs.txt.
+     * Baris disalin sebagai byte: timestamp "yyyy-MM-dd HH:mm:ss" di awal baris
+     * bisa dibandingkan per byte, tanpa decode ke String.
+     */
+    private long mergeLogs(int chunkCount) throws IOException {
+        PriorityQueue<LogPart> queue = new PriorityQueue<>((a, b) -> {
+            int byTime = a.compareTimestamp(b);
+            return byTime != 0 ? byTime : Integer.compare(a.chunk, b.chunk);
+        });
+        List<LogPart> parts = new ArrayList<>();
+        long lines = 0;
+        try (OutputStream out = new BufferedOutputStream(
+                Files.newOutputStream(config.out.resolve("booking_logs.txt")), 1 << 20)) {
+            out.write((LOG_HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                LogPart part = new LogPart(Files.newInputStream(part("logs", chunk)), chunk);
+                parts.add(part);
+                if (part.next()) queue.add(part);
+            }
+            while (!queue.isEmpty()) {
+                LogPart part = queue.poll();
+                part.writeLine(out);
+                lines++;
+                if (part.next()) queue.add(part);
+            }
+        } finally {
+            for (LogPart part : parts) part.in.close();
+        }
+        return lines;
+    }
+
+    /**
+     * Cursor baris di satu part log; baris saat ini = buffer[start, end] (termasuk '\n')
+     */
+    private static final class LogPart {
+        final InputStream in;
+        final int chunk;
+        byte[] buffer = new byte[1 << 16];
+        int start;
+        int end = -1;
+        int limit;
+
+        LogPart(InputStream in, int chunk) {
+            this.in = in;
+            this.chunk = chunk;
+        }
+
+        boolean next() throws IOException {
+            start = end + 1;
+            while (true) {
+                for (int i = start; i < limit; i++) {
+                    if (buffer[i] == '\n') {
+                        end = i;
+                        return true;
+                    }
+                }
+                // Baris terpotong di akhir buffer: geser ke depan lalu baca lagi
+                int pending = limit - start;
+                if (pending == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                System.arraycopy(buffer, start, buffer, 0, pending);
+                start = 0;
+                limit = pending;
+                int read = in.read(buffer, limit, buffer.length - limit);
+                if (read < 0) return false;
+                limit += read;
+            }
+        }
+
+        int compareTimestamp(LogPart other) {
+            return Arrays.compare(buffer, start, start + TIMESTAMP_LENGTH,
+                    other.buffer, other.start, other.start + TIMESTAMP_LENGTH);
+        }
+
+        void writeLine(OutputStream out) throws IOException {
+            out.write(buffer, start, end - start + 1);
+        }
+    }
+
+    // ========== REPORT ==========
+
+    private void printSummary(long logLines, double seconds) throws IOException {
+        long bytes = 0;
+        for (String file : OUTPUT_FILES) bytes += Files.size(config.out.resolve(file));
+
+        double weekend = 0, weekday = 0;
+        int weekendCount = 0, weekdayCount = 0;
+        long topMovieSeats = 0, soldSeats = 0;
+        for (ScheduleSpec spec : schedules) {
+            double occupancy = spec.booked / (double) config.seats;
+            if (isWeekend(spec.date)) {
+                weekend += occupancy;
+                weekendCount++;
+            } else {
+                weekday += occupancy;
+                weekdayCount++;
+            }
+            soldSeats += spec.booked;
+            if (spec.movieId <= Math.max(1, movies.length / 10)) topMovieSeats += spec.booked;
+        }
+
+        System.out.printf("  Movies    : %,d%n", movies.length);
+        System.out.printf("  Schedules : %,d%n", schedules.length);
+        System.out.printf("  Seats     : %,d (%,d sold)%n", (long) schedules.length * config.seats, soldSeats);
+        System.out.printf("  Users     : %,d%n", config.users);
+        System.out.printf("  Bookings  : %,d%n", bookingCount);
+        System.out.printf("  Tickets   : %,d%n", ticketCount);
+        System.out.printf("  Log lines : %,d%n", logLines);
+        System.out.printf("%n  Occupancy weekend / weekday : %.1f%% / %.1f%%%n",
+                weekendCount == 0 ? 0 : 100 * weekend / weekendCount,
+                weekdayCount == 0 ? 0 : 100 * weekday / weekdayCount);
+        System.out.printf("  Top 10%% movies share        : %.1f%% of tickets%n",
+                soldSeats == 0 ? 0 : 100.0 * topMovieSeats / soldSeats);
+        System.out.printf("%n✓ %,.1f MB written in %.2f s (%,.0f MB/s)%n",
+                bytes / 1e6, seconds, bytes / 1e6 / seconds);
+        System.out.println("  Jalankan aplikasi dengan -Dbioskop.data.dir=" + config.out);
+    }
+
+    // ========== HELPER ==========
+
+    private SplittableRandom random(int schedule, int stream) {
+        // Seed per schedule dan per tahap: hasil tidak tergantung urutan thread
+        long mixed = config.seed * 0x9E3779B97F4A7C15L + schedule * 0xBF58476D1CE4E5B9L + stream;
+        return new SplittableRandom(mixed);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) cdf[i] /= sum;
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(cdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    /**
+     * A1..A20, B1..B20, ... (baris dengan dua huruf setelah Z)
+     */
+    private String seatNumber(int index) {
+        int row = index / config.seatsPerRow;
+        String rowName = row < 26
+                ? String.valueOf((char) ('A' + row))
+                : String.valueOf((char) ('A' + row / 26 - 1)) + (char) ('A' + row % 26);
+        return rowName + (index % config.seatsPerRow + 1);
+    }
+
+    /**
+     * "yyyy-MM-dd HH:mm:ss" tanpa DateTimeFormatter (dipanggil jutaan kali)
+     */
+    private static StringBuilder appendTimestamp(StringBuilder out, long epochSecond) {
+        LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        out.append(time.getYear()).append('-');
+        pad(out, time.getMonthValue()).append('-');
+        pad(out, time.getDayOfMonth()).append(' ');
+        pad(out, time.getHour()).append(':');
+        pad(out, time.getMinute()).append(':');
+        return pad(out, time.getSecond());
+    }
+
+    private static StringBuilder pad(StringBuilder out, int value) {
+        if (value < 10) out.append('0');
+        return out.append(value);
+    }
+
+    private static RecordWriter writer(Path path) throws IOException {
+        return new RecordWriter(Files.newOutputStream(path));
+    }
+
+    /**
+     * Writer baris: karakter disalin ke satu buffer besar lalu di-encode per ~1 MB.
+     * BufferedWriter.append(StringBuilder) membuat String baru per baris.
+     */
+    private static final class RecordWriter implements Closeable {
+        private static final int FLUSH_CHARS = 1 << 20;
+
+        private final OutputStream out;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 4096);
+
+        RecordWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        RecordWriter append(CharSequence text) throws IOException {
+            buffer.append(text);
+            if (buffer.length() >= FLUSH_CHARS) flush();
+            return this;
+        }
+
+        RecordWriter append(char c) throws IOException {
+            buffer.append(c);
+            if (buffer.length() >= FLUSH_CHARS) flush();
+            return this;
+        }
+
+        private void flush() throws IOException {
+            out.write(buffer.toString().getBytes(StandardCharsets.UTF_8));
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,620 @@
+package com.bioskop.tools;
+
+import com.bioskop.factory.TicketFactory;
+import com.bioskop.manager.BookingManager;
+import com.bioskop.manager.SeatHoldManager;
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.model.Booking;
+import com.bioskop.model.Schedule;
+import com.bioskop.model.Seat;
+import com.bioskop.model.User;
+import com.bioskop.observer.BookingObserver;
+import com.bioskop.observer.SeatEventBus;
+import com.bioskop.repository.BinarySeatFile;
+import com.bioskop.repository.SeatStore;
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadGenerator - Simulasi ribuan customer yang booking bersamaan (headless)
+ *
+ * Setiap customer adalah satu thread yang mengulang sesi seperti di GUI:
+ * lihat schedule, muat kursi (BookingManager), pilih kursi dari tampilan
+ * yang mungkin sudah basi, hold (Seat.holdSeats), lalu sesuai workload mix:
+ * - buy: confirm hold + Booking.saveBooking
+ * - abandon: dialog ditutup, hold dilepas (Seat.releaseHold)
+ * - cancel: buy lalu Booking.cancelBooking
+ * - browse: hanya melihat kursi
+ *
+ * Semua lewat class model asli, jadi contention di SeatReservationEngine,
+ * SeatHoldManager, log store booking dan SeatEventBus ikut terukur.
+ * Invariant dicek selama run (kursi di-hold / terjual dua kali) dan di
+ * akhir (status kursi di memory dan di disk, counter available, booking
+ * tersimpan).
+ *
+ * Java 17: customer memakai platform thread dengan stack kecil; ganti
+ * {@link #newCustomerThread} ke virtual thread saat baseline naik ke 21.
+ *
+ * Data diubah, jadi jalankan pada dataset terpisah:
+ * <pre>
+ *   java -Dbioskop.data.dir=data-synthetic -cp app.jar com.bioskop.tools.LoadGenerator \
+ *        --customers 2000 --duration 60 --mix browse=20,buy=60,abandon=15,cancel=5
+ * </pre>
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class LoadGenerator {
+
+    private static final long CUSTOMER_STACK_SIZE = 256 * 1024;
+    private static final int REPORT_INTERVAL_SECONDS = 5;
+    private static final int VERIFY_SAMPLE_BOOKINGS = 200;
+    private static final double[] GROUP_SIZE_WEIGHTS = {0.45, 0.35, 0.10, 0.10};
+    private static final String[] TICKET_TYPES = {"Regular", "VIP", "Student"};
+
+    /**
+     * Jenis sesi customer
+     */
+    enum Action { BROWSE, BUY, ABANDON, CANCEL }
+
+    // ========== KONFIGURASI ==========
+
+    static final class Config {
+        int customers = 1000;
+        int durationSeconds = 30;
+        long maxSessions = Long.MAX_VALUE;
+        double thinkMillis = 20;          // rata-rata jeda antar langkah (eksponensial)
+        double hotSkew = 1.1;             // eksponen Zipf pemilihan schedule
+        int users;                        // 0 = jumlah user di users.txt
+        long seed = 7;
+        boolean observer = true;          // global BookingObserver seperti CustomerDashboard
+        boolean force;
+        EnumMap<Action, Double> mix = new EnumMap<>(Action.class);
+
+        Config() {
+            mix.put(Action.BROWSE, 20.0);
+            mix.put(Action.BUY, 60.0);
+            mix.put(Action.ABANDON, 15.0);
+            mix.put(Action.CANCEL, 5.0);
+        }
+
+        static Config parse(String[] args) {
+            Config config = new Config();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("--force")) {
+                    config.force = true;
+                    continue;
+                }
+                if (arg.equals("--no-observer")) {
+                    config.observer = false;
+                    continue;
+                }
+                if (!arg.startsWith("--")) throw new IllegalArgumentException("Argumen tidak dikenal: " + arg);
+
+                String key = arg.substring(2);
+                String value;
+                int eq = key.indexOf('=');
+                if (eq >= 0) {
+                    value = key.substring(eq + 1);
+                    key = key.substring(0, eq);
+                } else if (i + 1 < args.length) {
+                    value = args[++i];
+                } else {
+                    throw new IllegalArgumentException("Nilai untuk --" + key + " tidak ada");
+                }
+
+                switch (key) {
+                    case "customers" -> config.customers = Integer.parseInt(value);
+                    case "duration" -> config.durationSeconds = Integer.parseInt(value);
+                    case "sessions" -> config.maxSessions = Long.parseLong(value);
+                    case "think-ms" -> config.thinkMillis = Double.parseDouble(value);
+                    case "hot-skew" -> config.hotSkew = Double.parseDouble(value);
+                    case "users" -> config.users = Integer.parseInt(value);
+                    case "seed" -> config.seed = Long.parseLong(value);
+                    case "mix" -> config.mix = parseMix(value);
+                    default -> throw new IllegalArgumentException("Opsi tidak dikenal: --" + key);
+                }
+            }
+            if (config.customers <= 0) throw new IllegalArgumentException("--customers harus > 0");
+            return config;
+        }
+
+        private static EnumMap<Action, Double> parseMix(String value) {
+            EnumMap<Action, Double> mix = new EnumMap<>(Action.class);
+            for (Action action : Action.values()) mix.put(action, 0.0);
+            for (String part : value.split(",")) {
+                String[] kv = part.split("=");
+                if (kv.length != 2) throw new IllegalArgumentException("Format mix: browse=20,buy=60,...");
+                mix.put(Action.valueOf(kv[0].trim().toUpperCase()), Double.parseDouble(kv[1].trim()));
+            }
+            if (mix.values().stream().mapToDouble(Double::doubleValue).sum() <= 0) {
+                throw new IllegalArgumentException("Total bobot mix harus > 0");
+            }
+            return mix;
+        }
+    }
+
+    // ========== STATISTIK ==========
+
+    // Latensi per langkah sesi (sisi customer, termasuk contention)
+    private final Histogram browseLatency = MetricsRegistry.histogram("load.browse");
+    private final Histogram holdLatency = MetricsRegistry.histogram("load.hold");
+    private final Histogram payLatency = MetricsRegistry.histogram("load.pay");
+    private final Histogram releaseLatency = MetricsRegistry.histogram("load.release");
+    private final Histogram cancelLatency = MetricsRegistry.histogram("load.cancel");
+
+    private final LongAdder sessions = new LongAdder();
+    private final EnumMap<Action, LongAdder> completed = new EnumMap<>(Action.class);
+    private final LongAdder ticketsSold = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();       // hold gagal: kursi diambil customer lain
+    private final LongAdder soldOut = new LongAdder();
+    private final LongAdder holdExpired = new LongAdder();
+    private final LongAdder saveFailed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final List<String> violations = Collections.synchronizedList(new ArrayList<>());
+
+    // ========== STATE ==========
+
+    /**
+     * Status kursi yang pernah disentuh generator: holdId pemegang atau SOLD
+     */
+    private static final long SOLD = -1;
+    private final ConcurrentHashMap<Integer, Long> seatOwners = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> soldSeats = new ConcurrentHashMap<>(); // schedule:seat -> bookingId
+    private final Set<Integer> touchedSchedules = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<Booking> savedBookings = new ConcurrentLinkedQueue<>();
+
+    private final Config config;
+    private final BookingManager bookingManager = new BookingManager();
+    private final int[] scheduleIds;
+    private final double[] scheduleCdf;
+    private final double[] actionCdf;
+    private final double[] groupCdf;
+    private final int users;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    LoadGenerator(Config config) {
+        this.config = config;
+        for (Action action : Action.values()) completed.put(action, new LongAdder());
+
+        List<Schedule> schedules = Schedule.getAllSchedules();
+        if (schedules.isEmpty()) throw new IllegalStateException("schedule.txt kosong");
+
+        // Urutan popularitas acak tapi tetap per seed; schedule #0 paling ramai
+        List<Integer> ids = new ArrayList<>();
+        for (Schedule schedule : schedules) ids.add(schedule.getScheduleId());
+        Collections.shuffle(ids, new Random(config.seed));
+        scheduleIds = ids.stream().mapToInt(Integer::intValue).toArray();
+
+        double[] weights = new double[scheduleIds.length];
+        for (int i = 0; i < weights.length; i++) weights[i] = 1.0 / Math.pow(i + 1, config.hotSkew);
+        scheduleCdf = cumulative(weights);
+
+        double[] actionWeights = new double[Action.values().length];
+        for (Action action : Action.values()) actionWeights[action.ordinal()] = config.mix.get(action);
+        actionCdf = cumulative(actionWeights);
+        groupCdf = cumulative(GROUP_SIZE_WEIGHTS);
+
+        users = config.users > 0 ? config.users : Math.max(1, User.getAllUsers().size());
+    }
+
+    // ========== MAIN ==========
+
+    public static void main(String[] args) {
+        if (args.length > 0 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            printUsage();
+            return;
+        }
+
+        Config config;
+        try {
+            config = Config.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        // Data di-update: jangan jalan di folder data/ default tanpa --force
+        if (usesDefaultDataFolder() && !config.force) {
+            System.err.println("❌ Load test mengubah data di " + FileManager.getFilePath("").toAbsolutePath()
+                    + "; pakai -Dbioskop.data.dir=<dataset> atau --force");
+            System.exit(2);
+            return;
+        }
+
+        // Log INFO per booking akan membanjiri console
+        if (System.getProperty("bioskop.logging.level") == null) {
+            Logger.setRootLevel(Logger.Level.WARN);
+        }
+
+        try {
+            boolean ok = new LoadGenerator(config).run();
+            System.exit(ok ? 0 : 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        } catch (IllegalStateException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * true jika FileManager memakai folder data/ default (bukan dataset uji)
+     */
+    static boolean usesDefaultDataFolder() {
+        Path dataDir = FileManager.getFilePath("").toAbsolutePath().normalize();
+        return dataDir.equals(Paths.get("data").toAbsolutePath().normalize());
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: LoadGenerator [--customers n] [--duration s] [--sessions n] [--think-ms ms]");
+        System.out.println("                     [--mix browse=20,buy=60,abandon=15,cancel=5] [--hot-skew s]");
+        System.out.println("                     [--users n] [--seed n] [--no-observer] [--force]");
+    }
+
+    boolean run() throws InterruptedException {
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║  BOOKING LOAD GENERATOR               ║");
+        System.out.println("╚════════════════════════════════════════╝");
+        System.out.printf("  Data: %s | customers: %d | duration: %d s | mix: %s%n%n",
+                FileManager.getFilePath(""), config.customers, config.durationSeconds, config.mix);
+
+        BookingObserver observer = null;
+        if (config.observer) {
+            observer = new BookingObserver("LoadGen-Observer", 0);
+            bookingManager.registerGlobalObserver(observer);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> customers = new ArrayList<>(config.customers);
+        for (int c = 0; c < config.customers; c++) {
+            int customer = c;
+            Thread thread = newCustomerThread(() -> runCustomer(customer, start), "load-customer-" + c);
+            customers.add(thread);
+            thread.start();
+        }
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "load-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long startNanos = System.nanoTime();
+        reporter.scheduleAtFixedRate(() -> printProgress(startNanos),
+                REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        start.countDown();
+        long deadline = startNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        while (running.get() && System.nanoTime() < deadline) {
+            if (sessions.sum() >= config.maxSessions) break;
+            Thread.sleep(50);
+        }
+        running.set(false);
+        for (Thread thread : customers) thread.join();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        reporter.shutdownNow();
+
+        if (observer != null) {
+            bookingManager.removeGlobalObserver(observer);
+        }
+        SeatEventBus.getInstance().flush();
+        BookingObserver.flushLogs();
+
+        printReport(seconds);
+        verify();
+        return violations.isEmpty() && errors.sum() == 0;
+    }
+
+    /**
+     * Satu customer = satu thread. Java 17: platform thread dengan stack kecil
+     * supaya ribuan customer muat; di Java 21 cukup Thread.ofVirtual().unstarted(task).
+     */
+    private static Thread newCustomerThread(Runnable task, String name) {
+        Thread thread = new Thread(null, task, name, CUSTOMER_STACK_SIZE);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // ========== SESI CUSTOMER ==========
+
+    private void runCustomer(int customer, CountDownLatch start) {
+        SplittableRandom random = new SplittableRandom(config.seed * 0x9E3779B97F4A7C15L + customer);
+        try {
+            start.await();
+            while (running.get()) {
+                sessions.increment();
+                if (sessions.sum() > config.maxSessions) break;
+                try {
+                    runSession(random);
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    violation("Exception di sesi customer " + customer + ": " + e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runSession(SplittableRandom random) throws InterruptedException {
+        int userId = 2 + random.nextInt(Math.max(1, users - 1));
+        Action action = Action.values()[sample(actionCdf, random)];
+
+        // 1. Lihat kursi schedule (schedule ramai lebih sering dipilih)
+        int scheduleId = 0;
+        List<Seat> available = null;
+        long t0 = System.nanoTime();
+        for (int attempt = 0; attempt < 5 && (available == null || available.isEmpty()); attempt++) {
+            scheduleId = scheduleIds[sample(scheduleCdf, random)];
+            available = bookingManager.isSoldOut(scheduleId)
+                    ? Collections.emptyList()
+                    : bookingManager.getAvailableSeats(scheduleId);
+        }
+        browseLatency.recordSince(t0);
+        if (available.isEmpty()) {
+            soldOut.increment();
+            return;
+        }
+        think(random);
+        if (action == Action.BROWSE) {
+            completed.get(action).increment();
+            return;
+        }
+
+        // 2. Pilih kursi dari tampilan (bisa sudah diambil customer lain)
+        List<Seat> picked = pickSeats(available, 1 + sample(groupCdf, random), random);
+        touchedSchedules.add(scheduleId);
+
+        // 3. Hold
+        t0 = System.nanoTime();
+        SeatHoldManager.Hold hold = Seat.holdSeats(picked, userId);
+        holdLatency.recordSince(t0);
+        if (hold == null) {
+            conflicts.increment();
+            return;
+        }
+        for (Seat seat : picked) {
+            Long previous = seatOwners.putIfAbsent(seat.getSeatId(), hold.getHoldId());
+            if (previous != null) {
+                violation("Seat " + seat.getSeatId() + " di-hold hold #" + hold.getHoldId()
+                        + " padahal milik " + (previous == SOLD ? "booking terjual" : "hold #" + previous));
+            }
+        }
+        think(random);
+
+        // 4a. Ditinggalkan: dialog pembayaran ditutup
+        if (action == Action.ABANDON) {
+            release(hold, picked);
+            completed.get(action).increment();
+            return;
+        }
+
+        // 4b. Bayar: confirm hold lalu simpan booking
+        Schedule schedule = Schedule.getScheduleById(scheduleId);
+        double price = schedule.calculateFinalPrice();
+        String type = TICKET_TYPES[random.nextInt(TICKET_TYPES.length)];
+        Booking booking = new Booking(userId, scheduleId);
+        for (Seat seat : picked) booking.addTicket(type, seat.getSeatNumber(), price);
+
+        t0 = System.nanoTime();
+        if (!SeatHoldManager.getInstance().confirm(hold.getHoldId())) {
+            payLatency.recordSince(t0);
+            holdExpired.increment();
+            forget(hold, picked);
+            return;
+        }
+        boolean saved = booking.saveBooking();
+        payLatency.recordSince(t0);
+        if (!saved) {
+            saveFailed.increment();
+            // Rollback seperti PaymentDialog: penjualan gagal disimpan, kursi dilepas
+            release(hold, picked);
+            return;
+        }
+        markSold(hold, picked, booking);
+        ticketsSold.add(picked.size());
+        savedBookings.add(booking);
+
+        // 4c. Cancel setelah bayar (status booking; kursi tetap terjual seperti di aplikasi)
+        if (action == Action.CANCEL) {
+            think(random);
+            t0 = System.nanoTime();
+            if (!booking.cancelBooking()) {
+                violation("Booking #" + booking.getBookingId() + " tersimpan tapi gagal di-cancel");
+            }
+            cancelLatency.recordSince(t0);
+        }
+        completed.get(action).increment();
+    }
+
+    private List<Seat> pickSeats(List<Seat> available, int count, SplittableRandom random) {
+        count = Math.min(count, available.size());
+        // Blok berdampingan di urutan file (satu baris), mulai dari posisi acak
+        int startIndex = random.nextInt(available.size() - count + 1);
+        return new ArrayList<>(available.subList(startIndex, startIndex + count));
+    }
+
+    private void release(SeatHoldManager.Hold hold, List<Seat> seats) {
+        // Lepas kepemilikan dulu: setelah releaseHold kursi bisa langsung di-hold customer lain
+        forget(hold, seats);
+        long t0 = System.nanoTime();
+        Seat.releaseHold(hold, seats);
+        releaseLatency.recordSince(t0);
+    }
+
+    private void forget(SeatHoldManager.Hold hold, List<Seat> seats) {
+        for (Seat seat : seats) seatOwners.remove(seat.getSeatId(), hold.getHoldId());
+    }
+
+    private void markSold(SeatHoldManager.Hold hold, List<Seat> seats, Booking booking) {
+        for (Seat seat : seats) {
+            if (!seatOwners.replace(seat.getSeatId(), hold.getHoldId(), SOLD)) {
+                violation("Seat " + seat.getSeatId() + " terjual lewat hold #" + hold.getHoldId()
+                        + " yang sudah tidak memilikinya");
+            }
+            Integer previous = soldSeats.putIfAbsent(seat.getScheduleId() + ":" + seat.getSeatNumber(),
+                    booking.getBookingId());
+            if (previous != null) {
+                violation("Seat " + seat.getSeatNumber() + " schedule " + seat.getScheduleId()
+                        + " terjual dua kali: booking #" + previous + " dan #" + booking.getBookingId());
+            }
+        }
+    }
+
+    private void think(SplittableRandom random) throws InterruptedException {
+        if (config.thinkMillis <= 0) return;
+        long micros = (long) (-Math.log(1 - random.nextDouble()) * config.thinkMillis * 1000);
+        TimeUnit.MICROSECONDS.sleep(micros);
+    }
+
+    private void violation(String message) {
+        violations.add(message);
+        if (violations.size() <= 10) System.out.println("  ❌ " + message);
+    }
+
+    // ========== VERIFIKASI ==========
+
+    /**
+     * Cek akhir: status kursi (memory + disk), counter available, booking tersimpan
+     */
+    private void verify() {
+        System.out.println("\n  Verifying invariants...");
+
+        // Hold yang belum selesai di akhir run berarti sesi bocor
+        seatOwners.forEach((seatId, owner) -> {
+            if (owner != SOLD) violation("Seat " + seatId + " masih di-hold hold #" + owner + " setelah run");
+        });
+
+        SeatStore memory = SeatStore.getInstance();
+        SeatStore disk = "binary".equalsIgnoreCase(System.getProperty(SeatStore.FORMAT_PROPERTY, "text"))
+                ? new SeatStore(new BinarySeatFile("seats.bin"))
+                : new SeatStore("seats.txt");
+        int checkedSeats = 0;
+        for (Map.Entry<Integer, Long> entry : seatOwners.entrySet()) {
+            int seatId = entry.getKey();
+            Seat inMemory = memory.getSeatById(seatId);
+            Seat onDisk = disk.getSeatById(seatId);
+            if (inMemory == null || !inMemory.isBooked()) violation("Seat " + seatId + " terjual tapi kosong di memory");
+            if (onDisk == null || !onDisk.isBooked()) violation("Seat " + seatId + " terjual tapi kosong di disk");
+            checkedSeats++;
+        }
+
+        int checkedSchedules = 0;
+        for (int scheduleId : touchedSchedules) {
+            int free = 0;
+            for (Seat seat : disk.getSeatsBySchedule(scheduleId)) {
+                if (!seat.isBooked()) free++;
+            }
+            int counter = memory.getAvailableCount(scheduleId);
+            if (counter != free) {
+                violation("Schedule " + scheduleId + ": counter available " + counter + " != kursi kosong di disk " + free);
+            }
+            checkedSchedules++;
+        }
+
+        int checkedBookings = 0;
+        Iterator<Booking> saved = savedBookings.iterator();
+        while (saved.hasNext() && checkedBookings < VERIFY_SAMPLE_BOOKINGS) {
+            Booking expected = saved.next();
+            Booking stored = null;
+            for (Booking booking : Booking.getBookingHistory(expected.getUserId())) {
+                if (booking.getBookingId() == expected.getBookingId()) stored = booking;
+            }
+            if (stored == null) {
+                violation("Booking #" + expected.getBookingId() + " tidak ditemukan setelah disimpan");
+            } else if (stored.getTickets().size() != expected.getTickets().size()) {
+                violation("Booking #" + expected.getBookingId() + ": " + stored.getTickets().size()
+                        + " ticket tersimpan, seharusnya " + expected.getTickets().size());
+            }
+            checkedBookings++;
+        }
+
+        System.out.printf("  Seats checked: %,d | schedules: %,d | bookings (sample): %,d%n",
+                checkedSeats, checkedSchedules, checkedBookings);
+        if (violations.isEmpty() && errors.sum() == 0) {
+            System.out.println("\n✓ No invariant violations. Zero double-bookings.");
+        } else {
+            System.out.println("\n❌ " + violations.size() + " invariant violation(s), " + errors.sum() + " error(s)");
+        }
+    }
+
+    // ========== REPORT ==========
+
+    private void printProgress(long startNanos) {
+        double elapsed = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("  [%5.0f s] sessions %,d | bookings %,d | tickets %,d | conflicts %,d | hold p99 %.1f ms%n",
+                elapsed, sessions.sum(), completed.get(Action.BUY).sum() + completed.get(Action.CANCEL).sum(),
+                ticketsSold.sum(), conflicts.sum(), holdLatency.snapshot().getValueAtQuantile(0.99) / 1e6);
+    }
+
+    private void printReport(double seconds) {
+        long bookings = completed.get(Action.BUY).sum() + completed.get(Action.CANCEL).sum();
+        long attempts = bookings + completed.get(Action.ABANDON).sum() + conflicts.sum()
+                + holdExpired.sum() + saveFailed.sum();
+
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  RESULT                               ║");
+        System.out.println("╚════════════════════════════════════════╝");
+        System.out.printf("  Duration   : %.1f s%n", seconds);
+        System.out.printf("  Sessions   : %,d (%,.0f/s)%n", sessions.sum(), sessions.sum() / seconds);
+        System.out.printf("  Bookings   : %,d (%,.0f/s), tickets %,d%n", bookings, bookings / seconds, ticketsSold.sum());
+        for (Action action : Action.values()) {
+            System.out.printf("    %-8s : %,d%n", action.name().toLowerCase(), completed.get(action).sum());
+        }
+        System.out.printf("  Conflicts  : %,d (%.1f%% of hold attempts)%n", conflicts.sum(),
+                attempts == 0 ? 0 : 100.0 * conflicts.sum() / attempts);
+        System.out.printf("  Sold out   : %,d | hold expired: %,d | save failed: %,d | errors: %,d%n",
+                soldOut.sum(), holdExpired.sum(), saveFailed.sum(), errors.sum());
+
+        System.out.println("\n  Latency (ms)        count       p50       p99     p99.9       max");
+        printLatency("browse", browseLatency);
+        printLatency("hold", holdLatency);
+        printLatency("pay", payLatency);
+        printLatency("release", releaseLatency);
+        printLatency("cancel", cancelLatency);
+
+        System.out.println("\n  Internal (ms)");
+        for (String name : new String[]{"hold.create", "booking.save", "seat.book", "file.append",
+                "file.write", "file.lock.wait", "seatstore.reload"}) {
+            Histogram histogram = MetricsRegistry.getHistograms().get(name);
+            if (histogram != null && histogram.getCount() > 0) printLatency(name, histogram);
+        }
+    }
+
+    static void printLatency(String name, Histogram histogram) {
+        Histogram.Snapshot s = histogram.snapshot();
+        System.out.printf("  %-16s %,9d %9.2f %9.2f %9.2f %9.2f%n", name, s.getCount(),
+                s.getValueAtQuantile(0.50) / 1e6, s.getValueAtQuantile(0.99) / 1e6,
+                s.getValueAtQuantile(0.999) / 1e6, s.getMax() / 1e6);
+    }
+
+    // ========== HELPER ==========
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) cdf[i] /= sum;
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(cdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+}
@@ -0,0 +1,615 @@
+package com.bioskop.tools;
+
+import com.bioskop.manager.BookingManager;
+import com.bioskop.manager.SeatHoldManager;
+import com.bioskop.manager.SeatReservationEngine;
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+import com.bioskop.model.Seat;
+import com.bioskop.observer.BookingObserver;
+import com.bioskop.observer.SeatEventBus;
+import com.bioskop.repository.SeatStore;
+import com.bioskop.util.FileManager;
+import com.bioskop.util.Logger;
+import com.bioskop.util.RecordReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TraceReplay - Putar ulang booking_logs.txt sebagai workload
+ *
+ * Event BOOKED / RELEASED di log (hasil BookingObserver) diubah menjadi
+ * operasi booking lalu dijalankan lagi ke booking engine dengan kecepatan
+ * 1×, 10×, ... atau max. Dengan begitu perubahan storage / concurrency bisa
+ * diuji dengan pola traffic asli, bukan traffic sintetis.
+ *
+ * Cara trace diubah menjadi operasi:
+ * - Duplikat dibuang: satu perubahan kursi dicatat oleh beberapa observer
+ *   (observer user + "System-Observer"); yang dipakai hanya baris yang
+ *   benar-benar mengubah status kursi, dengan user dari observer user
+ *   jika ada.
+ * - Event satu user, satu schedule, detik dan action yang sama digabung
+ *   menjadi satu operasi (booking beberapa kursi sekaligus).
+ * - Urutan per user dipertahankan (operasi user yang sama tidak pernah
+ *   jalan paralel / terbalik), begitu juga urutan per kursi, jadi replay
+ *   max speed tidak menghasilkan konflik palsu. Event tanpa user (observer
+ *   global saja) diurutkan per schedule.
+ * - Timestamp log beresolusi detik; operasi dalam detik yang sama disebar
+ *   rata di detik tersebut.
+ *
+ * Sebelum replay, kursi yang muncul di trace di-set ke status awal trace
+ * (BOOKED pertama berarti awalnya kosong, RELEASED pertama berarti awalnya
+ * terisi). Data diubah, jadi jalankan pada dataset terpisah:
+ * <pre>
+ *   java -Dbioskop.data.dir=data-synthetic -cp app.jar com.bioskop.tools.TraceReplay \
+ *        --trace captured/booking_logs.txt --speed 10x
+ * </pre>
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class TraceReplay {
+
+    private static final int REPORT_INTERVAL_SECONDS = 5;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Jalur yang dipakai untuk menjalankan operasi
+     */
+    enum ReplayPath {
+        HOLD,    // seperti GUI: Seat.holdSeats + confirm, release lewat Seat.releaseSeat
+        ENGINE   // langsung SeatReservationEngine.bookAll / releaseAll
+    }
+
+    // ========== KONFIGURASI ==========
+
+    static final class Config {
+        Path trace;                  // null = log di folder data aktif
+        double speed = 1;            // Double.POSITIVE_INFINITY = max
+        int threads = 32;
+        int maxInFlight = 10_000;
+        long limit = Long.MAX_VALUE;
+        ReplayPath path = ReplayPath.HOLD;
+        boolean observer = true;
+        boolean prepare = true;
+        boolean force;
+
+        static Config parse(String[] args) {
+            Config config = new Config();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--force" -> { config.force = true; continue; }
+                    case "--no-observer" -> { config.observer = false; continue; }
+                    case "--no-prepare" -> { config.prepare = false; continue; }
+                    default -> { }
+                }
+                if (!arg.startsWith("--")) throw new IllegalArgumentException("Argumen tidak dikenal: " + arg);
+
+                String key = arg.substring(2);
+                String value;
+                int eq = key.indexOf('=');
+                if (eq >= 0) {
+                    value = key.substring(eq + 1);
+                    key = key.substring(0, eq);
+                } else if (i + 1 < args.length) {
+                    value = args[++i];
+                } else {
+                    throw new IllegalArgumentException("Nilai untuk --" + key + " tidak ada");
+                }
+
+                switch (key) {
+                    case "trace" -> config.trace = Paths.get(value);
+                    case "speed" -> config.speed = parseSpeed(value);
+                    case "threads" -> config.threads = Integer.parseInt(value);
+                    case "max-inflight" -> config.maxInFlight = Integer.parseInt(value);
+                    case "limit" -> config.limit = Long.parseLong(value);
+                    case "path" -> config.path = ReplayPath.valueOf(value.toUpperCase());
+                    default -> throw new IllegalArgumentException("Opsi tidak dikenal: --" + key);
+                }
+            }
+            if (config.threads <= 0 || config.maxInFlight <= 0) {
+                throw new IllegalArgumentException("--threads dan --max-inflight harus > 0");
+            }
+            return config;
+        }
+
+        private static double parseSpeed(String value) {
+            if (value.equalsIgnoreCase("max")) return Double.POSITIVE_INFINITY;
+            String number = value.endsWith("x") || value.endsWith("×") ? value.substring(0, value.length() - 1) : value;
+            double speed = Double.parseDouble(number);
+            if (speed <= 0) throw new IllegalArgumentException("--speed harus > 0 atau max");
+            return speed;
+        }
+
+        String speedLabel() {
+            return Double.isInfinite(speed) ? "max" : (speed == Math.rint(speed) ? (long) speed + "×" : speed + "×");
+        }
+    }
+
+    // ========== TRACE ==========
+
+    /**
+     * Satu operasi hasil penggabungan event (satu user, schedule, detik, action)
+     */
+    static final class Op {
+        final int lane;              // userId, atau -scheduleId untuk event tanpa user
+        final int userId;
+        final int scheduleId;
+        final boolean book;
+        final long second;           // detik sejak event pertama trace
+        final List<Integer> seatIds = new ArrayList<>(4);
+        final List<String> seatNumbers = new ArrayList<>(4);
+        long offsetNanos;            // waktu jadwal sejak awal trace (kecepatan 1×)
+
+        Op(int lane, int userId, int scheduleId, boolean book, long second) {
+            this.lane = lane;
+            this.userId = userId;
+            this.scheduleId = scheduleId;
+            this.book = book;
+            this.second = second;
+        }
+    }
+
+    /**
+     * Trace yang sudah diubah menjadi operasi, urut waktu
+     */
+    static final class Trace {
+        final List<Op> ops = new ArrayList<>();
+        final Map<Integer, Boolean> initialState = new HashMap<>();   // seatId -> booked sebelum trace
+        final Map<Integer, Boolean> finalState = new HashMap<>();     // seatId -> booked setelah trace
+        long lines;
+        long events;
+        long duplicates;
+        long unmapped;
+        long spanSeconds;
+    }
+
+    /**
+     * Baca trace dan ubah menjadi operasi. Seat number dipetakan ke seatId
+     * lewat SeatStore folder data aktif.
+     */
+    static Trace load(Config config) throws IOException {
+        TraceBuilder builder = new TraceBuilder(config.limit);
+        if (config.trace == null) {
+            BookingObserver.getLog().forEach(segment -> true, builder::accept);
+        } else {
+            RecordReader reader = new RecordReader();
+            try (BufferedReader in = Files.newBufferedReader(config.trace, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!builder.accept(reader.reset(line))) break;
+                }
+            }
+        }
+        return builder.finish();
+    }
+
+    private static final class TraceBuilder {
+        private final Trace trace = new Trace();
+        private final long limit;
+        private final SeatStore store = SeatStore.getInstance();
+        private final Map<Integer, Map<String, Integer>> seatIdsBySchedule = new HashMap<>();
+
+        // Status simulasi per kursi + operasi terakhir yang mengubahnya
+        private final Map<Integer, Boolean> state = trace.finalState;
+        private final Map<Integer, Op> lastOp = new HashMap<>();
+        private final Map<Integer, Op> openOp = new HashMap<>();       // lane -> operasi yang masih bisa digabung
+        private long firstEpochSecond = Long.MIN_VALUE;
+
+        TraceBuilder(long limit) {
+            this.limit = limit;
+        }
+
+        boolean accept(RecordReader line) {
+            trace.lines++;
+            if (line.fieldCount() < 6) return true;
+            boolean book;
+            if (line.fieldEquals(4, "BOOKED")) book = true;
+            else if (line.fieldEquals(4, "RELEASED")) book = false;
+            else return true;   // header / baris lain
+
+            long epochSecond;
+            int userId;
+            int scheduleId;
+            try {
+                epochSecond = line.getDateTime(0).toEpochSecond(ZoneOffset.UTC);
+                userId = line.getInt(2);
+                scheduleId = line.getInt(5);
+            } catch (NumberFormatException e) {
+                return true;
+            }
+            trace.events++;
+
+            String seatNumber = line.getString(3);
+            Integer seatId = seatIdsBySchedule.computeIfAbsent(scheduleId, this::indexSeats).get(seatNumber);
+            if (seatId == null) {
+                trace.unmapped++;
+                return true;
+            }
+            if (firstEpochSecond == Long.MIN_VALUE) firstEpochSecond = epochSecond;
+            long second = Math.max(0, epochSecond - firstEpochSecond);
+
+            // Baris yang tidak mengubah status = observer lain mencatat perubahan yang sama
+            Boolean current = state.get(seatId);
+            if (current != null && current == book) {
+                trace.duplicates++;
+                Op previous = lastOp.get(seatId);
+                if (userId > 0 && previous != null && previous.userId <= 0 && previous.second == second) {
+                    // Tercatat dulu oleh observer global: pindahkan kursi ke operasi milik user
+                    Op op = target(userId, scheduleId, book, second, seatId);
+                    if (op == null) return false;
+                    int index = previous.seatIds.indexOf(seatId);
+                    previous.seatIds.remove(index);
+                    previous.seatNumbers.remove(index);
+                    add(op, seatId, seatNumber);
+                }
+                return true;
+            }
+
+            // Limit dicek sebelum status diubah, supaya status akhir = operasi yang diputar
+            Op op = target(userId, scheduleId, book, second, seatId);
+            if (op == null) return false;
+            if (current == null) trace.initialState.put(seatId, !book);
+            state.put(seatId, book);
+            add(op, seatId, seatNumber);
+            return true;
+        }
+
+        /**
+         * Operasi terbuka lane tersebut, atau operasi baru
+         *
+         * @return null jika operasi baru dibutuhkan tapi --limit sudah tercapai
+         */
+        private Op target(int userId, int scheduleId, boolean book, long second, int seatId) {
+            int lane = userId > 0 ? userId : -scheduleId;
+            Op op = openOp.get(lane);
+            if (op == null || op.second != second || op.scheduleId != scheduleId || op.book != book
+                    || op.seatIds.contains(seatId)) {
+                if (trace.ops.size() >= limit) return null;
+                op = new Op(lane, userId, scheduleId, book, second);
+                trace.ops.add(op);
+                openOp.put(lane, op);
+            }
+            return op;
+        }
+
+        private void add(Op op, int seatId, String seatNumber) {
+            op.seatIds.add(seatId);
+            op.seatNumbers.add(seatNumber);
+            lastOp.put(seatId, op);
+        }
+
+        private Map<String, Integer> indexSeats(int scheduleId) {
+            Map<String, Integer> seats = new HashMap<>();
+            for (Seat seat : store.getSeatsBySchedule(scheduleId)) seats.put(seat.getSeatNumber(), seat.getSeatId());
+            return seats;
+        }
+
+        Trace finish() {
+            // Operasi global yang semua kursinya dipindah ke operasi user
+            trace.ops.removeIf(op -> op.seatIds.isEmpty());
+            // Log async bisa sedikit tidak urut; jadwal mengikuti detik event
+            trace.ops.sort(Comparator.comparingLong(op -> op.second));
+
+            int i = 0;
+            while (i < trace.ops.size()) {
+                int j = i;
+                long second = trace.ops.get(i).second;
+                while (j < trace.ops.size() && trace.ops.get(j).second == second) j++;
+                for (int k = i; k < j; k++) {
+                    trace.ops.get(k).offsetNanos = second * NANOS_PER_SECOND + (k - i) * NANOS_PER_SECOND / (j - i);
+                }
+                i = j;
+            }
+            trace.spanSeconds = trace.ops.isEmpty() ? 0 : trace.ops.get(trace.ops.size() - 1).second + 1;
+            return trace;
+        }
+    }
+
+    // ========== STATISTIK ==========
+
+    private final Histogram bookLatency = MetricsRegistry.histogram("replay.book");
+    private final Histogram releaseLatency = MetricsRegistry.histogram("replay.release");
+    private final Histogram lagLatency = MetricsRegistry.histogram("replay.lag");           // mulai - jadwal
+    private final Histogram responseLatency = MetricsRegistry.histogram("replay.response"); // selesai - jadwal
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder seatEvents = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private final Config config;
+    private final Trace trace;
+    private final SeatReservationEngine engine = SeatReservationEngine.getInstance();
+
+    TraceReplay(Config config, Trace trace) {
+        this.config = config;
+        this.trace = trace;
+    }
+
+    // ========== MAIN ==========
+
+    public static void main(String[] args) {
+        if (args.length > 0 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            printUsage();
+            return;
+        }
+
+        Config config;
+        try {
+            config = Config.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        if (LoadGenerator.usesDefaultDataFolder() && !config.force) {
+            System.err.println("❌ Replay mengubah data di " + FileManager.getFilePath("").toAbsolutePath()
+                    + "; pakai -Dbioskop.data.dir=<dataset> atau --force");
+            System.exit(2);
+            return;
+        }
+        if (System.getProperty("bioskop.logging.level") == null) {
+            Logger.setRootLevel(Logger.Level.WARN);
+        }
+
+        try {
+            long start = System.nanoTime();
+            Trace trace = load(config);
+            System.out.printf("✓ Trace: %,d lines, %,d events (%,d duplicate, %,d unmapped) -> %,d ops, %,d s span [%.2f s]%n",
+                    trace.lines, trace.events, trace.duplicates, trace.unmapped, trace.ops.size(),
+                    trace.spanSeconds, (System.nanoTime() - start) / 1e9);
+            if (trace.ops.isEmpty()) {
+                System.out.println("⚠ Tidak ada event BOOKED/RELEASED untuk di-replay");
+                return;
+            }
+            boolean ok = new TraceReplay(config, trace).run();
+            System.exit(ok ? 0 : 1);
+        } catch (IOException e) {
+            System.err.println("❌ Gagal membaca trace: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: TraceReplay [--trace booking_logs.txt] [--speed 1x|10x|max] [--path hold|engine]");
+        System.out.println("                   [--threads n] [--max-inflight n] [--limit ops]");
+        System.out.println("                   [--no-prepare] [--no-observer] [--force]");
+    }
+
+    boolean run() throws InterruptedException {
+        System.out.println("╔════════════════════════════════════════╗");
+        System.out.println("║  BOOKING TRACE REPLAY                 ║");
+        System.out.println("╚════════════════════════════════════════╝");
+        System.out.printf("  Data: %s | trace: %s | speed: %s | path: %s | threads: %d%n%n",
+                FileManager.getFilePath(""), config.trace == null ? "booking_logs (data aktif)" : config.trace,
+                config.speedLabel(), config.path.name().toLowerCase(), config.threads);
+
+        if (config.prepare) prepare();
+
+        BookingManager bookingManager = new BookingManager();
+        BookingObserver observer = null;
+        if (config.observer) {
+            // Seperti aplikasi: System-Observer global mencatat semua perubahan kursi
+            observer = new BookingObserver("Replay-Observer", 0);
+            bookingManager.registerGlobalObserver(observer);
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.threads, new ThreadFactory() {
+            private int next;
+
+            @Override
+            public synchronized Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "replay-worker-" + next++);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replay-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long startNanos = System.nanoTime();
+        reporter.scheduleAtFixedRate(() -> printProgress(startNanos),
+                REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        dispatch(workers, startNanos);
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.DAYS);
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        reporter.shutdownNow();
+
+        if (observer != null) bookingManager.removeGlobalObserver(observer);
+        SeatEventBus.getInstance().flush();
+        BookingObserver.flushLogs();
+
+        printReport(seconds);
+        return verify();
+    }
+
+    /**
+     * Set kursi di trace ke status awal trace (tanpa observer, tidak diukur)
+     */
+    private void prepare() {
+        int changed = 0;
+        for (Map.Entry<Integer, Boolean> entry : trace.initialState.entrySet()) {
+            int seatId = entry.getKey();
+            boolean booked = entry.getValue();
+            if (engine.isBooked(seatId) == booked) continue;
+            if (booked) engine.tryBook(seatId);
+            else engine.release(seatId);
+            changed++;
+        }
+        System.out.printf("  Prepared %,d seats (%,d changed to trace start state)%n%n",
+                trace.initialState.size(), changed);
+    }
+
+    // ========== DISPATCH ==========
+
+    /**
+     * Jalankan operasi sesuai jadwal. Operasi baru boleh mulai setelah
+     * operasi sebelumnya di lane (user) yang sama dan di kursi yang sama
+     * selesai; dependency selalu ke operasi yang lebih awal, jadi tidak
+     * bisa deadlock, dan user lain tidak ikut tertahan.
+     */
+    private void dispatch(ExecutorService workers, long startNanos) throws InterruptedException {
+        Map<Integer, CompletableFuture<Void>> lanes = new HashMap<>();
+        Map<Integer, CompletableFuture<Void>> seats = new HashMap<>();
+        Semaphore inFlight = new Semaphore(config.maxInFlight);
+        boolean paced = !Double.isInfinite(config.speed);
+
+        List<CompletableFuture<?>> dependencies = new ArrayList<>();
+        for (Op op : trace.ops) {
+            long due = paced ? startNanos + (long) (op.offsetNanos / config.speed) : System.nanoTime();
+            if (paced) {
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+
+            dependencies.clear();
+            CompletableFuture<Void> lanePrevious = lanes.get(op.lane);
+            if (lanePrevious != null && !lanePrevious.isDone()) dependencies.add(lanePrevious);
+            for (int seatId : op.seatIds) {
+                CompletableFuture<Void> seatPrevious = seats.get(seatId);
+                if (seatPrevious != null && !seatPrevious.isDone() && seatPrevious != lanePrevious) {
+                    dependencies.add(seatPrevious);
+                }
+            }
+
+            long dueNanos = due;
+            Runnable task = () -> {
+                try {
+                    execute(op, dueNanos);
+                } finally {
+                    inFlight.release();
+                }
+            };
+            CompletableFuture<Void> future = dependencies.isEmpty()
+                    ? CompletableFuture.runAsync(task, workers)
+                    : CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0])).thenRunAsync(task, workers);
+
+            lanes.put(op.lane, future);
+            for (int seatId : op.seatIds) seats.put(seatId, future);
+        }
+        // Semua operasi selesai = semua permit kembali
+        inFlight.acquire(config.maxInFlight);
+    }
+
+    private void execute(Op op, long dueNanos) {
+        long start = System.nanoTime();
+        lagLatency.record(Math.max(0, start - dueNanos));
+        try {
+            boolean ok = config.path == ReplayPath.HOLD ? executeSeats(op) : executeEngine(op);
+            if (!ok) conflicts.increment();
+        } catch (RuntimeException e) {
+            errors.increment();
+            System.out.println("  ❌ Op user " + op.userId + " schedule " + op.scheduleId + ": " + e);
+        }
+        long end = System.nanoTime();
+        (op.book ? bookLatency : releaseLatency).record(end - start);
+        responseLatency.record(Math.max(0, end - dueNanos));
+        completed.increment();
+        seatEvents.add(op.seatIds.size());
+    }
+
+    private boolean executeSeats(Op op) {
+        List<Seat> seats = new ArrayList<>(op.seatIds.size());
+        for (int i = 0; i < op.seatIds.size(); i++) {
+            int seatId = op.seatIds.get(i);
+            seats.add(new Seat(seatId, op.scheduleId, op.seatNumbers.get(i), engine.isBooked(seatId)));
+        }
+
+        if (op.book) {
+            SeatHoldManager.Hold hold = Seat.holdSeats(seats, Math.max(op.userId, 0));
+            return hold != null && SeatHoldManager.getInstance().confirm(hold.getHoldId());
+        }
+        boolean released = true;
+        for (Seat seat : seats) released &= seat.releaseSeat();
+        return released;
+    }
+
+    private boolean executeEngine(Op op) {
+        if (op.book) return engine.bookAll(op.seatIds);
+        boolean released = true;
+        for (int seatId : op.seatIds) released &= engine.isBooked(seatId);
+        engine.releaseAll(op.seatIds);
+        return released;
+    }
+
+    // ========== VERIFIKASI ==========
+
+    /**
+     * Status akhir kursi harus sama dengan status akhir di trace
+     */
+    private boolean verify() {
+        int mismatches = 0;
+        for (Map.Entry<Integer, Boolean> entry : trace.finalState.entrySet()) {
+            if (engine.isBooked(entry.getKey()) != entry.getValue()) {
+                if (++mismatches <= 10) {
+                    System.out.println("  ❌ Seat " + entry.getKey() + ": booked=" + engine.isBooked(entry.getKey())
+                            + ", trace berakhir dengan booked=" + entry.getValue());
+                }
+            }
+        }
+        System.out.printf("%n  Seats checked: %,d | mismatches: %,d | conflicts: %,d | errors: %,d%n",
+                trace.finalState.size(), mismatches, conflicts.sum(), errors.sum());
+        boolean ok = mismatches == 0 && conflicts.sum() == 0 && errors.sum() == 0;
+        System.out.println(ok ? "\n✓ Replay matches trace end state."
+                : "\n❌ Replay diverged from trace");
+        return ok;
+    }
+
+    // ========== REPORT ==========
+
+    private void printProgress(long startNanos) {
+        double elapsed = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("  [%5.0f s] ops %,d / %,d | seat events %,d | lag p99 %.1f ms%n",
+                elapsed, completed.sum(), trace.ops.size(), seatEvents.sum(),
+                lagLatency.snapshot().getValueAtQuantile(0.99) / 1e6);
+    }
+
+    private void printReport(double seconds) {
+        long ops = completed.sum();
+        double traceRate = trace.spanSeconds == 0 ? 0 : trace.ops.size() / (double) trace.spanSeconds;
+
+        System.out.println("\n╔════════════════════════════════════════╗");
+        System.out.println("║  RESULT                               ║");
+        System.out.println("╚════════════════════════════════════════╝");
+        System.out.printf("  Duration    : %.1f s (trace span %,d s, effective speed %.1f×)%n",
+                seconds, trace.spanSeconds, trace.spanSeconds / seconds);
+        System.out.printf("  Operations  : %,d (%,.0f/s, trace %,.2f/s)%n", ops, ops / seconds, traceRate);
+        System.out.printf("  Seat events : %,d (%,.0f/s)%n", seatEvents.sum(), seatEvents.sum() / seconds);
+
+        System.out.println("\n  Latency (ms)        count       p50       p99     p99.9       max");
+        LoadGenerator.printLatency("book", bookLatency);
+        LoadGenerator.printLatency("release", releaseLatency);
+        LoadGenerator.printLatency("lag", lagLatency);
+        LoadGenerator.printLatency("response", responseLatency);
+
+        System.out.println("\n  Internal (ms)");
+        for (String name : new String[]{"hold.create", "seat.book", "seat.bookAll", "file.append",
+                "file.write", "file.lock.wait"}) {
+            Histogram histogram = MetricsRegistry.getHistograms().get(name);
+            if (histogram != null && histogram.getCount() > 0) LoadGenerator.printLatency(name, histogram);
+        }
+    }
+}
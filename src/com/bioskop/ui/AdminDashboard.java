@@ -1,7 +1,6 @@
 package com.bioskop.ui;
 
 import com.bioskop.model.*;
-import com.bioskop.observer.BookingObserver;
 import javax.swing.*;
 import javax.swing.table.*;
 import java.awt.*;
@@ -18,6 +17,7 @@ public class AdminDashboard extends JFrame {
     private User currentUser;
     private JPanel contentPanel;
     private JLabel welcomeLabel;
+    private IoTask<?> contentTask;
 
     public AdminDashboard(User user) {
         this.currentUser = user;
@@ -83,6 +83,8 @@ public class AdminDashboard extends JFrame {
         navPanel.add(createNavButton("📋 Booking Logs", e -> showBookingLogs()));
         navPanel.add(Box.createRigidArea(new Dimension(0, 10)));
         navPanel.add(createNavButton("👥 Manage Users", e -> showUsersPanel()));
+        navPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        navPanel.add(createNavButton("⚡ Performance", e -> showPerformancePanel()));
 
         // Content Panel
         contentPanel = new JPanel(new BorderLayout());
@@ -280,38 +282,54 @@ public class AdminDashboard extends JFrame {
         JLabel title = new JLabel("🎟️ All Bookings");
         title.setFont(new Font("Segoe UI", Font.BOLD, 24));
 
-        List<Booking> bookings = Booking.getAllBookings();
+        JLabel loadingLabel = new JLabel("Loading bookings...", SwingConstants.CENTER);
+        loadingLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        loadingLabel.setForeground(Color.GRAY);
+
+        panel.add(title, BorderLayout.NORTH);
+        panel.add(loadingLabel, BorderLayout.CENTER);
+
+        contentPanel.add(panel);
+        contentPanel.revalidate();
+        contentPanel.repaint();
+
+        // Load di thread I/O; batalkan load sebelumnya jika tombol diklik lagi
+        if (contentTask != null) contentTask.cancel(true);
+        contentTask = IoTask.<List<Booking>>run(task -> Booking.getAllBookings(), bookings -> {
+            // User sudah pindah ke menu lain
+            if (panel.getParent() != contentPanel) return;
+
+            panel.remove(loadingLabel);
+            panel.add(createBookingsList(bookings), BorderLayout.CENTER);
+            panel.revalidate();
+            panel.repaint();
+        }, error -> loadingLabel.setText("Failed to load bookings: " + error.getMessage()));
+    }
 
+    private JComponent createBookingsList(List<Booking> bookings) {
         if (bookings.isEmpty()) {
             JLabel emptyLabel = new JLabel("No bookings yet.", SwingConstants.CENTER);
             emptyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
             emptyLabel.setForeground(Color.GRAY);
-            panel.add(emptyLabel, BorderLayout.CENTER);
-        } else {
-            JPanel bookingsPanel = new JPanel();
-            bookingsPanel.setLayout(new BoxLayout(bookingsPanel, BoxLayout.Y_AXIS));
-            bookingsPanel.setBackground(Color.WHITE);
-
-            for (Booking booking : bookings) {
-                JTextArea receiptArea = new JTextArea(booking.getReceipt());
-                receiptArea.setFont(new Font("Courier New", Font.PLAIN, 11));
-                receiptArea.setEditable(false);
-                receiptArea.setBackground(new Color(250, 250, 250));
-                receiptArea.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1));
-
-                bookingsPanel.add(receiptArea);
-                bookingsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
-            }
-
-            JScrollPane scrollPane = new JScrollPane(bookingsPanel);
-            panel.add(scrollPane, BorderLayout.CENTER);
+            return emptyLabel;
         }
 
-        panel.add(title, BorderLayout.NORTH);
+        JPanel bookingsPanel = new JPanel();
+        bookingsPanel.setLayout(new BoxLayout(bookingsPanel, BoxLayout.Y_AXIS));
+        bookingsPanel.setBackground(Color.WHITE);
 
-        contentPanel.add(panel);
-        contentPanel.revalidate();
-        contentPanel.repaint();
+        for (Booking booking : bookings) {
+            JTextArea receiptArea = new JTextArea(booking.getReceipt());
+            receiptArea.setFont(new Font("Courier New", Font.PLAIN, 11));
+            receiptArea.setEditable(false);
+            receiptArea.setBackground(new Color(250, 250, 250));
+            receiptArea.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1));
+
+            bookingsPanel.add(receiptArea);
+            bookingsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        }
+
+        return new JScrollPane(bookingsPanel);
     }
 
     private void showBookingLogs() {
@@ -324,37 +342,32 @@ public class AdminDashboard extends JFrame {
         JLabel title = new JLabel("📋 Booking Activity Logs");
         title.setFont(new Font("Segoe UI", Font.BOLD, 24));
 
-        JTextArea logsArea = new JTextArea();
-        logsArea.setFont(new Font("Courier New", Font.PLAIN, 12));
-        logsArea.setEditable(false);
-
-        List<String> logs = BookingObserver.getAllLogs();
-
-        if (logs.isEmpty() || logs.size() == 1) {
-            logsArea.setText("No logs available.");
-        } else {
-            StringBuilder sb = new StringBuilder();
-            sb.append("BOOKING ACTIVITY LOGS\n");
-            sb.append("=" .repeat(80)).append("\n\n");
-
-            for (int i = 1; i < logs.size(); i++) {
-                String[] parts = logs.get(i).split("\\|");
-                if (parts.length >= 6) {
-                    sb.append(String.format("[%s] Observer: %s | User: %s | Seat: %s | Action: %s | Schedule: %s\n",
-                            parts[0], parts[1], parts[2], parts[3], parts[4], parts[5]));
-                }
-            }
+        // Viewer membaca log per page dan mengikuti baris baru (tail -f)
+        if (contentTask != null) contentTask.cancel(true);
 
-            sb.append("\n").append("=" .repeat(80));
-            sb.append(String.format("\nTotal logs: %d", logs.size() - 1));
+        panel.add(title, BorderLayout.NORTH);
+        panel.add(LogViewerPanel.forBookingLogs(), BorderLayout.CENTER);
 
-            logsArea.setText(sb.toString());
-        }
+        contentPanel.add(panel);
+        contentPanel.revalidate();
+        contentPanel.repaint();
+    }
 
-        JScrollPane scrollPane = new JScrollPane(logsArea);
+    private void showPerformancePanel() {
+        contentPanel.removeAll();
 
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBackground(Color.WHITE);
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JLabel title = new JLabel("⚡ Performance");
+        title.setFont(new Font("Segoe UI", Font.BOLD, 24));
+
+        if (contentTask != null) contentTask.cancel(true);
+
+        // Panel berhenti refresh sendiri saat diganti menu lain
         panel.add(title, BorderLayout.NORTH);
-        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(new MetricsPanel(), BorderLayout.CENTER);
 
         contentPanel.add(panel);
         contentPanel.revalidate();
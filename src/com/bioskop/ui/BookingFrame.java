@@ -3,9 +3,13 @@ package com.bioskop.ui;
 import javax.swing.*;
 import java.awt.*;
 import com.bioskop.model.Seat;
+import com.bioskop.util.Logger;
 import java.util.List;
 
 public class BookingFrame extends JFrame {
+
+    private static final Logger LOG = Logger.get(BookingFrame.class);
+
     private SeatSelectionPanel seatSelectionPanel;
     private int scheduleId;
     private String movieTitle;
@@ -117,7 +121,7 @@ public class BookingFrame extends JFrame {
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.warn("Look and feel not available: " + e.getMessage(), e);
         }
 
         // Test frame
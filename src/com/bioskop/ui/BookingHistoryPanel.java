@@ -2,6 +2,7 @@ package com.bioskop.ui;
 
 import com.bioskop.model.*;
 import com.bioskop.factory.*;
+import com.bioskop.util.Money;
 import javax.swing.*;
 import javax.swing.table.*;
 import java.awt.*;
@@ -19,6 +20,8 @@ public class BookingHistoryPanel extends JPanel {
     private User currentUser;
     private JPanel bookingsContainer;
     private JLabel statsLabel;
+    private JButton refreshBtn;
+    private IoTask<List<Booking>> loadTask;
 
     public BookingHistoryPanel(User user) {
         this.currentUser = user;
@@ -55,7 +58,7 @@ public class BookingHistoryPanel extends JPanel {
         titleContainer.add(statsLabel);
 
         // Refresh Button
-        JButton refreshBtn = new JButton("🔄 Refresh");
+        refreshBtn = new JButton("🔄 Refresh");
         refreshBtn.setFont(new Font("Segoe UI", Font.BOLD, 14));
         refreshBtn.setForeground(Color.WHITE);
         refreshBtn.setBackground(new Color(33, 150, 243));
@@ -84,9 +87,22 @@ public class BookingHistoryPanel extends JPanel {
      * Load bookings untuk current user
      */
     private void loadBookings() {
-        bookingsContainer.removeAll();
+        statsLabel.setText("Loading bookings...");
+        refreshBtn.setEnabled(false);
+
+        // Baca file di thread I/O, render di EDT
+        if (loadTask != null) loadTask.cancel(true);
+        loadTask = IoTask.run(task -> Booking.getBookingHistory(currentUser.getUserId()), bookings -> {
+            refreshBtn.setEnabled(true);
+            showBookings(bookings);
+        }, error -> {
+            refreshBtn.setEnabled(true);
+            statsLabel.setText("Failed to load bookings: " + error.getMessage());
+        });
+    }
 
-        List<Booking> bookings = Booking.getBookingHistory(currentUser.getUserId());
+    private void showBookings(List<Booking> bookings) {
+        bookingsContainer.removeAll();
 
         if (bookings.isEmpty()) {
             displayEmptyState();
@@ -381,6 +397,6 @@ public class BookingHistoryPanel extends JPanel {
      * Format price untuk display
      */
     private String formatPrice(double price) {
-        return String.format("Rp %,.0f", price);
+        return Money.formatRupiah(price);
     }
 }
\ No newline at end of file
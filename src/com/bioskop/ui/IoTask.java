@@ -0,0 +1,105 @@
+package com.bioskop.ui;
+
+import com.bioskop.util.IoExecutor;
+import com.bioskop.util.Logger;
+
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * IoTask - SwingWorker untuk load / save data tanpa memblokir EDT
+ *
+ * Pekerjaan dijalankan di {@link IoExecutor}, lalu callback sukses / error
+ * dipanggil di EDT. Task bisa dibatalkan dengan {@link #cancel(boolean)};
+ * callback tidak dipanggil untuk task yang dibatalkan. Progress (0-100)
+ * dilaporkan lewat {@link #reportProgress(int)} dan diterima di EDT.
+ *
+ * Contoh:
+ * <pre>
+ *   IoTask.run(task -> Booking.getAllBookings(), this::showBookings, this::showError);
+ * </pre>
+ *
+ * @param <T> tipe hasil
+ */
+public class IoTask<T> extends SwingWorker<T, Void> {
+
+    private static final Logger LOG = Logger.get(IoTask.class);
+
+    /**
+     * Pekerjaan di background. Cek task.isCancelled() di antara langkah panjang.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(IoTask<T> task) throws Exception;
+    }
+
+    private final Work<T> work;
+    private final Consumer<T> onSuccess;
+    private final Consumer<Exception> onError;
+
+    private IoTask(Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        this.work = work;
+        this.onSuccess = onSuccess;
+        this.onError = onError;
+    }
+
+    /**
+     * Jalankan task di thread I/O
+     *
+     * @param work pekerjaan di background
+     * @param onSuccess dipanggil di EDT dengan hasil
+     * @param onError dipanggil di EDT jika pekerjaan melempar exception
+     * @return task (untuk cancel / progress)
+     */
+    public static <T> IoTask<T> run(Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        IoTask<T> task = new IoTask<>(work, onSuccess, onError);
+        IoExecutor.executor().execute(task);
+        return task;
+    }
+
+    /**
+     * Daftarkan listener progress (dipanggil di EDT). Panggil dari EDT.
+     *
+     * @return this
+     */
+    public IoTask<T> onProgress(IntConsumer listener) {
+        addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                listener.accept((Integer) event.getNewValue());
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Laporkan progress dari thread background (0-100)
+     */
+    public void reportProgress(int percent) {
+        setProgress(Math.max(0, Math.min(100, percent)));
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        return work.run(this);
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) return;
+
+        try {
+            onSuccess.accept(get());
+        } catch (CancellationException e) {
+            // dibatalkan di antara isCancelled() dan get()
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            LOG.error("Background I/O failed: " + cause, cause);
+            onError.accept(cause instanceof Exception ? (Exception) cause : new Exception(cause));
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.bioskop.ui;
+
+import com.bioskop.observer.BookingObserver;
+import com.bioskop.storage.SegmentedLog;
+import com.bioskop.storage.SegmentedLogReader;
+import com.bioskop.util.RecordReader;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * LogViewerPanel - Viewer booking log yang tidak memuat seluruh log
+ *
+ * JList dengan model virtual: hanya page baris yang terlihat yang dibaca
+ * (lewat {@link SegmentedLogReader}), di thread I/O. Isinya segment
+ * terkompresi dari manifest lalu segment aktif, jadi riwayat tetap terlihat
+ * setelah rotasi. Tinggi cell tetap supaya JList tidak perlu menyentuh semua
+ * baris untuk menghitung ukuran.
+ *
+ * - Refresh / Follow: hanya baris baru yang di-index dan ditambahkan (tail -f);
+ *   rotasi tidak mengosongkan view karena nomor baris tidak bergeser
+ * - Filter: scan streaming semua segment, yang disimpan hanya nomor baris yang cocok
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class LogViewerPanel extends JPanel {
+
+    private static final int CACHED_PAGES = 64;
+    private static final int FOLLOW_INTERVAL_MS = 2000;
+    private static final String LOADING = "…";
+
+    private final SegmentedLogReader reader;
+    private final LogListModel model = new LogListModel();
+    private final JList<String> list = new JList<>(model);
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JTextField filterField = new JTextField(20);
+    private final JCheckBox followBox = new JCheckBox("Follow", true);
+    private final javax.swing.Timer followTimer;
+
+    // State di bawah ini hanya diakses dari EDT
+    private int totalLines;
+    private int segments;
+    private String filter = "";
+    private int[] matches = new int[0];
+    private int matchCount;
+    private long version;
+    private IoTask<?> refreshTask;
+    private IoTask<?> filterTask;
+    private final Set<Integer> pendingPages = new HashSet<>();
+    private final Map<Integer, List<String>> pages = new LinkedHashMap<Integer, List<String>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<String>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+
+    public LogViewerPanel(SegmentedLog log) {
+        super(new BorderLayout(0, 8));
+        this.reader = new SegmentedLogReader(log);
+        setBackground(Color.WHITE);
+
+        list.setFont(new Font("Courier New", Font.PLAIN, 12));
+        list.setPrototypeCellValue("[0000-00-00 00:00:00] Observer: ObserverName | User: 000 | Seat: A00 | Action: RELEASED | Schedule: 000");
+        list.setFixedCellHeight(list.getFontMetrics(list.getFont()).getHeight() + 2);
+
+        JButton refreshBtn = new JButton("🔄 Refresh");
+        refreshBtn.addActionListener(e -> refresh());
+        JButton filterBtn = new JButton("🔍 Filter");
+        filterBtn.addActionListener(e -> applyFilter(filterField.getText()));
+        filterField.addActionListener(e -> applyFilter(filterField.getText()));
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        toolbar.setBackground(Color.WHITE);
+        toolbar.add(new JLabel("Filter:"));
+        toolbar.add(filterField);
+        toolbar.add(filterBtn);
+        toolbar.add(refreshBtn);
+        followBox.setBackground(Color.WHITE);
+        toolbar.add(followBox);
+
+        add(toolbar, BorderLayout.NORTH);
+        add(new JScrollPane(list), BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+
+        followTimer = new javax.swing.Timer(FOLLOW_INTERVAL_MS, e -> {
+            if (followBox.isSelected()) refresh();
+        });
+    }
+
+    /**
+     * Panel untuk booking log (booking_logs.txt + segment booking_logs/) di folder data
+     */
+    public static LogViewerPanel forBookingLogs() {
+        return new LogViewerPanel(BookingObserver.getLogForTail());
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        followTimer.start();
+        refresh();
+    }
+
+    @Override
+    public void removeNotify() {
+        // Panel diganti (menu lain dipilih): hentikan tail dan task yang berjalan
+        followTimer.stop();
+        if (refreshTask != null) refreshTask.cancel(true);
+        if (filterTask != null) filterTask.cancel(true);
+        super.removeNotify();
+    }
+
+    // ========== TAIL ==========
+
+    /**
+     * Index baris baru; jika filter aktif, hanya baris baru yang di-scan
+     */
+    private void refresh() {
+        if (refreshTask != null && !refreshTask.isDone()) return;
+        if (filterTask != null && !filterTask.isDone()) return;
+
+        long requestVersion = version;
+        int known = totalLines;
+        int knownSegments = segments;
+        Predicate<RecordReader> activeFilter = filter.isEmpty() ? null : matcher(filter);
+
+        refreshTask = IoTask.<int[]>run(task -> {
+            int added = reader.refresh();
+            int lines = reader.lineCount();
+            int segmentCount = reader.segmentCount();
+            if (added >= 0 && lines == known && segmentCount == knownSegments) return null;
+            if (activeFilter == null) return new int[]{added, lines, segmentCount};
+
+            IntList found = new IntList();
+            reader.scan(added < 0 ? 0 : known, lines, activeFilter, found::add, task::isCancelled);
+            int[] result = new int[found.size + 3];
+            result[0] = added;
+            result[1] = lines;
+            result[2] = segmentCount;
+            System.arraycopy(found.values, 0, result, 3, found.size);
+            return result;
+        }, result -> {
+            if (result == null || requestVersion != version) return;
+            if (result[0] < 0) {
+                // Log di-clear atau segment tertua dihapus retensi: nomor baris bergeser, mulai ulang
+                resetView();
+            }
+            if (totalLines > 0) {
+                pages.remove((totalLines - 1) / SegmentedLogReader.PAGE_LINES); // page terakhir mungkin belum lengkap
+            }
+            totalLines = result[1];
+            segments = result[2];
+            for (int i = 3; i < result.length; i++) addMatch(result[i]);
+            model.sync(false);
+            updateStatus();
+            if (followBox.isSelected()) list.ensureIndexIsVisible(model.getSize() - 1);
+        }, this::showError);
+    }
+
+    // ========== FILTER ==========
+
+    private void applyFilter(String text) {
+        String query = text.trim();
+        if (refreshTask != null) refreshTask.cancel(true);
+        if (filterTask != null) filterTask.cancel(true);
+
+        version++;
+        filter = query;
+        matchCount = 0;
+        model.sync(true);
+
+        if (query.isEmpty()) {
+            updateStatus();
+            refresh();
+            return;
+        }
+
+        long requestVersion = version;
+        Predicate<RecordReader> activeFilter = matcher(query);
+        statusLabel.setText("Filtering…");
+
+        filterTask = IoTask.<IntList>run(task -> {
+            IntList found = new IntList();
+            found.truncated = reader.refresh() < 0;
+            reader.scan(0, reader.lineCount(), activeFilter, found::add, task::isCancelled);
+            found.total = reader.lineCount();
+            found.segments = reader.segmentCount();
+            return found;
+        }, found -> {
+            if (requestVersion != version) return;
+            if (found.truncated) pages.clear();
+            totalLines = found.total;
+            segments = found.segments;
+            matches = Arrays.copyOf(found.values, Math.max(found.size, 16));
+            matchCount = found.size;
+            model.sync(true);
+            updateStatus();
+        }, this::showError);
+    }
+
+    /**
+     * Cocokkan baris mentah tanpa memperhatikan huruf besar / kecil
+     */
+    private static Predicate<RecordReader> matcher(String query) {
+        String lower = query.toLowerCase(Locale.ROOT);
+        return record -> record.getLine().toLowerCase(Locale.ROOT).contains(lower);
+    }
+
+    private void addMatch(int line) {
+        if (matchCount == matches.length) {
+            matches = Arrays.copyOf(matches, Math.max(16, matchCount * 2));
+        }
+        matches[matchCount++] = line;
+    }
+
+    // ========== PAGING ==========
+
+    private int lineOf(int index) {
+        return filter.isEmpty() ? index : matches[index];
+    }
+
+    private String lineAt(int line) {
+        int page = line / SegmentedLogReader.PAGE_LINES;
+        List<String> cached = pages.get(page);
+        if (cached != null) {
+            int offset = line - page * SegmentedLogReader.PAGE_LINES;
+            if (offset < cached.size()) return cached.get(offset);
+            pages.remove(page); // page dibaca sebelum baris ini di-index
+        }
+        loadPage(page);
+        return LOADING;
+    }
+
+    private void loadPage(int page) {
+        if (!pendingPages.add(page)) return;
+        long requestVersion = version;
+
+        IoTask.<List<String>>run(task -> format(reader.readPage(page)), lines -> {
+            pendingPages.remove(page);
+            if (requestVersion != version) return;
+            pages.put(page, lines);
+            list.repaint();
+        }, e -> pendingPages.remove(page));
+    }
+
+    private static List<String> format(List<String> rawLines) {
+        RecordReader record = new RecordReader();
+        StringBuilder sb = new StringBuilder();
+        List<String> formatted = new ArrayList<>(rawLines.size());
+        for (String raw : rawLines) {
+            if (record.reset(raw).fieldCount() >= 6) {
+                sb.setLength(0);
+                formatted.add(BookingObserver.formatLogLine(record, sb).toString());
+            } else {
+                formatted.add(raw);
+            }
+        }
+        return formatted;
+    }
+
+    private void resetView() {
+        version++;
+        totalLines = 0;
+        matchCount = 0;
+        pages.clear();
+        model.sync(true);
+    }
+
+    private void updateStatus() {
+        statusLabel.setText(filter.isEmpty()
+                ? "Total logs: " + totalLines + " (" + segments + " archived segment(s))"
+                : "Showing " + matchCount + " of " + totalLines + " logs matching \"" + filter + "\"");
+    }
+
+    private void showError(Exception e) {
+        statusLabel.setText("❌ Failed to read logs: " + e.getMessage());
+    }
+
+    // ========== MODEL ==========
+
+    /**
+     * Model virtual: ukuran dari jumlah baris / match, isi diambil per page
+     */
+    private final class LogListModel extends AbstractListModel<String> {
+
+        @Override
+        public int getSize() {
+            return filter.isEmpty() ? totalLines : matchCount;
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return lineAt(lineOf(index));
+        }
+
+        private int reportedSize;
+
+        /**
+         * Beritahu JList perubahan ukuran
+         *
+         * @param replaced true jika isi lama diganti (filter baru / log di-clear),
+         *                 false jika hanya baris baru di akhir
+         */
+        void sync(boolean replaced) {
+            int oldSize = reportedSize;
+            int newSize = getSize();
+            reportedSize = newSize;
+
+            if (replaced || newSize < oldSize) {
+                if (oldSize > 0) fireIntervalRemoved(this, 0, oldSize - 1);
+                if (newSize > 0) fireIntervalAdded(this, 0, newSize - 1);
+            } else if (newSize > oldSize) {
+                fireIntervalAdded(this, oldSize, newSize - 1);
+            }
+        }
+    }
+
+    /**
+     * Array int yang bisa tumbuh, untuk nomor baris hasil filter
+     */
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+        int total;
+        int segments;
+        boolean truncated;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
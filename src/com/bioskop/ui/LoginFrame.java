@@ -1,6 +1,7 @@
 package com.bioskop.ui;
 
 import com.bioskop.model.User;
+import com.bioskop.util.Logger;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -13,6 +14,8 @@ import java.awt.event.*;
  */
 public class LoginFrame extends JFrame {
 
+    private static final Logger LOG = Logger.get(LoginFrame.class);
+
     private JTextField usernameField;
     private JPasswordField passwordField;
     private JTextField nameField;
@@ -281,7 +284,7 @@ public class LoginFrame extends JFrame {
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.warn("Look and feel not available: " + e.getMessage(), e);
         }
 
         SwingUtilities.invokeLater(() -> {
@@ -0,0 +1,187 @@
+package com.bioskop.ui;
+
+import com.bioskop.metrics.Counter;
+import com.bioskop.metrics.Gauge;
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MetricsPanel - Tab Performance: isi {@link MetricsRegistry} secara live
+ *
+ * Tabel latensi menampilkan persentil per interval refresh (selisih dua
+ * snapshot histogram), jadi lonjakan p99 saat rush langsung terlihat dan
+ * tidak tertutup rata-rata sejak aplikasi jalan. Centang "Since start"
+ * untuk melihat persentil kumulatif.
+ *
+ * Snapshot diambil di EDT: hanya membaca counter atomik, tanpa I/O.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class MetricsPanel extends JPanel {
+
+    private static final int REFRESH_INTERVAL_MS = 1000;
+
+    private final DefaultTableModel latencyModel = readOnlyModel(
+            "Operation", "Total", "Rate/s", "p50 (µs)", "p99 (µs)", "p99.9 (µs)", "Max (µs)");
+    private final DefaultTableModel valueModel = readOnlyModel("Metric", "Value", "Rate/s");
+    private final JCheckBox sinceStartBox = new JCheckBox("Since start");
+    private final JLabel statusLabel = new JLabel(" ");
+    private final javax.swing.Timer refreshTimer;
+
+    // State di bawah ini hanya diakses dari EDT
+    private final Map<String, Histogram.Snapshot> previousSnapshots = new HashMap<>();
+    private final Map<String, Long> previousCounts = new HashMap<>();
+    private long previousNanos;
+
+    public MetricsPanel() {
+        super(new BorderLayout(0, 8));
+        setBackground(Color.WHITE);
+
+        JButton resetBtn = new JButton("🔄 Reset Interval");
+        resetBtn.addActionListener(e -> {
+            previousSnapshots.clear();
+            previousCounts.clear();
+            refresh();
+        });
+        sinceStartBox.setBackground(Color.WHITE);
+        sinceStartBox.addActionListener(e -> refresh());
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        toolbar.setBackground(Color.WHITE);
+        toolbar.add(sinceStartBox);
+        toolbar.add(resetBtn);
+
+        JTable latencyTable = createTable(latencyModel);
+        JTable valueTable = createTable(valueModel);
+        JSplitPane tables = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+                titled("Latency", latencyTable), titled("Counters & Gauges", valueTable));
+        tables.setResizeWeight(0.6);
+        tables.setBorder(null);
+
+        add(toolbar, BorderLayout.NORTH);
+        add(tables, BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+
+        refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL_MS, e -> refresh());
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refresh();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        // Panel diganti (menu lain dipilih): berhenti polling registry
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+
+    // ========== REFRESH ==========
+
+    private void refresh() {
+        long now = System.nanoTime();
+        double seconds = previousNanos == 0 ? 0 : (now - previousNanos) / 1e9;
+        previousNanos = now;
+
+        int row = 0;
+        for (Histogram histogram : MetricsRegistry.getHistograms().values()) {
+            Histogram.Snapshot current = histogram.snapshot();
+            Histogram.Snapshot previous = previousSnapshots.put(histogram.getName(), current);
+            Histogram.Snapshot interval = previous == null ? current : current.minus(previous);
+            Histogram.Snapshot shown = sinceStartBox.isSelected() ? current : interval;
+
+            setRow(latencyModel, row++,
+                    histogram.getName(),
+                    current.getCount(),
+                    rate(previous == null ? 0 : interval.getCount(), seconds),
+                    micros(shown.getValueAtQuantile(0.50)),
+                    micros(shown.getValueAtQuantile(0.99)),
+                    micros(shown.getValueAtQuantile(0.999)),
+                    micros(shown.getMax()));
+        }
+        latencyModel.setRowCount(row);
+
+        row = 0;
+        for (Counter counter : MetricsRegistry.getCounters().values()) {
+            long count = counter.get();
+            Long previous = previousCounts.put(counter.getName(), count);
+            setRow(valueModel, row++, counter.getName(), count,
+                    rate(previous == null ? 0 : count - previous, seconds));
+        }
+        for (Map.Entry<String, Gauge> entry : MetricsRegistry.getGauges().entrySet()) {
+            double value = MetricsRegistry.readGauge(entry.getValue());
+            setRow(valueModel, row++, entry.getKey(), format(value), "");
+        }
+        valueModel.setRowCount(row);
+
+        statusLabel.setText(String.format("Uptime %.0f s | %s | refresh tiap %d ms",
+                MetricsRegistry.getUptimeSeconds(),
+                sinceStartBox.isSelected() ? "persentil sejak start" : "persentil per interval",
+                REFRESH_INTERVAL_MS));
+    }
+
+    /**
+     * Update baris di tempat supaya seleksi dan scroll tabel tidak hilang tiap refresh
+     */
+    private static void setRow(DefaultTableModel model, int row, Object... values) {
+        if (row >= model.getRowCount()) {
+            model.addRow(values);
+            return;
+        }
+        for (int column = 0; column < values.length; column++) {
+            if (!values[column].equals(model.getValueAt(row, column))) {
+                model.setValueAt(values[column], row, column);
+            }
+        }
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f", nanos / 1000.0);
+    }
+
+    private static String rate(long delta, double seconds) {
+        return seconds <= 0 ? "-" : String.format("%.1f", delta / seconds);
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) return "n/a";
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.2f", value);
+    }
+
+    // ========== KOMPONEN ==========
+
+    private static DefaultTableModel readOnlyModel(String... columns) {
+        return new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private static JTable createTable(DefaultTableModel model) {
+        JTable table = new JTable(model);
+        table.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        table.setRowHeight(26);
+        table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 13));
+        table.getTableHeader().setReorderingAllowed(false);
+        return table;
+    }
+
+    private static JComponent titled(String title, JTable table) {
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createTitledBorder(title));
+        scrollPane.setBackground(Color.WHITE);
+        return scrollPane;
+    }
+}
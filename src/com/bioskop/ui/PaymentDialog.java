@@ -1,26 +1,45 @@
 package com.bioskop.ui;
 
+import com.bioskop.manager.SeatHoldManager;
 import com.bioskop.model.*;
+import com.bioskop.util.Logger;
 import javax.swing.*;
 import java.awt.*;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.List;
 
 public class PaymentDialog extends JDialog {
 
+    private static final Logger LOG = Logger.get(PaymentDialog.class);
+
     private User currentUser;
     private Booking booking;
     private double totalPrice;
+    private SeatHoldManager.Hold hold;
     private boolean paymentSuccess = false;
 
     private JComboBox<String> paymentMethodCombo;
     private JTextArea summaryArea;
+    private JButton payButton;
+    private JButton cancelButton;
+    private JProgressBar progressBar;
 
     public PaymentDialog(Window parent, User user, Booking booking, double totalPrice) {
+        this(parent, user, booking, totalPrice, null);
+    }
+
+    /**
+     * @param hold hold kursi yang di-confirm saat pembayaran berhasil, boleh null
+     */
+    public PaymentDialog(Window parent, User user, Booking booking, double totalPrice, SeatHoldManager.Hold hold) {
         super(parent, "Pembayaran", ModalityType.APPLICATION_MODAL);
         this.currentUser = user;
         this.booking = booking;
         this.totalPrice = totalPrice;
+        this.hold = hold;
 
         initComponents();
         setLocationRelativeTo(parent);
@@ -96,12 +115,23 @@ public class PaymentDialog extends JDialog {
         paymentPanel.add(Box.createVerticalStrut(20));
         paymentPanel.add(totalLabel);
 
+        if (hold != null) {
+            String until = DateTimeFormatter.ofPattern("HH:mm:ss")
+                    .format(Instant.ofEpochMilli(hold.getExpiresAt()).atZone(ZoneId.systemDefault()));
+            JLabel holdLabel = new JLabel("Kursi di-hold sampai " + until);
+            holdLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            holdLabel.setForeground(new Color(244, 67, 54));
+            holdLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            paymentPanel.add(Box.createVerticalStrut(5));
+            paymentPanel.add(holdLabel);
+        }
+
         // Button Panel
         JPanel buttonPanel = new JPanel(new GridLayout(1, 2, 10, 0));
         buttonPanel.setBackground(Color.WHITE);
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 20, 20));
 
-        JButton cancelButton = new JButton("Batal");
+        cancelButton = new JButton("Batal");
         cancelButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
         cancelButton.setBackground(new Color(244, 67, 54));
         cancelButton.setForeground(Color.WHITE);
@@ -117,7 +147,7 @@ public class PaymentDialog extends JDialog {
             }
         });
 
-        JButton payButton = new JButton("Bayar Sekarang");
+        payButton = new JButton("Bayar Sekarang");
         payButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
         payButton.setBackground(new Color(76, 175, 80));
         payButton.setForeground(Color.WHITE);
@@ -133,6 +163,11 @@ public class PaymentDialog extends JDialog {
         JPanel centerPanel = new JPanel(new BorderLayout());
         centerPanel.add(summaryPanel, BorderLayout.NORTH);
         centerPanel.add(paymentPanel, BorderLayout.CENTER);
+
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        centerPanel.add(progressBar, BorderLayout.SOUTH);
         add(centerPanel, BorderLayout.CENTER);
 
         add(buttonPanel, BorderLayout.SOUTH);
@@ -148,98 +183,94 @@ public class PaymentDialog extends JDialog {
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
+            setProcessing(true);
+
+            // Simulasi proses pembayaran + simpan booking di thread I/O, bukan di EDT
+            IoTask.<Boolean>run(task -> {
+                for (int step = 1; step <= 10; step++) {
+                    Thread.sleep(150);
+                    task.reportProgress(step * 5);
+                }
 
+                // Hold -> penjualan; gagal jika TTL hold sudah habis
+                if (hold != null && !SeatHoldManager.getInstance().confirm(hold.getHoldId())) {
+                    throw new IllegalStateException("Waktu hold kursi sudah habis, silakan pilih kursi kembali.");
+                }
 
-            // Simulate delay
-            new Thread(() -> {
-                try {
-                    Thread.sleep(1500);
-                    SwingUtilities.invokeLater(() -> {
-
-                        // Save booking with payment info
-                        boolean saved = saveBookingToFile(paymentMethod);
-
-                        if (saved) {
-                            paymentSuccess = true;
-
-                            JOptionPane.showMessageDialog(this,
-                                    "Pembayaran Berhasil!\n\n" +
-                                            "Metode: " + paymentMethod + "\n" +
-                                            "Total: Rp " + String.format("%,.0f", totalPrice) + "\n\n" +
-                                            "Booking telah disimpan.\nTerima kasih!",
-                                    "Sukses",
-                                    JOptionPane.INFORMATION_MESSAGE);
-
-                            dispose();
-                        } else {
-                            JOptionPane.showMessageDialog(this,
-                                    "Gagal menyimpan booking!",
-                                    "Error",
-                                    JOptionPane.ERROR_MESSAGE);
-                        }
-                    });
-                } catch (InterruptedException ex) {
-                    ex.printStackTrace();
+                // Save booking with payment info
+                boolean saved = saveBookingToFile(paymentMethod);
+                task.reportProgress(100);
+                return saved;
+            }, saved -> {
+                setProcessing(false);
+
+                if (saved) {
+                    paymentSuccess = true;
+
+                    JOptionPane.showMessageDialog(this,
+                            "Pembayaran Berhasil!\n\n" +
+                                    "Metode: " + paymentMethod + "\n" +
+                                    "Total: Rp " + String.format("%,.0f", totalPrice) + "\n\n" +
+                                    "Booking telah disimpan.\nTerima kasih!",
+                            "Sukses",
+                            JOptionPane.INFORMATION_MESSAGE);
+
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Gagal menyimpan booking!",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
                 }
-            }).start();
+            }, error -> {
+                setProcessing(false);
+                JOptionPane.showMessageDialog(this,
+                        "Gagal menyimpan booking!\n" + error.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            }).onProgress(progressBar::setValue);
         }
     }
 
+    /**
+     * Kunci dialog selama pembayaran diproses supaya booking tidak tersimpan setengah jalan
+     */
+    private void setProcessing(boolean processing) {
+        payButton.setEnabled(!processing);
+        cancelButton.setEnabled(!processing);
+        paymentMethodCombo.setEnabled(!processing);
+        payButton.setText(processing ? "Memproses..." : "Bayar Sekarang");
+        progressBar.setValue(0);
+        progressBar.setVisible(processing);
+        setDefaultCloseOperation(processing ? DO_NOTHING_ON_CLOSE : HIDE_ON_CLOSE);
+        revalidate();
+    }
+
 
     private boolean saveBookingToFile(String paymentMethod) {
         try {
-            System.out.println("\n=== SAVING BOOKING ===");
-            System.out.println("User ID: " + currentUser.getUserId());
-            System.out.println("Schedule ID: " + booking.getScheduleId());
-            System.out.println("Total Price: " + totalPrice);
-            System.out.println("Payment Method: " + paymentMethod);
-            System.out.println("Tickets count: " + booking.getTickets().size());
+            LOG.debug(() -> "Saving booking: user " + currentUser.getUserId()
+                    + ", schedule " + booking.getScheduleId()
+                    + ", total " + totalPrice
+                    + ", payment " + paymentMethod
+                    + ", tickets " + booking.getTickets().size());
 
             // ⭐ LANGSUNG GUNAKAN METHOD saveBooking() YANG SUDAH ADA!
             boolean saved = booking.saveBooking();
 
             if (saved) {
-                System.out.println("✅ Booking saved successfully!");
-                System.out.println("Booking ID: " + booking.getBookingId());
-                System.out.println("======================\n");
+                LOG.debug(() -> "✅ Booking saved successfully! ID: " + booking.getBookingId());
                 return true;
             } else {
-                System.err.println("❌ Failed to save booking!");
+                LOG.error("❌ Failed to save booking!");
                 return false;
             }
 
         } catch (Exception e) {
-            System.err.println("❌ Error saving booking: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Error saving booking: " + e.getMessage(), e);
             return false;
         }
     }
-    /**
-     * Generate unique ticket ID
-     */
-    private int generateUniqueTicketId() {
-        try {
-            List<String> lines = com.bioskop.util.FileManager.readFile("tickets.txt");
-
-            int maxId = 0;
-            for (String line : lines) {
-                if (line.contains("ticketId|")) continue;
-
-                String[] parts = line.split("\\|");
-                if (parts.length > 0) {
-                    try {
-                        int id = Integer.parseInt(parts[0].trim());
-                        if (id > maxId) maxId = id;
-                    } catch (NumberFormatException ignored) {}
-                }
-            }
-
-            return maxId + 1;
-
-        } catch (Exception e) {
-            return (int)(System.currentTimeMillis() % 100000);
-        }
-    }
 
     public boolean isPaymentSuccess() {
         return paymentSuccess;
@@ -2,8 +2,14 @@ package com.bioskop.ui;
 
 import com.bioskop.model.*;
 import com.bioskop.manager.BookingManager;
+import com.bioskop.manager.SeatAllocator;
+import com.bioskop.manager.SeatHoldManager;
 import com.bioskop.observer.BookingObserver;
+import com.bioskop.observer.SeatObserver;
 import com.bioskop.factory.TicketFactory;
+import com.bioskop.repository.SeatStore;
+import com.bioskop.util.IoExecutor;
+import com.bioskop.util.Logger;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -16,6 +22,8 @@ import java.util.List;
  */
 public class SeatSelectionDialog extends JDialog {
 
+    private static final Logger LOG = Logger.get(SeatSelectionDialog.class);
+
     private User currentUser;
     private int scheduleId;
     private Schedule schedule;
@@ -33,6 +41,8 @@ public class SeatSelectionDialog extends JDialog {
     private static final Color COLOR_BOOKED = new Color(158, 158, 158); // Gray
 
     private JPanel seatMapPanel;
+    private JScrollPane seatScrollPane;
+    private JLabel titleLabel;
     private JLabel infoLabel;
     private JLabel priceLabel;
     private JLabel selectedLabel;
@@ -48,104 +58,70 @@ public class SeatSelectionDialog extends JDialog {
         this.selectedSeats = new HashSet<>();
         this.seatButtonMap = new HashMap<>();
 
-        System.out.println("\n=== SEAT SELECTION DIALOG INIT ===");
-        System.out.println("User: " + user.getName());
-        System.out.println("Schedule ID: " + scheduleId);
+        LOG.debug(() -> "Seat selection dialog: user " + user.getName() + ", schedule " + scheduleId);
 
-        loadData();
         initComponents();
         setLocationRelativeTo(parent);
+        loadData();
     }
 
+    /**
+     * Baca schedule dan kursi (dan generate kursi default jika perlu) di thread I/O,
+     * lalu isi grid kursi di EDT
+     */
     private void loadData() {
-        System.out.println("\n--- Loading Data ---");
-
-        // Load schedule
-        schedule = Schedule.getScheduleById(scheduleId);
-        System.out.println("Schedule loaded: " + (schedule != null ? "YES" : "NO"));
-
-        if (schedule != null) {
-            movie = Movie.getMovieById(schedule.getMovieId());
-            System.out.println("Movie loaded: " + (movie != null ? movie.getTitle() : "NO"));
-        }
+        IoTask.<SeatData>run(task -> {
+            SeatData data = new SeatData();
+            data.schedule = Schedule.getScheduleById(scheduleId);
+            if (data.schedule != null) {
+                data.movie = Movie.getMovieById(data.schedule.getMovieId());
+            }
 
-        // Try to load seats from file
-        allSeats = loadSeatsFromFile(scheduleId);
+            // Try to load seats from file
+            data.seats = loadSeatsFromFile(scheduleId);
 
-        // If no seats found, generate default seats
-        if (allSeats == null || allSeats.isEmpty()) {
-            System.out.println("⚠️ No seats found in file, generating default seats...");
-            allSeats = generateDefaultSeats(scheduleId);
-        }
+            // If no seats found, generate default seats
+            if (data.seats == null || data.seats.isEmpty()) {
+                LOG.warn("⚠️ No seats found in file, generating default seats...");
+                data.seats = generateDefaultSeats(scheduleId);
+            }
 
-        System.out.println("Total seats available: " + allSeats.size());
-        if (!allSeats.isEmpty()) {
-            System.out.println("First seat: " + allSeats.get(0).getSeatNumber());
-            System.out.println("Last seat: " + allSeats.get(allSeats.size()-1).getSeatNumber());
-        }
-        System.out.println("--- Data Loading Complete ---\n");
+            List<Seat> seats = data.seats;
+            LOG.debug(() -> "Loaded schedule " + scheduleId
+                    + ": movie " + (data.movie != null ? data.movie.getTitle() : "-")
+                    + ", " + seats.size() + " seats"
+                    + (seats.isEmpty() ? "" : " (" + seats.get(0).getSeatNumber()
+                            + " - " + seats.get(seats.size() - 1).getSeatNumber() + ")"));
+            return data;
+        }, data -> {
+            schedule = data.schedule;
+            movie = data.movie;
+            allSeats = data.seats;
+            updateTitle();
+            showSeatMap(createSeatMapPanel());
+        }, error -> {
+            LOG.error("✗ Error loading seats: " + error.getMessage(), error);
+            allSeats = new ArrayList<>();
+            updateTitle();
+            showSeatMap(createMessagePanel("Gagal memuat kursi: " + error.getMessage()));
+        });
     }
 
     /**
-     * Load seats from file
+     * Load seats from file (lewat index per schedule di SeatStore)
      */
     private List<Seat> loadSeatsFromFile(int scheduleId) {
-        List<Seat> seats = new ArrayList<>();
-
         try {
-            // Try using the Seat model method first
-            List<Seat> modelSeats = Seat.getSeatsBySchedule(scheduleId);
-            if (modelSeats != null && !modelSeats.isEmpty()) {
-                System.out.println("✓ Loaded " + modelSeats.size() + " seats from Seat.getSeatsBySchedule()");
-                return modelSeats;
-            }
-
-            // If that fails, try manual reading
-            List<String> lines = com.bioskop.util.FileManager.readFile("seats.txt");
-            System.out.println("Reading seats.txt manually...");
-            System.out.println("Total lines in seats.txt: " + lines.size());
-
-            boolean skipHeader = true;
-            for (String line : lines) {
-                line = line.trim();
-
-                if (line.isEmpty()) continue;
-
-                // Skip header
-                if (skipHeader && line.toLowerCase().contains("seatid")) {
-                    skipHeader = false;
-                    continue;
-                }
-
-                String[] parts = line.split("\\|");
-                if (parts.length >= 4) {
-                    try {
-                        int seatId = Integer.parseInt(parts[0].trim());
-                        int sId = Integer.parseInt(parts[1].trim());
-                        String seatNumber = parts[2].trim();
-                        boolean isBooked = Boolean.parseBoolean(parts[3].trim());
-
-                        if (sId == scheduleId) {
-                            seats.add(new Seat(seatId, sId, seatNumber, isBooked));
-                        }
-                    } catch (NumberFormatException e) {
-                        System.err.println("Error parsing line: " + line);
-                    }
-                }
-            }
-
-            System.out.println("✓ Manually loaded " + seats.size() + " seats for schedule " + scheduleId);
-
+            return Seat.getSeatsBySchedule(scheduleId);
         } catch (Exception e) {
-            System.err.println("✗ Error loading seats from file: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("✗ Error loading seats from file: " + e.getMessage(), e);
+            return new ArrayList<>();
         }
-
-        return seats;
     }
 
     /**
-     * Generate default seats if file is empty
+     * Generate default seats if file is empty.
+     * Layout disimpan ke seats.txt supaya booking pada kursi ini ikut tercatat.
      */
     private List<Seat> generateDefaultSeats(int scheduleId) {
         List<Seat> seats = new ArrayList<>();
@@ -158,14 +134,13 @@ public class SeatSelectionDialog extends JDialog {
             for (int col = 1; col <= columns; col++) {
                 String seatNumber = row + String.valueOf(col);
 
-                // Randomly mark some as booked for demo (10% chance)
-                boolean isBooked = Math.random() < 0.1;
-
-                seats.add(new Seat(seatId++, scheduleId, seatNumber, isBooked));
+                seats.add(new Seat(seatId++, scheduleId, seatNumber, false));
             }
         }
 
-        System.out.println("✓ Generated " + seats.size() + " default seats");
+        SeatStore.getInstance().addSeats(seats);
+
+        LOG.info("✓ Generated " + seats.size() + " default seats");
         return seats;
     }
 
@@ -178,12 +153,9 @@ public class SeatSelectionDialog extends JDialog {
         topPanel.setBackground(new Color(33, 33, 33));
         topPanel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
 
-        String movieInfo = movie != null ? movie.getTitle() : "Unknown Movie";
-        String scheduleInfo = schedule != null ? schedule.getInfo() : "";
-
-        JLabel titleLabel = new JLabel("<html><b style='font-size:16px'>" + movieInfo + "</b><br>" +
-                "<span style='font-size:12px'>" + scheduleInfo + "</span></html>");
+        titleLabel = new JLabel();
         titleLabel.setForeground(Color.WHITE);
+        updateTitle();
 
         topPanel.add(titleLabel, BorderLayout.CENTER);
 
@@ -203,12 +175,11 @@ public class SeatSelectionDialog extends JDialog {
         screenLabel.setForeground(Color.WHITE);
         screenPanel.add(screenLabel);
 
-        // Seat Map
-        seatMapPanel = createSeatMapPanel();
-
-        JScrollPane scrollPane = new JScrollPane(seatMapPanel);
-        scrollPane.setBorder(null);
-        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        // Seat Map (diisi setelah data selesai dimuat)
+        seatScrollPane = new JScrollPane();
+        seatScrollPane.setBorder(null);
+        seatScrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        showSeatMap(createMessagePanel("Memuat kursi..."));
 
         // Legend
         JPanel legendPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 5));
@@ -219,7 +190,7 @@ public class SeatSelectionDialog extends JDialog {
         legendPanel.add(createLegendItem("Terpesan", COLOR_BOOKED));
 
         centerPanel.add(screenPanel, BorderLayout.NORTH);
-        centerPanel.add(scrollPane, BorderLayout.CENTER);
+        centerPanel.add(seatScrollPane, BorderLayout.CENTER);
         centerPanel.add(legendPanel, BorderLayout.SOUTH);
 
         // Bottom Panel
@@ -230,21 +201,43 @@ public class SeatSelectionDialog extends JDialog {
         add(bottomPanel, BorderLayout.SOUTH);
     }
 
-    private JPanel createSeatMapPanel() {
-        JPanel panel = new JPanel();
+    private void updateTitle() {
+        // allSeats masih null selama data dimuat
+        String movieInfo = movie != null ? movie.getTitle() : allSeats != null ? "Unknown Movie" : "Memuat...";
+        String scheduleInfo = schedule != null ? schedule.getInfo() : "";
+
+        titleLabel.setText("<html><b style='font-size:16px'>" + movieInfo + "</b><br>" +
+                "<span style='font-size:12px'>" + scheduleInfo + "</span></html>");
+    }
+
+    private void showSeatMap(JPanel panel) {
+        seatMapPanel = panel;
+        seatScrollPane.setViewportView(panel);
+        seatScrollPane.revalidate();
+        seatScrollPane.repaint();
+    }
+
+    private JPanel createMessagePanel(String message) {
+        JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(Color.WHITE);
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
+        JLabel messageLabel = new JLabel(message);
+        messageLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        messageLabel.setForeground(Color.GRAY);
+        messageLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        panel.add(messageLabel, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private JPanel createSeatMapPanel() {
         if (allSeats == null || allSeats.isEmpty()) {
-            panel.setLayout(new BorderLayout());
-            JLabel noSeatsLabel = new JLabel("Tidak ada kursi tersedia untuk jadwal ini");
-            noSeatsLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
-            noSeatsLabel.setForeground(Color.GRAY);
-            noSeatsLabel.setHorizontalAlignment(SwingConstants.CENTER);
-            panel.add(noSeatsLabel, BorderLayout.CENTER);
-            return panel;
+            return createMessagePanel("Tidak ada kursi tersedia untuk jadwal ini");
         }
 
+        JPanel panel = new JPanel();
+        panel.setBackground(Color.WHITE);
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         panel.setLayout(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(4, 4, 4, 4);
@@ -360,6 +353,36 @@ public class SeatSelectionDialog extends JDialog {
         updateUI();
     }
 
+    /**
+     * Ganti pilihan dengan count kursi terbaik dari SeatAllocator
+     */
+    private void selectBestSeats(int count) {
+        SeatAllocator.Allocation allocation = SeatAllocator.getInstance().findBest(scheduleId, count);
+        if (allocation == null) {
+            JOptionPane.showMessageDialog(this,
+                    "Tidak ada " + count + " kursi kosong untuk jadwal ini.",
+                    "Kursi Terbaik",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        clearAllSeats();
+        Set<Integer> bestIds = new HashSet<>(allocation.getSeatIds());
+        for (Map.Entry<Seat, JButton> entry : seatButtonMap.entrySet()) {
+            Seat seat = entry.getKey();
+            if (bestIds.contains(seat.getSeatId()) && !seat.isBooked()) {
+                selectedSeats.add(seat);
+                entry.getValue().setBackground(COLOR_SELECTED);
+            }
+        }
+        updateUI();
+
+        if (!allocation.isContiguous()) {
+            infoLabel.setText("Tidak ada " + count + " kursi berdampingan, dipecah menjadi "
+                    + allocation.getGroups() + " grup: " + allocation);
+        }
+    }
+
     private JPanel createBottomPanel() {
         JPanel bottomPanel = new JPanel(new BorderLayout(10, 10));
         bottomPanel.setBackground(Color.WHITE);
@@ -392,6 +415,19 @@ public class SeatSelectionDialog extends JDialog {
         typePanel.add(typeLabel);
         typePanel.add(ticketTypeCombo);
 
+        // Pilih otomatis N kursi terbaik (berdampingan jika ada)
+        JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(2, 1, 20, 1));
+        countSpinner.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        JButton bestButton = new JButton("⭐ Kursi Terbaik");
+        bestButton.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        bestButton.setFocusPainted(false);
+        bestButton.addActionListener(e -> selectBestSeats((Integer) countSpinner.getValue()));
+
+        typePanel.add(Box.createHorizontalStrut(20));
+        typePanel.add(new JLabel("Jumlah:"));
+        typePanel.add(countSpinner);
+        typePanel.add(bestButton);
+
         priceLabel = new JLabel("Total: Rp 0");
         priceLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
         priceLabel.setForeground(new Color(33, 150, 243));
@@ -526,64 +562,128 @@ public class SeatSelectionDialog extends JDialog {
     }
 
     private void processBooking() {
-        try {
-            Booking booking = new Booking(currentUser.getUserId(), scheduleId);
-
-            double basePrice = schedule.calculateFinalPrice();
-            double multiplier = TicketFactory.getTypeMultiplier(selectedTicketType);
-            double pricePerSeat = basePrice * multiplier;
-            double totalPrice = pricePerSeat * selectedSeats.size();
-
-            List<Seat> bookedSeats = new ArrayList<>();
+        double basePrice = schedule.calculateFinalPrice();
+        double multiplier = TicketFactory.getTypeMultiplier(selectedTicketType);
+        double pricePerSeat = basePrice * multiplier;
+        double totalPrice = pricePerSeat * selectedSeats.size();
 
-            for (Seat seat : selectedSeats) {
-                BookingObserver userObserver = new BookingObserver(
-                        "User-" + currentUser.getUserId() + "-Observer",
-                        currentUser.getUserId()
-                );
+        List<Seat> bookedSeats = new ArrayList<>(selectedSeats);
 
-                seat.addObserver(userObserver);
-                boolean seatBooked = seat.bookSeat();
+        // Satu observer untuk booking ini; langganan per kursi dilepas lagi
+        // setelah booking selesai (berhasil, gagal, atau hold dilepas)
+        BookingObserver userObserver = new BookingObserver(
+                "User-" + currentUser.getUserId() + "-Observer",
+                currentUser.getUserId()
+        );
+        for (Seat seat : bookedSeats) {
+            seat.addObserver(userObserver);
+        }
+        setBookingInProgress(true);
+
+        // Hold kursi (tulis ke disk) di thread I/O, bukan di EDT. Kursi dilepas
+        // otomatis jika pembayaran tidak selesai sebelum TTL hold habis.
+        IoTask.<HeldBooking>run(task -> {
+            // All-or-nothing: gagal jika ada kursi yang sudah diambil terminal lain
+            SeatHoldManager.Hold hold = Seat.holdSeats(bookedSeats, currentUser.getUserId());
+            if (hold == null) return null;
+            return new HeldBooking(hold, new Booking(currentUser.getUserId(), scheduleId));
+        }, held -> {
+            setBookingInProgress(false);
+
+            if (held == null) {
+                removeObserver(userObserver, bookedSeats);
+                List<String> taken = new ArrayList<>();
+                for (Seat seat : bookedSeats) {
+                    if (seat.isBooked()) taken.add(seat.getSeatNumber());
+                }
+                Collections.sort(taken);
 
-                if (!seatBooked) {
-                    for (Seat booked : bookedSeats) {
-                        booked.releaseSeat();
-                    }
+                JOptionPane.showMessageDialog(this,
+                        "Gagal booking kursi " + String.join(", ", taken) + "!",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
-                    JOptionPane.showMessageDialog(this,
-                            "Gagal booking kursi " + seat.getSeatNumber() + "!",
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
+            SeatHoldManager.Hold hold = held.hold;
+            Booking booking = held.booking;
+            if (!isDisplayable()) {
+                // Dialog ditutup selama reservasi berjalan
+                releaseInBackground(hold, bookedSeats, userObserver);
+                return;
+            }
 
-                bookedSeats.add(seat);
+            for (Seat seat : bookedSeats) {
                 booking.addTicket(selectedTicketType, seat.getSeatNumber(), pricePerSeat);
             }
 
             // Open Payment Dialog
-            PaymentDialog paymentDialog = new PaymentDialog(this, currentUser, booking, totalPrice);
+            PaymentDialog paymentDialog = new PaymentDialog(this, currentUser, booking, totalPrice, hold);
             paymentDialog.setVisible(true);
 
             if (paymentDialog.isPaymentSuccess()) {
+                removeObserver(userObserver, bookedSeats);
                 bookingComplete = true;
                 dispose();
             } else {
-                for (Seat seat : bookedSeats) {
-                    seat.releaseSeat();
-                }
+                releaseInBackground(hold, bookedSeats, userObserver);
             }
-
-        } catch (Exception e) {
+        }, error -> {
+            removeObserver(userObserver, bookedSeats);
+            setBookingInProgress(false);
             JOptionPane.showMessageDialog(this,
-                    "Error: " + e.getMessage(),
+                    "Error: " + error.getMessage(),
                     "Error",
                     JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+            LOG.error("Booking failed: " + error.getMessage(), error);
+        });
+    }
+
+    private static void releaseInBackground(SeatHoldManager.Hold hold, List<Seat> seats, SeatObserver observer) {
+        // Hold yang sudah expired tidak dilepas lagi: kursinya mungkin sudah milik orang lain.
+        // Observer dilepas setelah event RELEASED dipublish supaya masih tercatat.
+        IoExecutor.runAsync(() -> {
+            Seat.releaseHold(hold, seats);
+            removeObserver(observer, seats);
+        });
+    }
+
+    private static void removeObserver(SeatObserver observer, List<Seat> seats) {
+        for (Seat seat : seats) {
+            seat.removeObserver(observer);
         }
     }
 
+    private void setBookingInProgress(boolean inProgress) {
+        confirmButton.setEnabled(!inProgress && !selectedSeats.isEmpty());
+        clearButton.setEnabled(!inProgress);
+        confirmButton.setText(inProgress ? "Memproses..." : "Konfirmasi Booking");
+        setCursor(inProgress ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
     public boolean isBookingComplete() {
         return bookingComplete;
     }
+
+    /**
+     * Hasil load di thread I/O: schedule, film, dan kursi untuk grid
+     */
+    private static final class SeatData {
+        Schedule schedule;
+        Movie movie;
+        List<Seat> seats;
+    }
+
+    /**
+     * Hasil reservasi di thread I/O: hold kursi + booking yang belum disimpan
+     */
+    private static final class HeldBooking {
+        final SeatHoldManager.Hold hold;
+        final Booking booking;
+
+        HeldBooking(SeatHoldManager.Hold hold, Booking booking) {
+            this.hold = hold;
+            this.booking = booking;
+        }
+    }
 }
\ No newline at end of file
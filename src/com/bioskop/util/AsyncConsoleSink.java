@@ -0,0 +1,179 @@
+package com.bioskop.util;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncConsoleSink - Sink default {@link Logger}: console, ditulis di background
+ *
+ * Thread pemanggil hanya memasukkan entry ke {@link MpscRing}; satu thread
+ * "bioskop-console-log" menggabungkan semua entry yang ada menjadi satu
+ * print per stream, jadi lock console diambil sekali per batch, bukan per baris.
+ * ERROR ke System.err, level lain ke System.out.
+ *
+ * Jika buffer penuh, WARN / ERROR menunggu sebentar; level lain dibuang dan
+ * jumlahnya dilaporkan di console.
+ *
+ * Konfigurasi lewat system property:
+ * - bioskop.logging.capacity (default 8192)
+ * - bioskop.logging.format   (plain | full, default plain: hanya pesan)
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public final class AsyncConsoleSink implements Logger.Sink {
+
+    private static final int MAX_BATCH = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    /**
+     * Satu baris log yang menunggu ditulis
+     */
+    private static final class Entry {
+        final Logger.Level level;
+        final String logger;
+        final String message;
+        final Throwable error;
+        final String thread;
+        final LocalTime time;
+
+        Entry(Logger.Level level, String logger, String message, Throwable error, boolean full) {
+            this.level = level;
+            this.logger = logger;
+            this.message = message;
+            this.error = error;
+            this.thread = full ? Thread.currentThread().getName() : null;
+            this.time = full ? LocalTime.now() : null;
+        }
+    }
+
+    private final MpscRing<Entry> ring;
+    private final boolean fullFormat;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final Thread writer;
+    private volatile boolean writerParked;
+    private volatile long written;
+    private final AtomicLong dropped = new AtomicLong();
+    private long reportedDropped;
+
+    public static AsyncConsoleSink create() {
+        return new AsyncConsoleSink(Integer.getInteger("bioskop.logging.capacity", 8192),
+                "full".equalsIgnoreCase(System.getProperty("bioskop.logging.format")),
+                System.out, System.err);
+    }
+
+    public AsyncConsoleSink(int capacity, boolean fullFormat, PrintStream out, PrintStream err) {
+        this.ring = new MpscRing<>(capacity);
+        this.fullFormat = fullFormat;
+        this.out = out;
+        this.err = err;
+
+        writer = new Thread(this::runWriter, "bioskop-console-log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "bioskop-console-log-shutdown"));
+    }
+
+    @Override
+    public void write(Logger.Level level, String logger, String message, Throwable error) {
+        Entry entry = new Entry(level, logger, message, error, fullFormat);
+        if (!ring.offer(entry)) {
+            long deadline = System.nanoTime() + BLOCK_NANOS;
+            do {
+                if (level.ordinal() < Logger.Level.WARN.ordinal() || System.nanoTime() > deadline) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(50_000);
+            } while (!ring.offer(entry));
+        }
+        if (writerParked) LockSupport.unpark(writer);
+    }
+
+    // ========== WRITER ==========
+
+    private void runWriter() {
+        StringBuilder outBuffer = new StringBuilder(4096);
+        StringBuilder errBuffer = new StringBuilder(1024);
+        while (true) {
+            Entry entry;
+            int count = 0;
+            while (count < MAX_BATCH && (entry = ring.poll()) != null) {
+                // Jaga urutan antar stream: tulis buffer lain dulu sebelum pindah stream
+                boolean toErr = entry.level == Logger.Level.ERROR;
+                if (toErr && outBuffer.length() > 0) print(out, outBuffer);
+                if (!toErr && errBuffer.length() > 0) print(err, errBuffer);
+                format(entry, toErr ? errBuffer : outBuffer);
+                count++;
+            }
+
+            long lost = dropped.get();
+            if (lost != reportedDropped) {
+                outBuffer.append("⚠ ").append(lost - reportedDropped).append(" log line(s) dropped\n");
+                reportedDropped = lost;
+            }
+            if (outBuffer.length() > 0) print(out, outBuffer);
+            if (errBuffer.length() > 0) print(err, errBuffer);
+            written = ring.consumerPosition();
+
+            if (count == 0) {
+                if (!ring.isEmpty()) {
+                    Thread.onSpinWait(); // slot sudah diklaim, belum dipublish
+                    continue;
+                }
+                writerParked = true;
+                if (ring.isEmpty()) LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                writerParked = false;
+            }
+        }
+    }
+
+    private void format(Entry entry, StringBuilder sb) {
+        if (fullFormat) {
+            TIME_FORMAT.formatTo(entry.time, sb);
+            sb.append(' ').append(entry.level).append(" [").append(entry.thread).append("] ")
+                    .append(entry.logger, entry.logger.lastIndexOf('.') + 1, entry.logger.length())
+                    .append(" - ");
+        }
+        sb.append(entry.message).append('\n');
+        if (entry.error != null) {
+            StringWriter trace = new StringWriter();
+            entry.error.printStackTrace(new PrintWriter(trace));
+            sb.append(trace);
+        }
+    }
+
+    private static void print(PrintStream stream, StringBuilder sb) {
+        stream.print(sb);
+        stream.flush();
+        sb.setLength(0);
+    }
+
+    /**
+     * Tunggu sampai semua baris yang masuk sebelum pemanggilan ini tercetak
+     */
+    @Override
+    public void flush() {
+        long target = ring.producerPosition();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (written < target && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(50_000);
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
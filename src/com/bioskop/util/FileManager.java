@@ -1,27 +1,78 @@
 package com.bioskop.util;
 
+import com.bioskop.metrics.Histogram;
+import com.bioskop.metrics.MetricsRegistry;
+
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * FileManager - Utility class untuk mengelola operasi file TXT
  * Menyediakan method untuk read, write, append, delete, dan update file
  *
+ * Semua operasi tulis memakai lock per file: ReentrantLock untuk thread
+ * di JVM yang sama dan FileChannel.lock pada file ".nama.lock" untuk
+ * proses lain yang memakai folder data yang sama. Overwrite ditulis ke
+ * file temporary lalu di-rename secara atomik, sehingga pembaca (tanpa
+ * lock) selalu melihat isi file lama atau baru secara utuh.
+ *
  * @author Nazriel (Member 1)
  * @version 1.0
  */
 public class FileManager {
 
-    private static final String DATA_FOLDER = "data/";
+    private static final Logger LOG = Logger.get(FileManager.class);
+
+    // Bisa diarahkan ke folder lain (benchmark, dataset sintetis) lewat -Dbioskop.data.dir=...
+    private static final String DATA_FOLDER = dataFolder(System.getProperty("bioskop.data.dir", "data"));
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final Map<String, ReentrantLock> FILE_LOCKS = new ConcurrentHashMap<>();
+
+    // Latensi I/O (semua file): baca penuh, scan streaming, tulis atomik, append, tunggu lock
+    private static final Histogram READ_LATENCY = MetricsRegistry.histogram("file.read");
+    private static final Histogram SCAN_LATENCY = MetricsRegistry.histogram("file.scan");
+    private static final Histogram WRITE_LATENCY = MetricsRegistry.histogram("file.write");
+    private static final Histogram APPEND_LATENCY = MetricsRegistry.histogram("file.append");
+    private static final Histogram LOCK_WAIT = MetricsRegistry.histogram("file.lock.wait");
+
+    private static String dataFolder(String dir) {
+        return dir.endsWith("/") || dir.endsWith(File.separator) ? dir : dir + "/";
+    }
+
+    /**
+     * Visitor untuk {@link #forEachRecord}. RecordReader dipakai ulang untuk
+     * baris berikutnya: jangan disimpan, ambil getString / getLine jika perlu.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        /**
+         * @param record baris saat ini (sudah di-tokenize)
+         * @return true untuk lanjut, false untuk berhenti membaca
+         */
+        boolean visit(RecordReader record);
+    }
 
     /**
      * Membaca seluruh isi file dan mengembalikan sebagai List<String>
+     * Untuk lookup atau scan file besar pakai {@link #forEachRecord} / {@link #findFirst}.
      *
      * @param filename nama file yang akan dibaca
      * @return List berisi setiap baris dari file
      */
     public static List<String> readFile(String filename) {
+        long start = System.nanoTime();
         List<String> lines = new ArrayList<>();
         String filepath = DATA_FOLDER + filename;
 
@@ -36,12 +87,115 @@ public class FileManager {
 
             lines = Files.readAllLines(Paths.get(filepath));
         } catch (IOException e) {
-            System.err.println("Error reading file " + filename + ": " + e.getMessage());
+            LOG.error("Error reading file " + filename + ": " + e.getMessage());
+        } finally {
+            READ_LATENCY.recordSince(start);
         }
 
         return lines;
     }
 
+    // ========== STREAMING READ ==========
+
+    /**
+     * Baca file baris per baris tanpa memuat seluruh isi ke memory.
+     * Setiap baris (tanpa line separator) di-tokenize ke RecordReader yang
+     * sama di atas buffer byte yang dipakai ulang, jadi memory konstan
+     * berapapun ukuran file. File yang tidak ada dianggap kosong.
+     *
+     * @param filename nama file di folder data
+     * @param visitor dipanggil untuk setiap baris, return false untuk berhenti
+     */
+    public static void forEachRecord(String filename, RecordVisitor visitor) {
+        forEachRecord(getFilePath(filename), visitor);
+    }
+
+    /**
+     * Sama dengan {@link #forEachRecord(String, RecordVisitor)} untuk path di luar folder data
+     */
+    public static void forEachRecord(Path path, RecordVisitor visitor) {
+        if (!Files.exists(path)) return;
+
+        long start = System.nanoTime();
+        try (InputStream in = Files.newInputStream(path)) {
+            forEachRecord(in, visitor);
+        } catch (IOException e) {
+            LOG.error("Error reading file " + path + ": " + e.getMessage());
+        } finally {
+            SCAN_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Sama dengan {@link #forEachRecord(String, RecordVisitor)} untuk stream apapun
+     * (misal GZIPInputStream). Stream tidak ditutup oleh method ini.
+     */
+    public static void forEachRecord(InputStream in, RecordVisitor visitor) throws IOException {
+        RecordReader reader = new RecordReader();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int lineStart = 0;
+        int scanFrom = 0;
+        int end = 0;
+
+        while (true) {
+            int newline = -1;
+            for (int i = scanFrom; i < end; i++) {
+                if (buffer[i] == '\n') {
+                    newline = i;
+                    break;
+                }
+            }
+
+            if (newline >= 0) {
+                int contentEnd = newline > lineStart && buffer[newline - 1] == '\r' ? newline - 1 : newline;
+                if (!visitor.visit(reader.reset(buffer, lineStart, contentEnd))) return;
+                lineStart = scanFrom = newline + 1;
+                continue;
+            }
+
+            // Baris belum lengkap: geser ke awal buffer (atau perbesar untuk baris panjang)
+            if (lineStart > 0) {
+                System.arraycopy(buffer, lineStart, buffer, 0, end - lineStart);
+                end -= lineStart;
+                lineStart = 0;
+            }
+            if (end == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            scanFrom = end;
+
+            int read = in.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                // Baris terakhir tanpa line separator
+                if (end > lineStart) visitor.visit(reader.reset(buffer, lineStart, end));
+                return;
+            }
+            end += read;
+        }
+    }
+
+    /**
+     * Cari baris pertama yang cocok; pembacaan berhenti di hit pertama
+     *
+     * @param filename nama file di folder data
+     * @param matcher return hasil (non-null) untuk baris yang cocok, null untuk lanjut
+     * @return hasil matcher pertama yang non-null, atau null
+     */
+    public static <T> T findFirst(String filename, Function<RecordReader, T> matcher) {
+        return findFirst(getFilePath(filename), matcher);
+    }
+
+    public static <T> T findFirst(Path path, Function<RecordReader, T> matcher) {
+        List<T> found = new ArrayList<>(1);
+        forEachRecord(path, record -> {
+            T result = matcher.apply(record);
+            if (result == null) return true;
+            found.add(result);
+            return false;
+        });
+        return found.isEmpty() ? null : found.get(0);
+    }
+
     /**
      * Menulis List<String> ke file (overwrite)
      *
@@ -49,42 +203,123 @@ public class FileManager {
      * @param content List berisi baris-baris yang akan ditulis
      */
     public static void writeFile(String filename, List<String> content) {
-        String filepath = DATA_FOLDER + filename;
+        writeLines(filename, content);
+    }
+
+    /**
+     * Menulis file dan mengembalikan status berhasil / gagal.
+     */
+    public static boolean writeLines(String filename, List<String> content) {
+        return withFileLock(filename, () -> writeAtomically(filename, content));
+    }
+
+    /**
+     * Read-modify-write satu file secara transaksional. File dibaca dan
+     * ditulis ulang di bawah lock yang sama, jadi update dari proses lain
+     * tidak hilang di antara read dan write.
+     *
+     * @param filename nama file
+     * @param mutation fungsi yang mengubah isi file, return null jika tidak ada perubahan
+     * @return true jika file ditulis ulang
+     */
+    public static boolean updateFile(String filename, UnaryOperator<List<String>> mutation) {
+        return withFileLock(filename, () -> {
+            List<String> updated = mutation.apply(readFile(filename));
+            return updated != null && writeAtomically(filename, updated);
+        });
+    }
 
+    /**
+     * Jalankan action sambil memegang lock eksklusif untuk file tertentu,
+     * baik terhadap thread lain maupun proses lain. Reentrant untuk thread yang sama.
+     *
+     * @param filename nama file yang dikunci
+     * @param action operasi yang dijalankan
+     * @return hasil action
+     */
+    public static <T> T withFileLock(String filename, Supplier<T> action) {
+        ReentrantLock jvmLock = FILE_LOCKS.computeIfAbsent(filename, f -> new ReentrantLock());
+        long start = System.nanoTime();
+        jvmLock.lock();
         try {
-            File file = new File(filepath);
-            file.getParentFile().mkdirs();
+            if (jvmLock.getHoldCount() > 1) {
+                return action.get(); // lock proses sudah dipegang thread ini
+            }
 
-            Files.write(Paths.get(filepath), content,
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING);
-        } catch (IOException e) {
-            System.err.println("Error writing file " + filename + ": " + e.getMessage());
+            FileChannel channel = null;
+            FileLock lock = null;
+            try {
+                ensureDataFolderExists();
+                channel = FileChannel.open(Paths.get(DATA_FOLDER + "." + filename + LOCK_SUFFIX),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                lock = channel.lock();
+            } catch (IOException e) {
+                // Misal share tidak mendukung lock: tetap jalan dengan lock JVM saja
+                LOG.error("Error locking file " + filename + ": " + e.getMessage());
+            }
+            LOCK_WAIT.recordSince(start);
+
+            try {
+                return action.get();
+            } finally {
+                closeQuietly(lock, channel);
+            }
+        } finally {
+            jvmLock.unlock();
         }
     }
 
     /**
-     * Menulis file dan mengembalikan status berhasil / gagal.
+     * Tulis ke file temporary, fsync, lalu rename atomik menggantikan file asli
      */
-    public static boolean writeLines(String filename, List<String> content) {
-        String filepath = DATA_FOLDER + filename;
+    private static boolean writeAtomically(String filename, List<String> content) {
+        long start = System.nanoTime();
+        Path target = Paths.get(DATA_FOLDER + filename);
+        Path temp = Paths.get(DATA_FOLDER + "." + filename + TEMP_SUFFIX);
 
         try {
-            File file = new File(filepath);
-            file.getParentFile().mkdirs();
+            ensureDataFolderExists();
 
-            Files.write(Paths.get(filepath), content,
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(
+                         java.nio.channels.Channels.newOutputStream(channel), StandardCharsets.UTF_8))) {
+                for (String line : content) {
+                    writer.write(line);
+                    writer.write(System.lineSeparator());
+                }
+                writer.flush();
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
             return true;
 
         } catch (IOException e) {
-            System.err.println("Error writing file " + filename + ": " + e.getMessage());
+            LOG.error("Error writing file " + filename + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // temp file akan ditimpa pada penulisan berikutnya
+            }
             return false;
+        } finally {
+            WRITE_LATENCY.recordSince(start);
         }
     }
 
-
+    private static void closeQuietly(FileLock lock, FileChannel channel) {
+        try {
+            if (lock != null) lock.release();
+            if (channel != null) channel.close();
+        } catch (IOException e) {
+            LOG.error("Error releasing file lock: " + e.getMessage());
+        }
+    }
 
     /**
      * Menambahkan satu baris ke akhir file
@@ -93,21 +328,27 @@ public class FileManager {
      * @param line baris yang akan ditambahkan
      */
     public static void appendFile(String filename, String line) {
+        withFileLock(filename, () -> appendUnderLock(filename, line));
+    }
+
+    private static boolean appendUnderLock(String filename, String line) {
+        long start = System.nanoTime();
         String filepath = DATA_FOLDER + filename;
 
         try {
             File file = new File(filepath);
             file.getParentFile().mkdirs();
 
-            if (!file.exists()) {
-                file.createNewFile();
-            }
-
             Files.write(Paths.get(filepath),
-                    (line + System.lineSeparator()).getBytes(),
+                    (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE,
                     StandardOpenOption.APPEND);
+            return true;
         } catch (IOException e) {
-            System.err.println("Error appending to file " + filename + ": " + e.getMessage());
+            LOG.error("Error appending to file " + filename + ": " + e.getMessage());
+            return false;
+        } finally {
+            APPEND_LATENCY.recordSince(start);
         }
     }
 
@@ -118,12 +359,11 @@ public class FileManager {
      * @param index index baris yang akan dihapus
      */
     public static void deleteLine(String filename, int index) {
-        List<String> lines = readFile(filename);
-
-        if (index >= 0 && index < lines.size()) {
+        updateFile(filename, lines -> {
+            if (index < 0 || index >= lines.size()) return null;
             lines.remove(index);
-            writeFile(filename, lines);
-        }
+            return lines;
+        });
     }
 
     /**
@@ -134,12 +374,11 @@ public class FileManager {
      * @param newLine baris baru pengganti
      */
     public static void updateLine(String filename, int index, String newLine) {
-        List<String> lines = readFile(filename);
-
-        if (index >= 0 && index < lines.size()) {
+        updateFile(filename, lines -> {
+            if (index < 0 || index >= lines.size()) return null;
             lines.set(index, newLine);
-            writeFile(filename, lines);
-        }
+            return lines;
+        });
     }
 
     /**
@@ -150,14 +389,8 @@ public class FileManager {
      * @return true jika berhasil menghapus, false jika tidak ditemukan
      */
     public static boolean deleteLineContaining(String filename, String searchString) {
-        List<String> lines = readFile(filename);
-        boolean removed = lines.removeIf(line -> line.contains(searchString));
-
-        if (removed) {
-            writeFile(filename, lines);
-        }
-
-        return removed;
+        return updateFile(filename, lines ->
+                lines.removeIf(line -> line.contains(searchString)) ? lines : null);
     }
 
     /**
@@ -168,53 +401,40 @@ public class FileManager {
      * @return baris yang ditemukan, atau null jika tidak ada
      */
     public static String findLineStartsWith(String filename, String startsWith) {
-        List<String> lines = readFile(filename);
-
-        for (String line : lines) {
-            if (line.startsWith(startsWith)) {
-                return line;
-            }
-        }
-
-        return null;
+        return findFirst(filename, record -> record.lineStartsWith(startsWith) ? record.getLine() : null);
     }
 
     /**
      * Mendapatkan ID terbesar dari file untuk auto-increment
      * Asumsi: ID ada di kolom pertama dengan format: id|...
+     * Scan seluruh file (O(n), memory konstan); untuk generate ID baru pakai
+     * IdSequence, method ini hanya dipakai sebagai seed awal sequence.
      *
      * @param filename nama file
      * @return ID terbesar + 1
      */
     public static int getNextId(String filename) {
-        List<String> lines = readFile(filename);
-        int maxId = 0;
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
+        int[] maxId = {0};
 
-            String[] parts = line.split("\\|");
+        forEachRecord(filename, record -> {
+            if (record.isBlank()) return true;
             try {
-                int id = Integer.parseInt(parts[0]);
-                if (id > maxId) {
-                    maxId = id;
-                }
+                maxId[0] = Math.max(maxId[0], record.getInt(0));
             } catch (NumberFormatException e) {
                 // Skip header atau baris invalid
-                continue;
             }
-        }
+            return true;
+        });
 
-        return maxId + 1;
+        return maxId[0] + 1;
     }
 
     public static Set<String> readHolidayList() {
-        List<String> lines = readFile("holidays.txt");
         Set<String> set = new HashSet<>();
-        for (String line : lines) {
-            String d = line.trim();
-            if (!d.isEmpty()) set.add(d);
-        }
+        forEachRecord("holidays.txt", record -> {
+            if (!record.isBlank()) set.add(record.getLine().trim());
+            return true;
+        });
         return set;
     }
 
@@ -225,31 +445,23 @@ public class FileManager {
      * @return true if successful
      */
     public static boolean appendToFile(String fileName, String content) {
-        try {
-            ensureDataFolderExists();
-
-            File file = new File(DATA_FOLDER + fileName);
+        ensureDataFolderExists();
 
-            // Create file if doesn't exist
-            if (!file.exists()) {
-                file.createNewFile();
-            }
-
-            // Append content with newline
-            java.nio.file.Files.write(
-                    file.toPath(),
-                    (content + System.lineSeparator()).getBytes(),
-                    java.nio.file.StandardOpenOption.APPEND
-            );
-
-            System.out.println("✓ Data appended to: " + file.getPath());
-            return true;
-
-        } catch (Exception e) {
-            System.err.println("✗ Error appending to file: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+        boolean appended = withFileLock(fileName, () -> appendUnderLock(fileName, content));
+        if (appended) {
+            LOG.debug("✓ Data appended to: " + DATA_FOLDER + fileName);
         }
+        return appended;
+    }
+
+    /**
+     * Mendapatkan path lengkap file di dalam folder data
+     *
+     * @param filename nama file
+     * @return Path ke file di folder data
+     */
+    public static Path getFilePath(String filename) {
+        return Paths.get(DATA_FOLDER + filename);
     }
 
     /**
@@ -0,0 +1,146 @@
+package com.bioskop.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * IdSequence - Generator ID auto-increment tanpa scan file
+ *
+ * ID diambil dari blok yang sudah dipesan di memory (AtomicLong, O(1)).
+ * Saat blok habis, batas atas blok berikutnya (high-water mark) disimpan ke
+ * file ".nama.seq" di folder data di bawah lock FileManager, sehingga:
+ * - Setelah restart, ID lanjut dari high-water mark (tidak pernah dipakai ulang)
+ * - Beberapa proses yang memakai folder data yang sama mendapat blok berbeda
+ *
+ * Sisa blok yang belum terpakai saat aplikasi ditutup menjadi celah ID.
+ * Jika file .seq belum ada, high-water mark diambil dari ID terbesar di data
+ * (seed), jadi file ini aman dihapus.
+ */
+public class IdSequence {
+
+    private static final Logger LOG = Logger.get(IdSequence.class);
+
+    private static final String SEQ_SUFFIX = ".seq";
+    private static final int DEFAULT_BLOCK_SIZE = 32;
+
+    private static final Map<String, IdSequence> SEQUENCES = new ConcurrentHashMap<>();
+
+    /**
+     * Blok ID yang sedang dipakai: [cursor awal .. limit]
+     */
+    private static final class Block {
+        final AtomicLong cursor;
+        final long limit;
+
+        Block(long first, long limit) {
+            this.cursor = new AtomicLong(first);
+            this.limit = limit;
+        }
+    }
+
+    private final String name;
+    private final String seqFile;
+    private final LongSupplier seed;
+    private final int blockSize;
+
+    private volatile Block block = new Block(1, 0); // kosong, diisi saat next() pertama
+
+    /**
+     * Constructor
+     *
+     * @param name nama sequence (biasanya nama file data)
+     * @param seed ID terbesar yang sudah ada, dipakai jika file .seq belum ada
+     * @param blockSize jumlah ID yang dipesan per akses file
+     */
+    public IdSequence(String name, LongSupplier seed, int blockSize) {
+        this.name = name;
+        this.seqFile = "." + name + SEQ_SUFFIX;
+        this.seed = seed;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Get sequence untuk file data, seed dari ID terbesar di kolom pertama file
+     *
+     * @param filename nama file di folder data
+     * @return IdSequence bersama untuk file tersebut
+     */
+    public static IdSequence forFile(String filename) {
+        return forName(filename, () -> FileManager.getNextId(filename) - 1);
+    }
+
+    /**
+     * Get sequence dengan seed custom (misal dari index in-memory).
+     * Seed hanya dipakai oleh pemanggil pertama untuk nama yang sama.
+     */
+    public static IdSequence forName(String name, LongSupplier seed) {
+        return SEQUENCES.computeIfAbsent(name, n -> new IdSequence(n, seed, DEFAULT_BLOCK_SIZE));
+    }
+
+    // ========== ALLOCATION ==========
+
+    /**
+     * Ambil satu ID baru
+     *
+     * @return ID unik
+     */
+    public int next() {
+        return nextBlock(1);
+    }
+
+    /**
+     * Ambil beberapa ID berurutan sekaligus (misal untuk semua ticket satu booking)
+     *
+     * @param count jumlah ID
+     * @return ID pertama, ID berikutnya adalah first+1 .. first+count-1
+     */
+    public int nextBlock(int count) {
+        if (count < 1) throw new IllegalArgumentException("count harus >= 1");
+
+        while (true) {
+            Block current = block;
+            long first = current.cursor.getAndAdd(count);
+            if (first + count - 1 <= current.limit) {
+                return Math.toIntExact(first);
+            }
+            refill(current, count);
+        }
+    }
+
+    /**
+     * Pesan blok baru dari file .seq. Hanya satu thread yang mengisi,
+     * thread lain yang melihat blok habis menunggu lalu memakai blok baru.
+     */
+    private synchronized void refill(Block exhausted, int count) {
+        if (block != exhausted) return;
+
+        long size = Math.max(blockSize, count);
+        block = FileManager.withFileLock(seqFile, () -> {
+            long highWater = readHighWater();
+            long newHighWater = highWater + size;
+            if (!FileManager.writeLines(seqFile, Collections.singletonList(Long.toString(newHighWater)))) {
+                throw new IllegalStateException("Gagal menyimpan sequence " + name);
+            }
+            return new Block(highWater + 1, newHighWater);
+        });
+    }
+
+    private long readHighWater() {
+        String firstLine = FileManager.findFirst(seqFile, RecordReader::getLine);
+        if (firstLine != null) {
+            try {
+                return Long.parseLong(firstLine.trim());
+            } catch (NumberFormatException e) {
+                LOG.error("Invalid sequence file " + seqFile + ", reseeding");
+            }
+        }
+        return seed.getAsLong();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
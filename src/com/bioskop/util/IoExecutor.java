@@ -0,0 +1,56 @@
+package com.bioskop.util;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * IoExecutor - Thread pool bersama untuk operasi file (load / save)
+ *
+ * Operasi I/O di folder data tidak boleh dijalankan di Swing EDT karena
+ * folder data bisa berada di network storage yang lambat. Semua task I/O
+ * dari UI dijalankan di pool ini (thread daemon "bioskop-io-N"), sehingga
+ * jumlah thread yang menyentuh disk tetap terbatas.
+ */
+public final class IoExecutor {
+
+    private static final int THREADS = 2;
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "bioskop-io-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private IoExecutor() {
+    }
+
+    /**
+     * Executor untuk dipakai langsung (misal untuk SwingWorker.execute alternatif)
+     */
+    public static Executor executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Jalankan operasi I/O di background
+     *
+     * @param work operasi yang mengembalikan hasil (misal Booking::getAllBookings)
+     * @return CompletableFuture yang selesai di thread I/O
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, EXECUTOR);
+    }
+
+    /**
+     * Jalankan operasi I/O tanpa hasil di background
+     */
+    public static CompletableFuture<Void> runAsync(Runnable work) {
+        return CompletableFuture.runAsync(work, EXECUTOR);
+    }
+}
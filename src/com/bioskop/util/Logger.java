@@ -0,0 +1,187 @@
+package com.bioskop.util;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Logger - Logging ringan dengan level, pengganti System.out di hot path
+ *
+ * Pemakaian:
+ * <pre>
+ *   private static final Logger LOG = Logger.get(Seat.class);
+ *   LOG.info("✓ Booking saved successfully! ID: " + bookingId);
+ *   LOG.debug(() -> "✓ Seat " + seatNumber + " booked successfully!");
+ * </pre>
+ *
+ * Versi {@link Supplier} tidak membangun string sama sekali jika level
+ * tidak aktif; cek level hanya membaca satu field (di-cache per logger).
+ * Baris dikirim ke {@link Sink}; default {@link AsyncConsoleSink} yang menulis
+ * ke console di thread terpisah, jadi thread booking tidak menunggu console.
+ *
+ * Level diatur per package / class lewat system property:
+ * - bioskop.logging.level=INFO                       (root, default INFO)
+ * - bioskop.logging.level.com.bioskop.model=DEBUG    (prefix terpanjang menang)
+ * atau saat runtime lewat {@link #setLevel(String, Level)}.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public final class Logger {
+
+    /**
+     * Level log, dari paling detail
+     */
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    /**
+     * Tujuan baris log
+     */
+    public interface Sink {
+        void write(Level level, String logger, String message, Throwable error);
+
+        /**
+         * Tunggu sampai baris yang sudah ditulis sampai ke tujuan
+         */
+        default void flush() {
+        }
+    }
+
+    private static final String PROPERTY_PREFIX = "bioskop.logging.level";
+
+    private static final Map<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+    private static final Map<String, Level> LEVELS = new ConcurrentHashMap<>(); // prefix -> level
+    private static volatile Level rootLevel = Level.INFO;
+    private static volatile int generation;
+    private static volatile Sink sink;
+
+    static {
+        Properties properties = System.getProperties();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.equals(PROPERTY_PREFIX)) {
+                rootLevel = parse(properties.getProperty(key), Level.INFO);
+            } else if (key.startsWith(PROPERTY_PREFIX + ".")) {
+                LEVELS.put(key.substring(PROPERTY_PREFIX.length() + 1), parse(properties.getProperty(key), Level.INFO));
+            }
+        }
+        sink = AsyncConsoleSink.create();
+    }
+
+    private final String name;
+    private volatile int threshold;
+    private volatile int resolvedGeneration = -1;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    public static Logger get(Class<?> type) {
+        return get(type.getName());
+    }
+
+    public static Logger get(String name) {
+        return LOGGERS.computeIfAbsent(name, Logger::new);
+    }
+
+    // ========== KONFIGURASI ==========
+
+    /**
+     * Atur level untuk package / class (prefix nama logger)
+     *
+     * @param level null untuk kembali mengikuti parent
+     */
+    public static synchronized void setLevel(String prefix, Level level) {
+        if (level == null) {
+            LEVELS.remove(prefix);
+        } else {
+            LEVELS.put(prefix, level);
+        }
+        generation++;
+    }
+
+    public static synchronized void setRootLevel(Level level) {
+        rootLevel = level;
+        generation++;
+    }
+
+    public static Level getRootLevel() {
+        return rootLevel;
+    }
+
+    public static void setSink(Sink newSink) {
+        sink = newSink;
+    }
+
+    public static Sink getSink() {
+        return sink;
+    }
+
+    /**
+     * Tunggu sampai semua baris log sudah ditulis sink
+     */
+    public static void flush() {
+        sink.flush();
+    }
+
+    private static Level parse(String value, Level fallback) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Level efektif: prefix terpanjang yang diatur, atau root
+     */
+    private void resolve() {
+        int current = generation;
+        Level level = null;
+        String prefix = name;
+        while (level == null) {
+            level = LEVELS.get(prefix);
+            int dot = prefix.lastIndexOf('.');
+            if (dot < 0) break;
+            prefix = prefix.substring(0, dot);
+        }
+        threshold = (level == null ? rootLevel : level).ordinal();
+        resolvedGeneration = current;
+    }
+
+    // ========== LOGGING ==========
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(Level level) {
+        if (resolvedGeneration != generation) resolve();
+        return level.ordinal() >= threshold;
+    }
+
+    public void log(Level level, String message, Throwable error) {
+        if (isEnabled(level)) sink.write(level, name, message, error);
+    }
+
+    public void log(Level level, Supplier<String> message) {
+        if (isEnabled(level)) sink.write(level, name, message.get(), null);
+    }
+
+    public void trace(String message) { log(Level.TRACE, message, null); }
+    public void trace(Supplier<String> message) { log(Level.TRACE, message); }
+
+    public void debug(String message) { log(Level.DEBUG, message, null); }
+    public void debug(Supplier<String> message) { log(Level.DEBUG, message); }
+
+    public void info(String message) { log(Level.INFO, message, null); }
+    public void info(Supplier<String> message) { log(Level.INFO, message); }
+
+    public void warn(String message) { log(Level.WARN, message, null); }
+    public void warn(Supplier<String> message) { log(Level.WARN, message); }
+    public void warn(String message, Throwable error) { log(Level.WARN, message, error); }
+
+    public void error(String message) { log(Level.ERROR, message, null); }
+    public void error(Supplier<String> message) { log(Level.ERROR, message); }
+    public void error(String message, Throwable error) { log(Level.ERROR, message, error); }
+}
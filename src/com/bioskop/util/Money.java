@@ -0,0 +1,143 @@
+package com.bioskop.util;
+
+/**
+ * Money - Codec harga dalam satuan terkecil (sen rupiah, 1 Rp = 100)
+ *
+ * Format simpan di file selalu "120000.00" (titik desimal, tanpa pemisah
+ * ribuan), tidak tergantung locale JVM. Parser juga menerima format legacy
+ * dengan koma desimal ("364000,00") yang dulu ditulis String.format("%.2f")
+ * pada locale Indonesia, serta angka tanpa desimal ("60000").
+ *
+ * Format tampilan: "Rp 150.000" (pemisah ribuan titik, tanpa desimal).
+ *
+ * Semua method dibangun dengan StringBuilder, tanpa String.format / Formatter.
+ */
+public final class Money {
+
+    public static final int MINOR_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    // ========== KONVERSI ==========
+
+    /**
+     * Double rupiah -> sen, dibulatkan ke sen terdekat
+     */
+    public static long toMinor(double amount) {
+        return Math.round(amount * MINOR_PER_UNIT);
+    }
+
+    /**
+     * Sen -> double rupiah
+     */
+    public static double toDouble(long minor) {
+        return minor / (double) MINOR_PER_UNIT;
+    }
+
+    // ========== PARSE ==========
+
+    /**
+     * Parse harga dari file. Pemisah desimal boleh titik atau koma,
+     * maksimal 2 digit di belakangnya.
+     *
+     * @param text harga, misal "120000.00", "364000,00", "60000"
+     * @return harga dalam sen
+     * @throws NumberFormatException jika format tidak dikenali
+     */
+    public static long parseMinor(CharSequence text) {
+        return parseMinor(text, 0, text.length());
+    }
+
+    /**
+     * Parse harga dari potongan CharSequence [start, end)
+     */
+    public static long parseMinor(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+        if (start >= end) throw invalid(text, start, end);
+
+        boolean negative = false;
+        int i = start;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long units = 0;
+        long fraction = 0;
+        int fractionDigits = -1;
+        int digits = 0;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if ((c == '.' || c == ',') && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) throw invalid(text, start, end);
+
+            if (fractionDigits < 0) {
+                if (units > (Long.MAX_VALUE / MINOR_PER_UNIT - digit) / 10) throw invalid(text, start, end);
+                units = units * 10 + digit;
+            } else {
+                if (++fractionDigits > 2) throw invalid(text, start, end);
+                fraction = fraction * 10 + digit;
+            }
+            digits++;
+        }
+        if (digits == 0) throw invalid(text, start, end);
+        if (fractionDigits == 1) fraction *= 10;
+
+        long minor = units * MINOR_PER_UNIT + fraction;
+        return negative ? -minor : minor;
+    }
+
+    private static NumberFormatException invalid(CharSequence text, int start, int end) {
+        return new NumberFormatException("Invalid amount: \"" + text.subSequence(start, end) + "\"");
+    }
+
+    // ========== FORMAT ==========
+
+    /**
+     * Format untuk disimpan di file: "120000.00"
+     */
+    public static String format(long minor) {
+        return appendTo(new StringBuilder(16), minor).toString();
+    }
+
+    /**
+     * Tambahkan format simpan ke StringBuilder (untuk membangun baris file)
+     */
+    public static StringBuilder appendTo(StringBuilder out, long minor) {
+        if (minor < 0) {
+            out.append('-');
+            minor = -minor;
+        }
+        long fraction = minor % MINOR_PER_UNIT;
+        out.append(minor / MINOR_PER_UNIT).append('.');
+        if (fraction < 10) out.append('0');
+        return out.append(fraction);
+    }
+
+    /**
+     * Format tampilan: "Rp 150.000" (dibulatkan ke rupiah)
+     */
+    public static String formatRupiah(double amount) {
+        long rupiah = Math.round(amount);
+        StringBuilder out = new StringBuilder(20).append("Rp ");
+        if (rupiah < 0) {
+            out.append('-');
+            rupiah = -rupiah;
+        }
+
+        String digits = Long.toString(rupiah);
+        int firstGroup = digits.length() % 3 == 0 ? 3 : digits.length() % 3;
+        out.append(digits, 0, firstGroup);
+        for (int i = firstGroup; i < digits.length(); i += 3) {
+            out.append('.').append(digits, i, i + 3);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.bioskop.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * MpscRing - Ring buffer bounded, lock-free, banyak producer / satu consumer
+ *
+ * Producer mengklaim slot dengan CAS pada tail lalu mem-publish slot lewat
+ * sequence number per slot (algoritma Vyukov). Consumer tidak pernah
+ * menunggu lock; slot yang sudah diklaim tapi belum dipublish terlihat
+ * sebagai "kosong sementara" ({@link #poll()} null, {@link #isEmpty()} false).
+ *
+ * Hanya satu thread yang boleh memanggil {@link #poll()} pada satu waktu.
+ *
+ * @param <T> tipe elemen
+ * @author Fiandra
+ * @version 1.0
+ */
+public final class MpscRing<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;   // slot i siap dibaca jika sequences[i] == posisi + 1
+    private final AtomicLong tail = new AtomicLong();   // posisi berikutnya untuk producer
+    private volatile long head;                         // posisi berikutnya untuk consumer
+
+    /**
+     * @param capacity kapasitas, dibulatkan ke pangkat 2
+     */
+    public MpscRing(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Masukkan elemen tanpa menunggu
+     *
+     * @return false jika ring penuh
+     */
+    public boolean offer(T value) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, value);
+                    sequences.set(index, position + 1); // publish
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false; // penuh
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Ambil elemen berikutnya (hanya dari thread consumer)
+     *
+     * @return elemen, atau null jika kosong / slot berikutnya belum dipublish
+     */
+    public T poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) return null;
+
+        T value = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, position + capacity); // slot bebas untuk putaran berikutnya
+        head = position + 1;
+        return value;
+    }
+
+    /**
+     * Jumlah elemen yang sudah diklaim producer tapi belum diambil (perkiraan)
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Jumlah elemen yang pernah diklaim producer (posisi tail)
+     */
+    public long producerPosition() {
+        return tail.get();
+    }
+
+    /**
+     * Jumlah elemen yang pernah diambil consumer (posisi head)
+     */
+    public long consumerPosition() {
+        return head;
+    }
+}
@@ -0,0 +1,468 @@
+package com.bioskop.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * RecordReader - Tokenizer untuk baris data berformat "a|b|c"
+ *
+ * Pengganti line.split("\\|"): posisi setiap field disimpan di array int
+ * yang dipakai ulang, lalu angka, boolean, dan tanggal di-parse langsung
+ * dari karakter baris tanpa membuat String perantara. String baru hanya
+ * dibuat jika caller memanggil {@link #getString(int)}.
+ *
+ * Bisa membaca CharSequence (String/StringBuilder) maupun potongan byte[]
+ * ASCII/UTF-8 (misal isi file yang dibaca sekaligus).
+ *
+ * Object ini mutable dan tidak thread-safe. Pakai {@link #forThread()}
+ * untuk instance per thread, dan jangan dipakai bersarang (reset di tengah
+ * pembacaan baris lain).
+ *
+ * Semua method parse melempar NumberFormatException untuk field yang
+ * invalid, sama seperti Integer.parseInt / Double.parseDouble.
+ */
+public class RecordReader {
+
+    private static final char SEPARATOR = '|';
+    private static final ThreadLocal<RecordReader> PER_THREAD = ThreadLocal.withInitial(RecordReader::new);
+
+    // 10^0 .. 10^22 bisa direpresentasikan persis sebagai double
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+
+    private CharSequence text;
+    private byte[] bytes;
+    private int lineStart;
+    private int lineEnd;
+
+    // Field i ada di [starts[i], ends[i])
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int count;
+
+    // View CharSequence atas baris saat ini (untuk parser lain, misal Money)
+    private final CharSequence source = new CharSequence() {
+        @Override
+        public int length() {
+            return lineEnd;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return RecordReader.this.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return substring(start, end);
+        }
+    };
+
+    /**
+     * Get instance milik thread saat ini
+     */
+    public static RecordReader forThread() {
+        return PER_THREAD.get();
+    }
+
+    // ========== TOKENIZE ==========
+
+    /**
+     * Tokenize satu baris teks
+     *
+     * @param line baris tanpa line separator
+     * @return this, untuk chaining
+     */
+    public RecordReader reset(CharSequence line) {
+        this.text = line;
+        this.bytes = null;
+        this.lineStart = 0;
+        this.lineEnd = line.length();
+        tokenize();
+        return this;
+    }
+
+    /**
+     * Tokenize potongan byte[] [start, end) tanpa decode ke String
+     */
+    public RecordReader reset(byte[] data, int start, int end) {
+        this.text = null;
+        this.bytes = data;
+        this.lineStart = start;
+        this.lineEnd = end;
+        tokenize();
+        return this;
+    }
+
+    private void tokenize() {
+        count = 0;
+        int fieldStart = lineStart;
+        if (bytes != null) {
+            byte[] data = bytes;
+            for (int i = lineStart; i < lineEnd; i++) {
+                if (data[i] == SEPARATOR) {
+                    addField(fieldStart, i);
+                    fieldStart = i + 1;
+                }
+            }
+        } else if (text instanceof String) {
+            String line = (String) text;
+            for (int i = line.indexOf(SEPARATOR); i >= 0; i = line.indexOf(SEPARATOR, i + 1)) {
+                addField(fieldStart, i);
+                fieldStart = i + 1;
+            }
+        } else {
+            for (int i = lineStart; i < lineEnd; i++) {
+                if (text.charAt(i) == SEPARATOR) {
+                    addField(fieldStart, i);
+                    fieldStart = i + 1;
+                }
+            }
+        }
+        addField(fieldStart, lineEnd);
+    }
+
+    private void addField(int start, int end) {
+        if (count == starts.length) {
+            starts = java.util.Arrays.copyOf(starts, count * 2);
+            ends = java.util.Arrays.copyOf(ends, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        count++;
+    }
+
+    private char charAt(int index) {
+        return bytes != null ? (char) (bytes[index] & 0xFF) : text.charAt(index);
+    }
+
+    // ========== FIELD INFO ==========
+
+    /**
+     * Jumlah field, termasuk field kosong di akhir (seperti split(SEP, -1))
+     */
+    public int fieldCount() {
+        return count;
+    }
+
+    /**
+     * Cek apakah baris kosong / hanya whitespace
+     */
+    public boolean isBlank() {
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (!Character.isWhitespace(charAt(i))) return false;
+        }
+        return true;
+    }
+
+    public boolean isEmpty(int field) {
+        return trimmedStart(field) >= trimmedEnd(field);
+    }
+
+    /**
+     * Posisi awal field di CharSequence / byte[] sumber
+     */
+    public int fieldStart(int field) {
+        checkField(field);
+        return starts[field];
+    }
+
+    /**
+     * Posisi akhir (exclusive) field di CharSequence / byte[] sumber
+     */
+    public int fieldEnd(int field) {
+        checkField(field);
+        return ends[field];
+    }
+
+    /**
+     * Cek apakah isi field sama persis dengan value (tanpa membuat String)
+     */
+    public boolean fieldEquals(int field, CharSequence value) {
+        checkField(field);
+        int start = starts[field];
+        int length = ends[field] - start;
+        if (length != value.length()) return false;
+        for (int i = 0; i < length; i++) {
+            if (charAt(start + i) != value.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Cek apakah field diawali prefix tertentu
+     */
+    public boolean fieldStartsWith(int field, CharSequence prefix) {
+        checkField(field);
+        int start = starts[field];
+        if (ends[field] - start < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (charAt(start + i) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Cek apakah seluruh baris diawali prefix tertentu (prefix boleh berisi '|')
+     */
+    public boolean lineStartsWith(CharSequence prefix) {
+        if (lineEnd - lineStart < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (bytes != null && c > 0x7F) {
+                // Karakter non-ASCII di byte[] UTF-8: bandingkan lewat String
+                return getLine().startsWith(prefix.toString());
+            }
+            if (charAt(lineStart + i) != c) return false;
+        }
+        return true;
+    }
+
+    // ========== TYPED ACCESSORS ==========
+
+    /**
+     * Ambil field sebagai String (satu-satunya accessor yang alokasi)
+     */
+    public String getString(int field) {
+        checkField(field);
+        return substring(starts[field], ends[field]);
+    }
+
+    /**
+     * Ambil seluruh baris sebagai String
+     */
+    public String getLine() {
+        return substring(lineStart, lineEnd);
+    }
+
+    /**
+     * Ambil potongan baris berdasarkan posisi di sumber (lihat {@link #fieldStart(int)})
+     */
+    public String substring(int from, int to) {
+        if (from < lineStart || to > lineEnd || from > to) {
+            throw new IndexOutOfBoundsException("Range " + from + ".." + to);
+        }
+        if (bytes != null) {
+            return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+        }
+        return text.subSequence(from, to).toString();
+    }
+
+    /**
+     * Tambahkan isi field ke StringBuilder tanpa membuat String perantara
+     */
+    public StringBuilder appendTo(int field, StringBuilder out) {
+        checkField(field);
+        if (bytes != null) {
+            return out.append(getString(field));
+        }
+        return out.append(text, starts[field], ends[field]);
+    }
+
+    public int getInt(int field) {
+        long value = getLong(field);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw invalid(field);
+        }
+        return (int) value;
+    }
+
+    public long getLong(int field) {
+        int start = trimmedStart(field);
+        int end = trimmedEnd(field);
+        if (start >= end) throw invalid(field);
+
+        boolean negative = false;
+        char first = charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++start == end) throw invalid(field);
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = charAt(i) - '0';
+            if (digit < 0 || digit > 9) throw invalid(field);
+            if (value > (Long.MAX_VALUE - digit) / 10) throw invalid(field);
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse angka desimal dengan titik ("120000.00"). Nilai dengan mantissa
+     * sampai 2^53 dan maksimal 22 digit desimal dihitung langsung (hasil sama
+     * persis dengan Double.parseDouble); selain itu fallback ke Double.parseDouble.
+     */
+    public double getDouble(int field) {
+        int start = trimmedStart(field);
+        int end = trimmedEnd(field);
+        if (start >= end) throw invalid(field);
+
+        int i = start;
+        boolean negative = false;
+        char first = charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char c = charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9 || digits >= 18) {
+                return slowDouble(field, start, end);
+            }
+            mantissa = mantissa * 10 + digit;
+            digits++;
+            if (fractionDigits >= 0) fractionDigits++;
+        }
+        if (digits == 0) throw invalid(field);
+
+        double value = mantissa;
+        if (fractionDigits > 0) {
+            if (mantissa > (1L << 53) || fractionDigits >= POWERS_OF_TEN.length) {
+                return slowDouble(field, start, end);
+            }
+            value = mantissa / POWERS_OF_TEN[fractionDigits];
+        }
+        return negative ? -value : value;
+    }
+
+    private double slowDouble(int field, int start, int end) {
+        String number = bytes != null
+                ? new String(bytes, start, end - start, StandardCharsets.US_ASCII)
+                : text.subSequence(start, end).toString();
+        try {
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw invalid(field);
+        }
+    }
+
+    /**
+     * Parse harga ke satuan sen (lihat {@link Money#parseMinor(CharSequence)}),
+     * menerima titik maupun koma desimal
+     */
+    public long getMinorUnits(int field) {
+        checkField(field);
+        return Money.parseMinor(source, starts[field], ends[field]);
+    }
+
+    /**
+     * Parse "true"/"false" (case-insensitive, spasi diabaikan) seperti Boolean.parseBoolean
+     */
+    public boolean getBoolean(int field) {
+        int start = trimmedStart(field);
+        int end = trimmedEnd(field);
+        if (end - start != 4) return false;
+        return (charAt(start) | 0x20) == 't' && (charAt(start + 1) | 0x20) == 'r'
+                && (charAt(start + 2) | 0x20) == 'u' && (charAt(start + 3) | 0x20) == 'e';
+    }
+
+    /**
+     * Parse tanggal format yyyy-MM-dd
+     */
+    public LocalDate getDate(int field) {
+        int start = trimmedStart(field);
+        if (trimmedEnd(field) - start != 10) throw invalid(field);
+        return parseDate(field, start);
+    }
+
+    /**
+     * Parse jam format HH:mm
+     */
+    public LocalTime getTime(int field) {
+        int start = trimmedStart(field);
+        if (trimmedEnd(field) - start != 5) throw invalid(field);
+        return parseTime(field, start, false);
+    }
+
+    /**
+     * Parse tanggal-jam format yyyy-MM-dd HH:mm:ss
+     */
+    public LocalDateTime getDateTime(int field) {
+        int start = trimmedStart(field);
+        if (trimmedEnd(field) - start != 19 || charAt(start + 10) != ' ') throw invalid(field);
+        return LocalDateTime.of(parseDate(field, start), parseTime(field, start + 11, true));
+    }
+
+    private LocalDate parseDate(int field, int start) {
+        if (charAt(start + 4) != '-' || charAt(start + 7) != '-') throw invalid(field);
+        int year = digits(field, start, 4);
+        int month = digits(field, start + 5, 2);
+        int day = digits(field, start + 8, 2);
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (java.time.DateTimeException e) {
+            throw invalid(field);
+        }
+    }
+
+    private LocalTime parseTime(int field, int start, boolean withSeconds) {
+        if (charAt(start + 2) != ':') throw invalid(field);
+        int hour = digits(field, start, 2);
+        int minute = digits(field, start + 3, 2);
+        int second = 0;
+        if (withSeconds) {
+            if (charAt(start + 5) != ':') throw invalid(field);
+            second = digits(field, start + 6, 2);
+        }
+        try {
+            return LocalTime.of(hour, minute, second);
+        } catch (java.time.DateTimeException e) {
+            throw invalid(field);
+        }
+    }
+
+    private int digits(int field, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = charAt(i) - '0';
+            if (digit < 0 || digit > 9) throw invalid(field);
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // ========== HELPERS ==========
+
+    private int trimmedStart(int field) {
+        checkField(field);
+        int start = starts[field];
+        int end = ends[field];
+        while (start < end && charAt(start) <= ' ') start++;
+        return start;
+    }
+
+    private int trimmedEnd(int field) {
+        checkField(field);
+        int start = starts[field];
+        int end = ends[field];
+        while (end > start && charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= count) {
+            throw new IndexOutOfBoundsException("Field " + field + " dari " + count);
+        }
+    }
+
+    private NumberFormatException invalid(int field) {
+        return new NumberFormatException("Invalid field " + field + ": \"" + getString(field) + "\"");
+    }
+}
@@ -0,0 +1,196 @@
+package com.bioskop.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TimingWheel - Hashed timing wheel untuk banyak timeout sekaligus
+ *
+ * Satu thread worker maju satu bucket setiap tick. Timeout masuk ke bucket
+ * (deadline / tick) % wheelSize dengan jumlah putaran sisa, jadi 100rb
+ * timeout tetap dilayani satu thread tanpa priority queue:
+ * - schedule: O(1), lock-free (antrian pending diambil worker tiap tick)
+ * - cancel: O(1), hanya menandai; entry dibuang saat bucket-nya dilewati
+ * - tick: hanya menyentuh entry di satu bucket
+ *
+ * Presisi dibatasi ukuran tick: task dijalankan paling cepat saat deadline,
+ * paling lambat satu tick setelahnya. Task dijalankan di thread worker,
+ * jadi harus singkat atau meneruskan pekerjaan berat ke thread lain.
+ *
+ * @author Fiandra
+ * @version 1.0
+ */
+public class TimingWheel {
+
+    private static final Logger LOG = Logger.get(TimingWheel.class);
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    /**
+     * Handle satu task terjadwal
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadline; // nanoTime relatif terhadap startTime
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+        private Timeout next;        // linked list di bucket, hanya diakses worker
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Batalkan task
+         *
+         * @return true jika task belum dijalankan dan sekarang tidak akan dijalankan
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    private final long tickNanos;
+    private final int mask;
+    private final Timeout[] heads;
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * @param name nama thread worker
+     * @param tickDuration lama satu tick
+     * @param unit satuan tickDuration
+     * @param wheelSize jumlah bucket, dibulatkan ke pangkat 2
+     */
+    public TimingWheel(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+        this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.mask = size - 1;
+        this.heads = new Timeout[size];
+
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Jadwalkan task satu kali setelah delay
+     *
+     * @return handle untuk membatalkan task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Jumlah task yang belum jalan / belum dibuang (termasuk yang sudah dibatalkan)
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Hentikan worker; task yang belum jalan tidak akan dijalankan
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    // ========== WORKER ==========
+
+    private void run() {
+        List<Timeout> due = new ArrayList<>();
+        while (running) {
+            long tickDeadline = (tick + 1) * tickNanos;
+            long sleep;
+            while (running && (sleep = tickDeadline - (System.nanoTime() - startTime)) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (!running) break;
+
+            transferIncoming();
+            expireBucket((int) (tick & mask), due);
+            tick++;
+
+            for (Timeout timeout : due) {
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Error running timer task: " + e.getMessage());
+                }
+            }
+            due.clear();
+        }
+    }
+
+    /**
+     * Pindahkan timeout baru ke bucket sesuai deadline
+     */
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.isCancelled()) {
+                pending.decrementAndGet();
+                continue;
+            }
+            long ticks = timeout.deadline / tickNanos;
+            long target = Math.max(ticks, tick); // deadline yang sudah lewat masuk bucket sekarang
+            timeout.remainingRounds = (target - tick) / heads.length;
+            int index = (int) (target & mask);
+            timeout.next = heads[index];
+            heads[index] = timeout;
+        }
+    }
+
+    private void expireBucket(int index, List<Timeout> due) {
+        Timeout previous = null;
+        Timeout timeout = heads[index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            boolean remove;
+            if (timeout.isCancelled()) {
+                remove = true;
+            } else if (timeout.remainingRounds <= 0) {
+                remove = true;
+                if (timeout.state.compareAndSet(PENDING, EXPIRED)) due.add(timeout);
+            } else {
+                timeout.remainingRounds--;
+                remove = false;
+            }
+
+            if (remove) {
+                pending.decrementAndGet();
+                if (previous == null) heads[index] = next; else previous.next = next;
+                timeout.next = null;
+            } else {
+                previous = timeout;
+            }
+            timeout = next;
+        }
+    }
+}